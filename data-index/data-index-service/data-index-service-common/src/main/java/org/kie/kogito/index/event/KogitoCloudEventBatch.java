@@ -0,0 +1,42 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.index.event;
+
+import java.util.List;
+
+/**
+ * A batch of events indexed together, fired in place of its events so that their observers can process them as a
+ * whole.
+ */
+public class KogitoCloudEventBatch {
+
+    private final List<KogitoCloudEvent> events;
+
+    public KogitoCloudEventBatch(List<? extends KogitoCloudEvent> events) {
+        this.events = List.copyOf(events);
+    }
+
+    public List<KogitoCloudEvent> getEvents() {
+        return events;
+    }
+
+    @Override
+    public String toString() {
+        return "KogitoCloudEventBatch{" +
+                "events=" + events +
+                '}';
+    }
+}
@@ -18,18 +18,28 @@ package org.kie.kogito.index.graphql;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
 import org.kie.kogito.index.DataIndexStorageService;
+import org.kie.kogito.index.graphql.query.GraphQLQueryCursor;
 import org.kie.kogito.index.graphql.query.GraphQLQueryOrderByParser;
 import org.kie.kogito.index.graphql.query.GraphQLQueryParserRegistry;
 import org.kie.kogito.index.json.DataIndexParsingException;
@@ -38,6 +48,8 @@ import org.kie.kogito.index.model.ProcessInstance;
 import org.kie.kogito.index.model.ProcessInstanceState;
 import org.kie.kogito.index.model.UserTaskInstance;
 import org.kie.kogito.persistence.api.Storage;
+import org.kie.kogito.persistence.api.query.AttributeFilter;
+import org.kie.kogito.persistence.api.query.AttributeSort;
 import org.kie.kogito.persistence.api.query.Query;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
@@ -46,21 +58,32 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import graphql.execution.DataFetcherResult;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.GraphQLInputObjectType;
 import graphql.schema.GraphQLNamedType;
 import graphql.schema.GraphQLScalarType;
 import graphql.schema.GraphQLSchema;
+import graphql.schema.SelectedField;
 import graphql.schema.idl.RuntimeWiring;
 import graphql.schema.idl.SchemaGenerator;
 import graphql.schema.idl.SchemaParser;
 import graphql.schema.idl.TypeDefinitionRegistry;
 
+import static graphql.schema.GraphQLTypeUtil.unwrapAll;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 import static org.kie.kogito.index.json.JsonUtils.getObjectMapper;
-import static org.kie.kogito.persistence.api.query.QueryFilterFactory.equalTo;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.count;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.in;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.max;
 
 @ApplicationScoped
 public class GraphQLSchemaManager {
@@ -72,6 +95,18 @@ public class GraphQLSchemaManager {
     private static final String USER_TASK_INSTANCE_UPDATED = "UserTaskInstanceUpdated";
     private static final String JOB_UPDATED = "JobUpdated";
     private static final String JOB_ADDED = "JobAdded";
+    private static final String PROCESS_INSTANCE_LOADER = "ProcessInstance";
+    private static final String CHILD_PROCESS_INSTANCES_LOADER = "ChildProcessInstances";
+    private static final String CURSOR = "cursor";
+    private static final String LAST_UPDATE = "lastUpdate";
+    // Attributes required by the fields that are not attributes of the model, for each projectable type
+    private static final Map<String, Map<String, List<String>>> COMPUTED_FIELDS = Map.of(
+            "ProcessInstance", Map.of(
+                    "serviceUrl", List.of("endpoint", "processId"),
+                    "parentProcessInstance", List.of("parentProcessInstanceId"),
+                    "childProcessInstances", List.of("id")),
+            "UserTaskInstance", Map.of(),
+            "Job", Map.of());
 
     @Inject
     DataIndexStorageService cacheService;
@@ -102,12 +137,28 @@ public class GraphQLSchemaManager {
                     builder.dataFetcher("ProcessInstances", this::getProcessInstancesValues);
                     builder.dataFetcher("UserTaskInstances", this::getUserTaskInstancesValues);
                     builder.dataFetcher("Jobs", this::getJobsValues);
+                    builder.dataFetcher("ProcessInstancesCount", env -> countForCache(cacheService.getProcessInstancesCache(), env));
+                    builder.dataFetcher("UserTaskInstancesCount", env -> countForCache(cacheService.getUserTaskInstancesCache(), env));
+                    builder.dataFetcher("JobsCount", env -> countForCache(cacheService.getJobsCache(), env));
+                    builder.dataFetcher("ProcessInstancesCountBy", env -> countByForCache(cacheService.getProcessInstancesCache(), env,
+                            value -> getProcessInstanceGroupValue(env.getArgument("groupBy"), value)));
+                    builder.dataFetcher("UserTaskInstancesCountBy", env -> countByForCache(cacheService.getUserTaskInstancesCache(), env, Object::toString));
+                    builder.dataFetcher("JobsCountBy", env -> countByForCache(cacheService.getJobsCache(), env, Object::toString));
                     return builder;
                 })
                 .type("ProcessInstance", builder -> {
                     builder.dataFetcher("parentProcessInstance", this::getParentProcessInstanceValue);
                     builder.dataFetcher("childProcessInstances", this::getChildProcessInstancesValues);
                     builder.dataFetcher("serviceUrl", this::getProcessInstanceServiceUrl);
+                    builder.dataFetcher(CURSOR, this::getCursor);
+                    return builder;
+                })
+                .type("UserTaskInstance", builder -> {
+                    builder.dataFetcher(CURSOR, this::getCursor);
+                    return builder;
+                })
+                .type("Job", builder -> {
+                    builder.dataFetcher(CURSOR, this::getCursor);
                     return builder;
                 })
                 .type("ProcessInstanceMeta", builder -> {
@@ -171,60 +222,165 @@ public class GraphQLSchemaManager {
         return processId.contains(".") ? processId.substring(processId.lastIndexOf('.') + 1) : processId;
     }
 
-    private Collection<ProcessInstance> getChildProcessInstancesValues(DataFetchingEnvironment env) {
-        ProcessInstance source = env.getSource();
+    /**
+     * Creates the data loaders of a GraphQL request, they batch the lookups of related process instances of all the
+     * elements of a result and cache them for the duration of the request.
+     */
+    public DataLoaderRegistry createDataLoaderRegistry() {
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+        registry.register(PROCESS_INSTANCE_LOADER,
+                DataLoader.<String, ProcessInstance> newMappedDataLoader(ids -> completedFuture(getProcessInstancesById(ids))));
+        registry.register(CHILD_PROCESS_INSTANCES_LOADER,
+                DataLoader.<String, List<ProcessInstance>> newDataLoader(ids -> completedFuture(getChildProcessInstances(ids))));
+        return registry;
+    }
+
+    protected Map<String, ProcessInstance> getProcessInstancesById(Set<String> ids) {
+        Query<ProcessInstance> query = cacheService.getProcessInstancesCache().query();
+        query.filter(singletonList(in("id", new ArrayList<>(ids))));
+        return query.execute().stream().collect(toMap(ProcessInstance::getId, identity(), (first, second) -> first));
+    }
+
+    protected List<List<ProcessInstance>> getChildProcessInstances(List<String> parentIds) {
         Query<ProcessInstance> query = cacheService.getProcessInstancesCache().query();
-        query.filter(singletonList(equalTo("parentProcessInstanceId", source.getId())));
-        return query.execute();
+        query.filter(singletonList(in("parentProcessInstanceId", parentIds)));
+        Map<String, List<ProcessInstance>> children = query.execute().stream().collect(groupingBy(ProcessInstance::getParentProcessInstanceId));
+        return parentIds.stream().map(id -> children.getOrDefault(id, emptyList())).collect(toList());
     }
 
-    private ProcessInstance getParentProcessInstanceValue(DataFetchingEnvironment env) {
+    private CompletableFuture<List<ProcessInstance>> getChildProcessInstancesValues(DataFetchingEnvironment env) {
+        ProcessInstance source = env.getSource();
+        DataLoader<String, List<ProcessInstance>> loader = env.getDataLoader(CHILD_PROCESS_INSTANCES_LOADER);
+        if (loader == null) {
+            return completedFuture(getChildProcessInstances(singletonList(source.getId())).get(0));
+        }
+        return loader.load(source.getId());
+    }
+
+    private CompletableFuture<ProcessInstance> getParentProcessInstanceValue(DataFetchingEnvironment env) {
         ProcessInstance source = env.getSource();
         if (source.getParentProcessInstanceId() == null) {
-            return null;
+            return completedFuture(null);
         }
-        Query<ProcessInstance> query = cacheService.getProcessInstancesCache().query();
-        query.filter(singletonList(equalTo("id", source.getParentProcessInstanceId())));
-        List<ProcessInstance> execute = query.execute();
-        return execute.size() > 0 ? execute.get(0) : null;
+        DataLoader<String, ProcessInstance> loader = env.getDataLoader(PROCESS_INSTANCE_LOADER);
+        if (loader == null) {
+            return completedFuture(getProcessInstancesById(singleton(source.getParentProcessInstanceId())).get(source.getParentProcessInstanceId()));
+        }
+        return loader.load(source.getParentProcessInstanceId());
     }
 
-    private Collection<ProcessInstance> getProcessInstancesValues(DataFetchingEnvironment env) {
+    private DataFetcherResult<List<ProcessInstance>> getProcessInstancesValues(DataFetchingEnvironment env) {
         return executeAdvancedQueryForCache(cacheService.getProcessInstancesCache(), env);
     }
 
-    private Collection<Job> getJobsValues(DataFetchingEnvironment env) {
+    private DataFetcherResult<List<Job>> getJobsValues(DataFetchingEnvironment env) {
         return executeAdvancedQueryForCache(cacheService.getJobsCache(), env);
     }
 
-    private <T> List<T> executeAdvancedQueryForCache(Storage<String, T> cache, DataFetchingEnvironment env) {
+    private <T> DataFetcherResult<List<T>> executeAdvancedQueryForCache(Storage<String, T> cache, DataFetchingEnvironment env) {
         Objects.requireNonNull(cache, "Cache not found");
 
-        String inputTypeName = ((GraphQLNamedType) env.getFieldDefinition().getArgument("where").getType()).getName();
-
         Query<T> query = cache.query();
 
-        Map<String, Object> where = env.getArgument("where");
-        query.filter(GraphQLQueryParserRegistry.get().getParser(inputTypeName).apply(where));
+        List<AttributeFilter<?>> filters = getFilters(env);
 
-        query.sort(new GraphQLQueryOrderByParser().apply(env));
+        List<AttributeSort> sortBy = new GraphQLQueryOrderByParser().apply(env);
+        GraphQLQueryCursor cursor = new GraphQLQueryCursor(sortBy, env.getFieldType(), qlDateTimeScalarType.getCoercing());
 
-        Map<String, Integer> pagination = env.getArgument("pagination");
+        Map<String, Object> pagination = env.getArgument("pagination");
+        if ((pagination != null && pagination.get("after") != null) || env.getSelectionSet().contains(CURSOR)) {
+            cursor.checkSortBy();
+        }
         if (pagination != null) {
-            Integer limit = pagination.get("limit");
+            Integer limit = (Integer) pagination.get("limit");
             if (limit != null) {
                 query.limit(limit);
             }
-            Integer offset = pagination.get("offset");
+            Integer offset = (Integer) pagination.get("offset");
             if (offset != null) {
                 query.offset(offset);
             }
+            String after = (String) pagination.get("after");
+            if (after != null) {
+                filters.add(cursor.decode(after));
+            }
+            // Pages are only consistent if the order is total
+            sortBy = cursor.getSortBy();
+        }
+
+        query.filter(filters);
+        query.sort(sortBy);
+        query.projection(getProjection(env, cursor));
+
+        return DataFetcherResult.<List<T>> newResult().data(query.execute()).localContext(cursor).build();
+    }
+
+    private List<AttributeFilter<?>> getFilters(DataFetchingEnvironment env) {
+        String inputTypeName = ((GraphQLNamedType) env.getFieldDefinition().getArgument("where").getType()).getName();
+        Map<String, Object> where = env.getArgument("where");
+        return new ArrayList<>(GraphQLQueryParserRegistry.get().getParser(inputTypeName).apply(where));
+    }
+
+    private <T> int countForCache(Storage<String, T> cache, DataFetchingEnvironment env) {
+        Objects.requireNonNull(cache, "Cache not found");
+        return Math.toIntExact(cache.query().filter(getFilters(env)).count());
+    }
+
+    /**
+     * Counts the elements of each value of the groupBy attribute, along with their last update.
+     */
+    private <T> List<Map<String, Object>> countByForCache(Storage<String, T> cache, DataFetchingEnvironment env, Function<Object, String> valueMapper) {
+        Objects.requireNonNull(cache, "Cache not found");
+        String attribute = env.getArgument("groupBy");
+        return cache.query().filter(getFilters(env)).groupBy(attribute, List.of(count(), max(LAST_UPDATE))).stream().map(group -> {
+            Map<String, Object> groupCount = new HashMap<>();
+            groupCount.put("value", group.getValue() == null ? null : valueMapper.apply(group.getValue()));
+            groupCount.put("count", Math.toIntExact((Long) group.getAggregates().get(0)));
+            groupCount.put(LAST_UPDATE, toDateTime(group.getAggregates().get(1)));
+            return groupCount;
+        }).collect(toList());
+    }
+
+    private static String getProcessInstanceGroupValue(String attribute, Object value) {
+        return "state".equals(attribute) ? ProcessInstanceState.values()[((Number) value).intValue()].name() : value.toString();
+    }
+
+    private static Object toDateTime(Object value) {
+        if (value instanceof Date) {
+            return ((Date) value).getTime();
+        }
+        return value instanceof Number ? (Object) ((Number) value).longValue() : value;
+    }
+
+    /**
+     * Gets the model attributes required by the selected fields, or {@code null} to load whole elements, for the
+     * types whose fields are all either model attributes or computed from them.
+     */
+    private List<String> getProjection(DataFetchingEnvironment env, GraphQLQueryCursor cursor) {
+        Map<String, List<String>> computedFields = COMPUTED_FIELDS.get(((GraphQLNamedType) unwrapAll(env.getFieldType())).getName());
+        if (computedFields == null) {
+            return null;
+        }
+        Set<String> attributes = new LinkedHashSet<>();
+        for (SelectedField field : env.getSelectionSet().getImmediateFields()) {
+            String name = field.getName();
+            if (CURSOR.equals(name)) {
+                cursor.getSortBy().forEach(sort -> attributes.add(sort.getAttribute().split("\\.")[0]));
+            } else if (computedFields.containsKey(name)) {
+                attributes.addAll(computedFields.get(name));
+            } else if (!name.startsWith("__")) {
+                attributes.add(name);
+            }
         }
+        return new ArrayList<>(attributes);
+    }
 
-        return query.execute();
+    private String getCursor(DataFetchingEnvironment env) {
+        GraphQLQueryCursor cursor = env.getLocalContext();
+        return cursor == null ? null : cursor.encode(env.getSource());
     }
 
-    private Collection<UserTaskInstance> getUserTaskInstancesValues(DataFetchingEnvironment env) {
+    private DataFetcherResult<List<UserTaskInstance>> getUserTaskInstancesValues(DataFetchingEnvironment env) {
         return executeAdvancedQueryForCache(cacheService.getUserTaskInstancesCache(), env);
     }
 
@@ -270,7 +426,7 @@ public class GraphQLSchemaManager {
 
     protected DataFetcher<Collection<ObjectNode>> getDomainModelDataFetcher(String processId) {
         return env -> {
-            List result = executeAdvancedQueryForCache(cacheService.getDomainModelCache(processId), env);
+            List result = executeAdvancedQueryForCache(cacheService.getDomainModelCache(processId), env).getData();
             return (Collection<ObjectNode>) result.stream().map(json -> {
                 try {
                     return (ObjectNode) getObjectMapper().readTree(json.toString());
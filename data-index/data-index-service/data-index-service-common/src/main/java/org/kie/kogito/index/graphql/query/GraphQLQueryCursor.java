@@ -0,0 +1,219 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.index.graphql.query;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.kie.kogito.persistence.api.query.AttributeFilter;
+import org.kie.kogito.persistence.api.query.AttributeSort;
+import org.kie.kogito.persistence.api.query.SortDirection;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import graphql.schema.Coercing;
+import graphql.schema.GraphQLEnumType;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLScalarType;
+import graphql.schema.GraphQLType;
+
+import static graphql.schema.GraphQLTypeUtil.isList;
+import static graphql.schema.GraphQLTypeUtil.isNonNull;
+import static graphql.schema.GraphQLTypeUtil.unwrapAll;
+import static graphql.schema.GraphQLTypeUtil.unwrapNonNull;
+import static java.util.stream.Collectors.toList;
+import static org.kie.kogito.index.Constants.ID;
+import static org.kie.kogito.index.json.JsonUtils.getObjectMapper;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.after;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.orderBy;
+
+/**
+ * Opaque cursors for keyset pagination.
+ * A cursor holds the values of the sort attributes of an element, followed by its id: the elements after it are
+ * selected with a filter on those values rather than by skipping an offset, which the storages can only do by
+ * scanning all the skipped elements.
+ * The storages do not agree on where null values are sorted, so the filter of a cursor cannot tell whether the
+ * elements with a null sort attribute come before or after it: cursors are only available for sorts whose
+ * attributes are non-null scalars in the GraphQL schema, see {@link #checkSortBy()}.
+ */
+public class GraphQLQueryCursor {
+
+    private static final String DATE_TIME = "DateTime";
+
+    private final List<AttributeSort> sortBy;
+    private final GraphQLType type;
+    private final Coercing<?, ?> dateTimeCoercing;
+
+    /**
+     * @param sortBy the sort of the query, the id is added to it as last attribute if missing
+     * @param type the GraphQL type of the elements
+     * @param dateTimeCoercing the coercing of the DateTime scalar, used to convert date values to filter values
+     */
+    public GraphQLQueryCursor(List<AttributeSort> sortBy, GraphQLType type, Coercing<?, ?> dateTimeCoercing) {
+        this.sortBy = new ArrayList<>(sortBy);
+        if (sortBy.stream().noneMatch(sort -> ID.equals(sort.getAttribute()))) {
+            this.sortBy.add(orderBy(ID, SortDirection.ASC));
+        }
+        this.type = unwrapAll(type);
+        this.dateTimeCoercing = dateTimeCoercing;
+    }
+
+    /**
+     * @return the sort of the query with the id as tie breaker, so that the order of the elements is total
+     */
+    public List<AttributeSort> getSortBy() {
+        return sortBy;
+    }
+
+    /**
+     * Checks that the elements can be paginated with cursors, that is that all the sort attributes are non-null
+     * scalars.
+     *
+     * @throws IllegalArgumentException if a sort attribute is nullable or is not a scalar
+     */
+    public void checkSortBy() {
+        List<String> invalid = sortBy.stream().map(AttributeSort::getAttribute).filter(attribute -> !isNonNullScalar(attribute)).collect(toList());
+        if (!invalid.isEmpty()) {
+            throw new IllegalArgumentException("Cursors require the sort attributes to be non-null scalars, which " + invalid + " are not: use the offset pagination instead");
+        }
+    }
+
+    /**
+     * Gets the cursor of an element.
+     *
+     * @param element the element, either a model object or its JSON representation
+     * @return the cursor
+     * @throws IllegalStateException if a sort attribute of the element has no value, see {@link #checkSortBy()}
+     */
+    public String encode(Object element) {
+        ArrayNode values = getObjectMapper().createArrayNode();
+        for (AttributeSort sort : sortBy) {
+            Object value = element;
+            for (String name : sort.getAttribute().split("\\.")) {
+                value = getProperty(value, name);
+            }
+            if (value == null || value instanceof Collection || value instanceof Map) {
+                throw new IllegalStateException("Attribute " + sort.getAttribute() + " of element " + getProperty(element, ID) + " has no scalar value to build a cursor from");
+            }
+            if (isDateTime(sort.getAttribute())) {
+                value = dateTimeCoercing.serialize(value instanceof Number ? (Object) ((Number) value).longValue() : value);
+            }
+            values.add(getObjectMapper().<JsonNode> valueToTree(value));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(values.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Gets the filter selecting the elements after the one of a cursor.
+     *
+     * @param cursor the cursor
+     * @return the filter
+     * @throws IllegalArgumentException if the cursor was not created for the same sort
+     */
+    public AttributeFilter<?> decode(String cursor) {
+        JsonNode values;
+        try {
+            values = getObjectMapper().readTree(Base64.getUrlDecoder().decode(cursor));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+        if (!values.isArray() || values.size() != sortBy.size()) {
+            throw new IllegalArgumentException("Cursor " + cursor + " does not match the sort of the query");
+        }
+        List<Object> after = new ArrayList<>(sortBy.size());
+        for (int i = 0; i < sortBy.size(); i++) {
+            JsonNode value = values.get(i);
+            if (isDateTime(sortBy.get(i).getAttribute())) {
+                after.add(dateTimeCoercing.parseValue(value.asText()));
+            } else {
+                try {
+                    after.add(getObjectMapper().treeToValue(value, Object.class));
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+                }
+            }
+        }
+        return after(sortBy, after);
+    }
+
+    /**
+     * Gets a property like the GraphQL property data fetchers do: by getter for model objects, as the JSON names of
+     * their properties may differ.
+     */
+    private static Object getProperty(Object source, String name) {
+        if (source == null) {
+            return null;
+        }
+        if (source instanceof JsonNode) {
+            JsonNode value = ((JsonNode) source).get(name);
+            if (value == null || value.isNull()) {
+                return null;
+            }
+            return value.isValueNode() ? getObjectMapper().convertValue(value, Object.class) : value;
+        }
+        if (source instanceof Map) {
+            return ((Map<?, ?>) source).get(name);
+        }
+        String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (String prefix : new String[] { "get", "is" }) {
+            try {
+                return source.getClass().getMethod(prefix + suffix).invoke(source);
+            } catch (NoSuchMethodException e) {
+                // try the next prefix
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed to get property " + name + " of " + source.getClass().getName(), e);
+            }
+        }
+        return null;
+    }
+
+    private boolean isNonNullScalar(String attribute) {
+        GraphQLType attributeType = type;
+        for (String name : attribute.split("\\.")) {
+            if (!(attributeType instanceof GraphQLFieldsContainer)) {
+                return false;
+            }
+            GraphQLFieldDefinition field = ((GraphQLFieldsContainer) attributeType).getFieldDefinition(name);
+            if (field == null || !isNonNull(field.getType()) || isList(unwrapNonNull(field.getType()))) {
+                return false;
+            }
+            attributeType = unwrapAll(field.getType());
+        }
+        return attributeType instanceof GraphQLScalarType || attributeType instanceof GraphQLEnumType;
+    }
+
+    private boolean isDateTime(String attribute) {
+        GraphQLType attributeType = type;
+        for (String name : attribute.split("\\.")) {
+            if (!(attributeType instanceof GraphQLFieldsContainer)) {
+                return false;
+            }
+            GraphQLFieldDefinition field = ((GraphQLFieldsContainer) attributeType).getFieldDefinition(name);
+            if (field == null) {
+                return false;
+            }
+            attributeType = unwrapAll(field.getType());
+        }
+        return attributeType instanceof GraphQLScalarType && DATE_TIME.equals(((GraphQLScalarType) attributeType).getName());
+    }
+}
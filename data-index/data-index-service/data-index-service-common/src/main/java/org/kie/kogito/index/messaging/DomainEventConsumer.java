@@ -22,6 +22,7 @@ import javax.inject.Inject;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.index.event.KogitoCloudEvent;
+import org.kie.kogito.index.event.KogitoCloudEventBatch;
 import org.kie.kogito.index.event.KogitoProcessCloudEvent;
 import org.kie.kogito.index.event.KogitoUserTaskCloudEvent;
 import org.kie.kogito.index.json.ProcessInstanceMetaMapper;
@@ -35,6 +36,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.quarkus.arc.Lock;
 
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
 
 @ApplicationScoped
 @Lock
@@ -57,6 +59,15 @@ public class DomainEventConsumer {
         indexingService.indexModel(getDomainData(event));
     }
 
+    public void onDomainEvents(@Observes KogitoCloudEventBatch batch) {
+        if (!indexDomain) {
+            return;
+        }
+
+        LOGGER.debug("Processing batch of {} domain events", batch.getEvents().size());
+        indexingService.indexModels(batch.getEvents().stream().map(this::getDomainData).collect(toList()));
+    }
+
     private ObjectNode getDomainData(KogitoCloudEvent event) {
         if (event instanceof KogitoProcessCloudEvent) {
             return new ProcessInstanceMetaMapper().apply((KogitoProcessCloudEvent) event);
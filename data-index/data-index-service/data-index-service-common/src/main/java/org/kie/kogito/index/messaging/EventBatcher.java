@@ -0,0 +1,129 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.index.messaging;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.smallrye.mutiny.operators.multi.processors.UnicastProcessor;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Groups incoming messages into batches of at most {@code maxSize} messages, emitted at least every {@code maxDelay},
+ * and hands the payloads of each batch over to a handler.
+ * Messages are acknowledged once their batch has been handled, so the connector keeps committing offsets only for
+ * handled events. If the handler fails on a batch, its events are handed over again one by one, so that only the
+ * failing events are lost: as when events are not batched, their failure is logged and they are acknowledged too,
+ * unless {@code nackOnFailure} is set, in which case they are negatively acknowledged (and the failure strategy of the
+ * connector applies).
+ * A message is accepted right away, unless {@code 2 * maxSize} messages are already waiting to be handled: then
+ * the returned {@link Uni} completes only once the message has been handled, to apply back pressure.
+ */
+class EventBatcher<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventBatcher.class);
+
+    private final String name;
+    private final int maxPending;
+    private final Consumer<List<T>> handler;
+    private final IntConsumer batchSizeListener;
+    private final boolean nackOnFailure;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final UnicastProcessor<PendingMessage<T>> processor = UnicastProcessor.create();
+
+    EventBatcher(String name, int maxSize, Duration maxDelay, Consumer<List<T>> handler, IntConsumer batchSizeListener,
+            boolean nackOnFailure) {
+        this.name = name;
+        this.maxPending = 2 * maxSize;
+        this.handler = handler;
+        this.batchSizeListener = batchSizeListener;
+        this.nackOnFailure = nackOnFailure;
+        processor.group().intoLists().of(maxSize, maxDelay)
+                .emitOn(Infrastructure.getDefaultExecutor())
+                .onItem().transformToUniAndConcatenate(this::handle)
+                .subscribe().with(
+                        ignored -> {
+                        },
+                        t -> LOGGER.error("Batching of {} events stopped: {}", name, t.getMessage(), t));
+    }
+
+    Uni<Void> add(Message<T> message) {
+        PendingMessage<T> pendingMessage = new PendingMessage<>(message);
+        boolean overflow = pending.incrementAndGet() > maxPending;
+        processor.onNext(pendingMessage);
+        return overflow ? Uni.createFrom().completionStage(pendingMessage.handled) : Uni.createFrom().voidItem();
+    }
+
+    int getPending() {
+        return pending.get();
+    }
+
+    private Uni<Void> handle(List<PendingMessage<T>> batch) {
+        LOGGER.debug("Indexing batch of {} {} events", batch.size(), name);
+        batchSizeListener.accept(batch.size());
+        CompletableFuture<?>[] acks = new CompletableFuture<?>[batch.size()];
+        try {
+            handler.accept(batch.stream().map(m -> m.message.getPayload()).collect(toList()));
+            for (int i = 0; i < batch.size(); i++) {
+                acks[i] = batch.get(i).message.ack().toCompletableFuture();
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Error processing batch of {} {} events, processing them one by one: {}", batch.size(), name,
+                    e.getMessage());
+            for (int i = 0; i < batch.size(); i++) {
+                acks[i] = handleOne(batch.get(i).message).toCompletableFuture();
+            }
+        }
+        pending.addAndGet(-batch.size());
+        batch.forEach(m -> m.handled.complete(null));
+        return Uni.createFrom().completionStage(CompletableFuture.allOf(acks))
+                .onFailure().recoverWithNull();
+    }
+
+    private CompletionStage<Void> handleOne(Message<T> message) {
+        try {
+            handler.accept(List.of(message.getPayload()));
+        } catch (RuntimeException e) {
+            LOGGER.error("Error processing {} event: {}", name, e.getMessage(), e);
+            if (nackOnFailure) {
+                return message.nack(e);
+            }
+        }
+        return message.ack();
+    }
+
+    private static class PendingMessage<T> {
+
+        private final Message<T> message;
+        private final CompletableFuture<Void> handled = new CompletableFuture<>();
+
+        private PendingMessage(Message<T> message) {
+            this.message = message;
+        }
+    }
+}
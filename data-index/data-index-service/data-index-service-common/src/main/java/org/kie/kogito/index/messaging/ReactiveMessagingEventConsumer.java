@@ -15,12 +15,24 @@
  */
 package org.kie.kogito.index.messaging;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
 import javax.inject.Inject;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.Histogram;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.annotation.RegistryType;
+import org.eclipse.microprofile.reactive.messaging.Acknowledgment;
 import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.eclipse.microprofile.reactive.messaging.Message;
 import org.kie.kogito.index.event.KogitoCloudEvent;
+import org.kie.kogito.index.event.KogitoCloudEventBatch;
 import org.kie.kogito.index.event.KogitoJobCloudEvent;
 import org.kie.kogito.index.event.KogitoProcessCloudEvent;
 import org.kie.kogito.index.event.KogitoUserTaskCloudEvent;
@@ -31,6 +43,8 @@ import org.slf4j.LoggerFactory;
 import io.quarkus.arc.properties.UnlessBuildProperty;
 import io.smallrye.mutiny.Uni;
 
+import static java.util.stream.Collectors.toList;
+
 @ApplicationScoped
 @UnlessBuildProperty(name = "kogito.data-index.blocking", stringValue = "true", enableIfMissing = true)
 public class ReactiveMessagingEventConsumer {
@@ -47,7 +61,99 @@ public class ReactiveMessagingEventConsumer {
     @Inject
     Event<KogitoCloudEvent> eventPublisher;
 
+    @Inject
+    Event<KogitoCloudEventBatch> batchPublisher;
+
+    @Inject
+    @RegistryType(type = MetricRegistry.Type.APPLICATION)
+    MetricRegistry metricRegistry;
+
+    @ConfigProperty(name = "kogito.data-index.batching.enabled", defaultValue = "false")
+    Boolean batching;
+
+    @ConfigProperty(name = "kogito.data-index.batching.max-size", defaultValue = "100")
+    Integer batchMaxSize;
+
+    @ConfigProperty(name = "kogito.data-index.batching.max-delay-ms", defaultValue = "100")
+    Long batchMaxDelay;
+
+    @ConfigProperty(name = "kogito.data-index.nack-on-failure", defaultValue = "false")
+    Boolean nackOnFailure;
+
+    EventBatcher<KogitoProcessCloudEvent> processInstanceBatcher;
+
+    EventBatcher<KogitoUserTaskCloudEvent> userTaskInstanceBatcher;
+
+    EventBatcher<KogitoJobCloudEvent> jobBatcher;
+
+    @PostConstruct
+    void init() {
+        if (Boolean.TRUE.equals(batching)) {
+            processInstanceBatcher = createBatcher(KOGITO_PROCESSINSTANCES_EVENTS, this::onProcessInstanceEvents);
+            userTaskInstanceBatcher = createBatcher(KOGITO_USERTASKINSTANCES_EVENTS, this::onUserTaskInstanceEvents);
+            jobBatcher = createBatcher(KOGITO_JOBS_EVENTS, this::onJobEvents);
+        }
+    }
+
+    private <T> EventBatcher<T> createBatcher(String channel, Consumer<List<T>> handler) {
+        Histogram batchSize = metricRegistry.histogram(channel + ".batch.size");
+        EventBatcher<T> batcher = new EventBatcher<>(channel, batchMaxSize, Duration.ofMillis(batchMaxDelay), handler,
+                batchSize::update, Boolean.TRUE.equals(nackOnFailure));
+        metricRegistry.gauge(channel + ".pending", batcher, EventBatcher::getPending);
+        return batcher;
+    }
+
     @Incoming(KOGITO_PROCESSINSTANCES_EVENTS)
+    @Acknowledgment(Acknowledgment.Strategy.MANUAL)
+    public Uni<Void> onProcessInstanceMessage(Message<KogitoProcessCloudEvent> message) {
+        if (processInstanceBatcher != null) {
+            return processInstanceBatcher.add(message);
+        }
+        return acknowledge(message, onProcessInstanceEvent(message.getPayload()));
+    }
+
+    @Incoming(KOGITO_USERTASKINSTANCES_EVENTS)
+    @Acknowledgment(Acknowledgment.Strategy.MANUAL)
+    public Uni<Void> onUserTaskInstanceMessage(Message<KogitoUserTaskCloudEvent> message) {
+        if (userTaskInstanceBatcher != null) {
+            return userTaskInstanceBatcher.add(message);
+        }
+        return acknowledge(message, onUserTaskInstanceEvent(message.getPayload()));
+    }
+
+    @Incoming(KOGITO_JOBS_EVENTS)
+    @Acknowledgment(Acknowledgment.Strategy.MANUAL)
+    public Uni<Void> onJobMessage(Message<KogitoJobCloudEvent> message) {
+        if (jobBatcher != null) {
+            return jobBatcher.add(message);
+        }
+        return acknowledge(message, onJobEvent(message.getPayload()));
+    }
+
+    /**
+     * Acknowledges the message once processed. A processing failure has already been logged: the message is
+     * acknowledged anyway, unless {@code kogito.data-index.nack-on-failure} is set.
+     */
+    private Uni<Void> acknowledge(Message<?> message, Uni<Void> processing) {
+        return processing.onItemOrFailure()
+                .transformToUni((ignored, t) -> Uni.createFrom()
+                        .completionStage(t != null && Boolean.TRUE.equals(nackOnFailure) ? message.nack(t) : message.ack()));
+    }
+
+    void onProcessInstanceEvents(List<KogitoProcessCloudEvent> events) {
+        indexingService.indexProcessInstances(events.stream().map(KogitoProcessCloudEvent::getData).collect(toList()));
+        batchPublisher.fire(new KogitoCloudEventBatch(events));
+    }
+
+    void onUserTaskInstanceEvents(List<KogitoUserTaskCloudEvent> events) {
+        indexingService.indexUserTaskInstances(events.stream().map(KogitoUserTaskCloudEvent::getData).collect(toList()));
+        batchPublisher.fire(new KogitoCloudEventBatch(events));
+    }
+
+    void onJobEvents(List<KogitoJobCloudEvent> events) {
+        indexingService.indexJobs(events.stream().map(KogitoJobCloudEvent::getData).collect(toList()));
+    }
+
     public Uni<Void> onProcessInstanceEvent(KogitoProcessCloudEvent event) {
         LOGGER.debug("Process instance consumer received KogitoCloudEvent: \n{}", event);
         return Uni.createFrom().item(event)
@@ -58,7 +164,6 @@ public class ReactiveMessagingEventConsumer {
                 .onItem().ignore().andContinueWithNull();
     }
 
-    @Incoming(KOGITO_USERTASKINSTANCES_EVENTS)
     public Uni<Void> onUserTaskInstanceEvent(KogitoUserTaskCloudEvent event) {
         LOGGER.debug("Task instance received KogitoUserTaskCloudEvent \n{}", event);
         return Uni.createFrom().item(event)
@@ -69,7 +174,6 @@ public class ReactiveMessagingEventConsumer {
                 .onItem().ignore().andContinueWithNull();
     }
 
-    @Incoming(KOGITO_JOBS_EVENTS)
     public Uni<Void> onJobEvent(KogitoJobCloudEvent event) {
         LOGGER.debug("Job received KogitoJobCloudEvent \n{}", event);
         return Uni.createFrom().item(event)
@@ -15,7 +15,15 @@
  */
 package org.kie.kogito.index.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -32,7 +40,9 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
 
+import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
 import static org.kie.kogito.index.Constants.ID;
 import static org.kie.kogito.index.Constants.KOGITO_DOMAIN_ATTRIBUTE;
@@ -47,97 +57,260 @@ public class IndexingService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(IndexingService.class);
 
+    private static final String TYPE = "_type";
+
     @Inject
     DataIndexStorageService manager;
 
     public void indexProcessInstance(ProcessInstance pi) {
         ProcessInstance previousPI = manager.getProcessInstancesCache().get(pi.getId());
         if (previousPI != null) {
-            List<NodeInstance> nodes = previousPI.getNodes().stream().filter(n -> !pi.getNodes().contains(n)).collect(toList());
-            pi.getNodes().addAll(nodes);
+            mergeNodes(previousPI, pi);
         }
-        manager.getProcessInstancesCache().put(pi.getId(), pi);
+        manager.getProcessInstancesCache().set(pi.getId(), pi);
+    }
+
+    /**
+     * Index a batch of process instances, in order.
+     * Process instances with the same id are coalesced first, then all of them are read and written with a single
+     * bulk operation each.
+     */
+    public void indexProcessInstances(List<ProcessInstance> pis) {
+        Map<String, ProcessInstance> coalesced = new LinkedHashMap<>();
+        for (ProcessInstance pi : pis) {
+            coalesced.merge(pi.getId(), pi, (previousPI, currentPI) -> {
+                mergeNodes(previousPI, currentPI);
+                return currentPI;
+            });
+        }
+        LOGGER.debug("Indexing {} process instances out of {} events", coalesced.size(), pis.size());
+        Storage<String, ProcessInstance> cache = manager.getProcessInstancesCache();
+        cache.getAll(coalesced.keySet()).forEach((id, previousPI) -> mergeNodes(previousPI, coalesced.get(id)));
+        cache.putAll(coalesced);
+    }
+
+    private static void mergeNodes(ProcessInstance previousPI, ProcessInstance pi) {
+        List<NodeInstance> nodes = previousPI.getNodes().stream().filter(n -> !pi.getNodes().contains(n)).collect(toList());
+        pi.getNodes().addAll(nodes);
     }
 
     public void indexJob(Job job) {
-        manager.getJobsCache().put(job.getId(), job);
+        manager.getJobsCache().set(job.getId(), job);
+    }
+
+    /**
+     * Index a batch of jobs, in order: only the last one is written for jobs with the same id.
+     */
+    public void indexJobs(List<Job> jobs) {
+        manager.getJobsCache().putAll(lastById(jobs, Job::getId));
     }
 
     public void indexUserTaskInstance(UserTaskInstance ut) {
-        manager.getUserTaskInstancesCache().put(ut.getId(), ut);
+        manager.getUserTaskInstancesCache().set(ut.getId(), ut);
     }
 
+    /**
+     * Index a batch of user task instances, in order: only the last one is written for tasks with the same id.
+     */
+    public void indexUserTaskInstances(List<UserTaskInstance> uts) {
+        manager.getUserTaskInstancesCache().putAll(lastById(uts, UserTaskInstance::getId));
+    }
+
+    private static <T> Map<String, T> lastById(List<T> values, Function<T, String> id) {
+        Map<String, T> coalesced = new LinkedHashMap<>();
+        values.forEach(value -> coalesced.put(id.apply(value), value));
+        return coalesced;
+    }
+
+    /**
+     * Index a domain event into the model of its process instance.
+     * The event is merged into the stored model in place, tracking the attributes it actually changes, so that the
+     * storage can write only those: replaced or appended items of the process instances and user tasks arrays are
+     * written by index rather than as a whole array.
+     */
     public void indexModel(ObjectNode json) {
         String processId = json.remove(PROCESS_ID).asText();
-        Storage<String, ObjectNode> cache = manager.getDomainModelCache(processId);
+        Storage<String, ObjectNode> cache = getDomainModelCache(processId);
         if (cache == null) {
-            //          Unknown process type, ignore
-            LOGGER.debug("Ignoring Kogito cloud event for unknown process: {}", processId);
             return;
         }
 
         String processInstanceId = json.get(ID).asText();
         String type = cache.getRootType();
         ObjectNode model = cache.get(processInstanceId);
-        ObjectNode builder = getObjectMapper().createObjectNode();
-        builder.put("_type", type);
         if (model == null) {
-            builder.setAll(json);
-        } else {
-            copyAllEventData(json, processInstanceId, model, builder);
-            ObjectNode kogito = indexKogitoDomain((ObjectNode) json.get(KOGITO_DOMAIN_ATTRIBUTE), (ObjectNode) model.get(KOGITO_DOMAIN_ATTRIBUTE));
-            builder.set(KOGITO_DOMAIN_ATTRIBUTE, kogito);
+            cache.set(processInstanceId, newModel(type, json));
+            return;
+        }
+
+        Set<String> changes = new LinkedHashSet<>();
+        mergeModel(type, json, processInstanceId, model, changes);
+        LOGGER.debug("Indexing changes {} of domain model {}", changes, processInstanceId);
+        cache.update(processInstanceId, model, changes);
+    }
+
+    /**
+     * Index a batch of domain events, in order.
+     * The events of the same process instance are all merged into its model before writing it, so that each model
+     * is read and written once per batch: the models of a process are read with a single bulk operation, the new
+     * ones are written with a single bulk operation too and the stored ones are updated with the attributes changed
+     * by any of their events.
+     */
+    public void indexModels(List<ObjectNode> jsons) {
+        Map<String, List<ObjectNode>> jsonsByProcessId = new LinkedHashMap<>();
+        for (ObjectNode json : jsons) {
+            jsonsByProcessId.computeIfAbsent(json.remove(PROCESS_ID).asText(), processId -> new ArrayList<>()).add(json);
+        }
+        jsonsByProcessId.forEach(this::indexModels);
+    }
+
+    private void indexModels(String processId, List<ObjectNode> jsons) {
+        Storage<String, ObjectNode> cache = getDomainModelCache(processId);
+        if (cache == null) {
+            return;
+        }
+
+        String type = cache.getRootType();
+        Set<String> processInstanceIds = jsons.stream().map(json -> json.get(ID).asText()).collect(toCollection(LinkedHashSet::new));
+        Map<String, ObjectNode> models = new HashMap<>(cache.getAll(processInstanceIds));
+        Map<String, ObjectNode> newModels = new LinkedHashMap<>();
+        Map<String, Set<String>> changes = new LinkedHashMap<>();
+        for (ObjectNode json : jsons) {
+            String processInstanceId = json.get(ID).asText();
+            ObjectNode model = models.get(processInstanceId);
+            if (model == null) {
+                model = newModel(type, json);
+                models.put(processInstanceId, model);
+                newModels.put(processInstanceId, model);
+            } else {
+                mergeModel(type, json, processInstanceId, model, changes.computeIfAbsent(processInstanceId, id -> new LinkedHashSet<>()));
+            }
         }
-        cache.put(processInstanceId, builder);
+        LOGGER.debug("Indexing {} domain models of process {} out of {} events", models.size(), processId, jsons.size());
+        if (!newModels.isEmpty()) {
+            cache.putAll(newModels);
+        }
+        changes.forEach((processInstanceId, attributes) -> {
+            if (!newModels.containsKey(processInstanceId) && !attributes.isEmpty()) {
+                cache.update(processInstanceId, models.get(processInstanceId), attributes);
+            }
+        });
     }
 
-    private void copyAllEventData(ObjectNode json, String processInstanceId, ObjectNode model, ObjectNode builder) {
+    private Storage<String, ObjectNode> getDomainModelCache(String processId) {
+        Storage<String, ObjectNode> cache = manager.getDomainModelCache(processId);
+        if (cache == null) {
+            //          Unknown process type, ignore
+            LOGGER.debug("Ignoring Kogito cloud event for unknown process: {}", processId);
+        }
+        return cache;
+    }
+
+    private static ObjectNode newModel(String type, ObjectNode json) {
+        ObjectNode builder = getObjectMapper().createObjectNode();
+        builder.put(TYPE, type);
+        builder.setAll(json);
+        return builder;
+    }
+
+    private static void mergeModel(String type, ObjectNode json, String processInstanceId, ObjectNode model, Set<String> changes) {
+        set(model, TYPE, TextNode.valueOf(type), TYPE, changes);
+        mergeAllEventData(json, processInstanceId, model, changes);
+        mergeKogitoDomain((ObjectNode) json.get(KOGITO_DOMAIN_ATTRIBUTE), model, changes);
+    }
+
+    private static void mergeAllEventData(ObjectNode json, String processInstanceId, ObjectNode model, Set<String> changes) {
         ArrayNode indexPIArray = (ArrayNode) json.get(KOGITO_DOMAIN_ATTRIBUTE).get(PROCESS_INSTANCES_DOMAIN_ATTRIBUTE);
         if (indexPIArray == null) {
-            builder.setAll(model);
-        } else {
-            JsonNode id = indexPIArray.get(0).get(ID);
-            if (!processInstanceId.equals(id.asText())) {
-                //For sub-process merge with current values
-                builder.setAll(model);
-            }
-            builder.setAll(json);
+            return;
+        }
+        JsonNode id = indexPIArray.get(0).get(ID);
+        if (processInstanceId.equals(id.asText())) {
+            //For the process instance itself, the event replaces the current values
+            List<String> removed = new ArrayList<>();
+            model.fieldNames().forEachRemaining(name -> {
+                if (!TYPE.equals(name) && !KOGITO_DOMAIN_ATTRIBUTE.equals(name) && !json.has(name)) {
+                    removed.add(name);
+                }
+            });
+            model.remove(removed);
+            removed.forEach(name -> addChange(changes, name));
         }
+        json.fields().forEachRemaining(field -> {
+            if (!KOGITO_DOMAIN_ATTRIBUTE.equals(field.getKey())) {
+                set(model, field.getKey(), field.getValue(), field.getKey(), changes);
+            }
+        });
     }
 
-    private ObjectNode indexKogitoDomain(ObjectNode kogitoEvent, ObjectNode kogitoCache) {
-        ObjectNode kogitoBuilder = getObjectMapper().createObjectNode();
-        kogitoBuilder.set(LAST_UPDATE, kogitoEvent.get(LAST_UPDATE));
+    private static void mergeKogitoDomain(ObjectNode kogitoEvent, ObjectNode model, Set<String> changes) {
+        JsonNode kogitoCache = model.get(KOGITO_DOMAIN_ATTRIBUTE);
+        ObjectNode kogito;
+        if (kogitoCache instanceof ObjectNode) {
+            kogito = (ObjectNode) kogitoCache;
+        } else {
+            kogito = model.putObject(KOGITO_DOMAIN_ATTRIBUTE);
+            addChange(changes, KOGITO_DOMAIN_ATTRIBUTE);
+        }
+        set(kogito, LAST_UPDATE, kogitoEvent.get(LAST_UPDATE), KOGITO_DOMAIN_ATTRIBUTE + "." + LAST_UPDATE, changes);
 
         ArrayNode indexPIArray = (ArrayNode) kogitoEvent.get(PROCESS_INSTANCES_DOMAIN_ATTRIBUTE);
+        ArrayNode indexTIArray = (ArrayNode) kogitoEvent.get(USER_TASK_INSTANCES_DOMAIN_ATTRIBUTE);
         if (indexPIArray != null) {
-            kogitoBuilder.set(PROCESS_INSTANCES_DOMAIN_ATTRIBUTE, copyToArray(kogitoCache.get(PROCESS_INSTANCES_DOMAIN_ATTRIBUTE), indexPIArray));
-            kogitoBuilder.set(USER_TASK_INSTANCES_DOMAIN_ATTRIBUTE, kogitoCache.get(USER_TASK_INSTANCES_DOMAIN_ATTRIBUTE));
+            mergeToArray(kogito, PROCESS_INSTANCES_DOMAIN_ATTRIBUTE, indexPIArray, changes);
         }
-
-        ArrayNode indexTIArray = (ArrayNode) kogitoEvent.get(USER_TASK_INSTANCES_DOMAIN_ATTRIBUTE);
         if (indexTIArray != null) {
-            kogitoBuilder.set(USER_TASK_INSTANCES_DOMAIN_ATTRIBUTE, copyToArray(kogitoCache.get(USER_TASK_INSTANCES_DOMAIN_ATTRIBUTE), indexTIArray));
-            kogitoBuilder.set(PROCESS_INSTANCES_DOMAIN_ATTRIBUTE, kogitoCache.get(PROCESS_INSTANCES_DOMAIN_ATTRIBUTE));
+            mergeToArray(kogito, USER_TASK_INSTANCES_DOMAIN_ATTRIBUTE, indexTIArray, changes);
+        }
+        if (indexPIArray == null && indexTIArray == null) {
+            for (String name : new String[] { PROCESS_INSTANCES_DOMAIN_ATTRIBUTE, USER_TASK_INSTANCES_DOMAIN_ATTRIBUTE }) {
+                if (kogito.remove(name) != null) {
+                    addChange(changes, KOGITO_DOMAIN_ATTRIBUTE + "." + name);
+                }
+            }
         }
-
-        return kogitoBuilder;
     }
 
-    private ArrayNode copyToArray(JsonNode arrayCache, ArrayNode arrayEvent) {
+    private static void mergeToArray(ObjectNode kogito, String name, ArrayNode arrayEvent, Set<String> changes) {
+        String path = KOGITO_DOMAIN_ATTRIBUTE + "." + name;
+        JsonNode item = arrayEvent.get(0);
+        JsonNode arrayCache = kogito.get(name);
         if (arrayCache == null || arrayCache.isNull()) {
-            return getObjectMapper().createArrayNode().add(arrayEvent.get(0));
+            kogito.putArray(name).add(item);
+            addChange(changes, path);
+            return;
         }
         ArrayNode arrayNode = (ArrayNode) arrayCache;
-        String indexId = arrayEvent.get(0).get(ID).asText();
-        for (int i = 0; i < arrayCache.size(); i++) {
-            if (indexId.equals(arrayCache.get(i).get(ID).asText())) {
-                arrayNode.set(i, arrayEvent.get(0));
-                return arrayNode;
+        String indexId = item.get(ID).asText();
+        for (int i = 0; i < arrayNode.size(); i++) {
+            if (indexId.equals(arrayNode.get(i).get(ID).asText())) {
+                if (!item.equals(arrayNode.get(i))) {
+                    arrayNode.set(i, item);
+                    addChange(changes, path + "." + i);
+                }
+                return;
             }
         }
+        arrayNode.add(item);
+        addChange(changes, path + "." + (arrayNode.size() - 1));
+    }
+
+    private static void set(ObjectNode node, String name, JsonNode value, String path, Set<String> changes) {
+        if (!Objects.equals(node.get(name), value)) {
+            node.set(name, value);
+            addChange(changes, path);
+        }
+    }
 
-        arrayNode.add(arrayEvent.get(0));
-        return arrayNode;
+    /**
+     * Adds a changed attribute, unless it is nested in an already changed one, replacing the changed attributes
+     * nested in it.
+     */
+    private static void addChange(Set<String> changes, String path) {
+        if (changes.stream().anyMatch(change -> path.startsWith(change + "."))) {
+            return;
+        }
+        changes.removeIf(change -> change.startsWith(path + "."));
+        changes.add(path);
     }
 }
@@ -16,8 +16,14 @@
 
 package org.kie.kogito.index.graphql;
 
+import java.util.List;
+import java.util.Set;
+
 import org.junit.jupiter.api.Test;
+import org.kie.kogito.index.DataIndexStorageService;
 import org.kie.kogito.index.model.ProcessInstance;
+import org.kie.kogito.persistence.api.Storage;
+import org.kie.kogito.persistence.api.query.Query;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -26,7 +32,11 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import graphql.schema.DataFetchingEnvironment;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static java.util.Collections.singletonList;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.in;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class GraphQLSchemaManagerTest {
@@ -80,6 +90,43 @@ public class GraphQLSchemaManagerTest {
         assertThat(schemaManager.getProcessInstanceJsonServiceUrl(geJsonEnv("demo.orderItems", "http://localhost:8080/orderItems"))).isEqualTo("http://localhost:8080");
     }
 
+    @Test
+    public void testGetProcessInstancesById() {
+        ProcessInstance parent1 = getRelatedProcessInstance("pi1", null);
+        ProcessInstance parent2 = getRelatedProcessInstance("pi2", null);
+        Query<ProcessInstance> query = mockProcessInstancesQuery(List.of(parent1, parent2));
+
+        assertThat(schemaManager.getProcessInstancesById(Set.of("pi1", "pi2", "pi3")))
+                .containsOnlyKeys("pi1", "pi2")
+                .containsEntry("pi1", parent1)
+                .containsEntry("pi2", parent2);
+        verify(query, times(1)).execute();
+    }
+
+    @Test
+    public void testGetChildProcessInstances() {
+        ProcessInstance child1 = getRelatedProcessInstance("pi3", "pi1");
+        ProcessInstance child2 = getRelatedProcessInstance("pi4", "pi1");
+        ProcessInstance child3 = getRelatedProcessInstance("pi5", "pi2");
+        Query<ProcessInstance> query = mockProcessInstancesQuery(List.of(child1, child2, child3));
+
+        assertThat(schemaManager.getChildProcessInstances(List.of("pi2", "pi6", "pi1")))
+                .containsExactly(List.of(child3), List.of(), List.of(child1, child2));
+        verify(query).filter(singletonList(in("parentProcessInstanceId", List.of("pi2", "pi6", "pi1"))));
+        verify(query, times(1)).execute();
+    }
+
+    private Query<ProcessInstance> mockProcessInstancesQuery(List<ProcessInstance> result) {
+        DataIndexStorageService storageService = mock(DataIndexStorageService.class);
+        Storage<String, ProcessInstance> storage = mock(Storage.class);
+        Query<ProcessInstance> query = mock(Query.class);
+        when(storageService.getProcessInstancesCache()).thenReturn(storage);
+        when(storage.query()).thenReturn(query);
+        when(query.execute()).thenReturn(result);
+        schemaManager.cacheService = storageService;
+        return query;
+    }
+
     private DataFetchingEnvironment geJsonEnv(String processId, String endpoint) {
         DataFetchingEnvironment env = mock(DataFetchingEnvironment.class);
         when(env.getSource()).thenReturn(getProcessInstanceJson(processId, endpoint));
@@ -105,4 +152,11 @@ public class GraphQLSchemaManagerTest {
         pi.setEndpoint(endpoint);
         return pi;
     }
+
+    private ProcessInstance getRelatedProcessInstance(String id, String parentProcessInstanceId) {
+        ProcessInstance pi = new ProcessInstance();
+        pi.setId(id);
+        pi.setParentProcessInstanceId(parentProcessInstanceId);
+        return pi;
+    }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.index.graphql.query;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.index.graphql.DefaultDateTimeCoercing;
+import org.kie.kogito.index.model.ProcessInstance;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLScalarType;
+
+import static graphql.Scalars.GraphQLInt;
+import static graphql.Scalars.GraphQLString;
+import static graphql.schema.GraphQLFieldDefinition.newFieldDefinition;
+import static graphql.schema.GraphQLList.list;
+import static graphql.schema.GraphQLNonNull.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.kie.kogito.index.json.JsonUtils.getObjectMapper;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.after;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.orderBy;
+import static org.kie.kogito.persistence.api.query.SortDirection.ASC;
+import static org.kie.kogito.persistence.api.query.SortDirection.DESC;
+
+public class GraphQLQueryCursorTest {
+
+    private static final DefaultDateTimeCoercing COERCING = new DefaultDateTimeCoercing();
+
+    private static final GraphQLScalarType DATE_TIME = GraphQLScalarType.newScalar().name("DateTime").coercing(COERCING).build();
+
+    private static final GraphQLObjectType TYPE = GraphQLObjectType.newObject()
+            .name("ProcessInstance")
+            .field(newFieldDefinition().name("id").type(nonNull(GraphQLString)))
+            .field(newFieldDefinition().name("state").type(nonNull(GraphQLInt)))
+            .field(newFieldDefinition().name("start").type(nonNull(DATE_TIME)))
+            .field(newFieldDefinition().name("end").type(DATE_TIME))
+            .field(newFieldDefinition().name("roles").type(nonNull(list(GraphQLString))))
+            .build();
+
+    @Test
+    public void testIdTieBreaker() {
+        assertThat(new GraphQLQueryCursor(List.of(orderBy("start", DESC)), TYPE, COERCING).getSortBy())
+                .containsExactly(orderBy("start", DESC), orderBy("id", ASC));
+        assertThat(new GraphQLQueryCursor(List.of(orderBy("id", DESC)), TYPE, COERCING).getSortBy())
+                .containsExactly(orderBy("id", DESC));
+    }
+
+    @Test
+    public void testModelCursor() {
+        GraphQLQueryCursor cursor = new GraphQLQueryCursor(List.of(orderBy("state", ASC), orderBy("start", DESC)), TYPE, COERCING);
+        ProcessInstance pi = new ProcessInstance();
+        pi.setId("pi1");
+        pi.setState(1);
+        pi.setStart(ZonedDateTime.parse("2021-05-01T10:00:00.123Z"));
+
+        assertThat(cursor.decode(cursor.encode(pi))).isEqualTo(after(cursor.getSortBy(),
+                List.of(1, pi.getStart().toInstant().toEpochMilli(), "pi1")));
+    }
+
+    @Test
+    public void testJsonCursor() {
+        GraphQLQueryCursor cursor = new GraphQLQueryCursor(List.of(orderBy("start", ASC)), TYPE, COERCING);
+        ObjectNode json = getObjectMapper().createObjectNode().put("id", "pi1").put("start", "2021-05-01T10:00:00.123Z");
+
+        assertThat(cursor.decode(cursor.encode(json))).isEqualTo(after(cursor.getSortBy(), List.of(1619863200123L, "pi1")));
+    }
+
+    @Test
+    public void testCheckSortBy() {
+        new GraphQLQueryCursor(List.of(orderBy("state", ASC), orderBy("start", DESC)), TYPE, COERCING).checkSortBy();
+
+        assertThrows(IllegalArgumentException.class, () -> new GraphQLQueryCursor(List.of(orderBy("end", ASC)), TYPE, COERCING).checkSortBy());
+        assertThrows(IllegalArgumentException.class, () -> new GraphQLQueryCursor(List.of(orderBy("roles", ASC)), TYPE, COERCING).checkSortBy());
+        assertThrows(IllegalArgumentException.class, () -> new GraphQLQueryCursor(List.of(orderBy("unknown", ASC)), TYPE, COERCING).checkSortBy());
+    }
+
+    @Test
+    public void testNullSortValue() {
+        ProcessInstance pi = new ProcessInstance();
+        pi.setId("pi1");
+
+        assertThrows(IllegalStateException.class, () -> new GraphQLQueryCursor(List.of(orderBy("start", ASC)), TYPE, COERCING).encode(pi));
+    }
+
+    @Test
+    public void testInvalidCursor() {
+        GraphQLQueryCursor cursor = new GraphQLQueryCursor(List.of(orderBy("start", ASC)), TYPE, COERCING);
+        ProcessInstance pi = new ProcessInstance();
+        pi.setId("pi1");
+        String idCursor = new GraphQLQueryCursor(List.of(), TYPE, COERCING).encode(pi);
+
+        assertThrows(IllegalArgumentException.class, () -> cursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> cursor.decode(idCursor));
+    }
+}
@@ -16,16 +16,19 @@
 
 package org.kie.kogito.index.messaging;
 
+import java.util.List;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.kie.kogito.index.event.KogitoCloudEventBatch;
 import org.kie.kogito.index.event.KogitoProcessCloudEvent;
 import org.kie.kogito.index.event.KogitoUserTaskCloudEvent;
 import org.kie.kogito.index.model.ProcessInstanceState;
 import org.kie.kogito.index.service.IndexingService;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -33,6 +36,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.kie.kogito.index.TestUtils.getProcessCloudEvent;
 import static org.kie.kogito.index.TestUtils.getUserTaskCloudEvent;
@@ -51,6 +55,9 @@ public class DomainEventConsumerTest {
     @InjectMocks
     DomainEventConsumer consumer;
 
+    @Captor
+    ArgumentCaptor<List<ObjectNode>> models;
+
     @BeforeEach
     public void setup() {
         consumer.indexDomain = true;
@@ -98,6 +105,34 @@ public class DomainEventConsumerTest {
                 .containsEntry("processId", processId);
     }
 
+    @Test
+    public void testOnDomainEvents() {
+        String processId = "travels";
+        String processInstanceId = UUID.randomUUID().toString();
+        KogitoProcessCloudEvent processEvent = getProcessCloudEvent(processId, processInstanceId, ProcessInstanceState.ACTIVE,
+                null, null, null);
+        KogitoUserTaskCloudEvent taskEvent = getUserTaskCloudEvent(UUID.randomUUID().toString(), processId, processInstanceId,
+                null, null, "InProgress");
+
+        consumer.onDomainEvents(new KogitoCloudEventBatch(List.of(processEvent, taskEvent)));
+
+        verify(service).indexModels(models.capture());
+        verify(service, never()).indexModel(any());
+        assertThat(models.getValue()).hasSize(2).allSatisfy(json -> assertThatJson(json.toString())
+                .isObject()
+                .containsEntry("id", processInstanceId)
+                .containsEntry("processId", processId));
+    }
+
+    @Test
+    public void testOnDomainEventsDisabled() {
+        consumer.indexDomain = false;
+
+        consumer.onDomainEvents(new KogitoCloudEventBatch(List.of(mock(KogitoProcessCloudEvent.class))));
+
+        verify(service, never()).indexModels(any());
+    }
+
     @Test
     public void testOnProcessInstanceDomainEventMappingException() {
         KogitoProcessCloudEvent event = mock(KogitoProcessCloudEvent.class);
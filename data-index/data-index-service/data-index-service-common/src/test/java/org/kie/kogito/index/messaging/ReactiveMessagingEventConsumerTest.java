@@ -15,18 +15,25 @@
  */
 package org.kie.kogito.index.messaging;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import javax.enterprise.event.Event;
 
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.reactive.messaging.Message;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.kie.kogito.index.event.KogitoCloudEvent;
+import org.kie.kogito.index.event.KogitoCloudEventBatch;
 import org.kie.kogito.index.event.KogitoJobCloudEvent;
 import org.kie.kogito.index.event.KogitoProcessCloudEvent;
 import org.kie.kogito.index.event.KogitoUserTaskCloudEvent;
 import org.kie.kogito.index.model.ProcessInstanceState;
 import org.kie.kogito.index.service.IndexingService;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
@@ -34,8 +41,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.kie.kogito.index.TestUtils.getProcessCloudEvent;
 import static org.kie.kogito.index.TestUtils.getUserTaskCloudEvent;
+import static org.mockito.Answers.RETURNS_MOCKS;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -51,6 +61,9 @@ public class ReactiveMessagingEventConsumerTest {
     @Mock
     Event<KogitoCloudEvent> eventPublisher;
 
+    @Mock
+    Event<KogitoCloudEventBatch> batchPublisher;
+
     @InjectMocks
     @Spy
     ReactiveMessagingEventConsumer consumer;
@@ -134,4 +147,113 @@ public class ReactiveMessagingEventConsumerTest {
         future.await().assertFailedWith(RuntimeException.class, "");
         verify(service).indexJob(event.getData());
     }
+
+    @Test
+    public void testOnProcessInstanceMessage() throws Exception {
+        KogitoProcessCloudEvent event = getProcessCloudEvent("travels", UUID.randomUUID().toString(),
+                ProcessInstanceState.ACTIVE, null, null, null);
+        CompletableFuture<Void> ack = new CompletableFuture<>();
+
+        UniAssertSubscriber<Void> future = consumer.onProcessInstanceMessage(Message.of(event, () -> {
+            ack.complete(null);
+            return ack;
+        })).subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        future.await().assertCompleted();
+        verify(service).indexProcessInstance(event.getData());
+        verify(eventPublisher).fire(event);
+        assertThat(ack).isCompleted();
+    }
+
+    @Test
+    public void testOnProcessInstanceMessagesBatched() throws Exception {
+        consumer.batching = true;
+        consumer.batchMaxSize = 2;
+        consumer.batchMaxDelay = 60_000L;
+        consumer.metricRegistry = mock(MetricRegistry.class, RETURNS_MOCKS);
+        consumer.init();
+
+        String processInstanceId = UUID.randomUUID().toString();
+        KogitoProcessCloudEvent event1 = getProcessCloudEvent("travels", processInstanceId, ProcessInstanceState.ACTIVE,
+                null, null, null);
+        KogitoProcessCloudEvent event2 = getProcessCloudEvent("travels", processInstanceId, ProcessInstanceState.COMPLETED,
+                null, null, null);
+        CompletableFuture<Void> ack1 = new CompletableFuture<>();
+        CompletableFuture<Void> ack2 = new CompletableFuture<>();
+
+        consumer.onProcessInstanceMessage(Message.of(event1, () -> {
+            ack1.complete(null);
+            return ack1;
+        })).subscribe().withSubscriber(UniAssertSubscriber.create()).await().assertCompleted();
+        assertThat(ack1).isNotDone();
+        consumer.onProcessInstanceMessage(Message.of(event2, () -> {
+            ack2.complete(null);
+            return ack2;
+        })).subscribe().withSubscriber(UniAssertSubscriber.create()).await().assertCompleted();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> ack1.isDone() && ack2.isDone());
+        verify(service).indexProcessInstances(List.of(event1.getData(), event2.getData()));
+        verify(service, never()).indexProcessInstance(any());
+        verify(eventPublisher, never()).fire(any());
+        ArgumentCaptor<KogitoCloudEventBatch> batch = ArgumentCaptor.forClass(KogitoCloudEventBatch.class);
+        verify(batchPublisher).fire(batch.capture());
+        assertThat(batch.getValue().getEvents()).containsExactly(event1, event2);
+    }
+
+    @Test
+    public void testOnProcessInstanceMessagesBatchedException() throws Exception {
+        consumer.batching = true;
+        consumer.batchMaxSize = 2;
+        consumer.batchMaxDelay = 60_000L;
+        consumer.metricRegistry = mock(MetricRegistry.class, RETURNS_MOCKS);
+        consumer.init();
+
+        KogitoProcessCloudEvent event1 = getProcessCloudEvent("travels", UUID.randomUUID().toString(),
+                ProcessInstanceState.ACTIVE, null, null, null);
+        KogitoProcessCloudEvent event2 = getProcessCloudEvent("travels", UUID.randomUUID().toString(),
+                ProcessInstanceState.ACTIVE, null, null, null);
+        doThrow(new RuntimeException("")).when(service).indexProcessInstances(List.of(event1.getData(), event2.getData()));
+        doThrow(new RuntimeException("")).when(service).indexProcessInstances(List.of(event1.getData()));
+        CompletableFuture<Void> ack1 = new CompletableFuture<>();
+        CompletableFuture<Void> ack2 = new CompletableFuture<>();
+
+        consumer.onProcessInstanceMessage(Message.of(event1, () -> {
+            ack1.complete(null);
+            return ack1;
+        })).subscribe().withSubscriber(UniAssertSubscriber.create()).await().assertCompleted();
+        consumer.onProcessInstanceMessage(Message.of(event2, () -> {
+            ack2.complete(null);
+            return ack2;
+        })).subscribe().withSubscriber(UniAssertSubscriber.create()).await().assertCompleted();
+
+        // the failing batch is indexed again one event at a time, the failing event is logged and acknowledged
+        await().atMost(5, TimeUnit.SECONDS).until(() -> ack1.isDone() && ack2.isDone());
+        verify(service).indexProcessInstances(List.of(event2.getData()));
+        ArgumentCaptor<KogitoCloudEventBatch> batch = ArgumentCaptor.forClass(KogitoCloudEventBatch.class);
+        verify(batchPublisher).fire(batch.capture());
+        assertThat(batch.getValue().getEvents()).containsExactly(event2);
+    }
+
+    @Test
+    public void testOnProcessInstanceMessageNackOnFailure() throws Exception {
+        KogitoProcessCloudEvent event = mock(KogitoProcessCloudEvent.class);
+        doThrow(new RuntimeException("")).when(service).indexProcessInstance(any());
+        CompletableFuture<Void> ack = new CompletableFuture<>();
+        CompletableFuture<Throwable> nack = new CompletableFuture<>();
+        Message<KogitoProcessCloudEvent> message = Message.of(event, () -> {
+            ack.complete(null);
+            return ack;
+        }, t -> {
+            nack.complete(t);
+            return CompletableFuture.completedFuture(null);
+        });
+
+        consumer.onProcessInstanceMessage(message).subscribe().withSubscriber(UniAssertSubscriber.create()).await().assertCompleted();
+        assertThat(ack).isCompleted();
+        assertThat(nack).isNotDone();
+
+        consumer.nackOnFailure = true;
+        consumer.onProcessInstanceMessage(message).subscribe().withSubscriber(UniAssertSubscriber.create()).await().assertCompleted();
+        assertThat(nack).isCompletedWithValueMatching(RuntimeException.class::isInstance);
+    }
 }
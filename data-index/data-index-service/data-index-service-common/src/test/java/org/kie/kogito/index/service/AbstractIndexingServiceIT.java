@@ -22,7 +22,9 @@ import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import javax.inject.Inject;
 import javax.transaction.Transactional;
@@ -293,6 +295,69 @@ public abstract class AbstractIndexingServiceIT extends AbstractIndexingIT {
         validateJob(getJobById(jobId), event);
     }
 
+    @Test
+    void testProcessInstanceCounts() {
+        KogitoProcessCloudEvent active = getProcessCloudEvent("travels", UUID.randomUUID().toString(), ACTIVE, null, null, null);
+        KogitoProcessCloudEvent otherActive = getProcessCloudEvent("hotels", UUID.randomUUID().toString(), ACTIVE, null, null, null);
+        KogitoProcessCloudEvent completed = getProcessCloudEvent("travels", UUID.randomUUID().toString(), COMPLETED, null, null, null);
+        indexProcessCloudEvent(active);
+        indexProcessCloudEvent(otherActive);
+        indexProcessCloudEvent(completed);
+
+        validateCount("{ProcessInstancesCount(where: {state: {equal: ACTIVE}})}", "data.ProcessInstancesCount", 2);
+        // the state ordinals are grouped by their enum names and the last update is read from the backend date type
+        validateCountBy("{ProcessInstancesCountBy(groupBy: state){ value, count, lastUpdate }}", "data.ProcessInstancesCountBy",
+                ACTIVE.name(), 2, lastUpdate(active.getData().getLastUpdate(), otherActive.getData().getLastUpdate()));
+        validateCountBy("{ProcessInstancesCountBy(groupBy: state){ value, count, lastUpdate }}", "data.ProcessInstancesCountBy",
+                COMPLETED.name(), 1, lastUpdate(completed.getData().getLastUpdate()));
+        validateCountBy("{ProcessInstancesCountBy(groupBy: processId, where: {state: {equal: ACTIVE}}){ value, count, lastUpdate }}",
+                "data.ProcessInstancesCountBy", "hotels", 1, lastUpdate(otherActive.getData().getLastUpdate()));
+    }
+
+    @Test
+    void testJobCounts() {
+        KogitoJobCloudEvent executed = getJobCloudEvent(UUID.randomUUID().toString(), "deals", UUID.randomUUID().toString(), null, null, "EXECUTED");
+        KogitoJobCloudEvent otherExecuted = getJobCloudEvent(UUID.randomUUID().toString(), "deals", UUID.randomUUID().toString(), null, null, "EXECUTED");
+        KogitoJobCloudEvent scheduled = getJobCloudEvent(UUID.randomUUID().toString(), "deals", UUID.randomUUID().toString(), null, null, "SCHEDULED");
+        indexJobCloudEvent(executed);
+        indexJobCloudEvent(otherExecuted);
+        indexJobCloudEvent(scheduled);
+
+        validateCount("{JobsCount}", "data.JobsCount", 3);
+        validateCountBy("{JobsCountBy(groupBy: status){ value, count, lastUpdate }}", "data.JobsCountBy",
+                "EXECUTED", 2, lastUpdate(executed.getData().getLastUpdate(), otherExecuted.getData().getLastUpdate()));
+        validateCountBy("{JobsCountBy(groupBy: status){ value, count, lastUpdate }}", "data.JobsCountBy",
+                "SCHEDULED", 1, lastUpdate(scheduled.getData().getLastUpdate()));
+    }
+
+    private String lastUpdate(ZonedDateTime... lastUpdates) {
+        return formatZonedDateTime(Stream.of(lastUpdates).max(Comparator.naturalOrder()).get().withZoneSameInstant(ZoneOffset.UTC));
+    }
+
+    protected void validateCount(String query, String path, int count) {
+        LOGGER.debug("GraphQL query: {}", query);
+        await()
+                .atMost(timeout)
+                .untilAsserted(() -> given().contentType(ContentType.JSON).body(getObjectMapper().createObjectNode().put("query", query).toString())
+                        .when().post("/graphql")
+                        .then().log().ifValidationFails().statusCode(200)
+                        .body("errors", nullValue())
+                        .body(path, is(count)));
+    }
+
+    protected void validateCountBy(String query, String path, String value, int count, String lastUpdate) {
+        LOGGER.debug("GraphQL query: {}", query);
+        String group = path + ".find { it.value == '" + value + "' }";
+        await()
+                .atMost(timeout)
+                .untilAsserted(() -> given().contentType(ContentType.JSON).body(getObjectMapper().createObjectNode().put("query", query).toString())
+                        .when().post("/graphql")
+                        .then().log().ifValidationFails().statusCode(200)
+                        .body("errors", nullValue())
+                        .body(group + ".count", is(count))
+                        .body(group + ".lastUpdate", is(lastUpdate)));
+    }
+
     protected void validateJob(String query, KogitoJobCloudEvent event) {
         LOGGER.debug("GraphQL query: {}", query);
         await()
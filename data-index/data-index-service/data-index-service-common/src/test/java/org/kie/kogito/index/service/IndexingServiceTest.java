@@ -0,0 +1,201 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.index.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kie.kogito.index.DataIndexStorageService;
+import org.kie.kogito.persistence.api.Storage;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.index.json.JsonUtils.getObjectMapper;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class IndexingServiceTest {
+
+    private static final String PROCESS_ID = "travels";
+    private static final String PROCESS_INSTANCE_ID = "pi1";
+
+    @Mock
+    DataIndexStorageService manager;
+
+    @Mock
+    Storage<String, ObjectNode> cache;
+
+    @Captor
+    ArgumentCaptor<Collection<String>> changes;
+
+    @Captor
+    ArgumentCaptor<Map<String, ObjectNode>> newModels;
+
+    @InjectMocks
+    IndexingService indexingService;
+
+    @BeforeEach
+    public void setup() {
+        when(manager.getDomainModelCache(PROCESS_ID)).thenReturn(cache);
+        when(cache.getRootType()).thenReturn("org.acme.travels.Travels");
+    }
+
+    @Test
+    public void testIndexNewModel() {
+        ObjectNode event = processInstanceEvent(PROCESS_INSTANCE_ID);
+
+        indexingService.indexModel(event.deepCopy());
+
+        ObjectNode expected = getObjectMapper().createObjectNode().put("_type", "org.acme.travels.Travels");
+        expected.setAll(event);
+        expected.remove("processId");
+        verify(cache).set(PROCESS_INSTANCE_ID, expected);
+        verify(cache, never()).update(anyString(), any(), any());
+    }
+
+    @Test
+    public void testIndexUserTaskEvent() {
+        ObjectNode model = model();
+        when(cache.get(PROCESS_INSTANCE_ID)).thenReturn(model);
+        ObjectNode event = getObjectMapper().createObjectNode().put("id", PROCESS_INSTANCE_ID).put("processId", PROCESS_ID);
+        ObjectNode metadata = event.putObject("metadata").put("lastUpdate", 2L);
+        metadata.putArray("userTasks").addObject().put("id", "ut2").put("state", "Completed");
+
+        indexingService.indexModel(event);
+
+        verify(cache).update(eq(PROCESS_INSTANCE_ID), eq(model), changes.capture());
+        assertThat(changes.getValue()).containsExactlyInAnyOrder("metadata.lastUpdate", "metadata.userTasks.1");
+        assertThat(model.get("traveller").asText()).isEqualTo("John");
+        assertThat(model.get("metadata").get("userTasks")).hasSize(2);
+        assertThat(model.get("metadata").get("userTasks").get(1).get("state").asText()).isEqualTo("Completed");
+        assertThat(model.get("metadata").get("processInstances")).hasSize(1);
+    }
+
+    @Test
+    public void testIndexProcessInstanceEvent() {
+        ObjectNode model = model();
+        when(cache.get(PROCESS_INSTANCE_ID)).thenReturn(model);
+        ObjectNode event = processInstanceEvent(PROCESS_INSTANCE_ID);
+        event.remove("hotel");
+        event.put("traveller", "Jane");
+
+        indexingService.indexModel(event);
+
+        verify(cache).update(eq(PROCESS_INSTANCE_ID), eq(model), changes.capture());
+        assertThat(changes.getValue()).containsExactlyInAnyOrder("hotel", "traveller", "metadata.lastUpdate", "metadata.processInstances.0");
+        assertThat(model.has("hotel")).isFalse();
+        assertThat(model.get("traveller").asText()).isEqualTo("Jane");
+        assertThat(model.get("metadata").get("userTasks")).hasSize(2);
+    }
+
+    @Test
+    public void testIndexSubProcessInstanceEvent() {
+        ObjectNode model = model();
+        when(cache.get(PROCESS_INSTANCE_ID)).thenReturn(model);
+        ObjectNode event = processInstanceEvent("pi2");
+        event.put("id", PROCESS_INSTANCE_ID);
+        event.remove("hotel");
+        event.put("flight", "AA123");
+
+        indexingService.indexModel(event);
+
+        verify(cache).update(eq(PROCESS_INSTANCE_ID), eq(model), changes.capture());
+        assertThat(changes.getValue()).containsExactlyInAnyOrder("flight", "metadata.lastUpdate", "metadata.processInstances.1");
+        assertThat(model.get("hotel").asText()).isEqualTo("Hilton");
+        assertThat(model.get("metadata").get("processInstances")).hasSize(2);
+    }
+
+    @Test
+    public void testIndexEventWithoutModelMetadata() {
+        ObjectNode model = model();
+        model.remove("metadata");
+        when(cache.get(PROCESS_INSTANCE_ID)).thenReturn(model);
+
+        indexingService.indexModel(processInstanceEvent(PROCESS_INSTANCE_ID));
+
+        verify(cache).update(eq(PROCESS_INSTANCE_ID), eq(model), changes.capture());
+        assertThat(changes.getValue()).containsExactly("metadata");
+        assertThat(model.get("metadata").get("processInstances")).hasSize(1);
+    }
+
+    @Test
+    public void testIndexModels() {
+        ObjectNode model = model();
+        when(cache.getAll(Set.of(PROCESS_INSTANCE_ID, "pi2"))).thenReturn(Map.of(PROCESS_INSTANCE_ID, model));
+        ObjectNode userTaskEvent = getObjectMapper().createObjectNode().put("id", PROCESS_INSTANCE_ID).put("processId", PROCESS_ID);
+        userTaskEvent.putObject("metadata").put("lastUpdate", 2L)
+                .putArray("userTasks").addObject().put("id", "ut2").put("state", "Completed");
+        ObjectNode processInstanceEvent = processInstanceEvent(PROCESS_INSTANCE_ID);
+        processInstanceEvent.put("traveller", "Jane");
+        ObjectNode newEvent1 = processInstanceEvent("pi2");
+        ObjectNode newEvent2 = processInstanceEvent("pi2").put("hotel", "Ritz");
+
+        indexingService.indexModels(List.of(userTaskEvent, newEvent1, processInstanceEvent, newEvent2));
+
+        // the events of each process instance are merged before writing it once
+        verify(cache, never()).get(anyString());
+        verify(cache).update(eq(PROCESS_INSTANCE_ID), eq(model), changes.capture());
+        assertThat(changes.getValue()).containsExactlyInAnyOrder("traveller", "metadata.lastUpdate", "metadata.userTasks.1",
+                "metadata.processInstances.0");
+        assertThat(model.get("traveller").asText()).isEqualTo("Jane");
+        assertThat(model.get("metadata").get("userTasks").get(1).get("state").asText()).isEqualTo("Completed");
+        verify(cache).putAll(newModels.capture());
+        assertThat(newModels.getValue()).containsOnlyKeys("pi2");
+        assertThat(newModels.getValue().get("pi2").get("_type").asText()).isEqualTo("org.acme.travels.Travels");
+        assertThat(newModels.getValue().get("pi2").get("hotel").asText()).isEqualTo("Ritz");
+        verify(cache, never()).set(anyString(), any());
+    }
+
+    private static ObjectNode model() {
+        ObjectNode model = getObjectMapper().createObjectNode()
+                .put("_type", "org.acme.travels.Travels")
+                .put("id", PROCESS_INSTANCE_ID)
+                .put("traveller", "John")
+                .put("hotel", "Hilton");
+        ObjectNode metadata = model.putObject("metadata").put("lastUpdate", 1L);
+        metadata.putArray("processInstances").addObject().put("id", PROCESS_INSTANCE_ID).put("state", 1);
+        metadata.putArray("userTasks").add(getObjectMapper().createObjectNode().put("id", "ut1").put("state", "Ready"))
+                .add(getObjectMapper().createObjectNode().put("id", "ut2").put("state", "Ready"));
+        return model;
+    }
+
+    private static ObjectNode processInstanceEvent(String processInstanceId) {
+        ObjectNode event = getObjectMapper().createObjectNode()
+                .put("id", processInstanceId)
+                .put("processId", PROCESS_ID)
+                .put("traveller", "John")
+                .put("hotel", "Hilton");
+        event.putObject("metadata").put("lastUpdate", 2L)
+                .putArray("processInstances").addObject().put("id", processInstanceId).put("state", 2);
+        return event;
+    }
+}
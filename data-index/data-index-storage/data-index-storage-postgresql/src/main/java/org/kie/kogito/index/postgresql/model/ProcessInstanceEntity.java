@@ -65,9 +65,13 @@ public class ProcessInstanceEntity extends AbstractEntity {
     @Type(type = "jsonb")
     @Column(columnDefinition = "jsonb")
     private ObjectNode variables;
-    @OneToMany(cascade = CascadeType.ALL)
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "processInstanceId")
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private List<NodeInstanceEntity> nodes;
-    @OneToMany(cascade = CascadeType.ALL)
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "processInstanceId")
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private List<MilestoneEntity> milestones;
     @ElementCollection
     @JoinColumn(name = "ADDON", referencedColumnName = "ID")
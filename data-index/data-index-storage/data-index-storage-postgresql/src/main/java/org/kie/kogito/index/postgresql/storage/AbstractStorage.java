@@ -16,9 +16,15 @@
 
 package org.kie.kogito.index.postgresql.storage;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 
+import javax.persistence.EntityManager;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.PluralAttribute;
 import javax.transaction.Transactional;
 
 import org.kie.kogito.index.postgresql.model.AbstractEntity;
@@ -81,11 +87,73 @@ public abstract class AbstractStorage<E extends AbstractEntity, V> implements St
     @Override
     @Transactional
     public V put(String key, V value) {
-        repository.deleteById(key);
-        repository.persist(mapToEntity.apply(value));
+        merge(value);
         return value;
     }
 
+    /**
+     * Merges the value into the stored entity, if any, instead of replacing it: only the changed columns and child
+     * entities are written, the rows of unchanged child entities are left untouched and the child entities missing
+     * from the value are deleted. Child collections must be mapped with a join column and orphan removal for this.
+     */
+    private void merge(V value) {
+        repository.getEntityManager().merge(mapToEntity.apply(value));
+    }
+
+    @Override
+    @Transactional
+    public Map<String, V> getAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return new HashMap<>();
+        }
+        return repository.stream("id in ?1", keys).collect(toMap(AbstractEntity::getId, mapToModel));
+    }
+
+    /**
+     * Merges all the values after loading their stored entities at once. The resulting statements are sent in JDBC
+     * batches when {@code quarkus.hibernate-orm.jdbc.statement-batch-size} is set, a batch being split whenever the
+     * statement changes, e.g. between the inserts of the nodes and of the milestones of a process instance.
+     */
+    @Override
+    @Transactional
+    public void putAll(Map<String, V> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        preload(entries.keySet());
+        entries.values().forEach(this::merge);
+    }
+
+    /**
+     * Loads the stored entities with their child collections into the persistence context, so that merging them does
+     * not require a query per entity. Each collection is fetched by its own query: fetching several bags at once is
+     * not supported and would multiply the rows returned.
+     */
+    private void preload(Collection<String> keys) {
+        EntityManager entityManager = repository.getEntityManager();
+        EntityType<E> entityType = entityManager.getMetamodel().entity(entityClass);
+        Set<PluralAttribute<? super E, ?, ?>> collections = entityType.getPluralAttributes();
+        if (collections.isEmpty()) {
+            repository.list("id in ?1", keys);
+            return;
+        }
+        for (PluralAttribute<? super E, ?, ?> collection : collections) {
+            entityManager.createQuery("select e from " + entityType.getName() + " e left join fetch e." + collection.getName()
+                    + " where e.id in ?1", entityClass)
+                    .setParameter(1, keys)
+                    .getResultList();
+        }
+    }
+
+    @Override
+    @Transactional
+    public void removeAll(Collection<String> keys) {
+        if (!keys.isEmpty()) {
+            // Entities are removed one by one so that the removal cascades to their child entities
+            repository.list("id in ?1", keys).forEach(repository::delete);
+        }
+    }
+
     @Override
     @Transactional
     public V remove(String key) {
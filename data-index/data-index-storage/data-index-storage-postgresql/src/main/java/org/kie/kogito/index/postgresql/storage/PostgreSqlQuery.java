@@ -15,21 +15,39 @@
  */
 package org.kie.kogito.index.postgresql.storage;
 
+import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.PluralAttribute;
+import javax.persistence.metamodel.SingularAttribute;
 
 import org.hibernate.query.criteria.internal.path.PluralAttributePath;
 import org.kie.kogito.index.postgresql.model.AbstractEntity;
+import org.kie.kogito.persistence.api.query.AttributeAggregation;
 import org.kie.kogito.persistence.api.query.AttributeFilter;
+import org.kie.kogito.persistence.api.query.AttributeGroup;
 import org.kie.kogito.persistence.api.query.AttributeSort;
 import org.kie.kogito.persistence.api.query.Query;
 import org.kie.kogito.persistence.api.query.SortDirection;
@@ -45,6 +63,7 @@ public class PostgreSqlQuery<E extends AbstractEntity, T> implements Query<T> {
     private Integer offset;
     private List<AttributeFilter<?>> filters;
     private List<AttributeSort> sortBy;
+    private List<String> projection;
     private Class<E> entityClass;
     private Function<E, T> mapper;
 
@@ -78,15 +97,159 @@ public class PostgreSqlQuery<E extends AbstractEntity, T> implements Query<T> {
         return this;
     }
 
+    @Override
+    public Query<T> projection(List<String> attributes) {
+        this.projection = attributes;
+        return this;
+    }
+
     @Override
     public List<T> execute() {
         CriteriaBuilder builder = repository.getEntityManager().getCriteriaBuilder();
+        if (projection != null && !projection.isEmpty()) {
+            return executeProjection(builder);
+        }
         CriteriaQuery<E> criteriaQuery = builder.createQuery(entityClass);
         Root<E> root = criteriaQuery.from(entityClass);
+        return createQuery(builder, criteriaQuery, root).getResultList().stream().map(mapper).collect(toList());
+    }
+
+    /**
+     * Selects the columns of the projected attributes only, instead of loading whole entities, and loads each
+     * projected collection with a single query for all the selected entities. The entities are built detached, with
+     * the attributes out of the projection left unset.
+     */
+    private List<T> executeProjection(CriteriaBuilder builder) {
+        EntityType<E> entityType = repository.getEntityManager().getMetamodel().entity(entityClass);
+        SingularAttribute<? super E, ?> idAttribute = entityType.getId(entityType.getIdType().getJavaType());
+        List<Attribute<? super E, ?>> columns = new ArrayList<>();
+        List<PluralAttribute<? super E, ?, ?>> collections = new ArrayList<>();
+        columns.add(idAttribute);
+        for (String name : new LinkedHashSet<>(projection)) {
+            Attribute<? super E, ?> attribute = entityType.getAttributes().stream().filter(a -> a.getName().equals(name)).findFirst().orElse(null);
+            if (attribute == null || attribute.equals(idAttribute)) {
+                continue;
+            }
+            if (attribute.isCollection()) {
+                collections.add((PluralAttribute<? super E, ?, ?>) attribute);
+            } else {
+                columns.add(attribute);
+            }
+        }
+
+        CriteriaQuery<Tuple> criteriaQuery = builder.createTupleQuery();
+        Root<E> root = criteriaQuery.from(entityClass);
+        criteriaQuery.multiselect(columns.stream().<Selection<?>> map(a -> root.get(a.getName())).collect(toList()));
+        Map<Object, E> entities = new LinkedHashMap<>();
+        for (Tuple row : createQuery(builder, criteriaQuery, root).getResultList()) {
+            E entity = newEntity();
+            for (int i = 0; i < columns.size(); i++) {
+                setAttribute(entity, columns.get(i), row.get(i));
+            }
+            entities.putIfAbsent(row.get(0), entity);
+        }
+        if (!entities.isEmpty()) {
+            collections.forEach(collection -> loadCollection(builder, idAttribute, collection, entities));
+        }
+        return entities.values().stream().map(mapper).collect(toList());
+    }
+
+    private void loadCollection(CriteriaBuilder builder, SingularAttribute<? super E, ?> idAttribute,
+            PluralAttribute<? super E, ?, ?> collection, Map<Object, E> entities) {
+        Map<Object, Collection<Object>> values = new HashMap<>();
+        entities.forEach((id, entity) -> {
+            Collection<Object> value = collection.getCollectionType() == PluralAttribute.CollectionType.SET ? new HashSet<>() : new ArrayList<>();
+            values.put(id, value);
+            setAttribute(entity, collection, value);
+        });
+        CriteriaQuery<Tuple> criteriaQuery = builder.createTupleQuery();
+        Root<E> root = criteriaQuery.from(entityClass);
+        criteriaQuery.multiselect(root.get(idAttribute.getName()), root.join(collection.getName()));
+        criteriaQuery.where(root.get(idAttribute.getName()).in(entities.keySet()));
+        repository.getEntityManager().createQuery(criteriaQuery).getResultList()
+                .forEach(row -> values.get(row.get(0)).add(row.get(1)));
+    }
+
+    private E newEntity() {
+        try {
+            return entityClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create an instance of " + entityClass.getName(), e);
+        }
+    }
+
+    private void setAttribute(E entity, Attribute<? super E, ?> attribute, Object value) {
+        try {
+            Field field = (Field) attribute.getJavaMember();
+            field.setAccessible(true);
+            field.set(entity, value);
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("Failed to set attribute " + attribute.getName() + " of " + entityClass.getName(), e);
+        }
+    }
+
+    @Override
+    public long count() {
+        CriteriaBuilder builder = repository.getEntityManager().getCriteriaBuilder();
+        CriteriaQuery<Long> criteriaQuery = builder.createQuery(Long.class);
+        Root<E> root = criteriaQuery.from(entityClass);
+        // Filters on collection attributes join them, elements must not be counted once per joined row
+        criteriaQuery.select(builder.countDistinct(root));
+        where(builder, criteriaQuery, root);
+        return repository.getEntityManager().createQuery(criteriaQuery).getSingleResult();
+    }
+
+    @Override
+    public List<AttributeGroup> groupBy(String attribute, List<AttributeAggregation> aggregations) {
+        CriteriaBuilder builder = repository.getEntityManager().getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteriaQuery = builder.createTupleQuery();
+        Root<E> root = criteriaQuery.from(entityClass);
+        Path<?> groupPath = getAttributePath(root, attribute);
+        List<Selection<?>> selections = new ArrayList<>(aggregations.size() + 1);
+        selections.add(groupPath);
+        aggregations.forEach(aggregation -> selections.add(getAggregation(builder, root, aggregation)));
+        criteriaQuery.multiselect(selections).groupBy(groupPath);
+        where(builder, criteriaQuery, root);
+        return repository.getEntityManager().createQuery(criteriaQuery).getResultList().stream()
+                .map(row -> new AttributeGroup(row.get(0), IntStream.range(1, selections.size()).mapToObj(row::get).collect(toList())))
+                .collect(toList());
+    }
+
+    private Expression<?> getAggregation(CriteriaBuilder builder, Root<E> root, AttributeAggregation aggregation) {
+        switch (aggregation.getFunction()) {
+            case COUNT:
+                return builder.countDistinct(root);
+            case MIN:
+                return least(builder, getAttributePath(root, aggregation.getAttribute()));
+            case MAX:
+                return greatest(builder, getAttributePath(root, aggregation.getAttribute()));
+            default:
+                throw new UnsupportedOperationException("Unsupported aggregation function: " + aggregation.getFunction());
+        }
+    }
+
+    /**
+     * The attributes that can be aggregated are mapped to comparable types, which the metamodel paths do not expose.
+     */
+    @SuppressWarnings("unchecked")
+    private static <Y extends Comparable<? super Y>> Expression<Y> least(CriteriaBuilder builder, Path<?> path) {
+        return builder.least((Expression<Y>) path);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <Y extends Comparable<? super Y>> Expression<Y> greatest(CriteriaBuilder builder, Path<?> path) {
+        return builder.greatest((Expression<Y>) path);
+    }
+
+    private void where(CriteriaBuilder builder, CriteriaQuery<?> criteriaQuery, Root<E> root) {
         if (filters != null && !filters.isEmpty()) {
             List<Predicate> predicates = getPredicates(builder, root);
             criteriaQuery.where(predicates.toArray(new Predicate[] {}));
         }
+    }
+
+    private <R> TypedQuery<R> createQuery(CriteriaBuilder builder, CriteriaQuery<R> criteriaQuery, Root<E> root) {
+        where(builder, criteriaQuery, root);
         if (sortBy != null && !sortBy.isEmpty()) {
             List<Order> orderBy = sortBy.stream().map(f -> {
                 Path attributePath = getAttributePath(root, f.getAttribute());
@@ -95,7 +258,7 @@ public class PostgreSqlQuery<E extends AbstractEntity, T> implements Query<T> {
             criteriaQuery.orderBy(orderBy);
         }
 
-        javax.persistence.Query query = repository.getEntityManager().createQuery(criteriaQuery);
+        TypedQuery<R> query = repository.getEntityManager().createQuery(criteriaQuery);
 
         if (limit != null) {
             query.setMaxResults(limit);
@@ -103,7 +266,7 @@ public class PostgreSqlQuery<E extends AbstractEntity, T> implements Query<T> {
         if (offset != null) {
             query.setFirstResult(offset);
         }
-        return (List<T>) query.getResultList().stream().map(mapper).collect(toList());
+        return query;
     }
 
     protected List<Predicate> getPredicates(CriteriaBuilder builder, Root<E> root) {
@@ -24,6 +24,7 @@
        id varchar(255) not null,
         name varchar(255),
         status varchar(255),
+        processInstanceId varchar(255),
         primary key (id)
     );
 
@@ -35,6 +36,7 @@
         name varchar(255),
         nodeId varchar(255),
         type varchar(255),
+        processInstanceId varchar(255),
         primary key (id)
     );
 
@@ -62,16 +64,6 @@
         addons varchar(255)
     );
 
-    create table ProcessInstanceEntity_MilestoneEntity (
-       ProcessInstanceEntity_id varchar(255) not null,
-        milestones_id varchar(255) not null
-    );
-
-    create table ProcessInstanceEntity_NodeInstanceEntity (
-       ProcessInstanceEntity_id varchar(255) not null,
-        nodes_id varchar(255) not null
-    );
-
     create table ProcessInstanceEntity_roles (
        ProcessInstanceEntity_id varchar(255) not null,
         roles varchar(255)
@@ -123,11 +115,17 @@
         potentialUsers varchar(255)
     );
 
-    alter table if exists ProcessInstanceEntity_MilestoneEntity 
-       add constraint UK_iw2hpwwogyfuwe1oss9oqar93 unique (milestones_id);
+    alter table if exists MilestoneEntity 
+       add constraint FKaolwp14np1l8g1mti0w6ipsxe 
+       foreign key (processInstanceId) 
+       references ProcessInstanceEntity 
+       on delete cascade;
 
-    alter table if exists ProcessInstanceEntity_NodeInstanceEntity 
-       add constraint UK_sdve1m52p29bajp0ui95er5qj unique (nodes_id);
+    alter table if exists NodeInstanceEntity 
+       add constraint FKhsy27wp1hcd9jp5sw6m4ng4en 
+       foreign key (processInstanceId) 
+       references ProcessInstanceEntity 
+       on delete cascade;
 
     alter table if exists ProcessInstanceEntity_addons 
        add constraint FKsdc13xvts9tdmimek9pfei5up 
@@ -135,26 +133,6 @@
        references ProcessInstanceEntity 
        on delete cascade;
 
-    alter table if exists ProcessInstanceEntity_MilestoneEntity 
-       add constraint FKkk3pdt6yntyad4257jbcul7xk 
-       foreign key (milestones_id) 
-       references MilestoneEntity;
-
-    alter table if exists ProcessInstanceEntity_MilestoneEntity 
-       add constraint FK8frxihvalnxacv1vcdbrt4rwa 
-       foreign key (ProcessInstanceEntity_id) 
-       references ProcessInstanceEntity;
-
-    alter table if exists ProcessInstanceEntity_NodeInstanceEntity 
-       add constraint FKrsiysusml360wxgiqkfjbuftg 
-       foreign key (nodes_id) 
-       references NodeInstanceEntity;
-
-    alter table if exists ProcessInstanceEntity_NodeInstanceEntity 
-       add constraint FK2w1s1fhpoaeighh1og96q24dn 
-       foreign key (ProcessInstanceEntity_id) 
-       references ProcessInstanceEntity;
-
     alter table if exists ProcessInstanceEntity_roles 
        add constraint FK2cwq2idof87vgrg6wy5ng15h2 
        foreign key (ProcessInstanceEntity_id) 
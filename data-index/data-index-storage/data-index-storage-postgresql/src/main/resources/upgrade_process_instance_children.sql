@@ -0,0 +1,54 @@
+-- Upgrades a data index database created with the previous schema, where the nodes and milestones of a process
+-- instance were linked through the ProcessInstanceEntity_NodeInstanceEntity and
+-- ProcessInstanceEntity_MilestoneEntity join tables, to the current schema (see create.sql), where they reference
+-- their process instance through a processInstanceId column.
+-- The script is idempotent, it must be run before starting the upgraded data index service.
+
+    alter table if exists MilestoneEntity
+       add column if not exists processInstanceId varchar(255);
+
+    alter table if exists NodeInstanceEntity
+       add column if not exists processInstanceId varchar(255);
+
+    do $$
+    begin
+        if to_regclass('ProcessInstanceEntity_MilestoneEntity') is not null then
+            update MilestoneEntity m
+               set processInstanceId = j.ProcessInstanceEntity_id
+              from ProcessInstanceEntity_MilestoneEntity j
+             where j.milestones_id = m.id;
+            drop table ProcessInstanceEntity_MilestoneEntity;
+        end if;
+        if to_regclass('ProcessInstanceEntity_NodeInstanceEntity') is not null then
+            update NodeInstanceEntity n
+               set processInstanceId = j.ProcessInstanceEntity_id
+              from ProcessInstanceEntity_NodeInstanceEntity j
+             where j.nodes_id = n.id;
+            drop table ProcessInstanceEntity_NodeInstanceEntity;
+        end if;
+    end
+    $$;
+
+    -- rows not linked to any process instance are not reachable anymore
+    delete from MilestoneEntity where processInstanceId is null;
+
+    delete from NodeInstanceEntity where processInstanceId is null;
+
+    do $$
+    begin
+        if not exists (select 1 from pg_constraint where conname = 'fkaolwp14np1l8g1mti0w6ipsxe') then
+            alter table MilestoneEntity
+               add constraint FKaolwp14np1l8g1mti0w6ipsxe
+               foreign key (processInstanceId)
+               references ProcessInstanceEntity
+               on delete cascade;
+        end if;
+        if not exists (select 1 from pg_constraint where conname = 'fkhsy27wp1hcd9jp5sw6m4ng4en') then
+            alter table NodeInstanceEntity
+               add constraint FKhsy27wp1hcd9jp5sw6m4ng4en
+               foreign key (processInstanceId)
+               references ProcessInstanceEntity
+               on delete cascade;
+        end if;
+    end
+    $$;
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.index.postgresql.schema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.testcontainers.quarkus.PostgreSqlQuarkusTestResource;
+
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@QuarkusTest
+@QuarkusTestResource(PostgreSqlQuarkusTestResource.class)
+public class UpgradeProcessInstanceChildrenIT {
+
+    private static final String UPGRADE_SCRIPT = "/upgrade_process_instance_children.sql";
+
+    @Inject
+    EntityManager entityManager;
+
+    @Test
+    @TestTransaction
+    public void testUpgradeFromJoinTables() throws IOException {
+        // the previous schema, rolled back with the test transaction
+        execute("alter table MilestoneEntity drop column processInstanceId");
+        execute("alter table NodeInstanceEntity drop column processInstanceId");
+        execute("create table ProcessInstanceEntity_MilestoneEntity (ProcessInstanceEntity_id varchar(255) not null, milestones_id varchar(255) not null)");
+        execute("create table ProcessInstanceEntity_NodeInstanceEntity (ProcessInstanceEntity_id varchar(255) not null, nodes_id varchar(255) not null)");
+        execute("insert into ProcessInstanceEntity (id, processId) values ('pi1', 'travels')");
+        execute("insert into NodeInstanceEntity (id, name) values ('n1', 'start'), ('n2', 'end'), ('n3', 'orphan')");
+        execute("insert into MilestoneEntity (id, name) values ('m1', 'booked')");
+        execute("insert into ProcessInstanceEntity_NodeInstanceEntity values ('pi1', 'n1'), ('pi1', 'n2')");
+        execute("insert into ProcessInstanceEntity_MilestoneEntity values ('pi1', 'm1')");
+
+        String script;
+        try (InputStream stream = getClass().getResourceAsStream(UPGRADE_SCRIPT)) {
+            script = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        // the script is run twice, as it must be idempotent
+        for (int i = 0; i < 2; i++) {
+            entityManager.unwrap(Session.class).doWork(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(script);
+                }
+            });
+        }
+
+        assertThat(count("select count(*) from NodeInstanceEntity where processInstanceId = 'pi1'")).isEqualTo(2);
+        assertThat(count("select count(*) from MilestoneEntity where processInstanceId = 'pi1'")).isOne();
+        assertThat(count("select count(*) from NodeInstanceEntity where id = 'n3'")).isZero();
+        assertThat(count("select count(*) from pg_tables where tablename like 'processinstanceentity\\_%entity'")).isZero();
+
+        // the children are deleted along with their process instance
+        execute("delete from ProcessInstanceEntity where id = 'pi1'");
+        assertThat(count("select count(*) from NodeInstanceEntity where id in ('n1', 'n2')")).isZero();
+        assertThat(count("select count(*) from MilestoneEntity where id = 'm1'")).isZero();
+    }
+
+    private void execute(String sql) {
+        entityManager.createNativeQuery(sql).executeUpdate();
+    }
+
+    private long count(String sql) {
+        return ((Number) entityManager.createNativeQuery(sql).getSingleResult()).longValue();
+    }
+}
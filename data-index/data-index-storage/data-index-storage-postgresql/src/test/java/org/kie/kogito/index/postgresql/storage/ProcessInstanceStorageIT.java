@@ -16,24 +16,45 @@
 
 package org.kie.kogito.index.postgresql.storage;
 
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 
 import org.apache.commons.lang3.RandomStringUtils;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
+import org.kie.kogito.index.model.NodeInstance;
 import org.kie.kogito.index.model.ProcessInstance;
 import org.kie.kogito.index.model.ProcessInstanceState;
+import org.kie.kogito.index.postgresql.model.MilestoneEntity;
+import org.kie.kogito.index.postgresql.model.NodeInstanceEntity;
 import org.kie.kogito.index.postgresql.model.ProcessInstanceEntity;
 import org.kie.kogito.index.postgresql.model.ProcessInstanceEntityRepository;
 import org.kie.kogito.index.test.TestUtils;
+import org.kie.kogito.persistence.api.Storage;
 import org.kie.kogito.persistence.api.StorageService;
+import org.kie.kogito.persistence.api.query.AttributeGroup;
+import org.kie.kogito.persistence.api.query.Query;
 import org.kie.kogito.testcontainers.quarkus.PostgreSqlQuarkusTestResource;
 
 import io.quarkus.test.common.QuarkusTestResource;
 import io.quarkus.test.junit.QuarkusTest;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.count;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.equalTo;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.max;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.min;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.notNull;
+
 @QuarkusTest
 @QuarkusTestResource(PostgreSqlQuarkusTestResource.class)
 public class ProcessInstanceStorageIT extends AbstractStorageIT<ProcessInstanceEntity, ProcessInstance> {
@@ -71,4 +92,129 @@ public class ProcessInstanceStorageIT extends AbstractStorageIT<ProcessInstanceE
         testStorage(processInstanceId, processInstance1, processInstance2);
     }
 
+    @Test
+    @Transactional
+    public void testProcessInstanceNodesMerged() {
+        String processInstanceId = UUID.randomUUID().toString();
+        String processId = RandomStringUtils.randomAlphabetic(5);
+        ProcessInstance processInstance1 = TestUtils
+                .createProcessInstance(processInstanceId, processId, null, null, ProcessInstanceState.ACTIVE.ordinal(), 0L);
+        Storage<String, ProcessInstance> cache = getStorage().getCache("cache", ProcessInstance.class);
+        cache.put(processInstanceId, processInstance1);
+        repository.flush();
+        repository.getEntityManager().clear();
+
+        NodeInstance exited = processInstance1.getNodes().get(0);
+        exited.setExit(ZonedDateTime.now(ZoneOffset.UTC));
+        ProcessInstance processInstance2 = TestUtils
+                .createProcessInstance(processInstanceId, processId, null, null, ProcessInstanceState.COMPLETED.ordinal(), 1000L);
+        List<NodeInstance> nodes = new ArrayList<>(processInstance1.getNodes());
+        nodes.addAll(processInstance2.getNodes());
+        processInstance2.setNodes(nodes);
+        cache.put(processInstanceId, processInstance2);
+        Statistics statistics = repository.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        repository.flush();
+        repository.getEntityManager().clear();
+
+        // 2 nodes and 1 milestone inserted, the process instance and the exited node updated, the replaced milestone
+        // unlinked and deleted, the 3 new children linked to the process instance
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(3);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(2);
+        assertThat(statistics.getEntityDeleteCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionRecreateCount()).isZero();
+        assertThat(statistics.getCollectionRemoveCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(9);
+
+        assertThat(countRows("NodeInstanceEntity", processInstanceId)).isEqualTo(4);
+        assertThat(countRows("MilestoneEntity", processInstanceId)).isOne();
+        assertThat(repository.getEntityManager().find(MilestoneEntity.class, processInstance1.getMilestones().get(0).getId())).isNull();
+        assertThat(repository.findById(processInstanceId).getNodes()).hasSize(4);
+        assertThat(repository.getEntityManager().find(NodeInstanceEntity.class, exited.getId()).getExit()).isNotNull();
+    }
+
+    @Test
+    @Transactional
+    public void testProcessInstancesPutAllPreloaded() {
+        String processId = RandomStringUtils.randomAlphabetic(5);
+        Storage<String, ProcessInstance> cache = getStorage().getCache("cache", ProcessInstance.class);
+        Map<String, ProcessInstance> processInstances = new HashMap<>();
+        for (int i = 0; i < 3; i++) {
+            String processInstanceId = UUID.randomUUID().toString();
+            processInstances.put(processInstanceId,
+                    TestUtils.createProcessInstance(processInstanceId, processId, null, null, ProcessInstanceState.ACTIVE.ordinal(), 0L));
+        }
+        cache.putAll(processInstances);
+        repository.flush();
+        repository.getEntityManager().clear();
+
+        processInstances.values().forEach(processInstance -> processInstance.setState(ProcessInstanceState.COMPLETED.ordinal()));
+        Statistics statistics = repository.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        cache.putAll(processInstances);
+        repository.flush();
+        repository.getEntityManager().clear();
+
+        // the process instances and their collections are loaded by a query per collection, not per process instance
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(3);
+        assertThat(cache.getAll(processInstances.keySet()).values()).extracting(ProcessInstance::getState)
+                .containsOnly(ProcessInstanceState.COMPLETED.ordinal());
+    }
+
+    private long countRows(String table, String processInstanceId) {
+        return ((Number) repository.getEntityManager()
+                .createNativeQuery("select count(*) from " + table + " where processInstanceId = ?1")
+                .setParameter(1, processInstanceId)
+                .getSingleResult()).longValue();
+    }
+
+    @Test
+    @Transactional
+    public void testProcessInstanceProjection() {
+        String processInstanceId = UUID.randomUUID().toString();
+        ProcessInstance processInstance = TestUtils
+                .createProcessInstance(processInstanceId, RandomStringUtils.randomAlphabetic(5), null, null, ProcessInstanceState.ACTIVE.ordinal(), 0L);
+        Storage<String, ProcessInstance> cache = getStorage().getCache("cache", ProcessInstance.class);
+        cache.put(processInstanceId, processInstance);
+        repository.flush();
+        repository.getEntityManager().clear();
+
+        List<ProcessInstance> result = cache.query().filter(List.of(equalTo("id", processInstanceId)))
+                .projection(List.of("state", "nodes", "roles", "error")).execute();
+
+        assertThat(result).hasSize(1);
+        ProcessInstance projected = result.get(0);
+        assertThat(projected.getId()).isEqualTo(processInstanceId);
+        assertThat(projected.getState()).isEqualTo(ProcessInstanceState.ACTIVE.ordinal());
+        assertThat(projected.getNodes()).hasSameSizeAs(processInstance.getNodes());
+        assertThat(projected.getRoles()).containsExactlyInAnyOrderElementsOf(processInstance.getRoles());
+        assertThat(projected.getProcessId()).isNull();
+        assertThat(projected.getVariables()).isNull();
+        assertThat(projected.getMilestones()).isNull();
+    }
+
+    @Test
+    @Transactional
+    public void testProcessInstanceAggregations() {
+        String processId = RandomStringUtils.randomAlphabetic(5);
+        Storage<String, ProcessInstance> cache = getStorage().getCache("cache", ProcessInstance.class);
+        for (ProcessInstanceState state : List.of(ProcessInstanceState.ACTIVE, ProcessInstanceState.ACTIVE, ProcessInstanceState.COMPLETED)) {
+            String processInstanceId = UUID.randomUUID().toString();
+            cache.put(processInstanceId, TestUtils.createProcessInstance(processInstanceId, processId, null, null, state.ordinal(), 0L));
+        }
+        repository.flush();
+
+        Query<ProcessInstance> query = cache.query().filter(List.of(equalTo("processId", processId)));
+        assertThat(query.limit(1).count()).isEqualTo(3);
+        // Filtering on a collection attribute must not count the elements once per joined row
+        assertThat(cache.query().filter(List.of(equalTo("processId", processId), notNull("nodes.id"))).count()).isEqualTo(3);
+
+        List<AttributeGroup> groups = query.groupBy("state", List.of(count(), min("start"), max("start")));
+        assertThat(groups).extracting(AttributeGroup::getValue)
+                .containsExactlyInAnyOrder(ProcessInstanceState.ACTIVE.ordinal(), ProcessInstanceState.COMPLETED.ordinal());
+        assertThat(groups).allSatisfy(group -> assertThat(group.getAggregates().get(1)).isInstanceOf(ZonedDateTime.class));
+        assertThat(groups.stream().filter(group -> group.getValue().equals(ProcessInstanceState.ACTIVE.ordinal())).findFirst().get().getAggregates().get(0))
+                .isEqualTo(2L);
+    }
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.explainability.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.kie.kogito.explainability.model.Feature;
+import org.kie.kogito.explainability.model.FeatureFactory;
+import org.kie.kogito.explainability.model.Output;
+import org.kie.kogito.explainability.model.Prediction;
+import org.kie.kogito.explainability.model.PredictionInput;
+import org.kie.kogito.explainability.model.PredictionOutput;
+import org.kie.kogito.explainability.model.PredictionProvider;
+import org.kie.kogito.explainability.model.SimplePrediction;
+import org.kie.kogito.explainability.model.Type;
+import org.kie.kogito.explainability.model.Value;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+/**
+ * In-process {@link PredictionProvider} stubs and data generators used by the benchmarks.
+ * Predictions are computed synchronously, so that benchmarks measure the explainers overhead rather than the model
+ * latency.
+ */
+public class BenchmarkModels {
+
+    private BenchmarkModels() {
+        // utility class
+    }
+
+    /**
+     * Get a linear regression model over (numerical) features with randomly generated coefficients.
+     *
+     * @param noOfFeatures the no. of features the model accepts
+     * @param seed the seed used to generate the coefficients
+     * @return a model with a single numerical output
+     */
+    public static PredictionProvider getLinearRegressionModel(int noOfFeatures, long seed) {
+        double[] coefficients = getCoefficients(noOfFeatures, seed);
+        return inputs -> {
+            List<PredictionOutput> predictionOutputs = new ArrayList<>(inputs.size());
+            for (PredictionInput input : inputs) {
+                double result = linearCombination(coefficients, input.getFeatures());
+                predictionOutputs.add(new PredictionOutput(
+                        List.of(new Output("linear", Type.NUMBER, new Value(result), 1d))));
+            }
+            return completedFuture(predictionOutputs);
+        };
+    }
+
+    /**
+     * Get a linear classifier over (numerical) features with randomly generated coefficients.
+     *
+     * @param noOfFeatures the no. of features the model accepts
+     * @param seed the seed used to generate the coefficients
+     * @return a model with a single boolean output
+     */
+    public static PredictionProvider getLinearClassifierModel(int noOfFeatures, long seed) {
+        double[] coefficients = getCoefficients(noOfFeatures, seed);
+        return inputs -> {
+            List<PredictionOutput> predictionOutputs = new ArrayList<>(inputs.size());
+            for (PredictionInput input : inputs) {
+                double result = linearCombination(coefficients, input.getFeatures());
+                predictionOutputs.add(new PredictionOutput(
+                        List.of(new Output("class", Type.BOOLEAN, new Value(result > 0), 1d / (1d + Math.exp(-result))))));
+            }
+            return completedFuture(predictionOutputs);
+        };
+    }
+
+    /**
+     * Generate a list of numerical features whose values are sampled from a standard normal distribution.
+     *
+     * @param noOfFeatures the no. of features
+     * @param random the random generator
+     * @return a list of numerical features
+     */
+    public static List<Feature> getNumericalFeatures(int noOfFeatures, Random random) {
+        List<Feature> features = new ArrayList<>(noOfFeatures);
+        for (int i = 0; i < noOfFeatures; i++) {
+            features.add(FeatureFactory.newNumericalFeature("f-" + i, random.nextGaussian()));
+        }
+        return features;
+    }
+
+    /**
+     * Generate predictions from a model, for randomly generated inputs.
+     *
+     * @param model the model
+     * @param noOfFeatures the no. of features for each input
+     * @param noOfPredictions the no. of predictions
+     * @param random the random generator
+     * @return a list of predictions
+     */
+    public static List<Prediction> getPredictions(PredictionProvider model, int noOfFeatures, int noOfPredictions,
+            Random random) {
+        List<PredictionInput> inputs = new ArrayList<>(noOfPredictions);
+        for (int i = 0; i < noOfPredictions; i++) {
+            inputs.add(new PredictionInput(getNumericalFeatures(noOfFeatures, random)));
+        }
+        List<PredictionOutput> outputs = model.predictAsync(inputs).join();
+        List<Prediction> predictions = new ArrayList<>(noOfPredictions);
+        for (int i = 0; i < noOfPredictions; i++) {
+            predictions.add(new SimplePrediction(inputs.get(i), outputs.get(i)));
+        }
+        return predictions;
+    }
+
+    private static double[] getCoefficients(int noOfFeatures, long seed) {
+        Random random = new Random(seed);
+        double[] coefficients = new double[noOfFeatures];
+        for (int i = 0; i < noOfFeatures; i++) {
+            coefficients[i] = random.nextGaussian();
+        }
+        return coefficients;
+    }
+
+    private static double linearCombination(double[] coefficients, List<Feature> features) {
+        double result = 0;
+        for (int i = 0; i < coefficients.length; i++) {
+            result += coefficients[i] * features.get(i).getValue().asNumber();
+        }
+        return result;
+    }
+}
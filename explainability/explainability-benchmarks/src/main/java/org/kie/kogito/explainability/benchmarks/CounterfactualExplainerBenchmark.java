@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.explainability.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.explainability.local.counterfactual.CounterfactualConfigurationFactory;
+import org.kie.kogito.explainability.local.counterfactual.CounterfactualExplainer;
+import org.kie.kogito.explainability.local.counterfactual.CounterfactualResult;
+import org.kie.kogito.explainability.model.CounterfactualPrediction;
+import org.kie.kogito.explainability.model.Feature;
+import org.kie.kogito.explainability.model.Output;
+import org.kie.kogito.explainability.model.Prediction;
+import org.kie.kogito.explainability.model.PredictionFeatureDomain;
+import org.kie.kogito.explainability.model.PredictionInput;
+import org.kie.kogito.explainability.model.PredictionOutput;
+import org.kie.kogito.explainability.model.PredictionProvider;
+import org.kie.kogito.explainability.model.Type;
+import org.kie.kogito.explainability.model.Value;
+import org.kie.kogito.explainability.model.domain.FeatureDomain;
+import org.kie.kogito.explainability.model.domain.NumericalFeatureDomain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.optaplanner.core.config.solver.EnvironmentMode;
+import org.optaplanner.core.config.solver.SolverConfig;
+import org.optaplanner.core.config.solver.termination.TerminationConfig;
+
+/**
+ * Benchmark for {@link CounterfactualExplainer#explainAsync(Prediction, PredictionProvider)}.
+ * The search is bounded by a fixed no. of score calculations, so that each operation performs the same amount of
+ * work regardless of how quickly a counterfactual is found.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CounterfactualExplainerBenchmark {
+
+    @Param({ "10", "100", "500" })
+    private int noOfFeatures;
+
+    @Param({ "1000" })
+    private long scoreCalculationCountLimit;
+
+    @Param({ "1", "32" })
+    private int batchSize;
+
+    private CounterfactualExplainer counterfactualExplainer;
+    private PredictionProvider model;
+    private Prediction prediction;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        model = BenchmarkModels.getLinearClassifierModel(noOfFeatures, 0);
+        List<Feature> features = BenchmarkModels.getNumericalFeatures(noOfFeatures, random);
+        List<FeatureDomain> featureDomains = new ArrayList<>(noOfFeatures);
+        List<Boolean> constraints = new ArrayList<>(noOfFeatures);
+        for (int i = 0; i < noOfFeatures; i++) {
+            featureDomains.add(NumericalFeatureDomain.create(-3, 3));
+            constraints.add(false);
+        }
+        PredictionOutput original = model.predictAsync(List.of(new PredictionInput(features))).join().get(0);
+        boolean originalClass = original.getOutputs().get(0).getValue().asNumber() == 1;
+        PredictionOutput goal = new PredictionOutput(
+                List.of(new Output("class", Type.BOOLEAN, new Value(!originalClass), 0d)));
+        prediction = new CounterfactualPrediction(new PredictionInput(features), goal,
+                new PredictionFeatureDomain(featureDomains), constraints, null, UUID.randomUUID());
+
+        TerminationConfig terminationConfig = new TerminationConfig()
+                .withScoreCalculationCountLimit(scoreCalculationCountLimit);
+        SolverConfig solverConfig = CounterfactualConfigurationFactory.builder()
+                .withTerminationConfig(terminationConfig)
+                .withBatchSize(batchSize)
+                .build();
+        solverConfig.setRandomSeed(0L);
+        solverConfig.setEnvironmentMode(EnvironmentMode.REPRODUCIBLE);
+        counterfactualExplainer = CounterfactualExplainer.builder().withSolverConfig(solverConfig).build();
+    }
+
+    @Benchmark
+    public CounterfactualResult explain() {
+        return counterfactualExplainer.explainAsync(prediction, model).join();
+    }
+}
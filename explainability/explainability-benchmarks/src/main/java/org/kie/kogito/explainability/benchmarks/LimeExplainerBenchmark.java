@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.explainability.benchmarks;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.explainability.local.lime.LimeConfig;
+import org.kie.kogito.explainability.local.lime.LimeExplainer;
+import org.kie.kogito.explainability.model.PerturbationContext;
+import org.kie.kogito.explainability.model.Prediction;
+import org.kie.kogito.explainability.model.PredictionProvider;
+import org.kie.kogito.explainability.model.Saliency;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for {@link LimeExplainer#explainAsync(Prediction, PredictionProvider)}.
+ * LIME generates at least {@code 2^noOfFeatures} samples, hence the no. of features is kept low.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class LimeExplainerBenchmark {
+
+    @Param({ "5", "10" })
+    private int noOfFeatures;
+
+    @Param({ "300", "1000" })
+    private int noOfSamples;
+
+    @Param({ "true", "false" })
+    private boolean classification;
+
+    private LimeExplainer limeExplainer;
+    private PredictionProvider model;
+    private Prediction prediction;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        model = classification ? BenchmarkModels.getLinearClassifierModel(noOfFeatures, 0)
+                : BenchmarkModels.getLinearRegressionModel(noOfFeatures, 0);
+        prediction = BenchmarkModels.getPredictions(model, noOfFeatures, 1, random).get(0);
+        LimeConfig limeConfig = new LimeConfig()
+                .withSamples(noOfSamples)
+                .withPerturbationContext(new PerturbationContext(random, 1));
+        limeExplainer = new LimeExplainer(limeConfig);
+    }
+
+    @Benchmark
+    public Map<String, Saliency> explain() {
+        return limeExplainer.explainAsync(prediction, model).join();
+    }
+}
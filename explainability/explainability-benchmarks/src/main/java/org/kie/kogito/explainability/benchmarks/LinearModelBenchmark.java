@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.explainability.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.kie.kogito.explainability.utils.LinearModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for {@link LinearModel#fit(java.util.Collection, double[])} on a sparse (0/1) encoded training set, as
+ * generated by LIME.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class LinearModelBenchmark {
+
+    @Param({ "10", "100", "300", "500" })
+    private int noOfFeatures;
+
+    @Param({ "100", "1000" })
+    private int noOfSamples;
+
+    @Param({ "true", "false" })
+    private boolean classification;
+
+    private List<Pair<double[], Double>> trainingSet;
+    private double[] sampleWeights;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        trainingSet = new ArrayList<>(noOfSamples);
+        sampleWeights = new double[noOfSamples];
+        for (int i = 0; i < noOfSamples; i++) {
+            double[] x = new double[noOfFeatures];
+            double y = 0;
+            for (int j = 0; j < noOfFeatures; j++) {
+                x[j] = random.nextBoolean() ? 1 : 0;
+                y += x[j] * (j % 2 == 0 ? 1 : -1);
+            }
+            trainingSet.add(new ImmutablePair<>(x, classification ? (y > 0 ? 1d : 0d) : y));
+            sampleWeights[i] = random.nextDouble();
+        }
+    }
+
+    @Benchmark
+    public double[] fit() {
+        LinearModel linearModel = new LinearModel(noOfFeatures, classification);
+        linearModel.fit(trainingSet, sampleWeights);
+        return linearModel.getWeights();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.explainability.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.kie.kogito.explainability.global.pdp.PartialDependencePlotConfig;
+import org.kie.kogito.explainability.global.pdp.PartialDependencePlotExplainer;
+import org.kie.kogito.explainability.model.PartialDependenceGraph;
+import org.kie.kogito.explainability.model.Prediction;
+import org.kie.kogito.explainability.model.PredictionProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for {@link PartialDependencePlotExplainer#explainFromPredictions(PredictionProvider, java.util.Collection)}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PartialDependencePlotExplainerBenchmark {
+
+    @Param({ "10", "50" })
+    private int noOfFeatures;
+
+    @Param({ "10", "100" })
+    private int seriesLength;
+
+    @Param({ "100" })
+    private int noOfPredictions;
+
+    private PartialDependencePlotExplainer partialDependencePlotExplainer;
+    private PredictionProvider model;
+    private List<Prediction> predictions;
+
+    @Setup
+    public void setUp() {
+        model = BenchmarkModels.getLinearRegressionModel(noOfFeatures, 0);
+        predictions = BenchmarkModels.getPredictions(model, noOfFeatures, noOfPredictions, new Random(0));
+        partialDependencePlotExplainer = new PartialDependencePlotExplainer(new PartialDependencePlotConfig()
+                .withSeriesLength(seriesLength));
+    }
+
+    @Benchmark
+    public List<PartialDependenceGraph> explain() throws InterruptedException, ExecutionException, TimeoutException {
+        return partialDependencePlotExplainer.explainFromPredictions(model, predictions);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.explainability.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.explainability.utils.WeightedLinearRegression;
+import org.kie.kogito.explainability.utils.WeightedLinearRegressionResults;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for {@link WeightedLinearRegression#fit(double[][], double[], double[], boolean, Random)}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class WeightedLinearRegressionBenchmark {
+
+    @Param({ "10", "100", "300", "500" })
+    private int noOfFeatures;
+
+    @Param({ "1000" })
+    private int noOfSamples;
+
+    private double[][] features;
+    private double[] observations;
+    private double[] sampleWeights;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        random = new Random(0);
+        features = new double[noOfSamples][noOfFeatures];
+        observations = new double[noOfSamples];
+        sampleWeights = new double[noOfSamples];
+        for (int i = 0; i < noOfSamples; i++) {
+            for (int j = 0; j < noOfFeatures; j++) {
+                features[i][j] = random.nextGaussian();
+                observations[i] += features[i][j] * (j + 1);
+            }
+            observations[i] += random.nextGaussian();
+            sampleWeights[i] = random.nextDouble();
+        }
+    }
+
+    @Benchmark
+    public WeightedLinearRegressionResults fit() {
+        return WeightedLinearRegression.fit(features, observations, sampleWeights, true, random);
+    }
+}
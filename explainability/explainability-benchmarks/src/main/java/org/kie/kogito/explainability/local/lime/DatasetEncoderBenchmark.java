@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.explainability.local.lime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.explainability.benchmarks.BenchmarkModels;
+import org.kie.kogito.explainability.model.EncodingParams;
+import org.kie.kogito.explainability.model.Feature;
+import org.kie.kogito.explainability.model.Output;
+import org.kie.kogito.explainability.model.Prediction;
+import org.kie.kogito.explainability.model.PredictionInput;
+import org.kie.kogito.explainability.model.PredictionProvider;
+import org.kie.kogito.explainability.utils.EncodedDataset;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for {@link DatasetEncoder#getEncodedTrainingSet()}.
+ * It lives in the same package as {@link DatasetEncoder} as the encoder is not part of the public API.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DatasetEncoderBenchmark {
+
+    @Param({ "10", "100", "300", "500" })
+    private int noOfFeatures;
+
+    @Param({ "100", "1000" })
+    private int noOfSamples;
+
+    private DatasetEncoder datasetEncoder;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        PredictionProvider model = BenchmarkModels.getLinearClassifierModel(noOfFeatures, 0);
+        List<Prediction> predictions = BenchmarkModels.getPredictions(model, noOfFeatures, noOfSamples + 1, random);
+        Prediction target = predictions.get(0);
+        List<Feature> targetFeatures = target.getInput().getFeatures();
+        Output targetOutput = target.getOutput().getOutputs().get(0);
+        List<PredictionInput> perturbedInputs = new ArrayList<>(noOfSamples);
+        List<Output> perturbedOutputs = new ArrayList<>(noOfSamples);
+        for (Prediction prediction : predictions.subList(1, predictions.size())) {
+            perturbedInputs.add(prediction.getInput());
+            perturbedOutputs.add(prediction.getOutput().getOutputs().get(0));
+        }
+        datasetEncoder = new DatasetEncoder(perturbedInputs, perturbedOutputs, targetFeatures, targetOutput,
+                new EncodingParams(1, 0.1));
+    }
+
+    @Benchmark
+    public EncodedDataset encode() {
+        return datasetEncoder.getEncodedTrainingSet();
+    }
+}
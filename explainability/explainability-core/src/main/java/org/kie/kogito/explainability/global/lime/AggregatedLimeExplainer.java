@@ -15,11 +15,14 @@
  */
 package org.kie.kogito.explainability.global.lime;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import org.kie.kogito.explainability.global.GlobalExplainer;
 import org.kie.kogito.explainability.local.lime.LimeExplainer;
@@ -33,13 +36,32 @@ import org.kie.kogito.explainability.utils.DataUtils;
 /**
  * Global explainer aggregating LIME explanations over a number of inputs by reporting the mean feature importance for
  * each feature.
+ * Local explanations are requested with bounded concurrency and aggregated as soon as they are available, so that
+ * partial global saliencies can be published while the remaining inputs are explained.
  */
 public class AggregatedLimeExplainer implements GlobalExplainer<CompletableFuture<Map<String, Saliency>>> {
 
+    public static final int DEFAULT_MAX_CONCURRENCY = Runtime.getRuntime().availableProcessors();
+
     private final LimeExplainer limeExplainer;
+    private final int maxConcurrency;
 
     public AggregatedLimeExplainer(LimeExplainer limeExplainer) {
+        this(limeExplainer, DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * Create an aggregated LIME explainer.
+     *
+     * @param limeExplainer the explainer used for the local explanations
+     * @param maxConcurrency the max no. of local explanations running at the same time
+     */
+    public AggregatedLimeExplainer(LimeExplainer limeExplainer, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be positive: " + maxConcurrency);
+        }
         this.limeExplainer = limeExplainer;
+        this.maxConcurrency = maxConcurrency;
     }
 
     @Override
@@ -53,9 +75,67 @@ public class AggregatedLimeExplainer implements GlobalExplainer<CompletableFutur
 
     @Override
     public CompletableFuture<Map<String, Saliency>> explainFromPredictions(PredictionProvider model, Collection<Prediction> predictions) {
-        return CompletableFuture.completedFuture(predictions)
-                .thenApply(p -> p.stream().map(prediction -> limeExplainer.explainAsync(prediction, model)) // extract saliency for each input
-                        .map(CompletableFuture::join) // aggregate all the saliencies
-                        .reduce(Collections.emptyMap(), (m1, m2) -> Saliency.merge(List.of(m1, m2)))); // merge all the saliencies together
+        return explain(model, predictions, null);
+    }
+
+    /**
+     * Explain the given predictions, publishing the partial mean saliencies each time a local explanation is
+     * aggregated. The consumer is called by the threads completing the explanations, possibly at the same time, so
+     * partial saliencies may be published out of order.
+     *
+     * @param model the model
+     * @param predictions the predictions to explain
+     * @param intermediateResultsConsumer consumer of the partial mean saliencies
+     * @return the mean saliencies of all the predictions
+     */
+    public CompletableFuture<Map<String, Saliency>> explainFromPredictions(PredictionProvider model,
+            Collection<Prediction> predictions, Consumer<Map<String, Saliency>> intermediateResultsConsumer) {
+        return explain(model, predictions, Objects.requireNonNull(intermediateResultsConsumer));
+    }
+
+    /**
+     * Explain the given predictions, publishing the partial mean saliencies only if a consumer is given.
+     */
+    private CompletableFuture<Map<String, Saliency>> explain(PredictionProvider model, Collection<Prediction> predictions,
+            Consumer<Map<String, Saliency>> intermediateResultsConsumer) {
+        SaliencyAccumulator accumulator = new SaliencyAccumulator();
+        Iterator<Prediction> iterator = predictions.iterator();
+        List<CompletableFuture<Void>> lanes = new ArrayList<>(maxConcurrency);
+        for (int i = 0; i < maxConcurrency; i++) {
+            lanes.add(explainNext(model, iterator, accumulator, intermediateResultsConsumer));
+        }
+        return CompletableFuture.allOf(lanes.toArray(new CompletableFuture<?>[0]))
+                .thenApply(v -> accumulator.getSaliencies());
+    }
+
+    /**
+     * Explain the remaining predictions one after the other, until none is left.
+     */
+    private CompletableFuture<Void> explainNext(PredictionProvider model, Iterator<Prediction> iterator,
+            SaliencyAccumulator accumulator, Consumer<Map<String, Saliency>> intermediateResultsConsumer) {
+        Prediction prediction;
+        synchronized (iterator) {
+            if (!iterator.hasNext()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            prediction = iterator.next();
+        }
+        return limeExplainer.explainAsync(prediction, model)
+                .thenComposeAsync(saliencies -> {
+                    if (intermediateResultsConsumer == null) {
+                        accumulator.add(saliencies);
+                    } else {
+                        // the snapshot is taken along with the aggregation, but the consumer is called outside the
+                        // lock, so that it does not hold back the aggregation of the other explanations
+                        Map<String, Saliency> partialSaliencies;
+                        synchronized (accumulator) {
+                            accumulator.add(saliencies);
+                            partialSaliencies = accumulator.getSaliencies();
+                        }
+                        intermediateResultsConsumer.accept(partialSaliencies);
+                    }
+                    // continue on a pool thread, so that chains of completed explanations do not grow the stack
+                    return explainNext(model, iterator, accumulator, intermediateResultsConsumer);
+                }, limeExplainer.getLimeConfig().getExecutor());
     }
 }
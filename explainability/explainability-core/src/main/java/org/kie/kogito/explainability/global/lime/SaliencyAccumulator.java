@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.explainability.global.lime;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.kie.kogito.explainability.model.Feature;
+import org.kie.kogito.explainability.model.FeatureFactory;
+import org.kie.kogito.explainability.model.FeatureImportance;
+import org.kie.kogito.explainability.model.Output;
+import org.kie.kogito.explainability.model.Saliency;
+import org.kie.kogito.explainability.model.Value;
+
+/**
+ * Incrementally aggregates saliencies by output name, keeping the running mean of the score of each feature.
+ * This is equivalent to {@link Saliency#merge(java.util.Collection)} over all the added saliencies, without keeping
+ * them in memory.
+ * This class is thread safe.
+ */
+class SaliencyAccumulator {
+
+    private final Map<String, OutputAccumulator> outputs = new HashMap<>();
+    private long count = 0;
+
+    /**
+     * Add the saliencies of a single explanation.
+     *
+     * @param saliencies the saliencies, by output name
+     */
+    synchronized void add(Map<String, Saliency> saliencies) {
+        for (Saliency saliency : saliencies.values()) {
+            OutputAccumulator accumulator = outputs.computeIfAbsent(saliency.getOutput().getName(),
+                    name -> new OutputAccumulator(saliency.getOutput()));
+            for (FeatureImportance featureImportance : saliency.getPerFeatureImportance()) {
+                accumulator.add(featureImportance);
+            }
+        }
+        count++;
+    }
+
+    /**
+     * The no. of explanations added so far.
+     *
+     * @return the no. of explanations
+     */
+    synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Get the current mean saliencies.
+     *
+     * @return a new map of saliencies, one for each output appearing in the added saliencies
+     */
+    synchronized Map<String, Saliency> getSaliencies() {
+        Map<String, Saliency> result = new HashMap<>();
+        for (Map.Entry<String, OutputAccumulator> entry : outputs.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().toSaliency());
+        }
+        return result;
+    }
+
+    private static class OutputAccumulator {
+
+        private final Output output;
+        private final Map<String, FeatureMean> features = new HashMap<>();
+
+        private OutputAccumulator(Output output) {
+            this.output = output;
+        }
+
+        private void add(FeatureImportance featureImportance) {
+            Feature feature = featureImportance.getFeature();
+            features.computeIfAbsent(feature.getName(), name -> new FeatureMean(feature))
+                    .add(featureImportance.getScore());
+        }
+
+        private Saliency toSaliency() {
+            List<FeatureImportance> featureImportances = new ArrayList<>(features.size());
+            for (FeatureMean featureMean : features.values()) {
+                featureImportances.add(new FeatureImportance(featureMean.feature, featureMean.mean));
+            }
+            featureImportances.sort(Comparator.comparing(f -> f.getFeature().getName()));
+            return new Saliency(output, featureImportances);
+        }
+    }
+
+    private static class FeatureMean {
+
+        private final Feature feature;
+        private double mean = 0;
+        private long count = 0;
+
+        private FeatureMean(Feature feature) {
+            this.feature = FeatureFactory.copyOf(feature, new Value(null));
+        }
+
+        private void add(double score) {
+            count++;
+            mean += (score - mean) / count;
+        }
+    }
+}
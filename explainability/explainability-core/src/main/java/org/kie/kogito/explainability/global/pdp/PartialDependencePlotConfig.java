@@ -15,6 +15,9 @@
  */
 package org.kie.kogito.explainability.global.pdp;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * {@link PartialDependencePlotExplainer} configuration.
  */
@@ -24,6 +27,11 @@ public class PartialDependencePlotConfig {
 
     private int seriesLength = DEFAULT_SERIES_LENGTH;
 
+    /**
+     * {@link Executor} used to generate the plots of each feature in parallel.
+     */
+    private Executor executor = ForkJoinPool.commonPool();
+
     public PartialDependencePlotConfig withSeriesLength(int seriesLength) {
         this.seriesLength = seriesLength;
         return this;
@@ -32,4 +40,13 @@ public class PartialDependencePlotConfig {
     public int getSeriesLength() {
         return seriesLength;
     }
+
+    public PartialDependencePlotConfig withExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
 }
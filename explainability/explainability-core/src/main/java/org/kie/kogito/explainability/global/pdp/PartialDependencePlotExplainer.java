@@ -21,6 +21,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
@@ -46,6 +47,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Generates the partial dependence plot for the features of a {@link PredictionProvider}.
+ * The features are processed concurrently (on the {@link PartialDependencePlotConfig#getExecutor()}), with a single
+ * prediction request per feature, whose outputs are used for the plots of all the outputs.
  * <p>
  * see also https://christophm.github.io/interpretable-ml-book/pdp.html
  */
@@ -89,41 +92,57 @@ public class PartialDependencePlotExplainer implements GlobalExplainer<List<Part
             DataDistribution dataDistribution)
             throws InterruptedException, ExecutionException, TimeoutException {
         long start = System.currentTimeMillis();
-        List<PartialDependenceGraph> pdps = new ArrayList<>();
         List<FeatureDistribution> featureDistributions = dataDistribution.asFeatureDistributions();
 
         // fetch entire data distributions for all features
         List<PredictionInput> trainingData = dataDistribution.sample(config.getSeriesLength());
 
-        // create a PDP for each feature
+        // create the PDPs for each feature
+        List<CompletableFuture<List<PartialDependenceGraph>>> featurePdps = new ArrayList<>(featureDistributions.size());
         for (FeatureDistribution featureDistribution : featureDistributions) {
-            // generate (further) samples for the feature under analysis
-            // TBD: maybe just reuse trainingData
-            List<Value> xsValues = featureDistribution.sample(config.getSeriesLength()).stream()
-                    .sorted(Comparator.comparing(Value::asString)) // sort alphanumerically (if Value#asNumber is NaN)
-                    .sorted((v1, v2) -> Comparator.comparingDouble(Value::asNumber).compare(v1, v2)) // sort by natural order
-                    .distinct() // drop duplicates
-                    .collect(Collectors.toList());
-            List<Feature> featureXSvalues = xsValues.stream() // transform sampled Values into Features
-                    .map(v -> FeatureFactory.copyOf(featureDistribution.getFeature(), v)).collect(Collectors.toList());
+            featurePdps.add(CompletableFuture.supplyAsync(() -> {
+                // generate (further) samples for the feature under analysis
+                // TBD: maybe just reuse trainingData
+                List<Value> xsValues = featureDistribution.sample(config.getSeriesLength()).stream()
+                        .sorted(Comparator.comparing(Value::asString)) // sort alphanumerically (if Value#asNumber is NaN)
+                        .sorted((v1, v2) -> Comparator.comparingDouble(Value::asNumber).compare(v1, v2)) // sort by natural order
+                        .distinct() // drop duplicates
+                        .collect(Collectors.toList());
+                List<Feature> featureXSvalues = xsValues.stream() // transform sampled Values into Features
+                        .map(v -> FeatureFactory.copyOf(featureDistribution.getFeature(), v)).collect(Collectors.toList());
+                return new FeatureSeries(xsValues, featureXSvalues);
+            }, config.getExecutor()).thenCompose(series -> {
+                // prediction requests for all the values of feature 'Xs' under analysis are batched together
+                List<PredictionInput> predictionInputs = new ArrayList<>(series.featureXSvalues.size() * trainingData.size());
+                for (Feature featureXs : series.featureXSvalues) {
+                    predictionInputs.addAll(prepareInputs(featureXs, trainingData));
+                }
+                return model.predictAsync(predictionInputs)
+                        .thenApplyAsync(predictionOutputs -> {
+                            // create a PDP for each output, from the same predictions
+                            List<PartialDependenceGraph> pdps = new ArrayList<>(outputSize);
+                            for (int outputIndex = 0; outputIndex < outputSize; outputIndex++) {
+                                pdps.add(getPartialDependenceGraph(predictionOutputs, trainingData.size(),
+                                        series.xsValues, series.featureXSvalues, outputIndex));
+                            }
+                            return pdps;
+                        }, config.getExecutor());
+            }));
+        }
 
-            // create a PDP for each feature and each output
-            for (int outputIndex = 0; outputIndex < outputSize; outputIndex++) {
-                PartialDependenceGraph partialDependenceGraph = getPartialDependenceGraph(model, trainingData, xsValues,
-                        featureXSvalues, outputIndex);
-                pdps.add(partialDependenceGraph);
-            }
+        List<PartialDependenceGraph> pdps = new ArrayList<>(featureDistributions.size() * outputSize);
+        for (CompletableFuture<List<PartialDependenceGraph>> featurePdp : featurePdps) {
+            pdps.addAll(featurePdp.get(Config.INSTANCE.getAsyncTimeout(), Config.INSTANCE.getAsyncTimeUnit()));
         }
         long end = System.currentTimeMillis();
         LOGGER.debug("explanation time: {}ms", (end - start));
         return pdps;
     }
 
-    private PartialDependenceGraph getPartialDependenceGraph(PredictionProvider model,
-            List<PredictionInput> trainingData,
+    private PartialDependenceGraph getPartialDependenceGraph(List<PredictionOutput> predictionOutputs,
+            int seriesSize,
             List<Value> xsValues,
-            List<Feature> featureXSvalues, int outputIndex)
-            throws InterruptedException, ExecutionException, TimeoutException {
+            List<Feature> featureXSvalues, int outputIndex) {
         Output outputDecision = null;
         Feature feature = null;
         // each feature value of the feature under analysis should have a corresponding output value (composed by the marginal impacts of the other features)
@@ -133,11 +152,10 @@ public class PartialDependencePlotExplainer implements GlobalExplainer<List<Part
             if (feature == null) {
                 feature = FeatureFactory.copyOf(featureXSvalues.get(i), new Value(null));
             }
-            List<PredictionInput> predictionInputs = prepareInputs(featureXSvalues.get(i), trainingData);
-            List<PredictionOutput> predictionOutputs = getOutputs(model, predictionInputs);
-            // prediction requests are batched per value of feature 'Xs' under analysis
-            for (PredictionOutput predictionOutput : predictionOutputs) {
-                Output output = predictionOutput.getOutputs().get(outputIndex);
+            // the outputs of the i-th value of the feature under analysis
+            int end = Math.min((i + 1) * seriesSize, predictionOutputs.size());
+            for (int j = i * seriesSize; j < end; j++) {
+                Output output = predictionOutputs.get(j).getOutputs().get(outputIndex);
                 if (outputDecision == null) {
                     outputDecision = new Output(output.getName(), output.getType());
                 }
@@ -204,20 +222,6 @@ public class PartialDependencePlotExplainer implements GlobalExplainer<List<Part
         }
     }
 
-    /**
-     * Perform batch predictions on the model.
-     *
-     * @param model the model to be queried
-     * @param predictionInputs a batch of inputs
-     * @return a batch of outputs
-     */
-    private List<PredictionOutput> getOutputs(PredictionProvider model, List<PredictionInput> predictionInputs)
-            throws InterruptedException, ExecutionException, TimeoutException {
-        List<PredictionOutput> predictionOutputs;
-        predictionOutputs = model.predictAsync(predictionInputs).get(Config.INSTANCE.getAsyncTimeout(), Config.INSTANCE.getAsyncTimeUnit());
-        return predictionOutputs;
-    }
-
     /**
      * Generate inputs for a particular feature, using 1) a specific discrete value from the data distribution of the
      * feature under analysis for that particular feature and 2) values from a training data distribution (which we sample)
@@ -260,4 +264,17 @@ public class PartialDependencePlotExplainer implements GlobalExplainer<List<Part
         }
         return newFeatures;
     }
+
+    /**
+     * The sampled values of a feature under analysis.
+     */
+    private static class FeatureSeries {
+        private final List<Value> xsValues;
+        private final List<Feature> featureXSvalues;
+
+        private FeatureSeries(List<Value> xsValues, List<Feature> featureXSvalues) {
+            this.xsValues = xsValues;
+            this.featureXSvalues = featureXSvalues;
+        }
+    }
 }
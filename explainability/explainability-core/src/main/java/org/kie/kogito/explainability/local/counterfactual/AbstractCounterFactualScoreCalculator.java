@@ -0,0 +1,154 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.explainability.local.counterfactual;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import org.kie.kogito.explainability.Config;
+import org.kie.kogito.explainability.local.counterfactual.entities.CounterfactualEntity;
+import org.kie.kogito.explainability.model.Feature;
+import org.kie.kogito.explainability.model.Output;
+import org.kie.kogito.explainability.model.PredictionInput;
+import org.kie.kogito.explainability.model.PredictionOutput;
+import org.optaplanner.core.api.score.Score;
+import org.optaplanner.core.api.score.calculator.EasyScoreCalculator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Computes the levels of the counterfactual score as primitive values, concrete calculators only convert them to
+ * their score type.
+ * The score has three hard levels and two soft levels:
+ * <ol>
+ * <li>hard: the distance between the prediction outputs and the goal</li>
+ * <li>hard: the no. of changed constrained {@link CounterfactualEntity}</li>
+ * <li>hard: the no. of outputs whose score is below the goal threshold</li>
+ * <li>soft: the distance from the original prediction inputs</li>
+ * <li>soft: the no. of changed {@link CounterfactualEntity}</li>
+ * </ol>
+ * The calculator instance is shared by all the score directors of a solver, hence it must be stateless.
+ */
+abstract class AbstractCounterFactualScoreCalculator<T extends AbstractCounterfactualSolution<S>, S extends Score<S>>
+        implements EasyScoreCalculator<T, S> {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(AbstractCounterFactualScoreCalculator.class);
+
+    /**
+     * Calculates the counterfactual score for each proposed solution.
+     * This method assumes that each model used as {@link org.kie.kogito.explainability.model.PredictionProvider} is
+     * consistent, in the sense that for repeated operations, the size of the returned collection of
+     * {@link PredictionOutput} is the same, if the size of {@link PredictionInput} doesn't change.
+     *
+     * @param solution Proposed solution
+     * @return A score with three "hard" levels and two "soft" levels
+     */
+    @Override
+    public S calculateScore(T solution) {
+        double primaryHardScore = 0;
+        int secondaryHardScore = 0;
+        int tertiaryHardScore = 0;
+        double primarySoftScore = 0.0;
+        int secondarySoftscore = 0;
+
+        final List<CounterfactualEntity> entities = solution.getEntities();
+        // the input is handed over to the model, which may retain it, so it cannot be shared across calls
+        final List<Feature> input = new ArrayList<>(entities.size());
+        for (CounterfactualEntity entity : entities) {
+            primarySoftScore += entity.distance();
+            input.add(entity.asFeature());
+
+            if (entity.isChanged()) {
+                secondarySoftscore -= 1;
+
+                if (entity.isConstrained()) {
+                    secondaryHardScore -= 1;
+                }
+            }
+        }
+
+        if (logger.isDebugEnabled()) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < entities.size(); i++) {
+                final Feature f = input.get(i);
+                builder.append(String.format("%s=%s (d:%f)", f.getName(), f.getValue().getUnderlyingObject(),
+                        entities.get(i).distance()));
+            }
+            logger.debug("Current solution: {}", builder);
+        }
+
+        final List<Output> goal = solution.getGoal();
+
+        try {
+            List<PredictionOutput> predictions = solution.getModel().predictAsync(List.of(new PredictionInput(input)))
+                    .get(Config.INSTANCE.getAsyncTimeout(), Config.INSTANCE.getAsyncTimeUnit());
+
+            solution.setPredictionOutputs(predictions);
+
+            double distance = 0.0;
+
+            for (PredictionOutput predictionOutput : predictions) {
+
+                final List<Output> outputs = predictionOutput.getOutputs();
+
+                if (outputs.size() != goal.size()) {
+                    throw new IllegalArgumentException("Prediction size must be equal to goal size");
+                }
+                for (int i = 0; i < outputs.size(); i++) {
+                    final Output output = outputs.get(i);
+                    final Output goalOutput = goal.get(i);
+                    final double d = goalOutput.getValue().asNumber() - output.getValue().asNumber();
+                    distance += d * d;
+                    if (output.getScore() < goalOutput.getScore()) {
+                        tertiaryHardScore -= 1;
+                    }
+                }
+                primaryHardScore -= Math.sqrt(distance);
+                logger.debug("Distance penalty: {}", primaryHardScore);
+                logger.debug("Changed constraints penalty: {}", secondaryHardScore);
+                logger.debug("Confidence threshold penalty: {}", tertiaryHardScore);
+            }
+
+        } catch (ExecutionException e) {
+            logger.error("Prediction returned an error {}", e.getMessage());
+        } catch (InterruptedException e) {
+            logger.error("Interrupted while waiting for prediction {}", e.getMessage());
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            logger.error("Timed out while waiting for prediction");
+        }
+
+        logger.debug("Feature distance: {}", -Math.abs(primarySoftScore));
+        return toScore(primaryHardScore, secondaryHardScore, tertiaryHardScore, -Math.abs(primarySoftScore),
+                secondarySoftscore);
+    }
+
+    /**
+     * Convert the score levels to the score type of the solution.
+     *
+     * @param primaryHardScore the outcome distance penalty
+     * @param secondaryHardScore the changed constraints penalty
+     * @param tertiaryHardScore the confidence threshold penalty
+     * @param primarySoftScore the feature distance penalty
+     * @param secondarySoftScore the changed features penalty
+     * @return the score
+     */
+    protected abstract S toScore(double primaryHardScore, int secondaryHardScore, int tertiaryHardScore,
+            double primarySoftScore, int secondarySoftScore);
+}
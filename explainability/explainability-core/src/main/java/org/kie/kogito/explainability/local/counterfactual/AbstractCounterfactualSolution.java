@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.explainability.local.counterfactual;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.kie.kogito.explainability.local.counterfactual.entities.CounterfactualEntity;
+import org.kie.kogito.explainability.model.Output;
+import org.kie.kogito.explainability.model.PredictionOutput;
+import org.kie.kogito.explainability.model.PredictionProvider;
+import org.optaplanner.core.api.domain.solution.PlanningEntityCollectionProperty;
+import org.optaplanner.core.api.domain.solution.cloner.DeepPlanningClone;
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.Score;
+
+/**
+ * Common OptaPlanner {@link PlanningSolution} for counterfactual search, independent of the score type.
+ * This solution stores all the features as {@link CounterfactualEntity}, as well as a reference to the
+ * {@link PredictionProvider} model. Concrete solutions declare the planning score.
+ *
+ * @param <S> the score type
+ */
+@PlanningSolution
+public abstract class AbstractCounterfactualSolution<S extends Score<S>> {
+
+    // the planning entities are exposed through a derived collection, so clones must copy them explicitly
+    @DeepPlanningClone
+    private List<CounterfactualEntity> entities;
+
+    @PlanningEntityCollectionProperty
+    public List<CounterfactualEntity> getVaryingEntities() {
+        return entities.stream().filter(counterfactualEntity -> !counterfactualEntity.isConstrained())
+                .collect(Collectors.toList());
+    }
+
+    private List<Output> goal;
+
+    private PredictionProvider model;
+
+    private UUID solutionId;
+    private UUID executionId;
+
+    private List<PredictionOutput> predictionOutputs;
+
+    protected AbstractCounterfactualSolution() {
+    }
+
+    protected AbstractCounterfactualSolution(
+            List<CounterfactualEntity> entities,
+            PredictionProvider model,
+            List<Output> goal,
+            UUID solutionId,
+            UUID executionId) {
+        this.entities = entities;
+        this.model = model;
+        this.goal = goal;
+        this.solutionId = solutionId;
+        this.executionId = executionId;
+    }
+
+    /**
+     * Create a new counterfactual solution of the given class.
+     *
+     * @param solutionClass either {@link CounterfactualSolution} or {@link LongCounterfactualSolution}
+     * @return a new solution
+     */
+    static AbstractCounterfactualSolution<?> create(Class<?> solutionClass,
+            List<CounterfactualEntity> entities,
+            PredictionProvider model,
+            List<Output> goal,
+            UUID solutionId,
+            UUID executionId) {
+        if (LongCounterfactualSolution.class.equals(solutionClass)) {
+            return new LongCounterfactualSolution(entities, model, goal, solutionId, executionId);
+        } else {
+            return new CounterfactualSolution(entities, model, goal, solutionId, executionId);
+        }
+    }
+
+    public abstract S getScore();
+
+    public abstract void setScore(S score);
+
+    public PredictionProvider getModel() {
+        return model;
+    }
+
+    public List<Output> getGoal() {
+        return goal;
+    }
+
+    public List<CounterfactualEntity> getEntities() {
+        return entities;
+    }
+
+    public void setSolutionId(UUID solutionId) {
+        this.solutionId = solutionId;
+    }
+
+    public UUID getSolutionId() {
+        return solutionId;
+    }
+
+    public UUID getExecutionId() {
+        return executionId;
+    }
+
+    public void setExecutionId(UUID executionId) {
+        this.executionId = executionId;
+    }
+
+    public List<PredictionOutput> getPredictionOutputs() {
+        return predictionOutputs;
+    }
+
+    public void setPredictionOutputs(List<PredictionOutput> predictionOutputs) {
+        this.predictionOutputs = predictionOutputs;
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.explainability.local.counterfactual;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Random;
+
+import org.kie.kogito.explainability.local.counterfactual.entities.CounterfactualEntity;
+import org.kie.kogito.explainability.model.CachingPredictionProvider;
+import org.kie.kogito.explainability.model.Feature;
+import org.kie.kogito.explainability.model.PredictionInput;
+import org.optaplanner.core.api.domain.valuerange.CountableValueRange;
+import org.optaplanner.core.api.domain.valuerange.ValueRange;
+import org.optaplanner.core.api.score.director.ScoreDirector;
+import org.optaplanner.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import org.optaplanner.core.impl.domain.variable.descriptor.GenuineVariableDescriptor;
+import org.optaplanner.core.impl.heuristic.selector.move.factory.MoveIteratorFactory;
+import org.optaplanner.core.impl.heuristic.selector.move.generic.ChangeMove;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+
+/**
+ * Generates random {@link ChangeMove}s in batches.
+ * For each batch, the prediction inputs corresponding to the candidate solutions are sent to the
+ * {@link AbstractCounterfactualSolution} model in a single request, before the moves are handed to the solver.
+ * When the model is a {@link CachingPredictionProvider} (as set up by {@link CounterfactualExplainer}), the score
+ * calculation of each move is then served by the (possibly still in-flight) batched prediction, instead of issuing a
+ * separate request for each move.
+ * In original selection order, the moves change each varying entity to each value of its range in turn, which
+ * requires countable value ranges (as OptaPlanner's change move selector does).
+ */
+public class BatchedChangeMoveIteratorFactory
+        implements MoveIteratorFactory<AbstractCounterfactualSolution<?>, ChangeMove<AbstractCounterfactualSolution<?>>> {
+
+    public static final int DEFAULT_BATCH_SIZE = 32;
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Set the no. of moves whose predictions are requested together, this is set through the custom properties of
+     * the move iterator factory configuration (see {@link CounterfactualConfigurationFactory.Builder#withBatchSize}).
+     *
+     * @param batchSize the batch size
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Get the no. of distinct moves, one for each value of the range of each varying entity.
+     * The value range of a continuous feature is not countable, its no. of moves is then unbounded and so is the
+     * size, which is capped to {@link Long#MAX_VALUE}.
+     *
+     * @param scoreDirector the score director
+     * @return the no. of moves
+     */
+    @Override
+    public long getSize(ScoreDirector<AbstractCounterfactualSolution<?>> scoreDirector) {
+        AbstractCounterfactualSolution<?> solution = scoreDirector.getWorkingSolution();
+        SolutionDescriptor<AbstractCounterfactualSolution<?>> solutionDescriptor =
+                ((InnerScoreDirector<AbstractCounterfactualSolution<?>, ?>) scoreDirector).getSolutionDescriptor();
+        long size = 0;
+        for (CounterfactualEntity entity : solution.getVaryingEntities()) {
+            ValueRange<?> valueRange = getVariableDescriptor(solutionDescriptor, entity.getClass())
+                    .getValueRangeDescriptor().extractValueRange(solution, entity);
+            if (!(valueRange instanceof CountableValueRange)) {
+                return Long.MAX_VALUE;
+            }
+            long valueRangeSize = ((CountableValueRange<?>) valueRange).getSize();
+            if (valueRangeSize > Long.MAX_VALUE - size) {
+                return Long.MAX_VALUE;
+            }
+            size += valueRangeSize;
+        }
+        return size;
+    }
+
+    private static GenuineVariableDescriptor<AbstractCounterfactualSolution<?>> getVariableDescriptor(
+            SolutionDescriptor<AbstractCounterfactualSolution<?>> solutionDescriptor, Class<?> entityClass) {
+        return solutionDescriptor.findEntityDescriptorOrFail(entityClass).getGenuineVariableDescriptorList().get(0);
+    }
+
+    @Override
+    public Iterator<ChangeMove<AbstractCounterfactualSolution<?>>> createOriginalMoveIterator(
+            ScoreDirector<AbstractCounterfactualSolution<?>> scoreDirector) {
+        return new BatchedMoveIterator(scoreDirector, null);
+    }
+
+    @Override
+    public Iterator<ChangeMove<AbstractCounterfactualSolution<?>>> createRandomMoveIterator(
+            ScoreDirector<AbstractCounterfactualSolution<?>> scoreDirector, Random workingRandom) {
+        return new BatchedMoveIterator(scoreDirector, workingRandom);
+    }
+
+    private class BatchedMoveIterator implements Iterator<ChangeMove<AbstractCounterfactualSolution<?>>> {
+
+        private final AbstractCounterfactualSolution<?> solution;
+        private final SolutionDescriptor<AbstractCounterfactualSolution<?>> solutionDescriptor;
+        // null in original selection order
+        private final Random random;
+        private final List<CounterfactualEntity> varyingEntities;
+        private final Map<CounterfactualEntity, Integer> entityIndexes = new IdentityHashMap<>();
+        private final Map<Class<?>, GenuineVariableDescriptor<AbstractCounterfactualSolution<?>>> variableDescriptors =
+                new HashMap<>();
+        private final Deque<ChangeMove<AbstractCounterfactualSolution<?>>> moves = new ArrayDeque<>(batchSize);
+
+        // position of the original selection order
+        private int entityIndex = 0;
+        private CounterfactualEntity entity;
+        private GenuineVariableDescriptor<AbstractCounterfactualSolution<?>> variableDescriptor;
+        private Iterator<?> values;
+
+        private BatchedMoveIterator(ScoreDirector<AbstractCounterfactualSolution<?>> scoreDirector, Random random) {
+            this.solution = scoreDirector.getWorkingSolution();
+            this.solutionDescriptor =
+                    ((InnerScoreDirector<AbstractCounterfactualSolution<?>, ?>) scoreDirector).getSolutionDescriptor();
+            this.random = random;
+            this.varyingEntities = solution.getVaryingEntities();
+            List<CounterfactualEntity> entities = solution.getEntities();
+            for (int i = 0; i < entities.size(); i++) {
+                entityIndexes.put(entities.get(i), i);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (random != null) {
+                return !varyingEntities.isEmpty();
+            }
+            if (moves.isEmpty()) {
+                nextBatch();
+            }
+            return !moves.isEmpty();
+        }
+
+        @Override
+        public ChangeMove<AbstractCounterfactualSolution<?>> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (moves.isEmpty()) {
+                nextBatch();
+            }
+            return moves.poll();
+        }
+
+        private void nextBatch() {
+            boolean prefetch = solution.getModel() instanceof CachingPredictionProvider;
+            List<Feature> currentFeatures = new ArrayList<>(entityIndexes.size());
+            for (CounterfactualEntity currentEntity : solution.getEntities()) {
+                currentFeatures.add(currentEntity.asFeature());
+            }
+            List<PredictionInput> inputs = new ArrayList<>(batchSize);
+            for (int i = 0; i < batchSize; i++) {
+                Object value;
+                if (random != null) {
+                    entity = varyingEntities.get(random.nextInt(varyingEntities.size()));
+                    variableDescriptor = getVariableDescriptor(entity);
+                    value = getValueRange().createRandomIterator(random).next();
+                } else if (nextOriginalValue()) {
+                    value = values.next();
+                } else {
+                    break;
+                }
+                moves.add(new ChangeMove<>(entity, variableDescriptor, value));
+
+                Object currentValue = variableDescriptor.getValue(entity);
+                if (prefetch && !Objects.equals(currentValue, value)) {
+                    // temporarily apply the change to build the feature the move would produce
+                    variableDescriptor.setValue(entity, value);
+                    List<Feature> features = new ArrayList<>(currentFeatures);
+                    features.set(entityIndexes.get(entity), entity.asFeature());
+                    variableDescriptor.setValue(entity, currentValue);
+                    inputs.add(new PredictionInput(features));
+                }
+            }
+            if (!inputs.isEmpty()) {
+                // outputs (or failures) are picked up by the score calculator through the model cache
+                solution.getModel().predictAsync(inputs);
+            }
+        }
+
+        /**
+         * Move to the next value in original selection order, if any.
+         *
+         * @return whether there is a next value
+         */
+        private boolean nextOriginalValue() {
+            while (values == null || !values.hasNext()) {
+                if (entityIndex >= varyingEntities.size()) {
+                    return false;
+                }
+                entity = varyingEntities.get(entityIndex++);
+                variableDescriptor = getVariableDescriptor(entity);
+                ValueRange<?> valueRange = getValueRange();
+                if (!(valueRange instanceof CountableValueRange)) {
+                    throw new IllegalStateException("The value range of " + entity.getClass().getSimpleName()
+                            + " is not countable, " + BatchedChangeMoveIteratorFactory.class.getSimpleName()
+                            + " only supports random selection for it");
+                }
+                values = ((CountableValueRange<?>) valueRange).createOriginalIterator();
+            }
+            return true;
+        }
+
+        private ValueRange<?> getValueRange() {
+            return variableDescriptor.getValueRangeDescriptor().extractValueRange(solution, entity);
+        }
+
+        private GenuineVariableDescriptor<AbstractCounterfactualSolution<?>> getVariableDescriptor(
+                CounterfactualEntity entity) {
+            return variableDescriptors.computeIfAbsent(entity.getClass(),
+                    c -> BatchedChangeMoveIteratorFactory.getVariableDescriptor(solutionDescriptor, c));
+        }
+    }
+}
@@ -17,11 +17,13 @@ package org.kie.kogito.explainability.local.counterfactual;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.kie.kogito.explainability.local.counterfactual.entities.BooleanEntity;
 import org.kie.kogito.explainability.local.counterfactual.entities.CategoricalEntity;
 import org.kie.kogito.explainability.local.counterfactual.entities.DoubleEntity;
 import org.kie.kogito.explainability.local.counterfactual.entities.IntegerEntity;
+import org.optaplanner.core.config.heuristic.selector.move.factory.MoveIteratorFactoryConfig;
 import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
 import org.optaplanner.core.config.localsearch.decider.acceptor.LocalSearchAcceptorConfig;
 import org.optaplanner.core.config.localsearch.decider.forager.LocalSearchForagerConfig;
@@ -50,6 +52,9 @@ public class CounterfactualConfigurationFactory {
         private int tabuSize = DEFAULT_TABU_SIZE;
         private int acceptedCount = DEFAULT_ACCEPTED_COUNT;
         private long secondsSpentLimit = DEFAULT_TIME_LIMIT;
+        private int batchSize = 1;
+        private boolean longScore = false;
+        private String moveThreadCount = SolverConfig.MOVE_THREAD_COUNT_NONE;
 
         private Builder() {
         }
@@ -59,12 +64,18 @@ public class CounterfactualConfigurationFactory {
 
             solverConfig.withEntityClasses(IntegerEntity.class, DoubleEntity.class, BooleanEntity.class,
                     CategoricalEntity.class);
-            solverConfig.setSolutionClass(CounterfactualSolution.class);
-
             ScoreDirectorFactoryConfig scoreDirectorFactoryConfig = new ScoreDirectorFactoryConfig();
-            scoreDirectorFactoryConfig.setEasyScoreCalculatorClass(CounterFactualScoreCalculator.class);
+            if (longScore) {
+                solverConfig.setSolutionClass(LongCounterfactualSolution.class);
+                scoreDirectorFactoryConfig.setEasyScoreCalculatorClass(LongCounterFactualScoreCalculator.class);
+            } else {
+                solverConfig.setSolutionClass(CounterfactualSolution.class);
+                scoreDirectorFactoryConfig.setEasyScoreCalculatorClass(CounterFactualScoreCalculator.class);
+            }
             solverConfig.setScoreDirectorFactoryConfig(scoreDirectorFactoryConfig);
 
+            solverConfig.setMoveThreadCount(moveThreadCount);
+
             terminationConfig.setSecondsSpentLimit(this.secondsSpentLimit);
             solverConfig.setTerminationConfig(terminationConfig);
 
@@ -78,6 +89,14 @@ public class CounterfactualConfigurationFactory {
             localSearchPhaseConfig.setAcceptorConfig(acceptorConfig);
             localSearchPhaseConfig.setForagerConfig(localSearchForagerConfig);
 
+            if (batchSize > 1) {
+                MoveIteratorFactoryConfig moveIteratorFactoryConfig = new MoveIteratorFactoryConfig();
+                moveIteratorFactoryConfig.setMoveIteratorFactoryClass(BatchedChangeMoveIteratorFactory.class);
+                moveIteratorFactoryConfig.setMoveIteratorFactoryCustomProperties(
+                        Map.of("batchSize", String.valueOf(batchSize)));
+                localSearchPhaseConfig.setMoveSelectorConfig(moveIteratorFactoryConfig);
+            }
+
             @SuppressWarnings("rawtypes")
             List<PhaseConfig> phaseConfigs = new ArrayList<>();
             phaseConfigs.add(localSearchPhaseConfig);
@@ -101,6 +120,50 @@ public class CounterfactualConfigurationFactory {
             return this;
         }
 
+        /**
+         * Evaluate candidate moves in batches: the predictions for {@code batchSize} random change moves are
+         * requested to the model at once (see {@link BatchedChangeMoveIteratorFactory}).
+         * A batch size of {@code 1} (the default) keeps OptaPlanner's default move selectors, where each move
+         * evaluation requests its own prediction.
+         *
+         * @param batchSize the no. of moves evaluated with a single prediction request
+         * @return this builder
+         */
+        public Builder withBatchSize(int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Use a primitive {@link org.optaplanner.core.api.score.buildin.bendablelong.BendableLongScore} for the
+         * search (see {@link LongCounterfactualSolution}), instead of the default
+         * {@link org.optaplanner.core.api.score.buildin.bendablebigdecimal.BendableBigDecimalScore}.
+         * Distances are then compared with the precision of {@link LongCounterFactualScoreCalculator#DISTANCE_SCALE}.
+         *
+         * @param longScore whether to use the primitive score
+         * @return this builder
+         */
+        public Builder withLongScore(boolean longScore) {
+            this.longScore = longScore;
+            return this;
+        }
+
+        /**
+         * Evaluate moves on multiple threads (OptaPlanner's multithreaded incremental solving).
+         * Accepts a positive no. of threads, {@link SolverConfig#MOVE_THREAD_COUNT_AUTO} or
+         * {@link SolverConfig#MOVE_THREAD_COUNT_NONE} (the default, single threaded).
+         *
+         * @param moveThreadCount the no. of move threads
+         * @return this builder
+         */
+        public Builder withMoveThreadCount(String moveThreadCount) {
+            this.moveThreadCount = moveThreadCount;
+            return this;
+        }
+
         public Builder withTerminationConfig(TerminationConfig terminationConfig) {
             this.terminationConfig = terminationConfig;
             return this;
@@ -15,10 +15,11 @@
  */
 package org.kie.kogito.explainability.local.counterfactual;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicLong;
@@ -29,6 +30,7 @@ import java.util.stream.Collectors;
 import org.kie.kogito.explainability.local.LocalExplainer;
 import org.kie.kogito.explainability.local.counterfactual.entities.CounterfactualEntity;
 import org.kie.kogito.explainability.local.counterfactual.entities.CounterfactualEntityFactory;
+import org.kie.kogito.explainability.model.CachingPredictionProvider;
 import org.kie.kogito.explainability.model.CounterfactualPrediction;
 import org.kie.kogito.explainability.model.DataDomain;
 import org.kie.kogito.explainability.model.Output;
@@ -37,8 +39,10 @@ import org.kie.kogito.explainability.model.PredictionFeatureDomain;
 import org.kie.kogito.explainability.model.PredictionInput;
 import org.kie.kogito.explainability.model.PredictionOutput;
 import org.kie.kogito.explainability.model.PredictionProvider;
-import org.optaplanner.core.api.solver.SolverJob;
+import org.optaplanner.core.api.score.Score;
 import org.optaplanner.core.api.solver.SolverManager;
+import org.optaplanner.core.config.heuristic.selector.move.factory.MoveIteratorFactoryConfig;
+import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
 import org.optaplanner.core.config.solver.SolverConfig;
 import org.optaplanner.core.config.solver.SolverManagerConfig;
 import org.slf4j.Logger;
@@ -48,21 +52,27 @@ import org.slf4j.LoggerFactory;
  * Provides exemplar (counterfactual) explanations for a predictive model.
  * This implementation uses the Constraint Solution Problem solver OptaPlanner to search for
  * counterfactuals which minimize a score calculated by {@link CounterFactualScoreCalculator}.
+ * Optionally, a portfolio of solvers (e.g. with different random seeds) can search for the same counterfactual in
+ * parallel, in which case the best solution among the ones found by each solver is returned.
  */
 public class CounterfactualExplainer implements LocalExplainer<CounterfactualResult> {
 
     private static final Logger logger =
             LoggerFactory.getLogger(CounterfactualExplainer.class);
 
+    private static final int PREDICTION_CACHE_SIZE = 10_000;
+
     private final SolverConfig solverConfig;
-    private final Function<SolverConfig, SolverManager<CounterfactualSolution, UUID>> solverManagerFactory;
+    private final List<SolverConfig> portfolio;
+    private final Function<SolverConfig, ? extends SolverManager<? extends AbstractCounterfactualSolution<?>, UUID>> solverManagerFactory;
     private final Executor executor;
 
-    public static final Consumer<CounterfactualSolution> assignSolutionId =
+    public static final Consumer<AbstractCounterfactualSolution<?>> assignSolutionId =
             counterfactual -> counterfactual.setSolutionId(UUID.randomUUID());
 
     public CounterfactualExplainer() {
         this.solverConfig = CounterfactualConfigurationFactory.builder().build();
+        this.portfolio = List.of(solverConfig);
         this.solverManagerFactory = solverConfig -> SolverManager.create(solverConfig, new SolverManagerConfig());
         this.executor = ForkJoinPool.commonPool();
     }
@@ -75,14 +85,37 @@ public class CounterfactualExplainer implements LocalExplainer<CounterfactualRes
      * The desired outcome is passed using an {@link Output}, where the score of each feature represents the
      * minimum prediction score for a counterfactual to be considered.
      * A customizable OptaPlanner solver configuration can be passed using a {@link SolverConfig}.
-     * A {@link Consumer<CounterfactualSolution>} should be provided for the intermediate and final search results.
+     * A {@link Consumer<CounterfactualResult>} should be provided for the intermediate and final search results.
      *
      * @param solverConfig An OptaPlanner {@link SolverConfig} configuration
      */
     protected CounterfactualExplainer(SolverConfig solverConfig,
-            Function<SolverConfig, SolverManager<CounterfactualSolution, UUID>> solverManagerFactory,
+            Function<SolverConfig, ? extends SolverManager<? extends AbstractCounterfactualSolution<?>, UUID>> solverManagerFactory,
+            Executor executor) {
+        this(List.of(solverConfig), solverManagerFactory, executor);
+    }
+
+    /**
+     * Create a new {@link CounterfactualExplainer} running a portfolio of solvers, one for each of the provided
+     * {@link SolverConfig}, in parallel.
+     * All the configurations must use the same solution class.
+     *
+     * @param portfolio The OptaPlanner {@link SolverConfig} configurations, the first one is the main configuration
+     */
+    protected CounterfactualExplainer(List<SolverConfig> portfolio,
+            Function<SolverConfig, ? extends SolverManager<? extends AbstractCounterfactualSolution<?>, UUID>> solverManagerFactory,
             Executor executor) {
-        this.solverConfig = solverConfig;
+        if (portfolio.isEmpty()) {
+            throw new IllegalArgumentException("At least one solver configuration is required");
+        }
+        final Class<?> solutionClass = portfolio.get(0).getSolutionClass();
+        for (SolverConfig config : portfolio) {
+            if (config.getSolutionClass() != solutionClass) {
+                throw new IllegalArgumentException("All the solver configurations must use the same solution class");
+            }
+        }
+        this.solverConfig = portfolio.get(0);
+        this.portfolio = List.copyOf(portfolio);
         this.solverManagerFactory = solverManagerFactory;
         this.executor = executor;
     }
@@ -91,19 +124,23 @@ public class CounterfactualExplainer implements LocalExplainer<CounterfactualRes
         return solverConfig;
     }
 
+    public List<SolverConfig> getPortfolio() {
+        return portfolio;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
 
     /**
      * Wrap the provided {@link Consumer<CounterfactualResult>} in a OptaPlanner-accepted
-     * {@link Consumer<CounterfactualSolution>}.
-     * The consumer is only called when the provided {@link CounterfactualSolution} is valid.
+     * {@link Consumer<AbstractCounterfactualSolution>}.
+     * The consumer is only called when the provided {@link AbstractCounterfactualSolution} is valid.
      * 
      * @param consumer {@link Consumer<CounterfactualResult>} provided to the explainer for intermediate results
-     * @return {@link Consumer<CounterfactualSolution>} as accepted by OptaPlanner
+     * @return {@link Consumer<AbstractCounterfactualSolution>} as accepted by OptaPlanner
      */
-    private Consumer<CounterfactualSolution> createSolutionConsumer(Consumer<CounterfactualResult> consumer,
+    private Consumer<AbstractCounterfactualSolution<?>> createSolutionConsumer(Consumer<CounterfactualResult> consumer,
             AtomicLong sequenceId) {
         return counterfactualSolution -> {
             if (counterfactualSolution.getScore().isFeasible()) {
@@ -133,35 +170,40 @@ public class CounterfactualExplainer implements LocalExplainer<CounterfactualRes
 
         final List<Output> goal = prediction.getOutput().getOutputs();
 
-        Function<UUID, CounterfactualSolution> initial =
-                uuid -> new CounterfactualSolution(entities, model, goal, UUID.randomUUID(), executionId);
-
-        final CompletableFuture<CounterfactualSolution> cfSolution = CompletableFuture.supplyAsync(() -> {
-            try (SolverManager<CounterfactualSolution, UUID> solverManager = solverManagerFactory.apply(solverConfig)) {
-
-                SolverJob<CounterfactualSolution, UUID> solverJob =
-                        solverManager.solveAndListen(executionId, initial,
-                                assignSolutionId.andThen(createSolutionConsumer(intermediateResultsConsumer,
-                                        sequenceId)),
-                                null);
-                try {
-                    // Wait until the solving ends
-                    return solverJob.getFinalBestSolution();
-                } catch (ExecutionException e) {
-                    logger.error("Solving failed: {}", e.getMessage());
-                    throw new IllegalStateException("Prediction returned an error", e);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new IllegalStateException("Solving failed (Thread interrupted)", e);
-                }
-            }
-        }, this.executor);
+        // batched move selectors prefetch the predictions of their moves through the cache
+        final PredictionProvider cachingModel = portfolio.stream().anyMatch(CounterfactualExplainer::hasBatchedMoves)
+                ? new CachingPredictionProvider(model, PREDICTION_CACHE_SIZE)
+                : null;
+
+        Consumer<AbstractCounterfactualSolution<?>> bestSolutionConsumer =
+                assignSolutionId.andThen(createSolutionConsumer(intermediateResultsConsumer, sequenceId));
+        if (portfolio.size() > 1) {
+            // each solver only knows about its own best solutions
+            bestSolutionConsumer = new ImprovingSolutionConsumer(bestSolutionConsumer);
+        }
+
+        final List<CompletableFuture<AbstractCounterfactualSolution<?>>> cfSolutions =
+                new ArrayList<>(portfolio.size());
+        for (SolverConfig config : portfolio) {
+            final AbstractCounterfactualSolution<?> initialSolution =
+                    AbstractCounterfactualSolution.create(config.getSolutionClass(), entities,
+                            hasBatchedMoves(config) ? cachingModel : model, goal, UUID.randomUUID(), executionId);
+            final Consumer<AbstractCounterfactualSolution<?>> consumer = bestSolutionConsumer;
+            cfSolutions.add(solve(config, initialSolution, consumer));
+        }
+
+        final CompletableFuture<AbstractCounterfactualSolution<?>> cfSolution =
+                CompletableFuture.allOf(cfSolutions.toArray(new CompletableFuture<?>[0]))
+                        .thenApply(v -> cfSolutions.stream()
+                                .map(CompletableFuture::join)
+                                .max(SCORE_COMPARATOR)
+                                .orElseThrow());
 
         final CompletableFuture<List<PredictionOutput>> cfOutputs =
                 cfSolution.thenCompose(s -> model.predictAsync(List.of(new PredictionInput(
                         s.getEntities().stream().map(CounterfactualEntity::asFeature).collect(Collectors.toList())))));
         return CompletableFuture.allOf(cfOutputs, cfSolution).thenApply(v -> {
-            CounterfactualSolution solution = cfSolution.join();
+            AbstractCounterfactualSolution<?> solution = cfSolution.join();
             return new CounterfactualResult(solution.getEntities(),
                     cfOutputs.join(),
                     solution.getScore().isFeasible(),
@@ -172,10 +214,90 @@ public class CounterfactualExplainer implements LocalExplainer<CounterfactualRes
 
     }
 
+    /**
+     * Check whether a solver configuration selects its moves with a {@link BatchedChangeMoveIteratorFactory}.
+     *
+     * @param config the solver configuration
+     * @return whether the moves are batched
+     */
+    private static boolean hasBatchedMoves(SolverConfig config) {
+        return config.getPhaseConfigList() != null && config.getPhaseConfigList().stream()
+                .filter(LocalSearchPhaseConfig.class::isInstance)
+                .map(phaseConfig -> ((LocalSearchPhaseConfig) phaseConfig).getMoveSelectorConfig())
+                .filter(MoveIteratorFactoryConfig.class::isInstance)
+                .anyMatch(moveSelectorConfig -> ((MoveIteratorFactoryConfig) moveSelectorConfig)
+                        .getMoveIteratorFactoryClass() == BatchedChangeMoveIteratorFactory.class);
+    }
+
+    /**
+     * Solve the counterfactual problem with a new {@link SolverManager}, without blocking any thread while the
+     * solver runs: the returned future is completed by the solver thread with the final best solution, then the
+     * solver manager is closed on the explainer's executor.
+     * The solution class of the initial solution matches the one of the solver configuration, so the unchecked
+     * conversion to the solver manager's solution type is safe.
+     *
+     * @param config the solver configuration
+     * @param initialSolution the initial solution
+     * @param bestSolutionConsumer consumer of the intermediate best solutions
+     * @return the final best solution
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends AbstractCounterfactualSolution<?>> CompletableFuture<AbstractCounterfactualSolution<?>> solve(
+            SolverConfig config,
+            AbstractCounterfactualSolution<?> initialSolution,
+            Consumer<? super T> bestSolutionConsumer) {
+        final SolverManager<T, UUID> solverManager = (SolverManager<T, UUID>) solverManagerFactory.apply(config);
+        final CompletableFuture<AbstractCounterfactualSolution<?>> finalBestSolution = new CompletableFuture<>();
+        try {
+            solverManager.solveAndListen(initialSolution.getExecutionId(), uuid -> (T) initialSolution,
+                    bestSolutionConsumer::accept, finalBestSolution::complete,
+                    (uuid, throwable) -> {
+                        logger.error("Solving failed: {}", throwable.getMessage());
+                        finalBestSolution.completeExceptionally(
+                                new IllegalStateException("Prediction returned an error", throwable));
+                    });
+        } catch (RuntimeException e) {
+            finalBestSolution.completeExceptionally(e);
+        }
+        return finalBestSolution.whenCompleteAsync((solution, throwable) -> solverManager.close(), this.executor);
+    }
+
+    /**
+     * Orders solutions by score, solutions without a score come first.
+     * All the solutions of a portfolio share the same score type.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static final Comparator<AbstractCounterfactualSolution<?>> SCORE_COMPARATOR =
+            Comparator.comparing(solution -> (Score) solution.getScore(), Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    /**
+     * Forwards a best solution of any solver of the portfolio only if it improves over the best solutions
+     * forwarded so far.
+     */
+    private static class ImprovingSolutionConsumer implements Consumer<AbstractCounterfactualSolution<?>> {
+
+        private final Consumer<AbstractCounterfactualSolution<?>> delegate;
+        private AbstractCounterfactualSolution<?> best = null;
+
+        private ImprovingSolutionConsumer(Consumer<AbstractCounterfactualSolution<?>> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public synchronized void accept(AbstractCounterfactualSolution<?> solution) {
+            if (best == null || SCORE_COMPARATOR.compare(solution, best) > 0) {
+                best = solution;
+                delegate.accept(solution);
+            }
+        }
+    }
+
     public static class Builder {
         private Executor executor = ForkJoinPool.commonPool();
         private SolverConfig solverConfig = null;
-        private Function<SolverConfig, SolverManager<CounterfactualSolution, UUID>> solverManagerFactory = null;
+        private List<SolverConfig> portfolio = null;
+        private int portfolioSize = 1;
+        private Function<SolverConfig, ? extends SolverManager<? extends AbstractCounterfactualSolution<?>, UUID>> solverManagerFactory = null;
 
         private Builder() {
         }
@@ -190,8 +312,37 @@ public class CounterfactualExplainer implements LocalExplainer<CounterfactualRes
             return this;
         }
 
+        /**
+         * Run a portfolio of {@code portfolioSize} solvers in parallel, using copies of the solver configuration
+         * with different random seeds. The first solver uses the configuration as is, so a portfolio of size
+         * {@code 1} (the default) is equivalent to a single solver.
+         *
+         * @param portfolioSize the no. of solvers
+         * @return this builder
+         */
+        public Builder withPortfolioSize(int portfolioSize) {
+            if (portfolioSize < 1) {
+                throw new IllegalArgumentException("Portfolio size must be positive: " + portfolioSize);
+            }
+            this.portfolioSize = portfolioSize;
+            return this;
+        }
+
+        /**
+         * Run a portfolio of solvers in parallel, one for each of the provided configurations (e.g. with different
+         * seeds or phase configurations). This takes precedence over {@link #withSolverConfig(SolverConfig)} and
+         * {@link #withPortfolioSize(int)}.
+         *
+         * @param portfolio the solver configurations, which must use the same solution class
+         * @return this builder
+         */
+        public Builder withPortfolio(List<SolverConfig> portfolio) {
+            this.portfolio = portfolio;
+            return this;
+        }
+
         public Builder withSolverManagerFactory(
-                Function<SolverConfig, SolverManager<CounterfactualSolution, UUID>> solverManagerFactory) {
+                Function<SolverConfig, ? extends SolverManager<? extends AbstractCounterfactualSolution<?>, UUID>> solverManagerFactory) {
             this.solverManagerFactory = solverManagerFactory;
             return this;
         }
@@ -204,8 +355,16 @@ public class CounterfactualExplainer implements LocalExplainer<CounterfactualRes
             if (this.solverManagerFactory == null) {
                 this.solverManagerFactory = solverConfig -> SolverManager.create(solverConfig, new SolverManagerConfig());
             }
+            if (this.portfolio == null) {
+                this.portfolio = new ArrayList<>(portfolioSize);
+                this.portfolio.add(solverConfig);
+                final long seed = solverConfig.getRandomSeed() == null ? 0L : solverConfig.getRandomSeed();
+                for (int i = 1; i < portfolioSize; i++) {
+                    this.portfolio.add(solverConfig.copyConfig().withRandomSeed(seed + i));
+                }
+            }
             return new CounterfactualExplainer(
-                    solverConfig,
+                    portfolio,
                     solverManagerFactory,
                     executor);
         }
@@ -17,13 +17,10 @@ package org.kie.kogito.explainability.local.counterfactual;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import org.kie.kogito.explainability.local.counterfactual.entities.CounterfactualEntity;
 import org.kie.kogito.explainability.model.Output;
-import org.kie.kogito.explainability.model.PredictionOutput;
 import org.kie.kogito.explainability.model.PredictionProvider;
-import org.optaplanner.core.api.domain.solution.PlanningEntityCollectionProperty;
 import org.optaplanner.core.api.domain.solution.PlanningScore;
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.score.buildin.bendablebigdecimal.BendableBigDecimalScore;
@@ -32,29 +29,13 @@ import org.optaplanner.core.api.score.buildin.bendablebigdecimal.BendableBigDeci
  * Represents an OptaPlanner {@link PlanningSolution}.
  * This solution stores all the features as {@link CounterfactualEntity}, as well as a reference to the
  * {@link PredictionProvider} model.
+ * The score is a {@link BendableBigDecimalScore}, see {@link LongCounterfactualSolution} for a primitive variant.
  */
 @PlanningSolution
-public class CounterfactualSolution {
-
-    private List<CounterfactualEntity> entities;
-
-    @PlanningEntityCollectionProperty
-    public List<CounterfactualEntity> getVaryingEntities() {
-        return entities.stream().filter(counterfactualEntity -> !counterfactualEntity.isConstrained())
-                .collect(Collectors.toList());
-    }
-
-    private List<Output> goal;
-
-    private PredictionProvider model;
+public class CounterfactualSolution extends AbstractCounterfactualSolution<BendableBigDecimalScore> {
 
     private BendableBigDecimalScore score;
 
-    private UUID solutionId;
-    private UUID executionId;
-
-    private List<PredictionOutput> predictionOutputs;
-
     protected CounterfactualSolution() {
     }
 
@@ -64,55 +45,17 @@ public class CounterfactualSolution {
             List<Output> goal,
             UUID solutionId,
             UUID executionId) {
-        this.entities = entities;
-        this.model = model;
-        this.goal = goal;
-        this.solutionId = solutionId;
-        this.executionId = executionId;
+        super(entities, model, goal, solutionId, executionId);
     }
 
+    @Override
     @PlanningScore(bendableHardLevelsSize = 3, bendableSoftLevelsSize = 2)
     public BendableBigDecimalScore getScore() {
         return score;
     }
 
+    @Override
     public void setScore(BendableBigDecimalScore score) {
         this.score = score;
     }
-
-    public PredictionProvider getModel() {
-        return model;
-    }
-
-    public List<Output> getGoal() {
-        return goal;
-    }
-
-    public List<CounterfactualEntity> getEntities() {
-        return entities;
-    }
-
-    public void setSolutionId(UUID solutionId) {
-        this.solutionId = solutionId;
-    }
-
-    public UUID getSolutionId() {
-        return solutionId;
-    }
-
-    public UUID getExecutionId() {
-        return executionId;
-    }
-
-    public void setExecutionId(UUID executionId) {
-        this.executionId = executionId;
-    }
-
-    public List<PredictionOutput> getPredictionOutputs() {
-        return predictionOutputs;
-    }
-
-    public void setPredictionOutputs(List<PredictionOutput> predictionOutputs) {
-        this.predictionOutputs = predictionOutputs;
-    }
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.explainability.local.counterfactual;
+
+import org.optaplanner.core.api.score.buildin.bendablelong.BendableLongScore;
+
+/**
+ * Counterfactual score calculator for {@link LongCounterfactualSolution}.
+ * The levels are the same as {@link CounterFactualScoreCalculator}, but the score is a {@link BendableLongScore}.
+ * Distance levels are stored as fixed point values, scaled by {@link #DISTANCE_SCALE}, while count levels are
+ * stored as they are.
+ */
+public class LongCounterFactualScoreCalculator
+        extends AbstractCounterFactualScoreCalculator<LongCounterfactualSolution, BendableLongScore> {
+
+    /**
+     * Scale applied to distance levels before rounding them to {@code long}
+     */
+    public static final double DISTANCE_SCALE = 1_000_000d;
+
+    @Override
+    protected BendableLongScore toScore(double primaryHardScore, int secondaryHardScore, int tertiaryHardScore,
+            double primarySoftScore, int secondarySoftScore) {
+        return BendableLongScore.of(
+                new long[] { Math.round(primaryHardScore * DISTANCE_SCALE), secondaryHardScore, tertiaryHardScore },
+                new long[] { Math.round(primarySoftScore * DISTANCE_SCALE), secondarySoftScore });
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.explainability.local.counterfactual;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.kie.kogito.explainability.local.counterfactual.entities.CounterfactualEntity;
+import org.kie.kogito.explainability.model.Output;
+import org.kie.kogito.explainability.model.PredictionProvider;
+import org.optaplanner.core.api.domain.solution.PlanningScore;
+import org.optaplanner.core.api.domain.solution.PlanningSolution;
+import org.optaplanner.core.api.score.buildin.bendablelong.BendableLongScore;
+
+/**
+ * Counterfactual {@link PlanningSolution} scored with a primitive {@link BendableLongScore}, which is cheaper to
+ * create and compare than a {@link org.optaplanner.core.api.score.buildin.bendablebigdecimal.BendableBigDecimalScore}.
+ * Distances are stored as fixed point values (see {@link LongCounterFactualScoreCalculator}).
+ */
+@PlanningSolution
+public class LongCounterfactualSolution extends AbstractCounterfactualSolution<BendableLongScore> {
+
+    private BendableLongScore score;
+
+    protected LongCounterfactualSolution() {
+    }
+
+    public LongCounterfactualSolution(
+            List<CounterfactualEntity> entities,
+            PredictionProvider model,
+            List<Output> goal,
+            UUID solutionId,
+            UUID executionId) {
+        super(entities, model, goal, solutionId, executionId);
+    }
+
+    @Override
+    @PlanningScore(bendableHardLevelsSize = 3, bendableSoftLevelsSize = 2)
+    public BendableLongScore getScore() {
+        return score;
+    }
+
+    @Override
+    public void setScore(BendableLongScore score) {
+        this.score = score;
+    }
+}
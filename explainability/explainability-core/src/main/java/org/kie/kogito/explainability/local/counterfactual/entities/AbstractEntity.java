@@ -15,13 +15,20 @@
  */
 package org.kie.kogito.explainability.local.counterfactual.entities;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.kie.kogito.explainability.model.Feature;
+import org.optaplanner.core.api.domain.lookup.PlanningId;
 
 /**
  * Common class for counterfactual entities
  */
 public abstract class AbstractEntity<T> implements CounterfactualEntity {
 
+    private static final AtomicLong ID_GENERATOR = new AtomicLong();
+
+    private Long entityId;
+
     protected T proposedValue;
     protected String featureName;
     protected boolean constrained;
@@ -35,6 +42,19 @@ public abstract class AbstractEntity<T> implements CounterfactualEntity {
         this.originalValue = originalValue;
         this.featureName = featureName;
         this.constrained = constrained;
+        this.entityId = ID_GENERATOR.incrementAndGet();
+    }
+
+    /**
+     * Unique identifier of the entity, shared by its solution clones, which is used to match entities across
+     * clones (e.g. when moves are evaluated on multiple threads).
+     * Feature names cannot be used, since they are not necessarily unique.
+     *
+     * @return the entity identifier
+     */
+    @PlanningId
+    public Long getEntityId() {
+        return entityId;
     }
 
     @Override
@@ -15,13 +15,9 @@
  */
 package org.kie.kogito.explainability.local.lime;
 
-import java.util.Arrays;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
-import org.apache.commons.lang3.ArrayUtils;
-import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.apache.commons.lang3.tuple.Pair;
 import org.kie.kogito.explainability.model.EncodingParams;
 import org.kie.kogito.explainability.model.Feature;
 import org.kie.kogito.explainability.model.Output;
@@ -29,6 +25,7 @@ import org.kie.kogito.explainability.model.PredictionInput;
 import org.kie.kogito.explainability.model.Type;
 import org.kie.kogito.explainability.model.Value;
 import org.kie.kogito.explainability.utils.DataUtils;
+import org.kie.kogito.explainability.utils.EncodedDataset;
 import org.kie.kogito.explainability.utils.LinearModel;
 
 /**
@@ -59,22 +56,33 @@ class DatasetEncoder {
      *
      * @return a numerical training set
      */
-    List<Pair<double[], Double>> getEncodedTrainingSet() {
-        List<Pair<double[], Double>> trainingSet = new LinkedList<>();
-        List<List<double[]>> columnData;
+    EncodedDataset getEncodedTrainingSet() {
         List<PredictionInput> flatInputs = DataUtils.linearizeInputs(perturbedInputs);
         if (flatInputs.isEmpty() || predictedOutputs.isEmpty() || targetInputFeatures.isEmpty() || originalOutput == null) {
-            return trainingSet;
+            return new EncodedDataset(0, 0);
+        }
+        List<double[][]> columnData = getColumnData(flatInputs, encodingParams);
+
+        int noOfSamples = predictedOutputs.size();
+        int noOfFeatures = 0;
+        for (double[][] column : columnData) {
+            noOfFeatures += column[0].length;
+        }
+        EncodedDataset trainingSet = new EncodedDataset(noOfSamples, noOfFeatures);
+        double[] data = trainingSet.getData();
+
+        // copy each encoded column in place, row by row
+        int columnOffset = 0;
+        for (double[][] column : columnData) {
+            int columnWidth = column[0].length;
+            for (int pi = 0; pi < noOfSamples; pi++) {
+                System.arraycopy(column[pi], 0, data, trainingSet.offset(pi) + columnOffset, columnWidth);
+            }
+            columnOffset += columnWidth;
         }
-        columnData = getColumnData(flatInputs, encodingParams);
 
         int pi = 0;
         for (Output output : predictedOutputs) {
-            List<Double> x = new LinkedList<>();
-            for (List<double[]> column : columnData) {
-                double[] doubles = column.get(pi);
-                x.addAll(Arrays.asList(ArrayUtils.toObject(doubles)));
-            }
             double y;
             if (Type.NUMBER.equals(originalOutput.getType()) || Type.BOOLEAN.equals(originalOutput.getType())) {
                 y = output.getValue().asNumber();
@@ -87,22 +95,14 @@ class DatasetEncoder {
                     y = originalObject.equals(outputObject) ? 1d : 0d;
                 }
             }
-            double[] input = new double[x.size()];
-            int i = 0;
-            for (Double d : x) {
-                input[i] = d;
-                i++;
-            }
-            Pair<double[], Double> sample = new ImmutablePair<>(input, y);
-            trainingSet.add(sample);
-
+            trainingSet.setTarget(pi, y);
             pi++;
         }
         return trainingSet;
     }
 
-    private List<List<double[]>> getColumnData(List<PredictionInput> perturbedInputs, EncodingParams params) {
-        List<List<double[]>> columnData = new LinkedList<>();
+    private List<double[][]> getColumnData(List<PredictionInput> perturbedInputs, EncodingParams params) {
+        List<double[][]> columnData = new ArrayList<>(targetInputFeatures.size());
 
         for (int t = 0; t < targetInputFeatures.size(); t++) {
             Feature targetFeature = targetInputFeatures.get(t);
@@ -110,7 +110,7 @@ class DatasetEncoder {
             // encode all inputs with respect to the target, based on their type
             List<double[]> encode = targetFeature.getType().encode(params, targetFeature.getValue(), perturbedInputs
                     .stream().map(predictionInput -> predictionInput.getFeatures().get(finalT).getValue()).toArray(Value[]::new));
-            columnData.add(encode);
+            columnData.add(encode.toArray(new double[0][]));
         }
         return columnData;
     }
@@ -18,8 +18,8 @@ package org.kie.kogito.explainability.local.lime;
 import java.util.Arrays;
 import java.util.List;
 
-import org.apache.commons.lang3.tuple.Pair;
 import org.kie.kogito.explainability.model.Feature;
+import org.kie.kogito.explainability.utils.EncodedDataset;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,7 +51,7 @@ class IndependentSparseFeatureBalanceFilter {
      * @param trainingSet training set for the linear classifier
      */
     void apply(double[] coefficients, List<Feature> linearizedTargetInputFeatures,
-            List<Pair<double[], Double>> trainingSet) {
+            EncodedDataset trainingSet) {
         if (coefficients.length != linearizedTargetInputFeatures.size()) {
             LOGGER.warn("coefficients size {} ≠ features size {}, not filtering", coefficients.length,
                     linearizedTargetInputFeatures.size());
@@ -65,20 +65,18 @@ class IndependentSparseFeatureBalanceFilter {
         // calculate per feature class balance
         double[] zeroPredicted = new double[ts];
         double[] onePredicted = new double[ts];
-        for (Pair<double[], Double> sample : trainingSet) {
-            double[] sparseVector = sample.getKey();
-            for (int i = 0; i < sparseVector.length; i++) {
-                double inputValue = sparseVector[i];
-                Double outputValue = sample.getValue();
-                if (1 == outputValue) {
-                    onePredicted[i] += inputValue;
-                } else {
-                    zeroPredicted[i] += inputValue;
-                }
+        double[] data = trainingSet.getData();
+        int width = Math.min(trainingSet.getNoOfFeatures(), ts);
+        for (int s = 0; s < trainingSet.getNoOfSamples(); s++) {
+            int offset = trainingSet.offset(s);
+            double[] predicted = 1 == trainingSet.getTarget(s) ? onePredicted : zeroPredicted;
+            for (int i = 0; i < width; i++) {
+                predicted[i] += data[offset + i];
             }
         }
-        zeroPredicted = Arrays.stream(zeroPredicted).map(d -> d / trainingSet.size()).toArray();
-        onePredicted = Arrays.stream(onePredicted).map(d -> d / trainingSet.size()).toArray();
+        int size = trainingSet.getNoOfSamples();
+        zeroPredicted = Arrays.stream(zeroPredicted).map(d -> d / size).toArray();
+        onePredicted = Arrays.stream(onePredicted).map(d -> d / size).toArray();
         for (int i = 0; i < coefficients.length; i++) {
             // calculate distance from the perfect balance (high is good)
             double zeroDistance = Math.abs(0.5 - zeroPredicted[i]);
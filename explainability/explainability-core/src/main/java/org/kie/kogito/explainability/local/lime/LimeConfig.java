@@ -17,6 +17,8 @@ package org.kie.kogito.explainability.local.lime;
 
 import java.security.SecureRandom;
 import java.util.Collections;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import org.kie.kogito.explainability.model.DataDistribution;
 import org.kie.kogito.explainability.model.EncodingParams;
@@ -41,6 +43,10 @@ public class LimeConfig {
     private static final double DEFAULT_ENCODING_CLUSTER_THRESHOLD = 0.1;
     private static final double DEFAULT_ENCODING_GAUSSIAN_FILTER_WIDTH = 1;
     private static final boolean DEFAULT_NORMALIZE_WEIGHTS = true;
+    private static final LinearModelSolver DEFAULT_SOLVER = LinearModelSolver.PERCEPTRON;
+    private static final double DEFAULT_RIDGE_PENALTY = 1;
+    private static final int DEFAULT_SAMPLING_CHUNK_SIZE = 0;
+    private static final double DEFAULT_SAMPLING_TOLERANCE = 0.01;
 
     private double separableDatasetRatio = DEFAULT_SEPARABLE_DATASET_RATIO;
 
@@ -110,6 +116,32 @@ public class LimeConfig {
      */
     private boolean normalizeWeights = DEFAULT_NORMALIZE_WEIGHTS;
 
+    /**
+     * Solver used to fit the linear model.
+     */
+    private LinearModelSolver solver = DEFAULT_SOLVER;
+
+    /**
+     * The L2 penalty used when {@code solver == LinearModelSolver.WEIGHTED_RIDGE}.
+     */
+    private double ridgePenalty = DEFAULT_RIDGE_PENALTY;
+
+    /**
+     * No. of samples generated (and predicted) at a time when sampling incrementally, {@code 0} generates all the
+     * samples at once.
+     */
+    private int samplingChunkSize = DEFAULT_SAMPLING_CHUNK_SIZE;
+
+    /**
+     * Max change of each feature weight between two consecutive fits for incremental sampling to stop.
+     */
+    private double samplingTolerance = DEFAULT_SAMPLING_TOLERANCE;
+
+    /**
+     * {@link Executor} used to encode the dataset and fit the linear model of each output in parallel.
+     */
+    private Executor executor = ForkJoinPool.commonPool();
+
     public LimeConfig withSeparableDatasetRatio(double separableDatasetRatio) {
         this.separableDatasetRatio = separableDatasetRatio;
         return this;
@@ -222,6 +254,51 @@ public class LimeConfig {
         return dataDistribution;
     }
 
+    public LimeConfig withSolver(LinearModelSolver solver) {
+        this.solver = solver;
+        return this;
+    }
+
+    public LinearModelSolver getSolver() {
+        return solver;
+    }
+
+    public LimeConfig withRidgePenalty(double ridgePenalty) {
+        this.ridgePenalty = ridgePenalty;
+        return this;
+    }
+
+    public double getRidgePenalty() {
+        return ridgePenalty;
+    }
+
+    public LimeConfig withSamplingChunkSize(int samplingChunkSize) {
+        this.samplingChunkSize = samplingChunkSize;
+        return this;
+    }
+
+    public int getSamplingChunkSize() {
+        return samplingChunkSize;
+    }
+
+    public LimeConfig withSamplingTolerance(double samplingTolerance) {
+        this.samplingTolerance = samplingTolerance;
+        return this;
+    }
+
+    public double getSamplingTolerance() {
+        return samplingTolerance;
+    }
+
+    public LimeConfig withExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
     public LimeConfig copy() {
         return new LimeConfig()
                 .withSeparableDatasetRatio(separableDatasetRatio)
@@ -238,7 +315,12 @@ public class LimeConfig {
                 .withProximityKernelWidth(proximityKernelWidth)
                 .withEncodingParams(new EncodingParams(encodingParams.getNumericTypeClusterGaussianFilterWidth(),
                         encodingParams.getNumericTypeClusterThreshold()))
-                .withNormalizeWeights(normalizeWeights);
+                .withNormalizeWeights(normalizeWeights)
+                .withSolver(solver)
+                .withRidgePenalty(ridgePenalty)
+                .withSamplingChunkSize(samplingChunkSize)
+                .withSamplingTolerance(samplingTolerance)
+                .withExecutor(executor);
     }
 
     @Override
@@ -257,6 +339,11 @@ public class LimeConfig {
                 ", proximityKernelWidth=" + proximityKernelWidth +
                 ", encodingParams=" + encodingParams +
                 ", normalizeWeights=" + normalizeWeights +
+                ", solver=" + solver +
+                ", ridgePenalty=" + ridgePenalty +
+                ", samplingChunkSize=" + samplingChunkSize +
+                ", samplingTolerance=" + samplingTolerance +
+                ", executor=" + executor +
                 '}';
     }
 }
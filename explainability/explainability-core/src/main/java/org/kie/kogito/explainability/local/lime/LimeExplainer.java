@@ -24,7 +24,6 @@ import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
-import org.apache.commons.lang3.tuple.Pair;
 import org.kie.kogito.explainability.local.LocalExplainer;
 import org.kie.kogito.explainability.local.LocalExplanationException;
 import org.kie.kogito.explainability.model.Feature;
@@ -40,12 +39,13 @@ import org.kie.kogito.explainability.model.Saliency;
 import org.kie.kogito.explainability.model.Type;
 import org.kie.kogito.explainability.model.Value;
 import org.kie.kogito.explainability.utils.DataUtils;
+import org.kie.kogito.explainability.utils.EncodedDataset;
 import org.kie.kogito.explainability.utils.LinearModel;
+import org.kie.kogito.explainability.utils.WeightedLinearRegression;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static java.util.Collections.emptyList;
-import static java.util.concurrent.CompletableFuture.completedFuture;
 
 /**
  * An implementation of LIME algorithm (Ribeiro et al., 2016) that handles tabular data, text data, complex hierarchically
@@ -90,6 +90,10 @@ public class LimeExplainer implements LocalExplainer<Map<String, Saliency>> {
         }
         List<Output> actualOutputs = prediction.getOutput().getOutputs();
 
+        if (limeConfig.getSamplingChunkSize() > 0) {
+            return new IncrementalSampling(model, originalInput.getFeatures(), linearizedTargetInputFeatures,
+                    actualOutputs, intermediateResultsConsumer).sample(limeConfig.getPerturbationContext(), null);
+        }
         return explainRetryCycle(
                 model,
                 originalInput,
@@ -116,18 +120,14 @@ public class LimeExplainer implements LocalExplainer<Map<String, Saliency>> {
                     try {
                         boolean strict = noOfRetries > 0;
                         List<LimeInputs> limeInputsList = getLimeInputs(linearizedTargetInputFeatures, actualOutputs, perturbedInputs, predictionOutputs, strict);
-                        return completedFuture(getSaliencies(linearizedTargetInputFeatures, actualOutputs, limeInputsList));
+                        return getSaliencies(linearizedTargetInputFeatures, actualOutputs, limeInputsList);
                     } catch (DatasetNotSeparableException e) {
                         if (noOfRetries > 0) {
                             PerturbationContext newPerturbationContext;
                             int newNoOfSamples;
                             if (limeConfig.isAdaptDatasetVariance()) {
-                                int nextPerturbationSize = Math.max(perturbationContext.getNoOfPerturbations() + 1,
-                                        linearizedTargetInputFeatures.size() / noOfRetries);
-                                // make sure to stay within the max no. of features boundaries
-                                nextPerturbationSize = Math.min(linearizedTargetInputFeatures.size() - 1, nextPerturbationSize);
-                                newPerturbationContext = new PerturbationContext(perturbationContext.getRandom(),
-                                        nextPerturbationSize);
+                                newPerturbationContext = adaptPerturbationContext(perturbationContext,
+                                        linearizedTargetInputFeatures.size(), noOfRetries);
                                 newNoOfSamples = noOfSamples + limeConfig.getNoOfSamples() / limeConfig.getNoOfRetries();
                             } else {
                                 newPerturbationContext = perturbationContext;
@@ -142,6 +142,106 @@ public class LimeExplainer implements LocalExplainer<Map<String, Saliency>> {
                 });
     }
 
+    private static PerturbationContext adaptPerturbationContext(PerturbationContext perturbationContext,
+            int noOfFeatures, int noOfRetries) {
+        int nextPerturbationSize = Math.max(perturbationContext.getNoOfPerturbations() + 1,
+                noOfFeatures / noOfRetries);
+        // make sure to stay within the max no. of features boundaries
+        nextPerturbationSize = Math.min(noOfFeatures - 1, nextPerturbationSize);
+        return new PerturbationContext(perturbationContext.getRandom(), nextPerturbationSize);
+    }
+
+    /**
+     * Incremental sampling: perturbed samples are generated and predicted in chunks of
+     * {@link LimeConfig#getSamplingChunkSize()}, and the linear models are fit again on all the samples generated so
+     * far after each chunk.
+     * Sampling stops as soon as the dataset is separable and no feature weight changed more than
+     * {@link LimeConfig#getSamplingTolerance()} since the previous fit, or when {@code noOfSamples * (1 + noOfRetries)}
+     * samples have been generated.
+     * A dataset which is not separable is extended with new chunks (which perturb more features, if the dataset
+     * variance is adapted), rather than being generated again from scratch.
+     */
+    private class IncrementalSampling {
+
+        private final PredictionProvider model;
+        private final List<Feature> features;
+        private final List<Feature> linearizedTargetInputFeatures;
+        private final List<Output> actualOutputs;
+        private final Consumer<Map<String, Saliency>> intermediateResultsConsumer;
+        private final int maxSamples;
+        private final Map<String, FeatureDistribution> featureDistributionsMap;
+        private final List<PredictionInput> perturbedInputs;
+        private final List<PredictionOutput> predictionOutputs;
+
+        private IncrementalSampling(PredictionProvider model, List<Feature> features,
+                List<Feature> linearizedTargetInputFeatures, List<Output> actualOutputs,
+                Consumer<Map<String, Saliency>> intermediateResultsConsumer) {
+            this.model = model;
+            this.features = features;
+            this.linearizedTargetInputFeatures = linearizedTargetInputFeatures;
+            this.actualOutputs = actualOutputs;
+            this.intermediateResultsConsumer = intermediateResultsConsumer;
+            this.maxSamples = Math.max(limeConfig.getNoOfSamples(), limeConfig.getSamplingChunkSize())
+                    * (1 + limeConfig.getNoOfRetries());
+            this.featureDistributionsMap = DataUtils.boostrapFeatureDistributions(limeConfig.getDataDistribution(),
+                    limeConfig.getPerturbationContext(), 2 * maxSamples, 1, limeConfig.getNoOfSamples());
+            this.perturbedInputs = new ArrayList<>(maxSamples);
+            this.predictionOutputs = new ArrayList<>(maxSamples);
+        }
+
+        private CompletableFuture<Map<String, Saliency>> sample(PerturbationContext perturbationContext,
+                Map<String, Saliency> previousSaliencies) {
+            int chunkSize = Math.min(limeConfig.getSamplingChunkSize(), maxSamples - perturbedInputs.size());
+            List<PredictionInput> chunk = perturbInputs(features, perturbationContext, featureDistributionsMap, chunkSize);
+            return model.predictAsync(chunk).thenCompose(chunkOutputs -> {
+                perturbedInputs.addAll(chunk);
+                predictionOutputs.addAll(chunkOutputs);
+                boolean exhausted = perturbedInputs.size() >= maxSamples;
+                List<LimeInputs> limeInputsList;
+                try {
+                    boolean strict = limeConfig.getNoOfRetries() > 0 && !exhausted;
+                    limeInputsList = getLimeInputs(linearizedTargetInputFeatures, actualOutputs, perturbedInputs,
+                            predictionOutputs, strict);
+                } catch (DatasetNotSeparableException e) {
+                    LOGGER.debug("dataset not separable after {} samples", perturbedInputs.size());
+                    PerturbationContext nextPerturbationContext = limeConfig.isAdaptDatasetVariance()
+                            ? adaptPerturbationContext(perturbationContext, linearizedTargetInputFeatures.size(),
+                                    limeConfig.getNoOfRetries())
+                            : perturbationContext;
+                    return sample(nextPerturbationContext, previousSaliencies);
+                }
+                return getSaliencies(linearizedTargetInputFeatures, actualOutputs, limeInputsList)
+                        .thenCompose(saliencies -> {
+                            if (exhausted || isConverged(previousSaliencies, saliencies)) {
+                                LOGGER.debug("sampling stopped after {} samples", perturbedInputs.size());
+                                return CompletableFuture.completedFuture(saliencies);
+                            }
+                            intermediateResultsConsumer.accept(saliencies);
+                            return sample(perturbationContext, saliencies);
+                        });
+            });
+        }
+
+        private boolean isConverged(Map<String, Saliency> previousSaliencies, Map<String, Saliency> saliencies) {
+            if (previousSaliencies == null || !previousSaliencies.keySet().equals(saliencies.keySet())) {
+                return false;
+            }
+            for (Map.Entry<String, Saliency> entry : saliencies.entrySet()) {
+                List<FeatureImportance> previous = previousSaliencies.get(entry.getKey()).getPerFeatureImportance();
+                List<FeatureImportance> current = entry.getValue().getPerFeatureImportance();
+                if (previous.size() != current.size()) {
+                    return false;
+                }
+                for (int i = 0; i < current.size(); i++) {
+                    if (Math.abs(current.get(i).getScore() - previous.get(i).getScore()) > limeConfig.getSamplingTolerance()) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
     /**
      * Obtain the inputs to the LIME algorithm, for each output in the original prediction.
      *
@@ -167,20 +267,38 @@ public class LimeExplainer implements LocalExplainer<Map<String, Saliency>> {
         return limeInputsList;
     }
 
-    private Map<String, Saliency> getSaliencies(List<Feature> linearizedTargetInputFeatures, List<Output> actualOutputs, List<LimeInputs> limeInputsList) {
-        Map<String, Saliency> result = new HashMap<>();
+    /**
+     * Calculate the saliency of each output.
+     * Saliencies of different outputs are independent, so they get calculated in parallel, on the
+     * {@link LimeConfig#getExecutor()}; the perturbed dataset is shared and no randomness is involved, so
+     * results don't depend on the order in which outputs are processed.
+     */
+    private CompletableFuture<Map<String, Saliency>> getSaliencies(List<Feature> linearizedTargetInputFeatures,
+            List<Output> actualOutputs, List<LimeInputs> limeInputsList) {
+        List<CompletableFuture<Saliency>> saliencyFutures = new ArrayList<>(actualOutputs.size());
         for (int o = 0; o < actualOutputs.size(); o++) {
             LimeInputs limeInputs = limeInputsList.get(o);
             Output originalOutput = actualOutputs.get(o);
 
-            getSaliency(linearizedTargetInputFeatures, result, limeInputs, originalOutput);
-            LOGGER.debug("weights set for output {}", originalOutput);
+            saliencyFutures.add(CompletableFuture.supplyAsync(() -> {
+                Saliency saliency = getSaliency(linearizedTargetInputFeatures, limeInputs, originalOutput);
+                LOGGER.debug("weights set for output {}", originalOutput);
+                return saliency;
+            }, limeConfig.getExecutor()));
         }
-        return result;
+        return CompletableFuture.allOf(saliencyFutures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(v -> {
+                    Map<String, Saliency> result = new HashMap<>();
+                    for (CompletableFuture<Saliency> saliencyFuture : saliencyFutures) {
+                        Saliency saliency = saliencyFuture.join();
+                        result.put(saliency.getOutput().getName(), saliency);
+                    }
+                    return result;
+                });
     }
 
-    private void getSaliency(List<Feature> linearizedTargetInputFeatures, Map<String, Saliency> result,
-            LimeInputs limeInputs, Output originalOutput) {
+    private Saliency getSaliency(List<Feature> linearizedTargetInputFeatures, LimeInputs limeInputs,
+            Output originalOutput) {
         List<FeatureImportance> featureImportanceList = new ArrayList<>();
 
         // encode the training data so that it can be fed into the linear model
@@ -188,7 +306,7 @@ public class LimeExplainer implements LocalExplainer<Map<String, Saliency>> {
                 limeInputs.getPerturbedOutputs(),
                 linearizedTargetInputFeatures, originalOutput,
                 limeConfig.getEncodingParams());
-        List<Pair<double[], Double>> trainingSet = datasetEncoder.getEncodedTrainingSet();
+        EncodedDataset trainingSet = datasetEncoder.getEncodedTrainingSet();
 
         // weight the training samples based on the proximity to the target input to explain
         double kernelWidth = limeConfig.getProximityKernelWidth() * Math.sqrt(linearizedTargetInputFeatures.size());
@@ -208,26 +326,51 @@ public class LimeExplainer implements LocalExplainer<Map<String, Saliency>> {
             proximityFilter.apply(trainingSet, sampleWeights);
         }
 
-        LinearModel linearModel = new LinearModel(linearizedTargetInputFeatures.size(), limeInputs.isClassification());
-
-        double loss = linearModel.fit(trainingSet, sampleWeights);
-        if (!Double.isNaN(loss)) {
+        double[] weights = fitLinearModel(trainingSet, sampleWeights, ts, limeInputs.isClassification());
+        if (weights != null) {
+            if (limeConfig.isNormalizeWeights() && weights.length > 0) {
+                normalizeWeights(weights);
+            }
             // create the output saliency
             int i = 0;
             for (Feature linearizedFeature : linearizedTargetInputFeatures) {
-                double[] weights = linearModel.getWeights();
-                if (limeConfig.isNormalizeWeights() && weights.length > 0) {
-                    normalizeWeights(weights);
-                }
-
                 FeatureImportance featureImportance = new FeatureImportance(linearizedFeature, weights[i]
                         * featureWeights[i]);
                 featureImportanceList.add(featureImportance);
                 i++;
             }
         }
-        Saliency saliency = new Saliency(originalOutput, featureImportanceList);
-        result.put(originalOutput.getName(), saliency);
+        return new Saliency(originalOutput, featureImportanceList);
+    }
+
+    /**
+     * Fit the linear model with the configured {@link LinearModelSolver}.
+     *
+     * @return the linear model weights, or {@code null} if no model could be fit
+     */
+    private double[] fitLinearModel(EncodedDataset trainingSet, double[] sampleWeights, int size,
+            boolean classification) {
+        if (LinearModelSolver.WEIGHTED_RIDGE == limeConfig.getSolver()) {
+            if (trainingSet.isEmpty()) {
+                LOGGER.warn("fitting an empty training set");
+                return null;
+            }
+            // filtered datasets have a longer (stale) weights array, in that case all the samples weigh the same
+            double[] weights = sampleWeights.length == trainingSet.getNoOfSamples() ? sampleWeights
+                    : filledArray(trainingSet.getNoOfSamples(), 1);
+            return WeightedLinearRegression.fit(trainingSet, weights, true, limeConfig.getRidgePenalty())
+                    .getCoefficients();
+        } else {
+            LinearModel linearModel = new LinearModel(size, classification);
+            double loss = linearModel.fit(trainingSet, sampleWeights);
+            return Double.isNaN(loss) ? null : linearModel.getWeights();
+        }
+    }
+
+    private static double[] filledArray(int size, double value) {
+        double[] array = new double[size];
+        Arrays.fill(array, value);
+        return array;
     }
 
     private void normalizeWeights(double[] weights) {
@@ -308,7 +451,6 @@ public class LimeExplainer implements LocalExplainer<Map<String, Saliency>> {
     }
 
     private List<PredictionInput> getPerturbedInputs(List<Feature> features, PerturbationContext perturbationContext) {
-        List<PredictionInput> perturbedInputs = new ArrayList<>();
         // as per LIME paper, the dataset size should be at least |features|^2
         double perturbedDataSize = Math.max(limeConfig.getNoOfSamples(), Math.pow(2, features.size()));
 
@@ -317,7 +459,13 @@ public class LimeExplainer implements LocalExplainer<Map<String, Saliency>> {
                 limeConfig.getDataDistribution(), perturbationContext, 2 * (int) perturbedDataSize,
                 1, limeConfig.getNoOfSamples());
 
-        for (int i = 0; i < perturbedDataSize; i++) {
+        return perturbInputs(features, perturbationContext, featureDistributionsMap, perturbedDataSize);
+    }
+
+    private static List<PredictionInput> perturbInputs(List<Feature> features, PerturbationContext perturbationContext,
+            Map<String, FeatureDistribution> featureDistributionsMap, double size) {
+        List<PredictionInput> perturbedInputs = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
             List<Feature> newFeatures = DataUtils.perturbFeatures(features, perturbationContext, featureDistributionsMap);
             perturbedInputs.add(new PredictionInput(newFeatures));
         }
@@ -15,11 +15,9 @@
  */
 package org.kie.kogito.explainability.local.lime;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 
-import org.apache.commons.lang3.tuple.Pair;
+import org.kie.kogito.explainability.utils.EncodedDataset;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,37 +43,38 @@ class ProximityFilter {
      * @param trainingSet the sparse training set
      * @param sampleWeights the sample weights
      */
-    void apply(List<Pair<double[], Double>> trainingSet, double[] sampleWeights) {
+    void apply(EncodedDataset trainingSet, double[] sampleWeights) {
         if (trainingSet == null || sampleWeights == null) {
             LOGGER.error("applied filter on null training set / weights");
             return;
         }
-        if (trainingSet.size() != sampleWeights.length) {
-            LOGGER.warn("training set size {} ≠ weights size {}, not filtering", trainingSet.size(), sampleWeights.length);
+        int noOfSamples = trainingSet.getNoOfSamples();
+        if (noOfSamples != sampleWeights.length) {
+            LOGGER.warn("training set size {} ≠ weights size {}, not filtering", noOfSamples, sampleWeights.length);
             return;
         }
-        List<Integer> toRemove = new ArrayList<>();
-        for (int i = trainingSet.size() - 1; i >= 0; i--) {
+        boolean[] toRemove = new boolean[noOfSamples];
+        int noOfRemovals = 0;
+        for (int i = 0; i < noOfSamples; i++) {
             if (sampleWeights[i] < proximityThreshold) {
-                toRemove.add(i);
+                toRemove[i] = true;
+                noOfRemovals++;
             }
         }
         boolean enoughSamples;
         double v = proximityFilteredDatasetMinimum;
         if (v % 1 == 0) {
-            enoughSamples = trainingSet.size() - toRemove.size() > v;
+            enoughSamples = noOfSamples - noOfRemovals > v;
         } else {
             if (v > 1) {
                 LOGGER.warn("unexpected value for 'Minimum dataset cut' {}, not filtering", v);
                 enoughSamples = false;
             } else {
-                enoughSamples = (double) toRemove.size() / (double) trainingSet.size() >= v;
+                enoughSamples = (double) noOfRemovals / (double) noOfSamples >= v;
             }
         }
-        if (!toRemove.isEmpty() && enoughSamples) {
-            for (Integer r : toRemove) {
-                trainingSet.remove(r.intValue());
-            }
+        if (noOfRemovals > 0 && enoughSamples) {
+            trainingSet.removeSamples(toRemove);
             Arrays.fill(sampleWeights, 1);
         }
     }
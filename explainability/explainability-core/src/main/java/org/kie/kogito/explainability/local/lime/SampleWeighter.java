@@ -16,12 +16,11 @@
 package org.kie.kogito.explainability.local.lime;
 
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.List;
 
-import org.apache.commons.lang3.tuple.Pair;
 import org.kie.kogito.explainability.model.Feature;
 import org.kie.kogito.explainability.utils.DataUtils;
+import org.kie.kogito.explainability.utils.EncodedDataset;
 
 /**
  * Utility class to generate weights for the LIME encoded training set, given a prediction.
@@ -40,15 +39,28 @@ class SampleWeighter {
      * @param kernelWidth the width of the kernel used to calculate the proximity
      * @return a weight for each sample in the training set
      */
-    static double[] getSampleWeights(List<Feature> targetInputFeatures, Collection<Pair<double[], Double>> training,
+    static double[] getSampleWeights(List<Feature> targetInputFeatures, EncodedDataset training,
             double kernelWidth) {
         int noOfFeatures = targetInputFeatures.size();
-        double[] x = new double[noOfFeatures];
-        Arrays.fill(x, 1);
-
-        return training.stream().map(Pair::getLeft)
-                .map(d -> DataUtils.euclideanDistance(x, d)) // calculate euclidean distance between target and sample points
-                .map(d -> DataUtils.exponentialSmoothingKernel(d, kernelWidth)) // transform distance into proximity using an exponential smoothing kernel
-                .mapToDouble(Double::doubleValue).toArray(); // output to an array
+        int noOfSamples = training.getNoOfSamples();
+        double[] weights = new double[noOfSamples];
+        if (training.getNoOfFeatures() != noOfFeatures) {
+            // distance is undefined for samples whose size doesn't match the target
+            Arrays.fill(weights, Double.NaN);
+            return weights;
+        }
+        double[] data = training.getData();
+        for (int i = 0; i < noOfSamples; i++) {
+            // calculate euclidean distance between target (the 1 vector) and sample points
+            int offset = training.offset(i);
+            double e = 0;
+            for (int j = 0; j < noOfFeatures; j++) {
+                double d = 1 - data[offset + j];
+                e += d * d;
+            }
+            // transform distance into proximity using an exponential smoothing kernel
+            weights[i] = DataUtils.exponentialSmoothingKernel(Math.sqrt(e), kernelWidth);
+        }
+        return weights;
     }
 }
@@ -15,9 +15,12 @@
  */
 package org.kie.kogito.explainability.local.lime.optim;
 
+import org.optaplanner.core.api.domain.lookup.PlanningId;
+
 abstract class LimeConfigEntity {
 
     protected Object proposedValue;
+    @PlanningId
     protected String name;
 
     public LimeConfigEntity() {
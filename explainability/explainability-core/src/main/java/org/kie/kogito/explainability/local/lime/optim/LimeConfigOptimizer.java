@@ -47,12 +47,14 @@ public class LimeConfigOptimizer {
     private static final boolean DEFAULT_SAMPLING_ENTITIES = true;
     private static final boolean DEFAULT_ENCODING_ENTITIES = true;
     private static final boolean DEFAULT_WEIGHTING_ENTITIES = true;
+    private static final String DEFAULT_MOVE_THREAD_COUNT = SolverConfig.MOVE_THREAD_COUNT_NONE;
 
     private long timeLimit;
     private boolean proximityEntities;
     private boolean samplingEntities;
     private boolean encodingEntities;
     private boolean weightingEntities;
+    private String moveThreadCount;
     private EasyScoreCalculator<LimeStabilitySolution, SimpleBigDecimalScore> scoreCalculator;
 
     public LimeConfigOptimizer() {
@@ -62,6 +64,7 @@ public class LimeConfigOptimizer {
         this.samplingEntities = DEFAULT_SAMPLING_ENTITIES;
         this.encodingEntities = DEFAULT_ENCODING_ENTITIES;
         this.weightingEntities = DEFAULT_WEIGHTING_ENTITIES;
+        this.moveThreadCount = DEFAULT_MOVE_THREAD_COUNT;
     }
 
     public LimeConfigOptimizer withTimeLimit(long timeLimit) {
@@ -89,6 +92,18 @@ public class LimeConfigOptimizer {
         return this;
     }
 
+    /**
+     * Set the no. of threads used by the solver to evaluate moves in parallel.
+     *
+     * @param moveThreadCount a number, {@link SolverConfig#MOVE_THREAD_COUNT_AUTO} or
+     *        {@link SolverConfig#MOVE_THREAD_COUNT_NONE}
+     * @return this optimizer
+     */
+    public LimeConfigOptimizer withMoveThreadCount(String moveThreadCount) {
+        this.moveThreadCount = moveThreadCount;
+        return this;
+    }
+
     public LimeConfigOptimizer withScoreCalculator(EasyScoreCalculator<LimeStabilitySolution, SimpleBigDecimalScore> scoreCalculator) {
         this.scoreCalculator = scoreCalculator;
         return this;
@@ -120,6 +135,8 @@ public class LimeConfigOptimizer {
 
         solverConfig.withSolutionClass(LimeStabilitySolution.class);
 
+        solverConfig.setMoveThreadCount(moveThreadCount);
+
         ScoreDirectorFactoryConfig scoreDirectorFactoryConfig = new ScoreDirectorFactoryConfig();
         scoreDirectorFactoryConfig.setEasyScoreCalculatorClass(scoreCalculator.getClass());
         solverConfig.setScoreDirectorFactoryConfig(scoreDirectorFactoryConfig);
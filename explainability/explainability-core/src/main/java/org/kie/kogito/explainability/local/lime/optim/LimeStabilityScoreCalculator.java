@@ -17,8 +17,12 @@ package org.kie.kogito.explainability.local.lime.optim;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
 
 import org.kie.kogito.explainability.local.lime.LimeConfig;
@@ -31,43 +35,72 @@ import org.optaplanner.core.api.score.calculator.EasyScoreCalculator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Scores a {@link LimeStabilitySolution} by the stability of the explanations generated with its {@link LimeConfig}.
+ * The predictions are evaluated in parallel and the scores are cached by the proposed values of the
+ * {@link LimeConfigEntity}s, so that configurations already seen during the search are not explained again.
+ * The solver creates a calculator instance for each optimization (so the predictions and the model do not vary
+ * across cached scores), which is shared by all its score directors and move threads.
+ */
 public class LimeStabilityScoreCalculator implements EasyScoreCalculator<LimeStabilitySolution, SimpleBigDecimalScore> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LimeStabilityScoreCalculator.class);
     private static final BigDecimal TWO = BigDecimal.valueOf(2d);
     private static final BigDecimal ZERO = BigDecimal.valueOf(0);
+    private static final int RUNS = 5;
+
+    private final Map<List<Object>, BigDecimal> scoreCache = new ConcurrentHashMap<>();
 
     @Override
     public SimpleBigDecimalScore calculateScore(LimeStabilitySolution solution) {
-        LimeConfig config = LimeConfigEntityFactory.toLimeConfig(solution);
         BigDecimal stabilityScore = BigDecimal.ZERO;
         List<Prediction> predictions = solution.getPredictions();
         if (!predictions.isEmpty()) {
-            stabilityScore = getStabilityScore(solution, config, predictions);
+            List<Object> key = getCacheKey(solution);
+            stabilityScore = scoreCache.get(key);
+            if (stabilityScore == null) {
+                LimeConfig config = LimeConfigEntityFactory.toLimeConfig(solution);
+                stabilityScore = getStabilityScore(solution, config, predictions);
+                scoreCache.putIfAbsent(key, stabilityScore);
+            }
         }
         return SimpleBigDecimalScore.of(stabilityScore);
     }
 
+    private List<Object> getCacheKey(LimeStabilitySolution solution) {
+        List<LimeConfigEntity> entities = solution.getEntities();
+        List<Object> key = new ArrayList<>(entities.size() * 2);
+        for (LimeConfigEntity entity : entities) {
+            key.add(entity.getName());
+            key.add(entity.proposedValue);
+        }
+        return key;
+    }
+
     private BigDecimal getStabilityScore(LimeStabilitySolution solution, LimeConfig config, List<Prediction> predictions) {
-        double succeededEvaluations = 0;
-        BigDecimal stabilityScore = BigDecimal.ZERO;
         LimeExplainer limeExplainer = new LimeExplainer(config);
+        List<CompletableFuture<LocalSaliencyStability>> stabilities = new ArrayList<>(predictions.size());
         for (Prediction prediction : predictions) {
+            stabilities.add(ExplainabilityMetrics.getLocalSaliencyStabilityAsync(solution.getModel(), prediction,
+                    limeExplainer, TWO.intValue(), RUNS, 1));
+        }
+
+        double succeededEvaluations = 0;
+        BigDecimal stabilityScore = BigDecimal.ZERO;
+        for (CompletableFuture<LocalSaliencyStability> future : stabilities) {
             try {
-                LocalSaliencyStability stability = ExplainabilityMetrics.getLocalSaliencyStability(solution.getModel(),
-                        prediction, limeExplainer, TWO.intValue(), 5);
+                LocalSaliencyStability stability = future.join();
                 for (String decision : stability.getDecisions()) {
                     BigDecimal decisionMarginalScore = getDecisionMarginalScore(TWO, stability, decision);
                     stabilityScore = stabilityScore.add(decisionMarginalScore);
                     succeededEvaluations++;
                 }
-            } catch (ExecutionException e) {
-                LOGGER.error("Saliency stability calculation returned an error {}", e.getMessage());
-            } catch (InterruptedException e) {
-                LOGGER.error("Interrupted while waiting for saliency stability calculation {}", e.getMessage());
-                Thread.currentThread().interrupt();
-            } catch (TimeoutException e) {
-                LOGGER.error("Timed out while waiting for saliency stability calculation", e);
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof TimeoutException) {
+                    LOGGER.error("Timed out while waiting for saliency stability calculation", e.getCause());
+                } else {
+                    LOGGER.error("Saliency stability calculation returned an error {}", e.getMessage());
+                }
             }
         }
         if (succeededEvaluations > 0) {
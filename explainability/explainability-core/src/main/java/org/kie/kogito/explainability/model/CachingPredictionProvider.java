@@ -0,0 +1,259 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.explainability.model;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@link PredictionProvider} decorator that memoizes the outputs of another {@link PredictionProvider}.
+ * <p>
+ * Inputs are looked up by the names, types and values of their features; outputs are kept in a least recently used
+ * cache bounded by a maximum total weight (by default each input weighs 1, so that the bound is the no. of cached
+ * inputs). Inputs that are not cached (nor being predicted by a concurrent call) are forwarded to the delegate
+ * provider in a single batch.
+ * Failed predictions are not cached.
+ */
+public class CachingPredictionProvider implements PredictionProvider {
+
+    private final PredictionProvider delegate;
+    private final long maximumWeight;
+    private final ToLongFunction<PredictionInput> weigher;
+    private final LinkedHashMap<InputKey, Entry> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentWeight;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong delegateCallCount = new AtomicLong();
+
+    /**
+     * Create a cache holding at most {@code maximumSize} inputs.
+     *
+     * @param delegate the provider to forward cache misses to
+     * @param maximumSize the maximum no. of cached inputs
+     */
+    public CachingPredictionProvider(PredictionProvider delegate, long maximumSize) {
+        this(delegate, maximumSize, input -> 1);
+    }
+
+    /**
+     * Create a cache whose entries have a total weight of at most {@code maximumWeight}.
+     *
+     * @param delegate the provider to forward cache misses to
+     * @param maximumWeight the maximum total weight of cached inputs
+     * @param weigher the function computing the weight of each input (e.g. its no. of features)
+     */
+    public CachingPredictionProvider(PredictionProvider delegate, long maximumWeight,
+            ToLongFunction<PredictionInput> weigher) {
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("Maximum weight must be non negative: " + maximumWeight);
+        }
+        this.delegate = delegate;
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+    }
+
+    @Override
+    public CompletableFuture<List<PredictionOutput>> predictAsync(List<PredictionInput> inputs) {
+        List<CompletableFuture<PredictionOutput>> outputs = new ArrayList<>(inputs.size());
+        List<PredictionInput> missingInputs = new ArrayList<>();
+        List<InputKey> missingKeys = new ArrayList<>();
+        List<CompletableFuture<PredictionOutput>> missingOutputs = new ArrayList<>();
+        synchronized (cache) {
+            for (PredictionInput input : inputs) {
+                InputKey key = new InputKey(input);
+                Entry entry = cache.get(key);
+                if (entry != null) {
+                    hitCount.incrementAndGet();
+                } else {
+                    missCount.incrementAndGet();
+                    entry = new Entry(new CompletableFuture<>(), weigher.applyAsLong(input));
+                    put(key, entry);
+                    missingInputs.add(input);
+                    missingKeys.add(key);
+                    missingOutputs.add(entry.output);
+                }
+                outputs.add(entry.output);
+            }
+        }
+
+        if (!missingInputs.isEmpty()) {
+            delegateCallCount.incrementAndGet();
+            CompletableFuture<List<PredictionOutput>> predictions;
+            try {
+                predictions = delegate.predictAsync(missingInputs);
+            } catch (RuntimeException e) {
+                predictions = CompletableFuture.failedFuture(e);
+            }
+            predictions.whenComplete((predictedOutputs, throwable) -> {
+                Throwable failure = throwable;
+                if (failure == null && (predictedOutputs == null || predictedOutputs.size() != missingInputs.size())) {
+                    failure = new IllegalStateException(String.format("Expected %d prediction outputs, got %s",
+                            missingInputs.size(), predictedOutputs == null ? null : predictedOutputs.size()));
+                }
+                if (failure != null) {
+                    invalidate(missingKeys, missingOutputs);
+                    for (CompletableFuture<PredictionOutput> output : missingOutputs) {
+                        output.completeExceptionally(failure);
+                    }
+                } else {
+                    for (int i = 0; i < missingOutputs.size(); i++) {
+                        missingOutputs.get(i).complete(predictedOutputs.get(i));
+                    }
+                }
+            });
+        }
+
+        return CompletableFuture.allOf(outputs.toArray(new CompletableFuture<?>[0]))
+                .thenApply(v -> {
+                    List<PredictionOutput> result = new ArrayList<>(outputs.size());
+                    for (CompletableFuture<PredictionOutput> output : outputs) {
+                        result.add(output.join());
+                    }
+                    return result;
+                });
+    }
+
+    // to be called while holding the lock on the cache
+    private void put(InputKey key, Entry entry) {
+        cache.put(key, entry);
+        currentWeight += entry.weight;
+        Iterator<Entry> iterator = cache.values().iterator();
+        while (currentWeight > maximumWeight && iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            iterator.remove();
+            currentWeight -= eldest.weight;
+        }
+    }
+
+    private void invalidate(List<InputKey> keys, List<CompletableFuture<PredictionOutput>> outputs) {
+        synchronized (cache) {
+            for (int i = 0; i < keys.size(); i++) {
+                Entry entry = cache.get(keys.get(i));
+                // only remove the entry if it was not evicted and re-added in the meantime
+                if (entry != null && entry.output == outputs.get(i)) {
+                    cache.remove(keys.get(i));
+                    currentWeight -= entry.weight;
+                }
+            }
+        }
+    }
+
+    /**
+     * Discard all the cached outputs (counters are not reset).
+     */
+    public void invalidateAll() {
+        synchronized (cache) {
+            cache.clear();
+            currentWeight = 0;
+        }
+    }
+
+    /**
+     * @return the no. of inputs currently cached (or being predicted)
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * @return the no. of inputs whose output was served by the cache
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return the no. of inputs that have been forwarded to the delegate provider
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return the ratio of cache hits over the total no. of requested inputs, {@code 0} if nothing was requested yet
+     */
+    public double getHitRate() {
+        long hits = hitCount.get();
+        long total = hits + missCount.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * @return the no. of (batch) calls to the delegate provider
+     */
+    public long getDelegateCallCount() {
+        return delegateCallCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "CachingPredictionProvider{" +
+                "delegate=" + delegate +
+                ", maximumWeight=" + maximumWeight +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", delegateCallCount=" + delegateCallCount +
+                '}';
+    }
+
+    private static class Entry {
+        private final CompletableFuture<PredictionOutput> output;
+        private final long weight;
+
+        private Entry(CompletableFuture<PredictionOutput> output, long weight) {
+            this.output = output;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Cache key based on the features of a {@link PredictionInput}, the hash code is computed once.
+     */
+    private static class InputKey {
+        private final List<Feature> features;
+        private final int hash;
+
+        private InputKey(PredictionInput input) {
+            this.features = new ArrayList<>(input.getFeatures());
+            this.hash = features.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            InputKey inputKey = (InputKey) o;
+            return hash == inputKey.hash && features.equals(inputKey.features);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
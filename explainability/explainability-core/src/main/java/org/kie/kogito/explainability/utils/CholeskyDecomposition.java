@@ -0,0 +1,116 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.explainability.utils;
+
+/**
+ * Cholesky decomposition {@code A = U^T U} of a symmetric positive definite {@link DenseMatrix}.
+ * Only the upper triangle of {@code A} is read. The factor is kept in an internal buffer, which is reused by
+ * subsequent calls to {@link #decompose(DenseMatrix)} on matrices of the same (or smaller) size.
+ */
+public class CholeskyDecomposition {
+
+    private static final double PIVOT_TOLERANCE = 1e-10;
+
+    private double[] u = new double[0];
+    private double[] z = new double[0];
+    private int n;
+
+    /**
+     * Decompose the given matrix, which is left untouched.
+     *
+     * @param a a symmetric (upper triangle is sufficient) square matrix
+     * @return this decomposition
+     * @throws ArithmeticException if the matrix is not positive definite; pivots that cancel out to (relatively)
+     *         zero are treated as singular
+     */
+    public CholeskyDecomposition decompose(DenseMatrix a) {
+        a.checkSquare();
+        n = a.getRows();
+        if (u.length < n * n) {
+            u = new double[n * n];
+            z = new double[n];
+        }
+        double[] data = a.getData();
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(data, i * n + i, u, i * n + i, n - i);
+        }
+        // right-looking variant: each step scales row k and updates the trailing rows, accessing rows contiguously
+        for (int k = 0; k < n; k++) {
+            int rowK = k * n;
+            double d = u[rowK + k];
+            if (d <= PIVOT_TOLERANCE * data[rowK + k] || Double.isNaN(d)) {
+                throw new ArithmeticException("Matrix is not positive definite");
+            }
+            double ukk = Math.sqrt(d);
+            u[rowK + k] = ukk;
+            for (int j = k + 1; j < n; j++) {
+                u[rowK + j] /= ukk;
+            }
+            for (int i = k + 1; i < n; i++) {
+                double uki = u[rowK + i];
+                if (uki != 0) {
+                    int rowI = i * n;
+                    for (int j = i; j < n; j++) {
+                        u[rowI + j] -= uki * u[rowK + j];
+                    }
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Solve {@code A c = b} using the last computed decomposition.
+     *
+     * @param b the right hand side, of size {@code n}
+     * @return c, a new array of size {@code n}
+     */
+    public double[] solve(double[] b) {
+        return solve(b, new double[n]);
+    }
+
+    /**
+     * Solve {@code A c = b} using the last computed decomposition.
+     *
+     * @param b the right hand side, of size {@code n}
+     * @param out the array to write c into, of size {@code n} (may be b)
+     * @return out
+     */
+    public double[] solve(double[] b, double[] out) {
+        if (b.length != n || out.length != n) {
+            throw new IllegalArgumentException(String.format("Vectors must have size %d", n));
+        }
+        // forward substitution U^T z = b
+        for (int i = 0; i < n; i++) {
+            double v = b[i];
+            for (int k = 0; k < i; k++) {
+                v -= u[k * n + i] * z[k];
+            }
+            z[i] = v / u[i * n + i];
+        }
+        // backward substitution U c = z
+        for (int i = n - 1; i >= 0; i--) {
+            double v = z[i];
+            int row = i * n;
+            for (int k = i + 1; k < n; k++) {
+                v -= u[row + k] * out[k];
+            }
+            out[i] = v / u[row + i];
+        }
+        return out;
+    }
+}
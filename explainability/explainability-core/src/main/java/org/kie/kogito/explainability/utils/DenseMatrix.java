@@ -0,0 +1,451 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.explainability.utils;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A dense matrix of doubles, stored row by row in a single flat {@code double[]}.
+ * <p>
+ * Operations whose name ends with {@code InPlace} modify this matrix and return it, operations whose name ends with
+ * {@code Into} write their result into a caller provided matrix (or array), so that buffers can be reused across
+ * calls. Products and transposes are computed over square tiles of {@link #BLOCK_SIZE} elements, to keep the operands
+ * in cache.
+ */
+public final class DenseMatrix {
+
+    static final int BLOCK_SIZE = 64;
+
+    private final int rows;
+    private final int cols;
+    private final double[] data;
+
+    /**
+     * Create a zero valued matrix.
+     *
+     * @param rows the no. of rows
+     * @param cols the no. of columns
+     */
+    public DenseMatrix(int rows, int cols) {
+        this(rows, cols, new double[rows * cols]);
+    }
+
+    /**
+     * Create a matrix wrapping the given array (no copy is performed).
+     *
+     * @param rows the no. of rows
+     * @param cols the no. of columns
+     * @param data the matrix values, stored row by row, of size {@code rows * cols}
+     */
+    public DenseMatrix(int rows, int cols, double[] data) {
+        if (rows < 0 || cols < 0 || data.length != rows * cols) {
+            throw new IllegalArgumentException(String.format("Data size (%d) must be equal to rows (%d) * cols (%d)",
+                    data.length, rows, cols));
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.data = data;
+    }
+
+    /**
+     * Copy a {@code double[][]} array into a dense matrix.
+     *
+     * @param x the array to copy, all rows are expected to have the same length
+     * @return a new matrix holding the values of x
+     */
+    public static DenseMatrix of(double[][] x) {
+        int rows = x.length;
+        int cols = rows == 0 ? 0 : x[0].length;
+        DenseMatrix matrix = new DenseMatrix(rows, cols);
+        for (int i = 0; i < rows; i++) {
+            if (x[i].length != cols) {
+                throw new IllegalArgumentException(
+                        String.format("Row %d has %d column(s), expected %d", i, x[i].length, cols));
+            }
+            System.arraycopy(x[i], 0, matrix.data, i * cols, cols);
+        }
+        return matrix;
+    }
+
+    /**
+     * @param n the size of the matrix
+     * @return the {@code n x n} identity matrix
+     */
+    public static DenseMatrix identity(int n) {
+        DenseMatrix matrix = new DenseMatrix(n, n);
+        for (int i = 0; i < n; i++) {
+            matrix.data[i * n + i] = 1;
+        }
+        return matrix;
+    }
+
+    /**
+     * @return a {@code double[][]} copy of this matrix
+     */
+    public double[][] toArray() {
+        double[][] out = new double[rows][];
+        for (int i = 0; i < rows; i++) {
+            out[i] = Arrays.copyOfRange(data, i * cols, (i + 1) * cols);
+        }
+        return out;
+    }
+
+    public DenseMatrix copy() {
+        return new DenseMatrix(rows, cols, Arrays.copyOf(data, data.length));
+    }
+
+    // === Element access ==============================================================================================
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * @return the backing array, the element at {@code (i, j)} is stored at index {@code i * getCols() + j}
+     */
+    public double[] getData() {
+        return data;
+    }
+
+    public double get(int i, int j) {
+        return data[i * cols + j];
+    }
+
+    public void set(int i, int j, double value) {
+        data[i * cols + j] = value;
+    }
+
+    public void add(int i, int j, double value) {
+        data[i * cols + j] += value;
+    }
+
+    // === In place operations =========================================================================================
+    /**
+     * Set all the elements of this matrix to the given value.
+     */
+    public DenseMatrix fillInPlace(double value) {
+        Arrays.fill(data, value);
+        return this;
+    }
+
+    /**
+     * Overwrite this matrix with the values of another matrix of the same shape.
+     */
+    public DenseMatrix setInPlace(DenseMatrix other) {
+        checkSameShape(other);
+        System.arraycopy(other.data, 0, data, 0, data.length);
+        return this;
+    }
+
+    /**
+     * Multiply each element of this matrix by a scalar.
+     */
+    public DenseMatrix scaleInPlace(double scalar) {
+        for (int i = 0; i < data.length; i++) {
+            data[i] *= scalar;
+        }
+        return this;
+    }
+
+    /**
+     * Element-wise sum of {@code scalar * other} to this matrix.
+     */
+    public DenseMatrix addInPlace(DenseMatrix other, double scalar) {
+        checkSameShape(other);
+        double[] otherData = other.data;
+        for (int i = 0; i < data.length; i++) {
+            data[i] += scalar * otherData[i];
+        }
+        return this;
+    }
+
+    /**
+     * Element-wise sum of another matrix to this matrix.
+     */
+    public DenseMatrix addInPlace(DenseMatrix other) {
+        return addInPlace(other, 1);
+    }
+
+    /**
+     * Add {@code scalar * row} to each row of this matrix.
+     */
+    public DenseMatrix addToRowsInPlace(double[] row, double scalar) {
+        if (row.length != cols) {
+            throw new IllegalArgumentException(
+                    String.format("Row size (%d) must match the no. of columns of the matrix (%d)", row.length, cols));
+        }
+        for (int i = 0; i < rows; i++) {
+            int offset = i * cols;
+            for (int j = 0; j < cols; j++) {
+                data[offset + j] += scalar * row[j];
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Add the given value to the first {@code count} elements of the diagonal of this matrix.
+     */
+    public DenseMatrix addToDiagonalInPlace(double value, int count) {
+        int n = Math.min(count, Math.min(rows, cols));
+        for (int i = 0; i < n; i++) {
+            data[i * cols + i] += value;
+        }
+        return this;
+    }
+
+    /**
+     * Jitter each element of this matrix by a random number in range (0, delta).
+     */
+    public DenseMatrix jitterInPlace(double delta, Random random) {
+        for (int i = 0; i < data.length; i++) {
+            data[i] += delta * random.nextDouble();
+        }
+        return this;
+    }
+
+    /**
+     * Symmetric rank-k update of the leading {@code aCols x aCols} block of this (square) matrix:
+     * {@code this += A^T diag(weights) A}, where {@code A} is an {@code aRows x aCols} matrix stored row by row in
+     * {@code a} (which may be larger than {@code aRows * aCols}). Only the upper triangle is updated, see
+     * {@link #symmetrizeInPlace()}.
+     * Rows are streamed in blocks through square tiles of this matrix, zero entries of {@code A} are skipped.
+     *
+     * @param a the values of {@code A}, row by row
+     * @param aRows the no. of rows of {@code A}
+     * @param aCols the no. of columns of {@code A}
+     * @param weights the weight of each row of {@code A}
+     * @return this matrix
+     */
+    public DenseMatrix symmetricRankKUpdateInPlace(double[] a, int aRows, int aCols, double[] weights) {
+        if (rows != cols || aCols > cols) {
+            throw new IllegalArgumentException(
+                    String.format("Cannot update a %d x %d matrix with a product of size %d x %d", rows, cols, aCols,
+                            aCols));
+        }
+        if (a.length < aRows * aCols || weights.length < aRows) {
+            throw new IllegalArgumentException(
+                    String.format("Matrix A must have %d x %d elements and %d weights", aRows, aCols, aRows));
+        }
+        for (int s0 = 0; s0 < aRows; s0 += BLOCK_SIZE) {
+            int s1 = Math.min(s0 + BLOCK_SIZE, aRows);
+            for (int i0 = 0; i0 < aCols; i0 += BLOCK_SIZE) {
+                int i1 = Math.min(i0 + BLOCK_SIZE, aCols);
+                for (int j0 = i0; j0 < aCols; j0 += BLOCK_SIZE) {
+                    int j1 = Math.min(j0 + BLOCK_SIZE, aCols);
+                    for (int s = s0; s < s1; s++) {
+                        int offset = s * aCols;
+                        double w = weights[s];
+                        for (int i = i0; i < i1; i++) {
+                            double wai = w * a[offset + i];
+                            if (wai != 0) {
+                                int row = i * cols;
+                                for (int j = Math.max(i, j0); j < j1; j++) {
+                                    data[row + j] += wai * a[offset + j];
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Copy the upper triangle of this (square) matrix into its lower triangle.
+     */
+    public DenseMatrix symmetrizeInPlace() {
+        checkSquare();
+        for (int i = 0; i < rows; i++) {
+            for (int j = i + 1; j < cols; j++) {
+                data[j * cols + i] = data[i * cols + j];
+            }
+        }
+        return this;
+    }
+
+    // === Products and transposes =====================================================================================
+    /**
+     * @return a new matrix holding the product of this matrix and b
+     */
+    public DenseMatrix multiply(DenseMatrix b) {
+        return multiplyInto(b, new DenseMatrix(rows, b.cols));
+    }
+
+    /**
+     * Compute the product of this matrix and b into out, overwriting its values.
+     *
+     * @param b the right operand
+     * @param out a {@code this.getRows() x b.getCols()} matrix, must not be this matrix nor b
+     * @return out
+     */
+    public DenseMatrix multiplyInto(DenseMatrix b, DenseMatrix out) {
+        if (cols != b.rows) {
+            throw new IllegalArgumentException("# columns of matrix A must match # rows of matrix B" +
+                    String.format("Matrix A shape:  %d x %d, ", rows, cols) +
+                    String.format("Matrix B shape:  %d x %d,", b.rows, b.cols));
+        }
+        if (out.rows != rows || out.cols != b.cols) {
+            throw new IllegalArgumentException(String.format("Output matrix must be %d x %d, found %d x %d",
+                    rows, b.cols, out.rows, out.cols));
+        }
+        if (out == this || out == b) {
+            throw new IllegalArgumentException("Output matrix must not be one of the operands");
+        }
+        Arrays.fill(out.data, 0);
+        int n = b.cols;
+        double[] bData = b.data;
+        double[] outData = out.data;
+        for (int i0 = 0; i0 < rows; i0 += BLOCK_SIZE) {
+            int i1 = Math.min(i0 + BLOCK_SIZE, rows);
+            for (int k0 = 0; k0 < cols; k0 += BLOCK_SIZE) {
+                int k1 = Math.min(k0 + BLOCK_SIZE, cols);
+                for (int j0 = 0; j0 < n; j0 += BLOCK_SIZE) {
+                    int j1 = Math.min(j0 + BLOCK_SIZE, n);
+                    for (int i = i0; i < i1; i++) {
+                        int aRow = i * cols;
+                        int outRow = i * n;
+                        for (int k = k0; k < k1; k++) {
+                            double aik = data[aRow + k];
+                            if (aik != 0) {
+                                int bRow = k * n;
+                                for (int j = j0; j < j1; j++) {
+                                    outData[outRow + j] += aik * bData[bRow + j];
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Compute the product of this matrix and the (column) vector v into out.
+     *
+     * @param v a vector of size {@code getCols()}
+     * @param out a vector of size {@code getRows()}, must not be v
+     * @return out
+     */
+    public double[] multiplyInto(double[] v, double[] out) {
+        if (v.length != cols || out.length != rows) {
+            throw new IllegalArgumentException(String.format("Cannot multiply a %d x %d matrix by a vector of size %d" +
+                    " into a vector of size %d", rows, cols, v.length, out.length));
+        }
+        for (int i = 0; i < rows; i++) {
+            int offset = i * cols;
+            double sum = 0;
+            for (int j = 0; j < cols; j++) {
+                sum += data[offset + j] * v[j];
+            }
+            out[i] = sum;
+        }
+        return out;
+    }
+
+    /**
+     * @return a new matrix holding the transpose of this matrix
+     */
+    public DenseMatrix transpose() {
+        return transposeInto(new DenseMatrix(cols, rows));
+    }
+
+    /**
+     * Compute the transpose of this matrix into out.
+     *
+     * @param out a {@code getCols() x getRows()} matrix, must not be this matrix
+     * @return out
+     */
+    public DenseMatrix transposeInto(DenseMatrix out) {
+        if (out.rows != cols || out.cols != rows || out == this) {
+            throw new IllegalArgumentException(String.format("Output matrix must be a distinct %d x %d matrix",
+                    cols, rows));
+        }
+        double[] outData = out.data;
+        for (int i0 = 0; i0 < rows; i0 += BLOCK_SIZE) {
+            int i1 = Math.min(i0 + BLOCK_SIZE, rows);
+            for (int j0 = 0; j0 < cols; j0 += BLOCK_SIZE) {
+                int j1 = Math.min(j0 + BLOCK_SIZE, cols);
+                for (int i = i0; i < i1; i++) {
+                    for (int j = j0; j < j1; j++) {
+                        outData[j * rows + i] = data[i * cols + j];
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    // === Reductions ==================================================================================================
+    /**
+     * @return the sum of all the rows of this matrix, i.e. a vector of size {@code getCols()}
+     */
+    public double[] sumRows() {
+        double[] out = new double[cols];
+        for (int i = 0; i < rows; i++) {
+            int offset = i * cols;
+            for (int j = 0; j < cols; j++) {
+                out[j] += data[offset + j];
+            }
+        }
+        return out;
+    }
+
+    /**
+     * @return the sum of all the columns of this matrix, i.e. a vector of size {@code getRows()}
+     */
+    public double[] sumCols() {
+        double[] out = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            int offset = i * cols;
+            double sum = 0;
+            for (int j = 0; j < cols; j++) {
+                sum += data[offset + j];
+            }
+            out[i] = sum;
+        }
+        return out;
+    }
+
+    private void checkSameShape(DenseMatrix other) {
+        if (rows != other.rows || cols != other.cols) {
+            throw new IllegalArgumentException("Shape of matrix A must shape of matrix B" +
+                    String.format("Matrix A shape:  %d x %d, ", rows, cols) +
+                    String.format("Matrix B shape:  %d x %d,", other.rows, other.cols));
+        }
+    }
+
+    void checkSquare() {
+        if (rows != cols) {
+            throw new IllegalArgumentException(String.format("Matrix must be square, found %d x %d", rows, cols));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DenseMatrix{" +
+                "rows=" + rows +
+                ", cols=" + cols +
+                '}';
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.explainability.utils;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * A dense, numerical dataset to be used for training linear models.
+ * Samples are stored row by row in a single flat {@code double[]}, the target value of each sample is stored in a
+ * separate {@code double[]}, so that no boxing / per-sample allocation is required when building or iterating the
+ * dataset.
+ * <p>
+ * The dataset can be shrunk in place (see {@link #removeSamples(boolean[])}), hence the backing arrays returned by
+ * {@link #getData()} and {@link #getTargets()} may be larger than the actual no. of samples.
+ */
+public class EncodedDataset {
+
+    private final double[] data;
+    private final double[] targets;
+    private final int noOfFeatures;
+    private int noOfSamples;
+
+    /**
+     * Create an empty (zero valued) dataset of the given size.
+     *
+     * @param noOfSamples the no. of samples
+     * @param noOfFeatures the no. of (encoded) features of each sample
+     */
+    public EncodedDataset(int noOfSamples, int noOfFeatures) {
+        this(new double[noOfSamples * noOfFeatures], new double[noOfSamples], noOfFeatures);
+    }
+
+    /**
+     * Create a dataset wrapping the given arrays (no copy is performed).
+     *
+     * @param data the samples, stored row by row, of size {@code targets.length * noOfFeatures}
+     * @param targets the target value of each sample
+     * @param noOfFeatures the no. of (encoded) features of each sample
+     */
+    public EncodedDataset(double[] data, double[] targets, int noOfFeatures) {
+        if (data.length != targets.length * noOfFeatures) {
+            throw new IllegalArgumentException(String.format("Data size (%d) must be equal to no. of targets (%d) * no. of features (%d)",
+                    data.length, targets.length, noOfFeatures));
+        }
+        this.data = data;
+        this.targets = targets;
+        this.noOfFeatures = noOfFeatures;
+        this.noOfSamples = targets.length;
+    }
+
+    /**
+     * Create a dataset from a collection of {@code (input, target)} pairs.
+     *
+     * @param trainingSet the training set, all inputs are expected to have the same size
+     * @return a dense dataset holding a copy of the given samples
+     */
+    public static EncodedDataset of(Collection<Pair<double[], Double>> trainingSet) {
+        int noOfFeatures = trainingSet.isEmpty() ? 0 : trainingSet.iterator().next().getLeft().length;
+        EncodedDataset dataset = new EncodedDataset(trainingSet.size(), noOfFeatures);
+        int i = 0;
+        for (Pair<double[], Double> sample : trainingSet) {
+            double[] x = sample.getLeft();
+            if (x.length != noOfFeatures) {
+                throw new IllegalArgumentException(String.format("Sample %d has %d features, expected %d", i, x.length,
+                        noOfFeatures));
+            }
+            System.arraycopy(x, 0, dataset.data, i * noOfFeatures, noOfFeatures);
+            dataset.targets[i] = sample.getRight();
+            i++;
+        }
+        return dataset;
+    }
+
+    public int getNoOfSamples() {
+        return noOfSamples;
+    }
+
+    public int getNoOfFeatures() {
+        return noOfFeatures;
+    }
+
+    public boolean isEmpty() {
+        return noOfSamples == 0;
+    }
+
+    /**
+     * Get the encoded value of a feature for a given sample.
+     *
+     * @param sample the sample index
+     * @param feature the feature index
+     * @return the encoded value
+     */
+    public double get(int sample, int feature) {
+        return data[offset(sample) + feature];
+    }
+
+    public void set(int sample, int feature, double value) {
+        data[offset(sample) + feature] = value;
+    }
+
+    public double getTarget(int sample) {
+        return targets[sample];
+    }
+
+    public void setTarget(int sample, double value) {
+        targets[sample] = value;
+    }
+
+    /**
+     * Get the offset of the first feature of the given sample in the array returned by {@link #getData()}.
+     *
+     * @param sample the sample index
+     * @return the offset of the sample in the backing array
+     */
+    public int offset(int sample) {
+        return sample * noOfFeatures;
+    }
+
+    /**
+     * Get the backing array of the samples, stored row by row.
+     * Only the first {@code getNoOfSamples() * getNoOfFeatures()} values are meaningful.
+     *
+     * @return the backing array
+     */
+    public double[] getData() {
+        return data;
+    }
+
+    /**
+     * Get the backing array of the targets.
+     * Only the first {@code getNoOfSamples()} values are meaningful.
+     *
+     * @return the backing array of the target values
+     */
+    public double[] getTargets() {
+        return targets;
+    }
+
+    /**
+     * Get a copy of the features of a sample.
+     *
+     * @param sample the sample index
+     * @return the sample features
+     */
+    public double[] getSample(int sample) {
+        int offset = offset(sample);
+        return Arrays.copyOfRange(data, offset, offset + noOfFeatures);
+    }
+
+    /**
+     * Remove samples from the dataset, compacting the remaining ones in place.
+     *
+     * @param toRemove a flag for each sample, {@code true} if the sample has to be removed
+     */
+    public void removeSamples(boolean[] toRemove) {
+        int kept = 0;
+        for (int i = 0; i < noOfSamples; i++) {
+            if (!toRemove[i]) {
+                if (kept != i) {
+                    System.arraycopy(data, offset(i), data, offset(kept), noOfFeatures);
+                    targets[kept] = targets[i];
+                }
+                kept++;
+            }
+        }
+        noOfSamples = kept;
+    }
+}
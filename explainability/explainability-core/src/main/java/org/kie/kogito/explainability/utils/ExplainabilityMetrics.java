@@ -22,8 +22,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -161,8 +163,30 @@ public class ExplainabilityMetrics {
             LocalExplainer<Map<String, Saliency>> saliencyLocalExplainer,
             int topK, int runs)
             throws InterruptedException, ExecutionException, TimeoutException {
-        Map<String, List<Saliency>> saliencies = getMultipleSaliencies(model, prediction, saliencyLocalExplainer, runs);
+        return getUnwrapped(getLocalSaliencyStabilityAsync(model, prediction, saliencyLocalExplainer, topK, runs, 1));
+    }
+
+    /**
+     * Evaluate stability of a local explainer generating {@code Saliencies}, running up to {@code maxConcurrency}
+     * explanations at the same time.
+     * See {@link #getLocalSaliencyStability(PredictionProvider, Prediction, LocalExplainer, int, int)}.
+     *
+     * @param model a model to explain
+     * @param prediction the prediction on which explanation stability will be evaluated
+     * @param saliencyLocalExplainer a local saliency explainer
+     * @param topK no. of top k positive/negative features for which stability report will be generated
+     * @param runs the no. of explanations to be generated
+     * @param maxConcurrency the max no. of explanations running at the same time
+     * @return a report about stability of all the decisions/predictions (and for each {@code k < topK})
+     */
+    public static CompletableFuture<LocalSaliencyStability> getLocalSaliencyStabilityAsync(PredictionProvider model,
+            Prediction prediction, LocalExplainer<Map<String, Saliency>> saliencyLocalExplainer,
+            int topK, int runs, int maxConcurrency) {
+        return getMultipleSaliencies(model, prediction, saliencyLocalExplainer, runs, maxConcurrency)
+                .thenApply(saliencies -> getLocalSaliencyStability(saliencies, topK));
+    }
 
+    private static LocalSaliencyStability getLocalSaliencyStability(Map<String, List<Saliency>> saliencies, int topK) {
         LocalSaliencyStability saliencyStability = new LocalSaliencyStability(saliencies.keySet());
         // for each decision, calculate the stability rate for the top k important feature set, for each k < topK
         for (Map.Entry<String, List<Saliency>> entry : saliencies.entrySet()) {
@@ -199,37 +223,90 @@ public class ExplainabilityMetrics {
      * @param prediction the prediction to explain
      * @param saliencyLocalExplainer a local explainer that generates saliences
      * @param runs the no. of explanations to be generated
+     * @param maxConcurrency the max no. of explanations running at the same time
      * @return the generated saliencies, aggregated by decision name, across the different runs
      */
-    private static Map<String, List<Saliency>> getMultipleSaliencies(PredictionProvider model, Prediction prediction,
-            LocalExplainer<Map<String, Saliency>> saliencyLocalExplainer,
-            int runs)
-            throws InterruptedException, ExecutionException, TimeoutException {
-        Map<String, List<Saliency>> saliencies = new HashMap<>();
-        int skipped = 0;
-        for (int i = 0; i < runs; i++) {
-            Map<String, Saliency> saliencyMap = saliencyLocalExplainer.explainAsync(prediction, model)
-                    .get(Config.INSTANCE.getAsyncTimeout(), Config.INSTANCE.getAsyncTimeUnit());
-            for (Map.Entry<String, Saliency> saliencyEntry : saliencyMap.entrySet()) {
-                // aggregate saliencies by output name
-                List<FeatureImportance> topFeatures = saliencyEntry.getValue().getTopFeatures(1);
-                if (!topFeatures.isEmpty() && topFeatures.get(0).getScore() != 0) { // skip empty or 0 valued saliencies
-                    if (saliencies.containsKey(saliencyEntry.getKey())) {
-                        List<Saliency> localSaliencies = saliencies.get(saliencyEntry.getKey());
-                        List<Saliency> updatedSaliencies = new ArrayList<>(localSaliencies);
-                        updatedSaliencies.add(saliencyEntry.getValue());
-                        saliencies.put(saliencyEntry.getKey(), updatedSaliencies);
-                    } else {
-                        saliencies.put(saliencyEntry.getKey(), List.of(saliencyEntry.getValue()));
+    private static CompletableFuture<Map<String, List<Saliency>>> getMultipleSaliencies(PredictionProvider model,
+            Prediction prediction, LocalExplainer<Map<String, Saliency>> saliencyLocalExplainer,
+            int runs, int maxConcurrency) {
+        return runBounded(runs, i -> saliencyLocalExplainer.explainAsync(prediction, model)
+                .orTimeout(Config.INSTANCE.getAsyncTimeout(), Config.INSTANCE.getAsyncTimeUnit()), maxConcurrency)
+                .thenApply(saliencyMaps -> {
+                    Map<String, List<Saliency>> saliencies = new HashMap<>();
+                    int skipped = 0;
+                    for (Map<String, Saliency> saliencyMap : saliencyMaps) {
+                        for (Map.Entry<String, Saliency> saliencyEntry : saliencyMap.entrySet()) {
+                            // aggregate saliencies by output name
+                            List<FeatureImportance> topFeatures = saliencyEntry.getValue().getTopFeatures(1);
+                            if (!topFeatures.isEmpty() && topFeatures.get(0).getScore() != 0) { // skip empty or 0 valued saliencies
+                                saliencies.computeIfAbsent(saliencyEntry.getKey(), key -> new ArrayList<>(runs))
+                                        .add(saliencyEntry.getValue());
+                            } else {
+                                LOGGER.debug("skipping empty / zero saliency for {}", saliencyEntry.getKey());
+                                skipped++;
+                            }
+                        }
                     }
-                } else {
-                    LOGGER.debug("skipping empty / zero saliency for {}", saliencyEntry.getKey());
-                    skipped++;
-                }
+                    LOGGER.debug("skipped {} useless saliencies", skipped);
+                    return saliencies;
+                });
+    }
+
+    /**
+     * Run {@code count} asynchronous tasks, with at most {@code maxConcurrency} of them running at the same time.
+     * A new task is started as soon as a running one completes.
+     *
+     * @param count the no. of tasks
+     * @param task the task, given its index
+     * @param maxConcurrency the max no. of tasks running at the same time
+     * @param <T> the type of the task results
+     * @return the results of the tasks, in index order
+     */
+    private static <T> CompletableFuture<List<T>> runBounded(int count, Function<Integer, CompletableFuture<T>> task,
+            int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be positive: " + maxConcurrency);
+        }
+        List<T> results = new ArrayList<>(Collections.nCopies(count, null));
+        AtomicInteger next = new AtomicInteger();
+        CompletableFuture<?>[] lanes = new CompletableFuture<?>[Math.min(maxConcurrency, count)];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = runLane(count, task, next, results);
+        }
+        return CompletableFuture.allOf(lanes).thenApply(v -> results);
+    }
+
+    private static <T> CompletableFuture<Void> runLane(int count, Function<Integer, CompletableFuture<T>> task,
+            AtomicInteger next, List<T> results) {
+        int index;
+        while ((index = next.getAndIncrement()) < count) {
+            CompletableFuture<T> result = task.apply(index);
+            final int resultIndex = index;
+            if (!result.isDone() || result.isCompletedExceptionally()) {
+                return result.thenCompose(r -> {
+                    results.set(resultIndex, r);
+                    return runLane(count, task, next, results);
+                });
+            }
+            // tasks completed synchronously are consumed in this loop, so that the stack does not grow
+            results.set(resultIndex, result.join());
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Wait for the given future, rethrowing timeouts of the underlying operations as {@link TimeoutException}.
+     */
+    private static <T> T getUnwrapped(CompletableFuture<T> future)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw (TimeoutException) e.getCause();
             }
+            throw e;
         }
-        LOGGER.debug("skipped {} useless saliencies", skipped);
-        return saliencies;
     }
 
     private static Map<List<String>, Long> getTopKFeaturesFrequency(List<Saliency> saliencies, Function<Saliency, List<FeatureImportance>> saliencyListFunction) {
@@ -266,57 +343,109 @@ public class ExplainabilityMetrics {
             LocalExplainer<Map<String, Saliency>> localExplainer,
             DataDistribution dataDistribution, int k, int chunkSize)
             throws InterruptedException, ExecutionException, TimeoutException {
+        return getUnwrapped(getLocalSaliencyRecallAsync(outputName, predictionProvider, localExplainer,
+                dataDistribution, k, chunkSize, 1));
+    }
 
+    /**
+     * Evaluate the recall of a local saliency explainer on a given model, running up to {@code maxConcurrency}
+     * explanations at the same time.
+     * See {@link #getLocalSaliencyRecall(String, PredictionProvider, LocalExplainer, DataDistribution, int, int)}.
+     *
+     * @param outputName decision to evaluate recall for
+     * @param predictionProvider the prediction provider to test
+     * @param localExplainer the explainer to evaluate
+     * @param dataDistribution the data distribution used to obtain inputs for evaluation
+     * @param k the no. of features to extract
+     * @param chunkSize the size of the chunk of predictions to use for evaluation
+     * @param maxConcurrency the max no. of explanations running at the same time
+     * @return the saliency recall
+     */
+    public static CompletableFuture<Double> getLocalSaliencyRecallAsync(String outputName,
+            PredictionProvider predictionProvider, LocalExplainer<Map<String, Saliency>> localExplainer,
+            DataDistribution dataDistribution, int k, int chunkSize, int maxConcurrency) {
         // get all samples from the data distribution
-        List<Prediction> sorted = getScoreSortedPredictions(outputName, predictionProvider, dataDistribution);
-
-        // get the top and bottom 'chunkSize' predictions
-        List<Prediction> topChunk = new ArrayList<>(sorted.subList(0, chunkSize));
-        List<Prediction> bottomChunk = new ArrayList<>(sorted.subList(sorted.size() - chunkSize, sorted.size()));
-
-        double truePositives = 0;
-        double falseNegatives = 0;
-        int currentChunk = 0;
-        // for each of the top scored predictions, get the top influencing features and copy them over a low scored
-        // input, then feed the model with this masked input and check the output is equals to the top scored one.
-        for (Prediction prediction : topChunk) {
-            Optional<Output> optionalOutput = prediction.getOutput().getByName(outputName);
-            if (optionalOutput.isPresent()) {
-                Output output = optionalOutput.get();
-                Map<String, Saliency> stringSaliencyMap = localExplainer.explainAsync(prediction, predictionProvider)
-                        .get(Config.DEFAULT_ASYNC_TIMEOUT, Config.DEFAULT_ASYNC_TIMEUNIT);
-                if (stringSaliencyMap.containsKey(outputName)) {
-                    Saliency saliency = stringSaliencyMap.get(outputName);
-                    List<FeatureImportance> topFeatures = saliency.getPerFeatureImportance().stream()
-                            .sorted((f1, f2) -> Double.compare(f2.getScore(), f1.getScore())).limit(k).collect(Collectors.toList());
-
-                    PredictionInput input = bottomChunk.get(currentChunk).getInput();
-                    PredictionInput maskedInput = maskInput(topFeatures, input);
-
-                    List<PredictionOutput> predictionOutputList = predictionProvider.predictAsync(List.of(maskedInput))
-                            .get(Config.DEFAULT_ASYNC_TIMEOUT, Config.DEFAULT_ASYNC_TIMEUNIT);
-                    if (!predictionOutputList.isEmpty()) {
-                        PredictionOutput predictionOutput = predictionOutputList.get(0);
-                        Optional<Output> optionalNewOutput = predictionOutput.getByName(outputName);
-                        if (optionalNewOutput.isPresent()) {
-                            Output newOutput = optionalOutput.get();
-                            if (output.getValue().equals(newOutput.getValue())) {
-                                truePositives++;
-                            } else {
-                                falseNegatives++;
+        return getScoreSortedPredictions(outputName, predictionProvider, dataDistribution).thenCompose(sorted -> {
+            // get the top and bottom 'chunkSize' predictions
+            List<Prediction> topChunk = new ArrayList<>(sorted.subList(0, chunkSize));
+            List<Prediction> bottomChunk = new ArrayList<>(sorted.subList(sorted.size() - chunkSize, sorted.size()));
+
+            // explain the top scored predictions having the target output
+            List<Prediction> explained = topChunk.stream()
+                    .filter(prediction -> prediction.getOutput().getByName(outputName).isPresent())
+                    .collect(Collectors.toList());
+            return explainAll(explained, predictionProvider, localExplainer, maxConcurrency)
+                    .thenCompose(saliencyMaps -> {
+                        // for each of the top scored predictions, get the top influencing features and copy them over
+                        // a low scored input, then feed the model with these masked inputs and check the output is
+                        // equals to the top scored one.
+                        List<Output> outputs = new ArrayList<>(explained.size());
+                        List<PredictionInput> maskedInputs = new ArrayList<>(explained.size());
+                        int currentChunk = 0;
+                        for (int i = 0; i < explained.size(); i++) {
+                            Map<String, Saliency> stringSaliencyMap = saliencyMaps.get(i);
+                            if (stringSaliencyMap.containsKey(outputName)) {
+                                Saliency saliency = stringSaliencyMap.get(outputName);
+                                List<FeatureImportance> topFeatures = saliency.getPerFeatureImportance().stream()
+                                        .sorted((f1, f2) -> Double.compare(f2.getScore(), f1.getScore())).limit(k).collect(Collectors.toList());
+
+                                PredictionInput input = bottomChunk.get(currentChunk).getInput();
+                                maskedInputs.add(maskInput(topFeatures, input));
+                                outputs.add(explained.get(i).getOutput().getByName(outputName).orElseThrow());
+                                currentChunk++;
                             }
                         }
-                    }
-                    currentChunk++;
-                }
-            }
-        }
-        if ((truePositives + falseNegatives) > 0) {
-            return truePositives / (truePositives + falseNegatives);
-        } else {
-            // if topChunk is empty or the target output (by name) is not an output of the model.
-            return Double.NaN;
+                        return predictMasked(predictionProvider, maskedInputs).thenApply(predictionOutputList -> {
+                            double truePositives = 0;
+                            double falseNegatives = 0;
+                            for (int i = 0; i < predictionOutputList.size(); i++) {
+                                Output output = outputs.get(i);
+                                Optional<Output> optionalNewOutput = predictionOutputList.get(i).getByName(outputName);
+                                if (optionalNewOutput.isPresent()) {
+                                    Output newOutput = optionalNewOutput.get();
+                                    if (output.getValue().equals(newOutput.getValue())) {
+                                        truePositives++;
+                                    } else {
+                                        falseNegatives++;
+                                    }
+                                }
+                            }
+                            if ((truePositives + falseNegatives) > 0) {
+                                return truePositives / (truePositives + falseNegatives);
+                            } else {
+                                // if topChunk is empty or the target output (by name) is not an output of the model.
+                                return Double.NaN;
+                            }
+                        });
+                    });
+        });
+    }
+
+    /**
+     * Explain the given predictions, running up to {@code maxConcurrency} explanations at the same time.
+     *
+     * @return the saliencies of each prediction, in the same order of the predictions
+     */
+    private static CompletableFuture<List<Map<String, Saliency>>> explainAll(List<Prediction> predictions,
+            PredictionProvider predictionProvider, LocalExplainer<Map<String, Saliency>> localExplainer,
+            int maxConcurrency) {
+        return runBounded(predictions.size(), i -> localExplainer.explainAsync(predictions.get(i), predictionProvider)
+                .orTimeout(Config.DEFAULT_ASYNC_TIMEOUT, Config.DEFAULT_ASYNC_TIMEUNIT), maxConcurrency);
+    }
+
+    /**
+     * Predict all the masked inputs with a single request.
+     *
+     * @return the outputs, or an empty list if the model returned less outputs than inputs
+     */
+    private static CompletableFuture<List<PredictionOutput>> predictMasked(PredictionProvider predictionProvider,
+            List<PredictionInput> maskedInputs) {
+        if (maskedInputs.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
         }
+        return predictionProvider.predictAsync(maskedInputs)
+                .orTimeout(Config.DEFAULT_ASYNC_TIMEOUT, Config.DEFAULT_ASYNC_TIMEUNIT)
+                .thenApply(outputs -> outputs.size() == maskedInputs.size() ? outputs : Collections.emptyList());
     }
 
     private static PredictionInput maskInput(List<FeatureImportance> topFeatures, PredictionInput input) {
@@ -328,26 +457,27 @@ public class ExplainabilityMetrics {
         return replaceAllFeatures(importantFeatures, input);
     }
 
-    private static List<Prediction> getScoreSortedPredictions(String outputName, PredictionProvider predictionProvider,
-            DataDistribution dataDistribution)
-            throws InterruptedException, ExecutionException, TimeoutException {
+    private static CompletableFuture<List<Prediction>> getScoreSortedPredictions(String outputName,
+            PredictionProvider predictionProvider, DataDistribution dataDistribution) {
         List<PredictionInput> inputs = dataDistribution.getAllSamples();
-        List<PredictionOutput> predictionOutputs = predictionProvider.predictAsync(inputs)
-                .get(Config.DEFAULT_ASYNC_TIMEOUT, Config.DEFAULT_ASYNC_TIMEUNIT);
-        List<Prediction> predictions = DataUtils.getPredictions(inputs, predictionOutputs);
-
-        // sort the predictions by Output#getScore, in descending order
-        return predictions.stream().sorted((p1, p2) -> {
-            Optional<Output> optionalOutput1 = p1.getOutput().getByName(outputName);
-            Optional<Output> optionalOutput2 = p2.getOutput().getByName(outputName);
-            if (optionalOutput1.isPresent() && optionalOutput2.isPresent()) {
-                Output o1 = optionalOutput1.get();
-                Output o2 = optionalOutput2.get();
-                return Double.compare(o2.getScore(), o1.getScore());
-            } else {
-                return 0;
-            }
-        }).collect(Collectors.toList());
+        return predictionProvider.predictAsync(inputs)
+                .orTimeout(Config.DEFAULT_ASYNC_TIMEOUT, Config.DEFAULT_ASYNC_TIMEUNIT)
+                .thenApply(predictionOutputs -> {
+                    List<Prediction> predictions = DataUtils.getPredictions(inputs, predictionOutputs);
+
+                    // sort the predictions by Output#getScore, in descending order
+                    return predictions.stream().sorted((p1, p2) -> {
+                        Optional<Output> optionalOutput1 = p1.getOutput().getByName(outputName);
+                        Optional<Output> optionalOutput2 = p2.getOutput().getByName(outputName);
+                        if (optionalOutput1.isPresent() && optionalOutput2.isPresent()) {
+                            Output o1 = optionalOutput1.get();
+                            Output o2 = optionalOutput2.get();
+                            return Double.compare(o2.getScore(), o1.getScore());
+                        } else {
+                            return 0;
+                        }
+                    }).collect(Collectors.toList());
+                });
     }
 
     /**
@@ -372,55 +502,77 @@ public class ExplainabilityMetrics {
             LocalExplainer<Map<String, Saliency>> localExplainer,
             DataDistribution dataDistribution, int k, int chunkSize)
             throws InterruptedException, ExecutionException, TimeoutException {
-        List<Prediction> sorted = getScoreSortedPredictions(outputName, predictionProvider, dataDistribution);
-
-        // get the top and bottom 'chunkSize' predictions
-        List<Prediction> topChunk = new ArrayList<>(sorted.subList(0, chunkSize));
-        List<Prediction> bottomChunk = new ArrayList<>(sorted.subList(sorted.size() - chunkSize, sorted.size()));
-
-        double truePositives = 0;
-        double falsePositives = 0;
-        int currentChunk = 0;
-
-        for (Prediction prediction : bottomChunk) {
-            Map<String, Saliency> stringSaliencyMap = localExplainer.explainAsync(prediction, predictionProvider)
-                    .get(Config.DEFAULT_ASYNC_TIMEOUT, Config.DEFAULT_ASYNC_TIMEUNIT);
-            if (stringSaliencyMap.containsKey(outputName)) {
-                Saliency saliency = stringSaliencyMap.get(outputName);
-                List<FeatureImportance> topFeatures = saliency.getPerFeatureImportance().stream()
-                        .sorted(Comparator.comparingDouble(FeatureImportance::getScore)).limit(k).collect(Collectors.toList());
-
-                Prediction topPrediction = topChunk.get(currentChunk);
-                PredictionInput input = topPrediction.getInput();
-                PredictionInput maskedInput = maskInput(topFeatures, input);
-
-                List<PredictionOutput> predictionOutputList = predictionProvider.predictAsync(List.of(maskedInput))
-                        .get(Config.DEFAULT_ASYNC_TIMEOUT, Config.DEFAULT_ASYNC_TIMEUNIT);
-                if (!predictionOutputList.isEmpty()) {
-                    PredictionOutput predictionOutput = predictionOutputList.get(0);
-                    Optional<Output> newOptionalOutput = predictionOutput.getByName(outputName);
-                    if (newOptionalOutput.isPresent()) {
-                        Output newOutput = newOptionalOutput.get();
-                        Optional<Output> optionalOutput = topPrediction.getOutput().getByName(outputName);
-                        if (optionalOutput.isPresent()) {
-                            Output output = optionalOutput.get();
-                            if (output.getValue().equals(newOutput.getValue())) {
-                                truePositives++;
-                            } else {
-                                falsePositives++;
+        return getUnwrapped(getLocalSaliencyPrecisionAsync(outputName, predictionProvider, localExplainer,
+                dataDistribution, k, chunkSize, 1));
+    }
+
+    /**
+     * Evaluate the precision of a local saliency explainer on a given model, running up to {@code maxConcurrency}
+     * explanations at the same time.
+     * See {@link #getLocalSaliencyPrecision(String, PredictionProvider, LocalExplainer, DataDistribution, int, int)}.
+     *
+     * @param outputName decision to evaluate recall for
+     * @param predictionProvider the prediction provider to test
+     * @param localExplainer the explainer to evaluate
+     * @param dataDistribution the data distribution used to obtain inputs for evaluation
+     * @param k the no. of features to extract
+     * @param chunkSize the size of the chunk of predictions to use for evaluation
+     * @param maxConcurrency the max no. of explanations running at the same time
+     * @return the saliency precision
+     */
+    public static CompletableFuture<Double> getLocalSaliencyPrecisionAsync(String outputName,
+            PredictionProvider predictionProvider, LocalExplainer<Map<String, Saliency>> localExplainer,
+            DataDistribution dataDistribution, int k, int chunkSize, int maxConcurrency) {
+        return getScoreSortedPredictions(outputName, predictionProvider, dataDistribution).thenCompose(sorted -> {
+            // get the top and bottom 'chunkSize' predictions
+            List<Prediction> topChunk = new ArrayList<>(sorted.subList(0, chunkSize));
+            List<Prediction> bottomChunk = new ArrayList<>(sorted.subList(sorted.size() - chunkSize, sorted.size()));
+
+            return explainAll(bottomChunk, predictionProvider, localExplainer, maxConcurrency)
+                    .thenCompose(saliencyMaps -> {
+                        List<Prediction> topPredictions = new ArrayList<>(bottomChunk.size());
+                        List<PredictionInput> maskedInputs = new ArrayList<>(bottomChunk.size());
+                        int currentChunk = 0;
+                        for (Map<String, Saliency> stringSaliencyMap : saliencyMaps) {
+                            if (stringSaliencyMap.containsKey(outputName)) {
+                                Saliency saliency = stringSaliencyMap.get(outputName);
+                                List<FeatureImportance> topFeatures = saliency.getPerFeatureImportance().stream()
+                                        .sorted(Comparator.comparingDouble(FeatureImportance::getScore)).limit(k).collect(Collectors.toList());
+
+                                Prediction topPrediction = topChunk.get(currentChunk);
+                                PredictionInput input = topPrediction.getInput();
+                                maskedInputs.add(maskInput(topFeatures, input));
+                                topPredictions.add(topPrediction);
+                                currentChunk++;
                             }
                         }
-                    }
-                }
-                currentChunk++;
-            }
-        }
-        if ((truePositives + falsePositives) > 0) {
-            return truePositives / (truePositives + falsePositives);
-        } else {
-            // if bottomChunk is empty or the target output (by name) is not an output of the model.
-            return Double.NaN;
-        }
+                        return predictMasked(predictionProvider, maskedInputs).thenApply(predictionOutputList -> {
+                            double truePositives = 0;
+                            double falsePositives = 0;
+                            for (int i = 0; i < predictionOutputList.size(); i++) {
+                                Optional<Output> newOptionalOutput = predictionOutputList.get(i).getByName(outputName);
+                                if (newOptionalOutput.isPresent()) {
+                                    Output newOutput = newOptionalOutput.get();
+                                    Optional<Output> optionalOutput = topPredictions.get(i).getOutput().getByName(outputName);
+                                    if (optionalOutput.isPresent()) {
+                                        Output output = optionalOutput.get();
+                                        if (output.getValue().equals(newOutput.getValue())) {
+                                            truePositives++;
+                                        } else {
+                                            falsePositives++;
+                                        }
+                                    }
+                                }
+                            }
+                            if ((truePositives + falsePositives) > 0) {
+                                return truePositives / (truePositives + falsePositives);
+                            } else {
+                                // if bottomChunk is empty or the target output (by name) is not an output of the model.
+                                return Double.NaN;
+                            }
+                        });
+                    });
+        });
     }
 
     /**
@@ -444,6 +596,33 @@ public class ExplainabilityMetrics {
             throws InterruptedException, ExecutionException, TimeoutException {
         double precision = getLocalSaliencyPrecision(outputName, predictionProvider, localExplainer, dataDistribution, k, chunkSize);
         double recall = getLocalSaliencyRecall(outputName, predictionProvider, localExplainer, dataDistribution, k, chunkSize);
+        return f1(precision, recall);
+    }
+
+    /**
+     * Get local saliency F1 score, evaluating precision and recall concurrently, each running up to
+     * {@code maxConcurrency} explanations at the same time.
+     * See {@link #getLocalSaliencyF1(String, PredictionProvider, LocalExplainer, DataDistribution, int, int)}.
+     *
+     * @param outputName decision to evaluate recall for
+     * @param predictionProvider the prediction provider to test
+     * @param localExplainer the explainer to evaluate
+     * @param dataDistribution the data distribution used to obtain inputs for evaluation
+     * @param k the no. of features to extract
+     * @param chunkSize the size of the chunk of predictions to use for evaluation
+     * @param maxConcurrency the max no. of explanations running at the same time, for each of precision and recall
+     * @return the saliency F1
+     */
+    public static CompletableFuture<Double> getLocalSaliencyF1Async(String outputName,
+            PredictionProvider predictionProvider, LocalExplainer<Map<String, Saliency>> localExplainer,
+            DataDistribution dataDistribution, int k, int chunkSize, int maxConcurrency) {
+        return getLocalSaliencyPrecisionAsync(outputName, predictionProvider, localExplainer, dataDistribution, k,
+                chunkSize, maxConcurrency)
+                        .thenCombine(getLocalSaliencyRecallAsync(outputName, predictionProvider, localExplainer,
+                                dataDistribution, k, chunkSize, maxConcurrency), ExplainabilityMetrics::f1);
+    }
+
+    private static double f1(double precision, double recall) {
         if (Double.isFinite(precision + recall) && (precision + recall) > 0) {
             return 2 * precision * recall / (precision + recall);
         } else {
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.explainability.utils;
+
+/**
+ * LU decomposition with partial (row) pivoting {@code P A = L U} of a square {@link DenseMatrix}.
+ * The factors are kept in an internal buffer, which is reused by subsequent calls to {@link #decompose(DenseMatrix)}
+ * on matrices of the same (or smaller) size.
+ */
+public class LUDecomposition {
+
+    private final double zeroThreshold;
+    private double[] lu = new double[0];
+    private int[] pivots = new int[0];
+    private int n;
+
+    /**
+     * @param zeroThreshold pivots whose absolute value is lower than this threshold make the matrix singular
+     */
+    public LUDecomposition(double zeroThreshold) {
+        this.zeroThreshold = zeroThreshold;
+    }
+
+    /**
+     * Decompose the given matrix, which is left untouched.
+     *
+     * @param a a square matrix
+     * @return this decomposition
+     * @throws ArithmeticException if the matrix is singular
+     */
+    public LUDecomposition decompose(DenseMatrix a) {
+        a.checkSquare();
+        n = a.getRows();
+        if (lu.length < n * n) {
+            lu = new double[n * n];
+            pivots = new int[n];
+        }
+        System.arraycopy(a.getData(), 0, lu, 0, n * n);
+        for (int i = 0; i < n; i++) {
+            pivots[i] = i;
+        }
+        for (int k = 0; k < n; k++) {
+            // find the pivot, the largest (absolute) value in column k, below the diagonal
+            int pivot = k;
+            double maxAbs = Math.abs(lu[k * n + k]);
+            for (int i = k + 1; i < n; i++) {
+                double abs = Math.abs(lu[i * n + k]);
+                if (abs > maxAbs) {
+                    maxAbs = abs;
+                    pivot = i;
+                }
+            }
+            // check if the pivot is 0, allowing for some floating point error
+            if (maxAbs < zeroThreshold || Double.isNaN(maxAbs)) {
+                throw new ArithmeticException("Matrix is singular and cannot be decomposed");
+            }
+            if (pivot != k) {
+                swapRows(k, pivot);
+            }
+            int rowK = k * n;
+            double ukk = lu[rowK + k];
+            for (int i = k + 1; i < n; i++) {
+                int rowI = i * n;
+                double lik = lu[rowI + k] / ukk;
+                lu[rowI + k] = lik;
+                if (lik != 0) {
+                    for (int j = k + 1; j < n; j++) {
+                        lu[rowI + j] -= lik * lu[rowK + j];
+                    }
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Solve {@code A c = b} using the last computed decomposition.
+     *
+     * @param b the right hand side, of size {@code n}
+     * @return c, a new array of size {@code n}
+     */
+    public double[] solve(double[] b) {
+        return solve(b, new double[n]);
+    }
+
+    /**
+     * Solve {@code A c = b} using the last computed decomposition.
+     *
+     * @param b the right hand side, of size {@code n}
+     * @param out the array to write c into, of size {@code n}, must not be b
+     * @return out
+     */
+    public double[] solve(double[] b, double[] out) {
+        if (b.length != n || out.length != n || b == out) {
+            throw new IllegalArgumentException(String.format("Vectors must be distinct and have size %d", n));
+        }
+        // forward substitution L y = P b (L has a unit diagonal)
+        for (int i = 0; i < n; i++) {
+            double v = b[pivots[i]];
+            int row = i * n;
+            for (int k = 0; k < i; k++) {
+                v -= lu[row + k] * out[k];
+            }
+            out[i] = v;
+        }
+        // backward substitution U c = y
+        for (int i = n - 1; i >= 0; i--) {
+            double v = out[i];
+            int row = i * n;
+            for (int k = i + 1; k < n; k++) {
+                v -= lu[row + k] * out[k];
+            }
+            out[i] = v / lu[row + i];
+        }
+        return out;
+    }
+
+    /**
+     * Compute the inverse of the last decomposed matrix into out.
+     *
+     * @param out a {@code n x n} matrix
+     * @return out
+     */
+    public DenseMatrix inverseInto(DenseMatrix out) {
+        if (out.getRows() != n || out.getCols() != n) {
+            throw new IllegalArgumentException(String.format("Output matrix must be %d x %d", n, n));
+        }
+        double[] e = new double[n];
+        double[] col = new double[n];
+        double[] outData = out.getData();
+        for (int j = 0; j < n; j++) {
+            e[j] = 1;
+            solve(e, col);
+            e[j] = 0;
+            for (int i = 0; i < n; i++) {
+                outData[i * n + j] = col[i];
+            }
+        }
+        return out;
+    }
+
+    private void swapRows(int a, int b) {
+        int rowA = a * n;
+        int rowB = b * n;
+        for (int j = 0; j < n; j++) {
+            double tmp = lu[rowA + j];
+            lu[rowA + j] = lu[rowB + j];
+            lu[rowB + j] = tmp;
+        }
+        int tmp = pivots[a];
+        pivots[a] = pivots[b];
+        pivots[b] = tmp;
+    }
+}
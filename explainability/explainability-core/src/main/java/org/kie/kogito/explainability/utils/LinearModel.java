@@ -17,7 +17,6 @@ package org.kie.kogito.explainability.utils;
 
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.stream.IntStream;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
@@ -45,32 +44,46 @@ public class LinearModel {
     }
 
     public double fit(Collection<Pair<double[], Double>> trainingSet) {
-        double[] sampleWeights = new double[trainingSet.size()];
+        return fit(EncodedDataset.of(trainingSet));
+    }
+
+    public double fit(Collection<Pair<double[], Double>> trainingSet, double[] sampleWeights) {
+        return fit(EncodedDataset.of(trainingSet), sampleWeights);
+    }
+
+    public double fit(EncodedDataset trainingSet) {
+        double[] sampleWeights = new double[trainingSet.getNoOfSamples()];
         Arrays.fill(sampleWeights, 1);
         return fit(trainingSet, sampleWeights);
     }
 
-    public double fit(Collection<Pair<double[], Double>> trainingSet, double[] sampleWeights) {
+    public double fit(EncodedDataset trainingSet, double[] sampleWeights) {
         double finalLoss = Double.NaN;
         if (trainingSet.isEmpty()) {
             logger.warn("fitting an empty training set");
             return finalLoss;
         }
+        if (trainingSet.getNoOfFeatures() != weights.length) {
+            throw new IllegalArgumentException(String.format("Training set no. of features (%d) must be equal to the model size (%d)",
+                    trainingSet.getNoOfFeatures(), weights.length));
+        }
+        int noOfSamples = trainingSet.getNoOfSamples();
+        boolean weighted = noOfSamples == sampleWeights.length;
+        double[] data = trainingSet.getData();
         double lr = INITIAL_LEARNING_RATE;
         int e = 0;
         while (checkFinalLoss(finalLoss) && e < MAX_NO_EPOCHS) {
             double loss = 0;
-            int i = 0;
-            for (Pair<double[], Double> sample : trainingSet) {
-                double[] doubles = sample.getLeft();
-                double predictedOutput = predict(doubles);
-                double targetOutput = sample.getRight();
+            for (int i = 0; i < noOfSamples; i++) {
+                int offset = trainingSet.offset(i);
+                double predictedOutput = predict(data, offset);
+                double targetOutput = trainingSet.getTarget(i);
                 double diff = finiteOrZero(targetOutput - predictedOutput);
                 if (diff != 0) { // avoid null updates to save computation
-                    loss += Math.abs(diff) / trainingSet.size();
+                    loss += Math.abs(diff) / noOfSamples;
                     for (int j = 0; j < weights.length; j++) {
-                        double v = lr * diff * doubles[j];
-                        if (trainingSet.size() == sampleWeights.length) {
+                        double v = lr * diff * data[offset + j];
+                        if (weighted) {
                             v *= sampleWeights[i];
                         }
                         v = finiteOrZero(v);
@@ -78,7 +91,6 @@ public class LinearModel {
                         bias += lr * diff * sampleWeights[i];
                     }
                 }
-                i++;
             }
             lr *= (1d / (1d + DECAY_RATE * e)); // learning rate decay
 
@@ -100,8 +112,11 @@ public class LinearModel {
         return diff;
     }
 
-    private double predict(double[] input) {
-        double linearCombination = bias + IntStream.range(0, input.length).mapToDouble(i -> input[i] * weights[i]).sum();
+    private double predict(double[] data, int offset) {
+        double linearCombination = bias;
+        for (int i = 0; i < weights.length; i++) {
+            linearCombination += data[offset + i] * weights[i];
+        }
         if (classification) {
             linearCombination = linearCombination >= 0 ? 1 : 0;
         }
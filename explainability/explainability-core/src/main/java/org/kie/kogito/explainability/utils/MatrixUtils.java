@@ -180,22 +180,7 @@ public class MatrixUtils {
      * @return the element-wise sum of a and b
      */
     public static double[][] matrixSum(double[][] a, double[][] b) {
-        int[] aShape = MatrixUtils.getShape(a);
-        int[] bShape = MatrixUtils.getShape(b);
-
-        if (!Arrays.equals(aShape, bShape)) {
-            throw new IllegalArgumentException("Shape of matrix A must shape of matrix B" +
-                    String.format("Matrix A shape:  %d x %d, ", aShape[0], aShape[1]) +
-                    String.format("Matrix B shape:  %d x %d,", bShape[0], bShape[1]));
-        }
-
-        double[][] sum = new double[aShape[0]][aShape[1]];
-        for (int i = 0; i < aShape[0]; i++) {
-            for (int j = 0; j < aShape[1]; j++) {
-                sum[i][j] = a[i][j] + b[i][j];
-            }
-        }
-        return sum;
+        return linearCombination(a, b, 1);
     }
 
     /**
@@ -206,14 +191,7 @@ public class MatrixUtils {
      * @return the result from adding b from every row of a
      */
     public static double[][] matrixRowSum(double[][] a, double[] b) {
-        int[] aShape = MatrixUtils.getShape(a);
-        double[][] bMat = MatrixUtils.rowVector(b);
-        double[][] out = new double[aShape[0]][aShape[1]];
-
-        for (int i = 0; i < aShape[0]; i++) {
-            out[i] = MatrixUtils.matrixSum(MatrixUtils.rowVector(a[i]), bMat)[0];
-        }
-        return out;
+        return addToRows(a, b, 1);
     }
 
     /**
@@ -224,8 +202,7 @@ public class MatrixUtils {
      * @return the element-wise matrix difference of a and b
      */
     public static double[][] matrixDifference(double[][] a, double[][] b) {
-        double[][] bNeg = MatrixUtils.matrixMultiply(b, -1.);
-        return matrixSum(a, bNeg);
+        return linearCombination(a, b, -1);
     }
 
     /**
@@ -236,8 +213,68 @@ public class MatrixUtils {
      * @return the result from subtracting b from every row of a
      */
     public static double[][] matrixRowDifference(double[][] a, double[] b) {
-        double[] bNeg = Arrays.stream(b).map(v -> -v).toArray();
-        return matrixRowSum(a, bNeg);
+        return addToRows(a, b, -1);
+    }
+
+    // The double[][] operations work on the rows of their operands as they are: copying them into a DenseMatrix and
+    // back would cost as much as the operation itself. Code on hot paths should use DenseMatrix directly.
+
+    /**
+     * @return a + scalar * b, element-wise
+     */
+    private static double[][] linearCombination(double[][] a, double[][] b, double scalar) {
+        int[] aShape = getCheckedShape(a);
+        int[] bShape = getCheckedShape(b);
+        if (!Arrays.equals(aShape, bShape)) {
+            throw new IllegalArgumentException("Shape of matrix A must shape of matrix B" +
+                    String.format("Matrix A shape:  %d x %d, ", aShape[0], aShape[1]) +
+                    String.format("Matrix B shape:  %d x %d,", bShape[0], bShape[1]));
+        }
+        double[][] out = new double[aShape[0]][aShape[1]];
+        for (int i = 0; i < aShape[0]; i++) {
+            double[] aRow = a[i];
+            double[] bRow = b[i];
+            double[] outRow = out[i];
+            for (int j = 0; j < aShape[1]; j++) {
+                outRow[j] = aRow[j] + scalar * bRow[j];
+            }
+        }
+        return out;
+    }
+
+    /**
+     * @return a with scalar * row added to each of its rows
+     */
+    private static double[][] addToRows(double[][] a, double[] row, double scalar) {
+        int[] shape = getCheckedShape(a);
+        if (row.length != shape[1]) {
+            throw new IllegalArgumentException(
+                    String.format("Row size (%d) must match the no. of columns of the matrix (%d)", row.length, shape[1]));
+        }
+        double[][] out = new double[shape[0]][shape[1]];
+        for (int i = 0; i < shape[0]; i++) {
+            double[] aRow = a[i];
+            double[] outRow = out[i];
+            for (int j = 0; j < shape[1]; j++) {
+                outRow[j] = aRow[j] + scalar * row[j];
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Get the shape of a matrix, checking that all its rows have the same length.
+     */
+    private static int[] getCheckedShape(double[][] x) {
+        int rows = x.length;
+        int cols = rows == 0 ? 0 : x[0].length;
+        for (int i = 1; i < rows; i++) {
+            if (x[i].length != cols) {
+                throw new IllegalArgumentException(
+                        String.format("Row %d has %d column(s), expected %d", i, x[i].length, cols));
+            }
+        }
+        return new int[] { rows, cols };
     }
 
     /**
@@ -248,20 +285,25 @@ public class MatrixUtils {
      * @return the matrix product of a and b
      */
     public static double[][] matrixMultiply(double[][] a, double[][] b) {
-        int[] aShape = MatrixUtils.getShape(a);
-        int[] bShape = MatrixUtils.getShape(b);
-
+        int[] aShape = getCheckedShape(a);
+        int[] bShape = getCheckedShape(b);
         if (aShape[1] != bShape[0]) {
             throw new IllegalArgumentException("# columns of matrix A must match # rows of matrix B" +
                     String.format("Matrix A shape:  %d x %d, ", aShape[0], aShape[1]) +
                     String.format("Matrix B shape:  %d x %d,", bShape[0], bShape[1]));
         }
-
+        // i-k-j order, so that the rows of b and of the product are scanned sequentially
         double[][] product = new double[aShape[0]][bShape[1]];
         for (int i = 0; i < aShape[0]; i++) {
-            for (int j = 0; j < bShape[1]; j++) {
-                for (int k = 0; k < aShape[1]; k++) {
-                    product[i][j] += a[i][k] * b[k][j];
+            double[] aRow = a[i];
+            double[] productRow = product[i];
+            for (int k = 0; k < aShape[1]; k++) {
+                double aik = aRow[k];
+                if (aik != 0) {
+                    double[] bRow = b[k];
+                    for (int j = 0; j < bShape[1]; j++) {
+                        productRow[j] += aik * bRow[j];
+                    }
                 }
             }
         }
@@ -296,20 +338,23 @@ public class MatrixUtils {
      * @return the result of the sum along that dimension
      */
     public static double[] sum(double[][] x, Axis axis) {
-        int[] shape = MatrixUtils.getShape(x);
-        if (axis == MatrixUtils.Axis.ROW) {
-            double[][] out = new double[1][shape[1]];
-            for (int i = 0; i < shape[0]; i++) {
-                out = MatrixUtils.matrixSum(out, MatrixUtils.rowVector(x[i]));
-            }
-            return out[0];
-        } else {
-            double[][] out = new double[1][shape[0]];
-            for (int i = 0; i < shape[1]; i++) {
-                out = MatrixUtils.matrixSum(out, MatrixUtils.rowVector(MatrixUtils.getCol(x, i)));
+        int[] shape = getCheckedShape(x);
+        double[] out = new double[axis == MatrixUtils.Axis.ROW ? shape[1] : shape[0]];
+        for (int i = 0; i < shape[0]; i++) {
+            double[] row = x[i];
+            if (axis == MatrixUtils.Axis.ROW) {
+                for (int j = 0; j < shape[1]; j++) {
+                    out[j] += row[j];
+                }
+            } else {
+                double rowSum = 0;
+                for (int j = 0; j < shape[1]; j++) {
+                    rowSum += row[j];
+                }
+                out[i] = rowSum;
             }
-            return out[0];
         }
+        return out;
     }
 
     /**
@@ -319,98 +364,22 @@ public class MatrixUtils {
      * @return the transpose of x
      */
     public static double[][] transpose(double[][] x) {
-        int[] shape = MatrixUtils.getShape(x);
-
-        double[][] transposed = new double[shape[1]][shape[0]];
-        for (int i = 0; i < shape[0]; i++) {
-            for (int j = 0; j < shape[1]; j++) {
-                transposed[j][i] = x[i][j];
-            }
-        }
-        return transposed;
-    }
-
-    /**
-     * Find the diagonal element at row i with the largest absolute value, where {@code pivotsUsed[i] == 0}
-     * This is the pivot value for the Gauss-Jordan algorithm
-     *
-     * @param x a square double[][]; the matrix to find the diagonal element within
-     * @param pivotsUsed a boolean[], marking whether a specific index has been used as a pivot yet or not
-     * @return the index of the found pivot
-     */
-    private static int findPivot(double[][] x, boolean[] pivotsUsed) {
-        double maxAbs = 0;
-        int pivot = 0;
-        int size = MatrixUtils.getShape(x)[0];
-        for (int diagIdx = 0; diagIdx < size; diagIdx++) {
-            double abs = Math.abs(x[diagIdx][diagIdx]);
-            if (abs > maxAbs && !pivotsUsed[diagIdx]) {
-                pivot = diagIdx;
-                maxAbs = abs;
-            }
-        }
-        return pivot;
-    }
-
-    /**
-     * Inverts the square, non-singular matrix X
-     *
-     * @param x a square, non-singular double[][] X
-     * @return the inverted matrix
-     *         <p>
-     *         Dr. Debabrata DasGupta's description of the algorithm is here:
-     *         https://www.researchgate.net/publication/271296470_In-Place_Matrix_Inversion_by_Modified_Gauss-Jordan_Algorithm
-     */
-    private static double[][] invertSquareMatrix(double[][] x, double zeroThreshold) {
-        int size = MatrixUtils.getShape(x)[0];
-        double[][] copy = new double[size][size];
-        for (int i = 0; i < size; i++) {
-            copy[i] = Arrays.copyOf(x[i], size);
-        }
-
-        // initialize array to track which pivots have been used
-        boolean[] pivotsUsed = new boolean[size];
-        Arrays.fill(pivotsUsed, false);
-
-        // perform both operations until each row has been used as pivot
-        // once we've done all iterations, X will be inverted in place
-        for (int iterations = 0; iterations < size; iterations++) {
-            // OPERATION 1
-            // find the pivot
-            // the pivot idx is the idx of the diagonal element with largest absolute value
-            // that hasn't already been used as a pivot
-            int pivot = MatrixUtils.findPivot(copy, pivotsUsed);
-            double pivotVal = copy[pivot][pivot];
-
-            // check if pivotVal is 0, allowing for some floating point error
-            if (Math.abs(pivotVal) < zeroThreshold) {
-                throw new ArithmeticException("Matrix is singular and cannot be inverted");
-            }
-
-            //virtualize the pivot
-            copy[pivot][pivot] = 1.;
-
-            //mark the pivot used
-            pivotsUsed[pivot] = true;
-
-            // normalize the pivot row
-            for (int i = 0; i < size; i++) {
-                copy[pivot][i] /= pivotVal;
-            }
-
-            // OPERATION 2
-            // reduce each non-pivot column by X[p][i] * X[i][pivot]
-            for (int i = 0; i < size; i++) {
-                if (i != pivot) {
-                    double rowValueAtPivot = copy[i][pivot];
-                    copy[i][pivot] = 0.;
-                    for (int j = 0; j < size; j++) {
-                        copy[i][j] -= copy[pivot][j] * rowValueAtPivot;
+        int[] shape = getCheckedShape(x);
+        double[][] out = new double[shape[1]][shape[0]];
+        // in blocks, so that the rows of the transpose being written stay in cache
+        for (int i0 = 0; i0 < shape[0]; i0 += DenseMatrix.BLOCK_SIZE) {
+            int i1 = Math.min(i0 + DenseMatrix.BLOCK_SIZE, shape[0]);
+            for (int j0 = 0; j0 < shape[1]; j0 += DenseMatrix.BLOCK_SIZE) {
+                int j1 = Math.min(j0 + DenseMatrix.BLOCK_SIZE, shape[1]);
+                for (int i = i0; i < i1; i++) {
+                    double[] row = x[i];
+                    for (int j = j0; j < j1; j++) {
+                        out[j][i] = row[j];
                     }
                 }
             }
         }
-        return copy;
+        return out;
     }
 
     /**
@@ -425,15 +394,40 @@ public class MatrixUtils {
      *
      */
     public static double[][] jitterInvert(double[][] x, int numRetries, double zeroThreshold, Random random) {
-        double[][] xInv;
+        DenseMatrix matrix = DenseMatrix.of(x);
+        LUDecomposition lu = jitterDecompose(matrix, numRetries, zeroThreshold, random);
+        // keep the jittered values visible to the caller
+        for (int i = 0; i < x.length; i++) {
+            System.arraycopy(matrix.getData(), i * matrix.getCols(), x[i], 0, matrix.getCols());
+        }
+        return lu.inverseInto(new DenseMatrix(matrix.getRows(), matrix.getCols())).toArray();
+    }
+
+    /**
+     * Attempt to solve the linear system {@code A c = b}.
+     * If A is singular, jitter its values (in place) slightly to break singularity
+     *
+     * @param a a square matrix; the coefficients of the system
+     * @param b the right hand side of the system
+     * @param numRetries the number of times to attempt jittering before giving up
+     * @param zeroThreshold: the threshold to set such that x==0 if abs(x)<zeroThreshold. Use this avoid fp errors
+     * @param random: random number generator
+     * @return double[], the solution of the system
+     */
+    public static double[] jitterSolve(DenseMatrix a, double[] b, int numRetries, double zeroThreshold, Random random) {
+        return jitterDecompose(a, numRetries, zeroThreshold, random).solve(b);
+    }
+
+    private static LUDecomposition jitterDecompose(DenseMatrix a, int numRetries, double zeroThreshold,
+            Random random) {
+        LUDecomposition lu = new LUDecomposition(zeroThreshold);
         for (int jitterTries = 0; jitterTries < numRetries; jitterTries++) {
             try {
-                xInv = MatrixUtils.invertSquareMatrix(x, zeroThreshold);
-                return xInv;
+                return lu.decompose(a);
             } catch (ArithmeticException e) {
-                // if the inversion is unsuccessful, we can try slightly jittering the matrix.
+                // if the decomposition is unsuccessful, we can try slightly jittering the matrix.
                 // this will reduce the accuracy of the inversion marginally, but ensures that we get results
-                MatrixUtils.jitterMatrix(x, 1e-8, random);
+                a.jitterInPlace(1e-8, random);
             }
         }
 
@@ -453,19 +447,4 @@ public class MatrixUtils {
     public static double[][] jitterInvert(double[][] x, int numRetries, double zeroThreshold) {
         return jitterInvert(x, numRetries, zeroThreshold, new SecureRandom());
     }
-
-    /**
-     * Jitters the values of a matrix IN-PLACE by a random number in range (0, delta)
-     *
-     * @param x the matrix to be jittered
-     * @param delta the scale of the jittering
-     *
-     */
-    private static void jitterMatrix(double[][] x, double delta, Random random) {
-        for (int i = 0; i < x.length; i++) {
-            for (int j = 0; j < x[0].length; j++) {
-                x[i][j] += delta * random.nextDouble();
-            }
-        }
-    }
 }
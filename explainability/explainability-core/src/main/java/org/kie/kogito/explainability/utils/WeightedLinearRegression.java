@@ -22,11 +22,11 @@ import java.util.Random;
  * Performs a weighted linear regression over the provided features, observations, and weights
  * The algorithm is modified from modified from Dr. Walt Fair's WLR algorithm here:
  * https://www.codeproject.com/Articles/25335/An-Algorithm-for-Weighted-Linear-Regression?msg=4467580#xx4467580xx
- * We use Dr. Debabrata DasGupta's In-Place Matrix Inversion by Modified Gauss-Jordan algorithm to perform matrix
- * inversion, as described here:
- * https://www.researchgate.net/publication/271296470_In-Place_Matrix_Inversion_by_Modified_Gauss-Jordan_Algorithm,
+ * The normal equations are built with a symmetric rank-k update over a {@link DenseMatrix} and solved through an
+ * {@link LUDecomposition} (or a {@link CholeskyDecomposition} for the ridge variant).
  */
 public class WeightedLinearRegression {
+
     private WeightedLinearRegression() {
         throw new IllegalStateException("Utility class");
     }
@@ -59,32 +59,26 @@ public class WeightedLinearRegression {
         }
 
         // add dummy intercept feature if intercept is true
-        double[][] adjustedFeatures = WeightedLinearRegression.adjustFeatureMatrix(features, intercept);
-
-        // matrices for solver
-        double[][] x = new double[nfeatures][nfeatures];
-        double[][] b = new double[nfeatures][1];
-
-        // build X and B matrices
-        for (int i = 0; i < nfeatures; i++) {
-            b[i][0] = 0;
-            for (int ii = 0; ii < nfeatures; ii++) {
-                x[i][ii] = 0;
-                for (int j = 0; j < nsamples; j++) {
-                    x[i][ii] += (sampleWeights[j] * adjustedFeatures[j][i] * adjustedFeatures[j][ii]);
-
-                    // hijack this loop to build B matrix, but we only need to loop over i and j
-                    // therefore only do anything on the first step of the ii loop
-                    if (ii == 0) {
-                        b[i][0] += (sampleWeights[j] * adjustedFeatures[j][i] * observations[j]);
-                    }
-                }
+        DenseMatrix adjustedFeatures = WeightedLinearRegression.adjustFeatureMatrix(features, intercept);
+        double[] adjustedData = adjustedFeatures.getData();
+
+        // build X = A^T W A and B = A^T W y
+        DenseMatrix x = new DenseMatrix(nfeatures, nfeatures)
+                .symmetricRankKUpdateInPlace(adjustedData, nsamples, nfeatures, sampleWeights)
+                .symmetrizeInPlace();
+        double[] b = new double[nfeatures];
+        for (int j = 0; j < nsamples; j++) {
+            double wy = sampleWeights[j] * observations[j];
+            int offset = j * nfeatures;
+            for (int i = 0; i < nfeatures; i++) {
+                b[i] += wy * adjustedData[offset + i];
             }
         }
 
-        //invert the coefficient matrix
+        // solve the system X C = B
+        double[] coefficients;
         try {
-            x = MatrixUtils.jitterInvert(x, 10, 1e-9, random);
+            coefficients = MatrixUtils.jitterSolve(x, b, 10, 1e-9, random);
         } catch (ArithmeticException e) {
             throw new ArithmeticException(
                     "Weighted Linear Regression: Matrix cannot be inverted! " +
@@ -94,15 +88,114 @@ public class WeightedLinearRegression {
                             ".");
         }
 
-        // recover the coefficients by multiplying the inverse coefficient matrix by B
-        double[][] coefficients = MatrixUtils.matrixMultiply(x, b);
         double gof = WeightedLinearRegression
                 .getGoodnessOfFit(adjustedFeatures, observations, sampleWeights, coefficients);
         double mse = WeightedLinearRegression
                 .getMSE(adjustedFeatures, observations, sampleWeights, coefficients);
 
         // mark the model as being fit and return coefficients
-        return new WeightedLinearRegressionResults(coefficients, intercept, gof, mse);
+        return new WeightedLinearRegressionResults(MatrixUtils.columnVector(coefficients), intercept, gof, mse);
+    }
+
+    /**
+     * Fit a weighted ridge regression to an {@link EncodedDataset}, in closed form.
+     * The penalized normal equations {@code (X^T W X + penalty * I) C = X^T W y} are formed in a single pass over the
+     * samples (only the upper triangle of the symmetric {@code X^T W X} is accumulated, tile by tile) and then solved
+     * through a {@link CholeskyDecomposition}.
+     * The intercept, if any, is not penalized.
+     *
+     * @param dataset the training set
+     * @param sampleWeights An {@code nsamples} array, where sampleWeights[n] is the weighting of sample n.
+     * @param intercept whether to compute an intercept
+     * @param penalty the (L2) ridge penalty, {@code 0} to perform an ordinary weighted least squares regression
+     *
+     * @return the results of the regression; the goodness of fit is {@code NaN} when the observations have zero
+     *         variance.
+     */
+    public static WeightedLinearRegressionResults fit(EncodedDataset dataset, double[] sampleWeights,
+            boolean intercept, double penalty) throws IllegalArgumentException, ArithmeticException {
+        int nsamples = dataset.getNoOfSamples();
+        int dataFeatures = dataset.getNoOfFeatures();
+        int nfeatures = intercept ? dataFeatures + 1 : dataFeatures;
+        if (sampleWeights.length < nsamples) {
+            throw new IllegalArgumentException(
+                    String.format("Num sample mismatch: Number of sample weights (%d)", sampleWeights.length) +
+                            String.format(" must match number of samples (%d)", nsamples));
+        }
+
+        DenseMatrix x = new DenseMatrix(nfeatures, nfeatures)
+                .symmetricRankKUpdateInPlace(dataset.getData(), nsamples, dataFeatures, sampleWeights);
+        double[] b = new double[nfeatures];
+        accumulateInterceptAndObservations(dataset, sampleWeights, intercept, x, b);
+        x.addToDiagonalInPlace(penalty, dataFeatures);
+
+        CholeskyDecomposition cholesky = new CholeskyDecomposition();
+        try {
+            cholesky.decompose(x);
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException(
+                    "Weighted Ridge Regression: Matrix is not positive definite! " +
+                            "This can be caused by a very under-specified model with no (or a very low) penalty. " +
+                            "This model has a samples to features ratio of " + (double) nsamples / nfeatures + ".");
+        }
+        double[] c = cholesky.solve(b);
+
+        // calculate model metrics
+        double[] data = dataset.getData();
+        double yBar = 0;
+        double weightSum = 0;
+        for (int i = 0; i < nsamples; i++) {
+            yBar += sampleWeights[i] * dataset.getTarget(i);
+            weightSum += sampleWeights[i];
+        }
+        if (weightSum == 0) {
+            throw new ArithmeticException("Weights cannot sum to zero!");
+        }
+        yBar /= weightSum;
+        double totalSquareSum = 0;
+        double residualSquareSum = 0;
+        for (int i = 0; i < nsamples; i++) {
+            int offset = dataset.offset(i);
+            double fI = intercept ? c[dataFeatures] : 0;
+            for (int j = 0; j < dataFeatures; j++) {
+                fI += data[offset + j] * c[j];
+            }
+            double residual = dataset.getTarget(i) - fI;
+            double variance = dataset.getTarget(i) - yBar;
+            totalSquareSum += sampleWeights[i] * (variance * variance);
+            residualSquareSum += sampleWeights[i] * (residual * residual);
+        }
+        double gof = totalSquareSum == 0 ? Double.NaN : 1 - (residualSquareSum / totalSquareSum);
+        double mse = residualSquareSum / weightSum;
+
+        return new WeightedLinearRegressionResults(MatrixUtils.columnVector(c), intercept, gof, mse);
+    }
+
+    /**
+     * Accumulate {@code X^T W y} and, when an intercept is required, the upper triangle entries of {@code X^T W X}
+     * related to the dummy intercept feature.
+     */
+    private static void accumulateInterceptAndObservations(EncodedDataset dataset, double[] sampleWeights,
+            boolean intercept, DenseMatrix x, double[] b) {
+        int nsamples = dataset.getNoOfSamples();
+        int dataFeatures = dataset.getNoOfFeatures();
+        double[] data = dataset.getData();
+        for (int s = 0; s < nsamples; s++) {
+            int offset = dataset.offset(s);
+            double w = sampleWeights[s];
+            double wy = w * dataset.getTarget(s);
+            for (int i = 0; i < dataFeatures; i++) {
+                double xi = data[offset + i];
+                b[i] += wy * xi;
+                if (intercept) {
+                    x.add(i, dataFeatures, w * xi);
+                }
+            }
+            if (intercept) {
+                x.add(dataFeatures, dataFeatures, w);
+                b[dataFeatures] += wy;
+            }
+        }
     }
 
     /**
@@ -114,21 +207,22 @@ public class WeightedLinearRegression {
      *        datapoint of size [nfeatures]
      * @param intercept A bool value, whether or not we should add the dummy intercept column
      *
-     * @return adjustedFeatures: A nsamples x nfeatures if intercept is false or nsamples x (nfeatures+1) matrix
+     * @return adjustedFeatures: A dense nsamples x nfeatures if intercept is false or nsamples x (nfeatures+1) matrix
      *         if intercept is true
      *
      */
-    private static double[][] adjustFeatureMatrix(double[][] features, boolean intercept) {
+    private static DenseMatrix adjustFeatureMatrix(double[][] features, boolean intercept) {
         int nsamples = features.length;
         int nfeatures = intercept ? features[0].length + 1 : features[0].length;
-        double[][] adjustedFeatures = new double[nsamples][nfeatures];
+        DenseMatrix adjustedFeatures = new DenseMatrix(nsamples, nfeatures);
+        double[] data = adjustedFeatures.getData();
 
         for (int i = 0; i < nsamples; i++) {
             if (intercept) {
-                System.arraycopy(features[i], 0, adjustedFeatures[i], 0, nfeatures - 1);
-                adjustedFeatures[i][nfeatures - 1] = 1;
+                System.arraycopy(features[i], 0, data, i * nfeatures, nfeatures - 1);
+                data[i * nfeatures + nfeatures - 1] = 1;
             } else {
-                System.arraycopy(features[i], 0, adjustedFeatures[i], 0, nfeatures);
+                System.arraycopy(features[i], 0, data, i * nfeatures, nfeatures);
             }
         }
         return adjustedFeatures;
@@ -141,12 +235,13 @@ public class WeightedLinearRegression {
      * 
      * @return the coefficient of determination
      */
-    private static double getGoodnessOfFit(double[][] features,
+    private static double getGoodnessOfFit(DenseMatrix features,
             double[] observations,
             double[] sampleWeights,
-            double[][] coefficients) {
+            double[] coefficients) {
 
-        int nfeatures = features[0].length;
+        int nfeatures = features.getCols();
+        double[] data = features.getData();
         int nsamples = observations.length;
         double yBar = 0;
         double weightSum = 0;
@@ -162,8 +257,9 @@ public class WeightedLinearRegression {
         double residualSquareSum = 0;
         for (int i = 0; i < nsamples; i++) {
             double fI = 0;
+            int offset = i * nfeatures;
             for (int j = 0; j < nfeatures; j++) {
-                fI += features[i][j] * coefficients[j][0];
+                fI += data[offset + j] * coefficients[j];
             }
             double residual = (observations[i] - fI);
             double variance = (observations[i] - yBar);
@@ -182,20 +278,22 @@ public class WeightedLinearRegression {
      * 
      * @return the mean squared error of the model
      */
-    private static double getMSE(double[][] features,
+    private static double getMSE(DenseMatrix features,
             double[] observations,
             double[] sampleWeights,
-            double[][] coefficients) {
+            double[] coefficients) {
 
-        int nfeatures = features[0].length;
+        int nfeatures = features.getCols();
+        double[] data = features.getData();
         int nsamples = observations.length;
 
         double totalResidual = 0;
         double weightSum = 0;
         for (int i = 0; i < nsamples; i++) {
             double fI = 0;
+            int offset = i * nfeatures;
             for (int j = 0; j < nfeatures; j++) {
-                fI += features[i][j] * coefficients[j][0];
+                fI += data[offset + j] * coefficients[j];
             }
             double residual = (observations[i] - fI);
             totalResidual += sampleWeights[i] * (residual * residual);
@@ -20,7 +20,6 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
 
-import org.apache.commons.lang3.tuple.Pair;
 import org.kie.kogito.explainability.local.lime.LimeExplainer;
 import org.kie.kogito.explainability.model.Feature;
 import org.kie.kogito.explainability.model.Output;
@@ -30,6 +29,7 @@ import org.kie.kogito.explainability.model.PredictionOutput;
 import org.kie.kogito.explainability.model.PredictionProvider;
 import org.kie.kogito.explainability.model.Type;
 import org.kie.kogito.explainability.model.Value;
+import org.kie.kogito.explainability.utils.EncodedDataset;
 import org.kie.kogito.explainability.utils.ValidationUtils;
 
 import static java.util.concurrent.CompletableFuture.supplyAsync;
@@ -246,15 +246,15 @@ public class TestUtils {
                 minimumPositiveStabilityRate, minimumNegativeStabilityRate));
     }
 
-    public static void fillBalancedDataForFiltering(int size, List<Pair<double[], Double>> trainingSet, double[] weights) {
+    public static EncodedDataset getBalancedDataForFiltering(int size, double[] weights) {
+        EncodedDataset trainingSet = new EncodedDataset(size, 2);
         for (int i = 0; i < size; i++) {
-            double[] x = new double[2];
             for (int j = 0; j < 2; j++) {
-                x[j] = (i + j) % 2 == 0 ? 0 : 1;
+                trainingSet.set(i, j, (i + j) % 2 == 0 ? 0 : 1);
             }
-            Double y = i % 3 == 0 ? 0d : 1d;
-            trainingSet.add(Pair.of(x, y));
+            trainingSet.setTarget(i, i % 3 == 0 ? 0d : 1d);
             weights[i] = i % 2 == 0 ? 0.2 : 0.8;
         }
+        return trainingSet;
     }
 }
@@ -19,12 +19,16 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.kie.kogito.explainability.TestUtils;
+import org.kie.kogito.explainability.local.lime.LimeConfig;
 import org.kie.kogito.explainability.local.lime.LimeExplainer;
 import org.kie.kogito.explainability.model.DataDistribution;
 import org.kie.kogito.explainability.model.Feature;
@@ -110,4 +114,42 @@ class AggregatedLimeExplainerTest {
                 .map(FeatureImportance::getFeature).map(Feature::getName).collect(Collectors.toList());
         assertFalse(collect.contains("f1")); // skipped feature should not appear in top two positive features
     }
-}
\ No newline at end of file
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 2 })
+    void testBoundedConcurrencyAndPartialResults(int seed) throws ExecutionException, InterruptedException {
+        Random random = new Random();
+        random.setSeed(seed);
+        PredictionProvider sumSkipModel = TestUtils.getSumSkipModel(1);
+        DataDistribution dataDistribution = DataUtils.generateRandomDataDistribution(3, 100, random);
+        List<PredictionInput> samples = dataDistribution.sample(10);
+        List<PredictionOutput> predictionOutputs = sumSkipModel.predictAsync(samples).get();
+        List<Prediction> predictions = DataUtils.getPredictions(samples, predictionOutputs);
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        LimeExplainer limeExplainer = new LimeExplainer(new LimeConfig().withSamples(10)) {
+            @Override
+            public CompletableFuture<Map<String, Saliency>> explainAsync(Prediction prediction,
+                    PredictionProvider model) {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                return super.explainAsync(prediction, model).whenComplete((r, t) -> running.decrementAndGet());
+            }
+        };
+        AggregatedLimeExplainer aggregatedLimeExplainer = new AggregatedLimeExplainer(limeExplainer, 2);
+        List<Map<String, Saliency>> partialResults = new CopyOnWriteArrayList<>();
+        Map<String, Saliency> explain = aggregatedLimeExplainer
+                .explainFromPredictions(sumSkipModel, predictions, partialResults::add).get();
+
+        assertTrue(maxRunning.get() <= 2);
+        assertEquals(predictions.size(), partialResults.size());
+        assertEquals(1, explain.size());
+        // partial results may be published out of order, but one of them aggregates all the explanations
+        List<Double> actual = scores(explain);
+        assertTrue(partialResults.stream().anyMatch(partialResult -> scores(partialResult).equals(actual)));
+    }
+
+    private static List<Double> scores(Map<String, Saliency> saliencies) {
+        return saliencies.get("sum-but1").getPerFeatureImportance().stream().map(FeatureImportance::getScore).collect(Collectors.toList());
+    }
+}
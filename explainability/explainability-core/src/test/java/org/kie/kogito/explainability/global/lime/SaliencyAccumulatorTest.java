@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.explainability.global.lime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.explainability.model.FeatureFactory;
+import org.kie.kogito.explainability.model.FeatureImportance;
+import org.kie.kogito.explainability.model.Output;
+import org.kie.kogito.explainability.model.Saliency;
+import org.kie.kogito.explainability.model.Type;
+import org.kie.kogito.explainability.model.Value;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SaliencyAccumulatorTest {
+
+    @Test
+    void testEmpty() {
+        SaliencyAccumulator accumulator = new SaliencyAccumulator();
+        assertEquals(0, accumulator.getCount());
+        assertTrue(accumulator.getSaliencies().isEmpty());
+    }
+
+    @Test
+    void testMean() {
+        Random random = new Random(0);
+        SaliencyAccumulator accumulator = new SaliencyAccumulator();
+        int n = 50;
+        double[][] sums = new double[2][3];
+        for (int i = 0; i < n; i++) {
+            List<FeatureImportance> first = new ArrayList<>();
+            List<FeatureImportance> second = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                double s1 = random.nextGaussian();
+                double s2 = random.nextGaussian();
+                sums[0][j] += s1;
+                sums[1][j] += s2;
+                // feature values differ across explanations, only the names identify the features
+                first.add(new FeatureImportance(FeatureFactory.newNumericalFeature("f" + j, random.nextDouble()), s1));
+                second.add(new FeatureImportance(FeatureFactory.newNumericalFeature("f" + j, random.nextDouble()), s2));
+            }
+            accumulator.add(Map.of(
+                    "o1", new Saliency(new Output("o1", Type.NUMBER, new Value(random.nextDouble()), 1d), first),
+                    "o2", new Saliency(new Output("o2", Type.NUMBER, new Value(random.nextDouble()), 1d), second)));
+        }
+
+        assertEquals(n, accumulator.getCount());
+        Map<String, Saliency> saliencies = accumulator.getSaliencies();
+        assertEquals(2, saliencies.size());
+        for (int o = 0; o < 2; o++) {
+            Saliency saliency = saliencies.get("o" + (o + 1));
+            assertEquals("o" + (o + 1), saliency.getOutput().getName());
+            List<FeatureImportance> featureImportances = saliency.getPerFeatureImportance();
+            assertEquals(3, featureImportances.size());
+            for (int j = 0; j < 3; j++) {
+                assertEquals("f" + j, featureImportances.get(j).getFeature().getName());
+                assertEquals(sums[o][j] / n, featureImportances.get(j).getScore(), 1e-9);
+            }
+        }
+    }
+}
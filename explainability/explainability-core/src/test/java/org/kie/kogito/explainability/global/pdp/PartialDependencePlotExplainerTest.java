@@ -20,8 +20,12 @@ import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -157,4 +161,66 @@ class PartialDependencePlotExplainerTest {
         List<PartialDependenceGraph> pdps = partialDependencePlotExplainer.explainFromPredictions(model, predictions);
         assertThat(pdps).isNotEmpty();
     }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 2 })
+    void testSingleBatchPerFeature(int seed) throws Exception {
+        Random random = new Random();
+        random.setSeed(seed);
+        AtomicInteger predictCalls = new AtomicInteger();
+        // outputs the sum of the features and the value of the second feature
+        PredictionProvider model = inputs -> {
+            predictCalls.incrementAndGet();
+            List<PredictionOutput> outputs = new ArrayList<>(inputs.size());
+            for (PredictionInput input : inputs) {
+                double sum = input.getFeatures().stream().mapToDouble(f -> f.getValue().asNumber()).sum();
+                outputs.add(new PredictionOutput(List.of(
+                        new Output("sum", Type.NUMBER, new Value(sum), 1d),
+                        new Output("f1", Type.NUMBER, input.getFeatures().get(1).getValue(), 1d))));
+            }
+            return CompletableFuture.completedFuture(outputs);
+        };
+        DataDistribution dataDistribution = getMetadata(random).getDataDistribution();
+        PredictionProviderMetadata metadata = new PredictionProviderMetadata() {
+            @Override
+            public DataDistribution getDataDistribution() {
+                return dataDistribution;
+            }
+
+            @Override
+            public PredictionInput getInputShape() {
+                return dataDistribution.sample();
+            }
+
+            @Override
+            public PredictionOutput getOutputShape() {
+                return new PredictionOutput(List.of(new Output("sum", Type.NUMBER, new Value(0d), 1d),
+                        new Output("f1", Type.NUMBER, new Value(0d), 1d)));
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            PartialDependencePlotExplainer partialDependencePlotExplainer = new PartialDependencePlotExplainer(
+                    new PartialDependencePlotConfig().withExecutor(executor));
+            List<PartialDependenceGraph> pdps = partialDependencePlotExplainer.explainFromMetadata(model, metadata);
+
+            // one prediction request per feature, shared by the graphs of all the outputs
+            assertEquals(3, predictCalls.get());
+            assertEquals(6, pdps.size());
+            for (int i = 0; i < pdps.size(); i++) {
+                PartialDependenceGraph pdp = pdps.get(i);
+                assertEquals("f_" + i / 2, pdp.getFeature().getName());
+                assertEquals(i % 2 == 0 ? "sum" : "f1", pdp.getOutput().getName());
+                assertEquals(pdp.getX().size(), pdp.getY().size());
+            }
+
+            // the PDP of the second feature for the second output is the identity
+            PartialDependenceGraph identity = pdps.get(3);
+            for (int i = 0; i < identity.getX().size(); i++) {
+                assertEquals(identity.getX().get(i).asNumber(), identity.getY().get(i).asNumber(), 1e-6);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
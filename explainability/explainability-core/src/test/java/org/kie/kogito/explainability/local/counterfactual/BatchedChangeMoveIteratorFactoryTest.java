@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.explainability.local.counterfactual;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.explainability.local.counterfactual.entities.BooleanEntity;
+import org.kie.kogito.explainability.local.counterfactual.entities.CounterfactualEntity;
+import org.kie.kogito.explainability.local.counterfactual.entities.DoubleEntity;
+import org.kie.kogito.explainability.local.counterfactual.entities.IntegerEntity;
+import org.kie.kogito.explainability.model.FeatureFactory;
+import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.config.solver.SolverConfig;
+import org.optaplanner.core.impl.heuristic.selector.move.generic.ChangeMove;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.solver.DefaultSolverFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BatchedChangeMoveIteratorFactoryTest {
+
+    @Test
+    void testSizeIsTheNumberOfMoves() {
+        List<CounterfactualEntity> entities = List.of(
+                IntegerEntity.from(FeatureFactory.newNumericalFeature("f-int", 5), 0, 10),
+                BooleanEntity.from(FeatureFactory.newBooleanFeature("f-bool", true)),
+                IntegerEntity.from(FeatureFactory.newNumericalFeature("f-fixed", 5), 0, 10, true));
+        BatchedChangeMoveIteratorFactory factory = new BatchedChangeMoveIteratorFactory();
+        factory.setBatchSize(4);
+
+        try (InnerScoreDirector<AbstractCounterfactualSolution<?>, ?> scoreDirector = createScoreDirector(entities)) {
+            List<ChangeMove<AbstractCounterfactualSolution<?>>> moves = new ArrayList<>();
+            Iterator<ChangeMove<AbstractCounterfactualSolution<?>>> iterator =
+                    factory.createOriginalMoveIterator(scoreDirector);
+            iterator.forEachRemaining(moves::add);
+
+            // each value of the range of each varying entity, the constrained entity does not vary
+            assertEquals(12, factory.getSize(scoreDirector));
+            assertEquals(factory.getSize(scoreDirector), moves.size());
+        }
+    }
+
+    @Test
+    void testSizeOfUncountableValueRange() {
+        List<CounterfactualEntity> entities = List.of(
+                IntegerEntity.from(FeatureFactory.newNumericalFeature("f-int", 5), 0, 10),
+                DoubleEntity.from(FeatureFactory.newNumericalFeature("f-double", 5.0), 0.0, 10.0));
+        BatchedChangeMoveIteratorFactory factory = new BatchedChangeMoveIteratorFactory();
+
+        try (InnerScoreDirector<AbstractCounterfactualSolution<?>, ?> scoreDirector = createScoreDirector(entities)) {
+            assertEquals(Long.MAX_VALUE, factory.getSize(scoreDirector));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static InnerScoreDirector<AbstractCounterfactualSolution<?>, ?> createScoreDirector(
+            List<CounterfactualEntity> entities) {
+        SolverConfig solverConfig = CounterfactualConfigurationFactory.builder().build();
+        InnerScoreDirector<AbstractCounterfactualSolution<?>, ?> scoreDirector =
+                ((DefaultSolverFactory<AbstractCounterfactualSolution<?>>) SolverFactory
+                        .<AbstractCounterfactualSolution<?>> create(solverConfig))
+                                .getScoreDirectorFactory().buildScoreDirector();
+        scoreDirector.setWorkingSolution(AbstractCounterfactualSolution.create(solverConfig.getSolutionClass(),
+                entities, inputs -> null, Collections.emptyList(), UUID.randomUUID(), UUID.randomUUID()));
+        return scoreDirector;
+    }
+}
@@ -25,12 +25,14 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.apache.commons.math3.distribution.NormalDistribution;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.kie.kogito.explainability.Config;
@@ -60,6 +62,8 @@ import org.mockito.ArgumentCaptor;
 import org.optaplanner.core.api.score.buildin.bendablebigdecimal.BendableBigDecimalScore;
 import org.optaplanner.core.api.solver.SolverJob;
 import org.optaplanner.core.api.solver.SolverManager;
+import org.optaplanner.core.config.heuristic.selector.common.SelectionOrder;
+import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
 import org.optaplanner.core.config.solver.EnvironmentMode;
 import org.optaplanner.core.config.solver.SolverConfig;
 import org.optaplanner.core.config.solver.termination.TerminationConfig;
@@ -665,8 +669,11 @@ class CounterfactualExplainerTest {
         SolverJob<CounterfactualSolution, UUID> solverJob = mock(SolverJob.class);
         CounterfactualSolution solution = mock(CounterfactualSolution.class);
         BendableBigDecimalScore score = BendableBigDecimalScore.zero(0, 0);
-        when(solverManager.solveAndListen(any(), any(), any(), any())).thenReturn(solverJob);
-        when(solverJob.getFinalBestSolution()).thenReturn(solution);
+        when(solverManager.solveAndListen(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            // the solving ends straight away with the final best solution
+            invocation.<Consumer<CounterfactualSolution>> getArgument(3).accept(solution);
+            return solverJob;
+        });
         when(solution.getScore()).thenReturn(score);
 
         //Setup Explainer
@@ -690,7 +697,7 @@ class CounterfactualExplainerTest {
                 .get(Config.INSTANCE.getAsyncTimeout(),
                         Config.INSTANCE.getAsyncTimeUnit());
 
-        verify(solverManager).solveAndListen(any(), any(), intermediateSolutionConsumerCaptor.capture(), any());
+        verify(solverManager).solveAndListen(any(), any(), intermediateSolutionConsumerCaptor.capture(), any(), any());
         Consumer<CounterfactualSolution> intermediateSolutionConsumer = intermediateSolutionConsumerCaptor.getValue();
 
         //Mock the intermediate Solution callback being invoked
@@ -707,6 +714,41 @@ class CounterfactualExplainerTest {
         assertEquals(numberOfIntermediateSolutions + 1, (int) sequenceIds.stream().distinct().count());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSolvingDoesNotBlock() throws ExecutionException, InterruptedException, TimeoutException {
+        ArgumentCaptor<Consumer<CounterfactualSolution>> finalSolutionConsumerCaptor =
+                ArgumentCaptor.forClass(Consumer.class);
+        SolverManager<CounterfactualSolution, UUID> solverManager = mock(SolverManager.class);
+        CounterfactualSolution solution = mock(CounterfactualSolution.class);
+        when(solution.getScore()).thenReturn(BendableBigDecimalScore.zero(0, 0));
+
+        // the explainer's tasks run on the calling thread, which would never return if it waited for the solver
+        final CounterfactualExplainer counterfactualExplainer =
+                CounterfactualExplainer
+                        .builder()
+                        .withSolverManagerFactory(solverConfig -> solverManager)
+                        .withExecutor(Runnable::run)
+                        .build();
+        Prediction prediction = new CounterfactualPrediction(new PredictionInput(Collections.emptyList()),
+                new PredictionOutput(Collections.emptyList()),
+                new PredictionFeatureDomain(Collections.emptyList()),
+                Collections.emptyList(),
+                null,
+                UUID.randomUUID());
+
+        CompletableFuture<CounterfactualResult> result = counterfactualExplainer.explainAsync(prediction,
+                (List<PredictionInput> inputs) -> CompletableFuture.completedFuture(Collections.emptyList()));
+
+        verify(solverManager).solveAndListen(any(), any(), any(), finalSolutionConsumerCaptor.capture(), any());
+        assertFalse(result.isDone());
+
+        // the solver thread completes the explanation and the solver manager is released
+        finalSolutionConsumerCaptor.getValue().accept(solution);
+        assertNotNull(result.get(Config.INSTANCE.getAsyncTimeout(), Config.INSTANCE.getAsyncTimeUnit()));
+        verify(solverManager).close();
+    }
+
     @ParameterizedTest
     @ValueSource(ints = { 0, 1, 2 })
     void testIntermediateUniqueIds(int seed) throws ExecutionException, InterruptedException, TimeoutException {
@@ -905,4 +947,260 @@ class CounterfactualExplainerTest {
         assertTrue(!result.getEntities().get(0).isChanged() || !result.getEntities().get(1).isChanged());
         assertTrue(result.isValid());
     }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 2 })
+    void testBatchedCounterfactualMatch(int seed) throws ExecutionException, InterruptedException, TimeoutException {
+        final List<Output> goal = List.of(new Output("inside", Type.BOOLEAN, new Value(true), 0.0d));
+        List<Feature> features = new LinkedList<>();
+        List<FeatureDomain> featureBoundaries = new LinkedList<>();
+        List<Boolean> constraints = new LinkedList<>();
+        for (int i = 0; i < 4; i++) {
+            features.add(FeatureFactory.newNumericalFeature("f-num" + i, i * 50.0));
+            featureBoundaries.add(NumericalFeatureDomain.create(0.0, 1000.0));
+            constraints.add(false);
+        }
+
+        final double center = 500.0;
+        final double epsilon = 10.0;
+        final PredictionProvider sumThresholdModel = TestUtils.getSumThresholdModel(center, epsilon);
+        final AtomicInteger predictCalls = new AtomicInteger();
+        final AtomicInteger maxBatchSize = new AtomicInteger();
+        final PredictionProvider model = inputs -> {
+            predictCalls.incrementAndGet();
+            maxBatchSize.accumulateAndGet(inputs.size(), Math::max);
+            return sumThresholdModel.predictAsync(inputs);
+        };
+
+        final TerminationConfig terminationConfig = new TerminationConfig().withScoreCalculationCountLimit(steps);
+        final SolverConfig solverConfig = CounterfactualConfigurationFactory
+                .builder()
+                .withTerminationConfig(terminationConfig)
+                .withBatchSize(16)
+                .build();
+        solverConfig.setRandomSeed((long) seed);
+        solverConfig.setEnvironmentMode(EnvironmentMode.REPRODUCIBLE);
+        final CounterfactualExplainer explainer = CounterfactualExplainer
+                .builder()
+                .withSolverConfig(solverConfig)
+                .build();
+        Prediction prediction = new CounterfactualPrediction(new PredictionInput(features),
+                new PredictionOutput(goal), new PredictionFeatureDomain(featureBoundaries), constraints, null,
+                UUID.randomUUID());
+        final CounterfactualResult result = explainer.explainAsync(prediction, model)
+                .get(predictionTimeOut, predictionTimeUnit);
+
+        double totalSum = 0;
+        for (CounterfactualEntity entity : result.getEntities()) {
+            totalSum += entity.asFeature().getValue().asNumber();
+        }
+        assertTrue(totalSum <= center + epsilon);
+        assertTrue(totalSum >= center - epsilon);
+        assertTrue(result.isValid());
+
+        // moves are evaluated in batches, hence far less requests than score calculations are sent to the model
+        assertEquals(16, maxBatchSize.get());
+        assertTrue(predictCalls.get() < steps / 4);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 2 })
+    void testBatchedCounterfactualMatchInOriginalOrder(int seed) throws ExecutionException, InterruptedException, TimeoutException {
+        final List<Output> goal = List.of(new Output("inside", Type.BOOLEAN, new Value(true), 0.0d));
+        List<Feature> features = new LinkedList<>();
+        List<FeatureDomain> featureBoundaries = new LinkedList<>();
+        List<Boolean> constraints = new LinkedList<>();
+        for (int i = 0; i < 4; i++) {
+            features.add(FeatureFactory.newNumericalFeature("f-num" + i, i * 50));
+            featureBoundaries.add(NumericalFeatureDomain.create(0.0, 1000.0));
+            constraints.add(false);
+        }
+
+        final double center = 500.0;
+        final double epsilon = 10.0;
+        final PredictionProvider sumThresholdModel = TestUtils.getSumThresholdModel(center, epsilon);
+        final AtomicInteger maxBatchSize = new AtomicInteger();
+        final PredictionProvider model = inputs -> {
+            maxBatchSize.accumulateAndGet(inputs.size(), Math::max);
+            return sumThresholdModel.predictAsync(inputs);
+        };
+
+        final TerminationConfig terminationConfig = new TerminationConfig().withScoreCalculationCountLimit(steps);
+        final SolverConfig solverConfig = CounterfactualConfigurationFactory
+                .builder()
+                .withTerminationConfig(terminationConfig)
+                .withBatchSize(16)
+                .build();
+        // integer value ranges are countable, so their values can be enumerated
+        ((LocalSearchPhaseConfig) solverConfig.getPhaseConfigList().get(0)).getMoveSelectorConfig()
+                .setSelectionOrder(SelectionOrder.ORIGINAL);
+        solverConfig.setRandomSeed((long) seed);
+        solverConfig.setEnvironmentMode(EnvironmentMode.REPRODUCIBLE);
+        final CounterfactualExplainer explainer = CounterfactualExplainer
+                .builder()
+                .withSolverConfig(solverConfig)
+                .build();
+        Prediction prediction = new CounterfactualPrediction(new PredictionInput(features),
+                new PredictionOutput(goal), new PredictionFeatureDomain(featureBoundaries), constraints, null,
+                UUID.randomUUID());
+        final CounterfactualResult result = explainer.explainAsync(prediction, model)
+                .get(predictionTimeOut, predictionTimeUnit);
+
+        double totalSum = 0;
+        for (CounterfactualEntity entity : result.getEntities()) {
+            totalSum += entity.asFeature().getValue().asNumber();
+        }
+        assertTrue(totalSum <= center + epsilon);
+        assertTrue(totalSum >= center - epsilon);
+        assertTrue(result.isValid());
+        assertEquals(16, maxBatchSize.get());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 2 })
+    void testLongScoreCounterfactualMatch(int seed) throws ExecutionException, InterruptedException, TimeoutException {
+        final List<Output> goal = List.of(new Output("inside", Type.BOOLEAN, new Value(true), 0.0d));
+        List<Feature> features = new LinkedList<>();
+        List<FeatureDomain> featureBoundaries = new LinkedList<>();
+        List<Boolean> constraints = new LinkedList<>();
+        for (int i = 0; i < 4; i++) {
+            features.add(FeatureFactory.newNumericalFeature("f-num" + i, i * 50.0));
+            featureBoundaries.add(NumericalFeatureDomain.create(0.0, 1000.0));
+            constraints.add(false);
+        }
+
+        final double center = 500.0;
+        final double epsilon = 10.0;
+
+        final TerminationConfig terminationConfig = new TerminationConfig().withScoreCalculationCountLimit(steps);
+        final SolverConfig solverConfig = CounterfactualConfigurationFactory
+                .builder()
+                .withTerminationConfig(terminationConfig)
+                .withLongScore(true)
+                .build();
+        assertEquals(LongCounterfactualSolution.class, solverConfig.getSolutionClass());
+        solverConfig.setRandomSeed((long) seed);
+        solverConfig.setEnvironmentMode(EnvironmentMode.REPRODUCIBLE);
+        final CounterfactualExplainer explainer = CounterfactualExplainer
+                .builder()
+                .withSolverConfig(solverConfig)
+                .build();
+        Prediction prediction = new CounterfactualPrediction(new PredictionInput(features),
+                new PredictionOutput(goal), new PredictionFeatureDomain(featureBoundaries), constraints, null,
+                UUID.randomUUID());
+        final CounterfactualResult result = explainer.explainAsync(prediction,
+                TestUtils.getSumThresholdModel(center, epsilon))
+                .get(predictionTimeOut, predictionTimeUnit);
+
+        double totalSum = 0;
+        for (CounterfactualEntity entity : result.getEntities()) {
+            totalSum += entity.asFeature().getValue().asNumber();
+        }
+        assertTrue(totalSum <= center + epsilon);
+        assertTrue(totalSum >= center - epsilon);
+        assertTrue(result.isValid());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 2 })
+    void testMultithreadedCounterfactualMatch(int seed)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        final List<Output> goal = List.of(new Output("inside", Type.BOOLEAN, new Value(true), 0.0d));
+        List<Feature> features = new LinkedList<>();
+        List<FeatureDomain> featureBoundaries = new LinkedList<>();
+        List<Boolean> constraints = new LinkedList<>();
+        for (int i = 0; i < 4; i++) {
+            features.add(FeatureFactory.newNumericalFeature("f-num" + i, i * 50.0));
+            featureBoundaries.add(NumericalFeatureDomain.create(0.0, 1000.0));
+            constraints.add(false);
+        }
+
+        final double center = 500.0;
+        final double epsilon = 10.0;
+
+        final TerminationConfig terminationConfig = new TerminationConfig().withScoreCalculationCountLimit(steps);
+        final SolverConfig solverConfig = CounterfactualConfigurationFactory
+                .builder()
+                .withTerminationConfig(terminationConfig)
+                .withMoveThreadCount("2")
+                .build();
+        assertEquals("2", solverConfig.getMoveThreadCount());
+        solverConfig.setRandomSeed((long) seed);
+        solverConfig.setEnvironmentMode(EnvironmentMode.REPRODUCIBLE);
+        final CounterfactualExplainer explainer = CounterfactualExplainer
+                .builder()
+                .withSolverConfig(solverConfig)
+                .build();
+        Prediction prediction = new CounterfactualPrediction(new PredictionInput(features),
+                new PredictionOutput(goal), new PredictionFeatureDomain(featureBoundaries), constraints, null,
+                UUID.randomUUID());
+        final CounterfactualResult result = explainer.explainAsync(prediction,
+                TestUtils.getSumThresholdModel(center, epsilon))
+                .get(predictionTimeOut, predictionTimeUnit);
+
+        double totalSum = 0;
+        for (CounterfactualEntity entity : result.getEntities()) {
+            totalSum += entity.asFeature().getValue().asNumber();
+        }
+        assertTrue(totalSum <= center + epsilon);
+        assertTrue(totalSum >= center - epsilon);
+        assertTrue(result.isValid());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 2 })
+    void testPortfolioCounterfactualMatch(int seed) throws ExecutionException, InterruptedException, TimeoutException {
+        final List<Output> goal = List.of(new Output("inside", Type.BOOLEAN, new Value(true), 0.0d));
+        List<Feature> features = new LinkedList<>();
+        List<FeatureDomain> featureBoundaries = new LinkedList<>();
+        List<Boolean> constraints = new LinkedList<>();
+        for (int i = 0; i < 4; i++) {
+            features.add(FeatureFactory.newNumericalFeature("f-num" + i, i * 50.0));
+            featureBoundaries.add(NumericalFeatureDomain.create(0.0, 1000.0));
+            constraints.add(false);
+        }
+
+        final double center = 500.0;
+        final double epsilon = 10.0;
+
+        final TerminationConfig terminationConfig = new TerminationConfig().withScoreCalculationCountLimit(steps);
+        final SolverConfig solverConfig = CounterfactualConfigurationFactory
+                .builder()
+                .withTerminationConfig(terminationConfig)
+                .build();
+        solverConfig.setRandomSeed((long) seed);
+        solverConfig.setEnvironmentMode(EnvironmentMode.REPRODUCIBLE);
+        final CounterfactualExplainer explainer = CounterfactualExplainer
+                .builder()
+                .withSolverConfig(solverConfig)
+                .withPortfolioSize(3)
+                .build();
+
+        final List<SolverConfig> portfolio = explainer.getPortfolio();
+        assertEquals(3, portfolio.size());
+        assertEquals(solverConfig, portfolio.get(0));
+        assertEquals(3, portfolio.stream().map(SolverConfig::getRandomSeed).distinct().count());
+
+        Prediction prediction = new CounterfactualPrediction(new PredictionInput(features),
+                new PredictionOutput(goal), new PredictionFeatureDomain(featureBoundaries), constraints, null,
+                UUID.randomUUID());
+        final List<CounterfactualResult> intermediateResults = new ArrayList<>();
+        final CounterfactualResult result = explainer.explainAsync(prediction,
+                TestUtils.getSumThresholdModel(center, epsilon), intermediateResults::add)
+                .get(predictionTimeOut, predictionTimeUnit);
+
+        double totalSum = 0;
+        for (CounterfactualEntity entity : result.getEntities()) {
+            totalSum += entity.asFeature().getValue().asNumber();
+        }
+        assertTrue(totalSum <= center + epsilon);
+        assertTrue(totalSum >= center - epsilon);
+        assertTrue(result.isValid());
+
+        // intermediate results are streamed in order, the final result comes last
+        for (int i = 0; i < intermediateResults.size(); i++) {
+            assertEquals(i + 1, intermediateResults.get(i).getSequenceId());
+        }
+        assertEquals(intermediateResults.size() + 1, result.getSequenceId());
+    }
 }
@@ -17,11 +17,9 @@ package org.kie.kogito.explainability.local.lime;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
-import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 
-import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.explainability.TestUtils;
 import org.kie.kogito.explainability.model.EncodingParams;
@@ -30,6 +28,7 @@ import org.kie.kogito.explainability.model.Output;
 import org.kie.kogito.explainability.model.PredictionInput;
 import org.kie.kogito.explainability.model.Type;
 import org.kie.kogito.explainability.model.Value;
+import org.kie.kogito.explainability.utils.EncodedDataset;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -46,7 +45,7 @@ class DatasetEncoderTest {
         Output originalOutput = new Output("foo", Type.NUMBER, new Value(1), 1d);
         EncodingParams params = new EncodingParams(1, 0.1);
         DatasetEncoder datasetEncoder = new DatasetEncoder(inputs, outputs, features, originalOutput, params);
-        Collection<Pair<double[], Double>> trainingSet = datasetEncoder.getEncodedTrainingSet();
+        EncodedDataset trainingSet = datasetEncoder.getEncodedTrainingSet();
         assertNotNull(trainingSet);
         assertTrue(trainingSet.isEmpty());
     }
@@ -183,13 +182,12 @@ class DatasetEncoderTest {
         EncodingParams params = new EncodingParams(1, 0.1);
         DatasetEncoder datasetEncoder = new DatasetEncoder(perturbedInputs, outputs, originalInput.getFeatures(),
                 originalOutput, params);
-        Collection<Pair<double[], Double>> trainingSet = datasetEncoder.getEncodedTrainingSet();
+        EncodedDataset trainingSet = datasetEncoder.getEncodedTrainingSet();
         assertNotNull(trainingSet);
-        assertEquals(10, trainingSet.size());
-        for (Pair<double[], Double> pair : trainingSet) {
-            assertNotNull(pair.getKey());
-            assertNotNull(pair.getValue());
-            assertThat(pair.getValue()).isBetween(0d, 1d);
+        assertEquals(10, trainingSet.getNoOfSamples());
+        assertEquals(originalInput.getFeatures().size(), trainingSet.getNoOfFeatures());
+        for (int i = 0; i < trainingSet.getNoOfSamples(); i++) {
+            assertThat(trainingSet.getTarget(i)).isBetween(0d, 1d);
         }
     }
 }
\ No newline at end of file
@@ -19,10 +19,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
-import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.explainability.TestUtils;
 import org.kie.kogito.explainability.model.Feature;
+import org.kie.kogito.explainability.utils.EncodedDataset;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
@@ -37,9 +37,8 @@ class IndependentSparseFeatureBalanceFilterTest {
         double[] copy = Arrays.copyOf(coefficients, 3);
         List<Feature> features = new ArrayList<>(1);
         features.add(TestUtils.getMockedNumericFeature());
-        List<Pair<double[], Double>> trainingSet = new ArrayList<>();
         double[] sampleWeights = new double[size];
-        TestUtils.fillBalancedDataForFiltering(size, trainingSet, sampleWeights);
+        EncodedDataset trainingSet = TestUtils.getBalancedDataForFiltering(size, sampleWeights);
         filter.apply(coefficients, features, trainingSet);
         assertThat(coefficients).isEqualTo(copy);
     }
@@ -54,9 +53,8 @@ class IndependentSparseFeatureBalanceFilterTest {
         List<Feature> features = new ArrayList<>(1);
         features.add(TestUtils.getMockedNumericFeature());
         features.add(TestUtils.getMockedNumericFeature());
-        List<Pair<double[], Double>> trainingSet = new ArrayList<>();
         double[] sampleWeights = new double[size];
-        TestUtils.fillBalancedDataForFiltering(size, trainingSet, sampleWeights);
+        EncodedDataset trainingSet = TestUtils.getBalancedDataForFiltering(size, sampleWeights);
         filter.apply(coefficients, features, trainingSet);
         assertThat(coefficients).isNotEqualTo(copy);
     }
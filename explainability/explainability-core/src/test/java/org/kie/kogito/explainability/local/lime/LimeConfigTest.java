@@ -15,6 +15,9 @@
  */
 package org.kie.kogito.explainability.local.lime;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.explainability.model.EncodingParams;
 
@@ -44,4 +47,30 @@ class LimeConfigTest {
         assertThat(config.isNormalizeWeights()).isTrue();
     }
 
+    @Test
+    void testExecutor() {
+        LimeConfig config = new LimeConfig();
+        assertThat(config.getExecutor()).isEqualTo(ForkJoinPool.commonPool());
+
+        Executor executor = Runnable::run;
+        config = new LimeConfig()
+                .withExecutor(executor);
+        assertThat(config.getExecutor()).isEqualTo(executor);
+        assertThat(config.copy().getExecutor()).isEqualTo(executor);
+    }
+
+    @Test
+    void testSolver() {
+        LimeConfig config = new LimeConfig();
+        assertThat(config.getSolver()).isEqualTo(LinearModelSolver.PERCEPTRON);
+
+        config = new LimeConfig()
+                .withSolver(LinearModelSolver.WEIGHTED_RIDGE)
+                .withRidgePenalty(0.5);
+        assertThat(config.getSolver()).isEqualTo(LinearModelSolver.WEIGHTED_RIDGE);
+        assertThat(config.getRidgePenalty()).isEqualTo(0.5);
+        assertThat(config.copy().getSolver()).isEqualTo(LinearModelSolver.WEIGHTED_RIDGE);
+        assertThat(config.copy().getRidgePenalty()).isEqualTo(0.5);
+    }
+
 }
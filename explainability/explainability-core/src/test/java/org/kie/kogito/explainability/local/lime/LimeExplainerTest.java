@@ -20,8 +20,11 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -35,6 +38,7 @@ import org.kie.kogito.explainability.model.FeatureDistribution;
 import org.kie.kogito.explainability.model.FeatureImportance;
 import org.kie.kogito.explainability.model.GenericFeatureDistribution;
 import org.kie.kogito.explainability.model.IndependentFeaturesDataDistribution;
+import org.kie.kogito.explainability.model.Output;
 import org.kie.kogito.explainability.model.PerturbationContext;
 import org.kie.kogito.explainability.model.Prediction;
 import org.kie.kogito.explainability.model.PredictionInput;
@@ -219,4 +223,144 @@ class LimeExplainerTest {
         Saliency saliency = saliencyMap.get(decisionName);
         assertThat(saliency).isNotNull();
     }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 2 })
+    void testParallelSaliencyDeterministic(int seed) throws InterruptedException, ExecutionException, TimeoutException {
+        List<Feature> features = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            features.add(TestUtils.getMockedNumericFeature(i));
+        }
+        PredictionInput input = new PredictionInput(features);
+        // a model with one output per skipped feature
+        PredictionProvider model = inputs -> {
+            List<CompletableFuture<List<PredictionOutput>>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(TestUtils.getSumSkipModel(i).predictAsync(inputs));
+            }
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+                List<PredictionOutput> predictionOutputs = new ArrayList<>();
+                for (int j = 0; j < inputs.size(); j++) {
+                    List<Output> outputs = new ArrayList<>();
+                    for (CompletableFuture<List<PredictionOutput>> future : futures) {
+                        outputs.addAll(future.join().get(j).getOutputs());
+                    }
+                    predictionOutputs.add(new PredictionOutput(outputs));
+                }
+                return predictionOutputs;
+            });
+        };
+        PredictionOutput output = model.predictAsync(List.of(input))
+                .get(Config.INSTANCE.getAsyncTimeout(), Config.INSTANCE.getAsyncTimeUnit())
+                .get(0);
+        Prediction prediction = new SimplePrediction(input, output);
+
+        LimeConfig sequentialConfig = new LimeConfig()
+                .withPerturbationContext(new PerturbationContext(new Random(seed), DEFAULT_NO_OF_PERTURBATIONS))
+                .withSamples(100)
+                .withExecutor(Runnable::run);
+        LimeConfig parallelConfig = new LimeConfig()
+                .withPerturbationContext(new PerturbationContext(new Random(seed), DEFAULT_NO_OF_PERTURBATIONS))
+                .withSamples(100)
+                .withExecutor(ForkJoinPool.commonPool());
+
+        Map<String, Saliency> sequential = new LimeExplainer(sequentialConfig).explainAsync(prediction, model)
+                .get(Config.INSTANCE.getAsyncTimeout(), Config.INSTANCE.getAsyncTimeUnit());
+        Map<String, Saliency> parallel = new LimeExplainer(parallelConfig).explainAsync(prediction, model)
+                .get(Config.INSTANCE.getAsyncTimeout(), Config.INSTANCE.getAsyncTimeUnit());
+
+        assertThat(parallel.keySet()).isEqualTo(sequential.keySet());
+        assertThat(parallel.size()).isEqualTo(4);
+        for (Map.Entry<String, Saliency> entry : sequential.entrySet()) {
+            List<FeatureImportance> expected = entry.getValue().getPerFeatureImportance();
+            List<FeatureImportance> actual = parallel.get(entry.getKey()).getPerFeatureImportance();
+            assertThat(actual.size()).isEqualTo(expected.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertThat(actual.get(i).getScore()).isEqualTo(expected.get(i).getScore());
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 2, 3, 4 })
+    void testWeightedRidgeSolver(int seed) throws InterruptedException, ExecutionException, TimeoutException {
+        Random random = new Random();
+        random.setSeed(seed);
+        LimeConfig limeConfig = new LimeConfig()
+                .withPerturbationContext(new PerturbationContext(random, DEFAULT_NO_OF_PERTURBATIONS))
+                .withSamples(100)
+                .withSolver(LinearModelSolver.WEIGHTED_RIDGE);
+        LimeExplainer limeExplainer = new LimeExplainer(limeConfig);
+        List<Feature> features = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            features.add(TestUtils.getMockedNumericFeature(i));
+        }
+        PredictionInput input = new PredictionInput(features);
+        PredictionProvider model = TestUtils.getSumSkipModel(0);
+        PredictionOutput output = model.predictAsync(List.of(input))
+                .get(Config.INSTANCE.getAsyncTimeout(), Config.INSTANCE.getAsyncTimeUnit())
+                .get(0);
+        Prediction prediction = new SimplePrediction(input, output);
+
+        Map<String, Saliency> saliencyMap = limeExplainer.explainAsync(prediction, model)
+                .get(Config.INSTANCE.getAsyncTimeout(), Config.INSTANCE.getAsyncTimeUnit());
+        Saliency saliency = saliencyMap.get("sum-but0");
+        assertThat(saliency).isNotNull();
+        List<FeatureImportance> perFeatureImportance = saliency.getPerFeatureImportance();
+        assertThat(perFeatureImportance.size()).isEqualTo(4);
+        for (FeatureImportance featureImportance : perFeatureImportance) {
+            assertThat(Double.isFinite(featureImportance.getScore())).isTrue();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 2 })
+    void testIncrementalSamplingEarlyStop(int seed) throws InterruptedException, ExecutionException, TimeoutException {
+        // any weight change is within tolerance, so sampling stops after the second chunk
+        assertIncrementalSampling(seed, Double.MAX_VALUE, 40);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 2 })
+    void testIncrementalSamplingMaxSamples(int seed) throws InterruptedException, ExecutionException, TimeoutException {
+        // weights never converge, so sampling stops at noOfSamples * (1 + noOfRetries)
+        assertIncrementalSampling(seed, -1, 400);
+    }
+
+    private void assertIncrementalSampling(int seed, double tolerance, int expectedSamples)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        Random random = new Random();
+        random.setSeed(seed);
+        LimeConfig limeConfig = new LimeConfig()
+                .withPerturbationContext(new PerturbationContext(random, DEFAULT_NO_OF_PERTURBATIONS))
+                .withSamples(100)
+                .withRetries(3)
+                .withSamplingChunkSize(20)
+                .withSamplingTolerance(tolerance);
+        LimeExplainer limeExplainer = new LimeExplainer(limeConfig);
+        List<Feature> features = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            features.add(TestUtils.getMockedNumericFeature(i));
+        }
+        PredictionInput input = new PredictionInput(features);
+        PredictionProvider sumSkipModel = TestUtils.getSumSkipModel(0);
+        AtomicInteger predictedSamples = new AtomicInteger();
+        PredictionProvider model = inputs -> {
+            predictedSamples.addAndGet(inputs.size());
+            return sumSkipModel.predictAsync(inputs);
+        };
+        PredictionOutput output = sumSkipModel.predictAsync(List.of(input))
+                .get(Config.INSTANCE.getAsyncTimeout(), Config.INSTANCE.getAsyncTimeUnit())
+                .get(0);
+        Prediction prediction = new SimplePrediction(input, output);
+
+        List<Map<String, Saliency>> intermediateResults = new ArrayList<>();
+        Map<String, Saliency> saliencyMap = limeExplainer.explainAsync(prediction, model, intermediateResults::add)
+                .get(Config.INSTANCE.getAsyncTimeout(), Config.INSTANCE.getAsyncTimeUnit());
+        assertThat(predictedSamples.get()).isEqualTo(expectedSamples);
+        assertThat(intermediateResults.isEmpty()).isFalse();
+        Saliency saliency = saliencyMap.get("sum-but0");
+        assertThat(saliency).isNotNull();
+        assertThat(saliency.getPerFeatureImportance().size()).isEqualTo(4);
+    }
 }
@@ -15,12 +15,9 @@
  */
 package org.kie.kogito.explainability.local.lime;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.explainability.TestUtils;
+import org.kie.kogito.explainability.utils.EncodedDataset;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatCode;
@@ -31,23 +28,23 @@ class ProximityFilterTest {
     void testFilter() {
         ProximityFilter filter = new ProximityFilter(0.5, 0.1);
         int size = 10;
-        List<Pair<double[], Double>> trainingSet = new ArrayList<>();
         double[] weights = new double[size];
-        TestUtils.fillBalancedDataForFiltering(size, trainingSet, weights);
+        EncodedDataset trainingSet = TestUtils.getBalancedDataForFiltering(size, weights);
         filter.apply(trainingSet, weights);
-        assertThat(trainingSet.size()).isEqualTo(5);
+        assertThat(trainingSet.getNoOfSamples()).isEqualTo(5);
     }
 
     @Test
     void testNoFilterWithNonMatchingSizes() {
         ProximityFilter filter = new ProximityFilter(0.5, 0.1);
         int size = 10;
-        List<Pair<double[], Double>> trainingSet = new ArrayList<>();
         double[] weights = new double[size];
-        TestUtils.fillBalancedDataForFiltering(size, trainingSet, weights);
-        trainingSet.remove(0);
+        EncodedDataset trainingSet = TestUtils.getBalancedDataForFiltering(size, weights);
+        boolean[] toRemove = new boolean[size];
+        toRemove[0] = true;
+        trainingSet.removeSamples(toRemove);
         filter.apply(trainingSet, weights);
-        assertThat(trainingSet.size()).isEqualTo(9); // filtering doesn't happen because of non matching sizes
+        assertThat(trainingSet.getNoOfSamples()).isEqualTo(9); // filtering doesn't happen because of non matching sizes
     }
 
     @Test
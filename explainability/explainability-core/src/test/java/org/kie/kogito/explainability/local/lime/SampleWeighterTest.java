@@ -15,15 +15,13 @@
  */
 package org.kie.kogito.explainability.local.lime;
 
-import java.util.Arrays;
-import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 
-import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.explainability.TestUtils;
 import org.kie.kogito.explainability.model.Feature;
+import org.kie.kogito.explainability.utils.EncodedDataset;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -32,7 +30,7 @@ class SampleWeighterTest {
 
     @Test
     void testSamplingEmptyDataset() {
-        Collection<Pair<double[], Double>> trainingSet = new LinkedList<>();
+        EncodedDataset trainingSet = new EncodedDataset(0, 0);
         List<Feature> features = new LinkedList<>();
         double[] sampleWeights = SampleWeighter.getSampleWeights(features, trainingSet, 0.5);
         assertEquals(0, sampleWeights.length);
@@ -40,17 +38,16 @@ class SampleWeighterTest {
 
     @Test
     void testSamplingNonEmptyDataset() {
-        Collection<Pair<double[], Double>> trainingSet = new LinkedList<>();
         List<Feature> features = new LinkedList<>();
         for (int i = 0; i < 5; i++) {
             features.add(TestUtils.getMockedNumericFeature(1d));
         }
         // create a dataset whose samples values decrease as the dataset grows (starting from 1)
+        EncodedDataset trainingSet = new EncodedDataset(10, features.size());
         for (int i = 0; i < 10; i++) {
-            double[] vector = new double[features.size()];
-            Arrays.fill(vector, 1d / (1d + i));
-            Pair<double[], Double> doubles = Pair.of(vector, 0d);
-            trainingSet.add(doubles);
+            for (int j = 0; j < features.size(); j++) {
+                trainingSet.set(i, j, 1d / (1d + i));
+            }
         }
         double[] weights = SampleWeighter.getSampleWeights(features, trainingSet, 0.5);
         // check that weights decrease with the distance from the 1 vector (the target instance)
@@ -64,6 +64,14 @@ class LimeConfigOptimizerTest {
         assertConfigOptimized(limeConfigOptimizer);
     }
 
+    @Test
+    void testStabilityOptimizationMultithreaded() throws Exception {
+        LimeConfigOptimizer limeConfigOptimizer = new LimeConfigOptimizer()
+                .withTimeLimit(10)
+                .withMoveThreadCount("2");
+        assertConfigOptimized(limeConfigOptimizer);
+    }
+
     @Test
     void testStabilityOptimizationNoEntity() throws Exception {
         LimeConfigOptimizer limeConfigOptimizer = new LimeConfigOptimizer()
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.explainability.local.lime.optim;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.explainability.TestUtils;
+import org.kie.kogito.explainability.local.lime.LimeConfig;
+import org.kie.kogito.explainability.model.DataDistribution;
+import org.kie.kogito.explainability.model.Prediction;
+import org.kie.kogito.explainability.model.PredictionInput;
+import org.kie.kogito.explainability.model.PredictionOutput;
+import org.kie.kogito.explainability.model.PredictionProvider;
+import org.kie.kogito.explainability.utils.DataUtils;
+import org.optaplanner.core.api.score.buildin.simplebigdecimal.SimpleBigDecimalScore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LimeStabilityScoreCalculatorTest {
+
+    @Test
+    void testScoreCachedByConfig() throws Exception {
+        PredictionProvider sumSkipModel = TestUtils.getSumSkipModel(1);
+        AtomicInteger calls = new AtomicInteger();
+        PredictionProvider model = inputs -> {
+            calls.incrementAndGet();
+            return sumSkipModel.predictAsync(inputs);
+        };
+        Random random = new Random();
+        random.setSeed(4);
+        DataDistribution dataDistribution = DataUtils.generateRandomDataDistribution(5, 100, random);
+        List<PredictionInput> samples = dataDistribution.sample(3);
+        List<PredictionOutput> predictionOutputs = sumSkipModel.predictAsync(samples).get();
+        List<Prediction> predictions = DataUtils.getPredictions(samples, predictionOutputs);
+        LimeConfig config = new LimeConfig().withSamples(10);
+
+        LimeStabilityScoreCalculator scoreCalculator = new LimeStabilityScoreCalculator();
+        SimpleBigDecimalScore score = scoreCalculator.calculateScore(new LimeStabilitySolution(config, predictions,
+                LimeConfigEntityFactory.createSamplingEntities(config), model));
+        int callsAfterFirstScore = calls.get();
+        assertThat(callsAfterFirstScore).isPositive();
+
+        SimpleBigDecimalScore cachedScore = scoreCalculator.calculateScore(new LimeStabilitySolution(config, predictions,
+                LimeConfigEntityFactory.createSamplingEntities(config), model));
+        assertThat(cachedScore).isEqualTo(score);
+        assertThat(calls.get()).isEqualTo(callsAfterFirstScore);
+
+        scoreCalculator.calculateScore(new LimeStabilitySolution(config, predictions,
+                LimeConfigEntityFactory.createProximityEntities(config), model));
+        assertThat(calls.get()).isGreaterThan(callsAfterFirstScore);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.explainability.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.explainability.TestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingPredictionProviderTest {
+
+    @Test
+    void testHitsAndMisses() throws ExecutionException, InterruptedException {
+        List<List<PredictionInput>> delegateBatches = new ArrayList<>();
+        PredictionProvider model = TestUtils.getSumSkipModel(0);
+        CachingPredictionProvider cachingModel = new CachingPredictionProvider(inputs -> {
+            delegateBatches.add(inputs);
+            return model.predictAsync(inputs);
+        }, 10);
+
+        List<PredictionOutput> first = cachingModel.predictAsync(List.of(input(1, 2, 3), input(1, 2, 4), input(1, 2, 3)))
+                .get();
+        assertThat(first).hasSize(3);
+        assertThat(first.get(0).getOutputs().get(0).getValue().asNumber()).isEqualTo(5);
+        assertThat(first.get(1).getOutputs().get(0).getValue().asNumber()).isEqualTo(6);
+        assertThat(first.get(2).getOutputs().get(0).getValue().asNumber()).isEqualTo(5);
+        // duplicates within the same batch are predicted once
+        assertThat(delegateBatches).hasSize(1);
+        assertThat(delegateBatches.get(0)).hasSize(2);
+
+        List<PredictionOutput> second = cachingModel.predictAsync(List.of(input(1, 2, 4), input(7, 2, 4))).get();
+        assertThat(second.get(0)).isSameAs(first.get(1));
+        assertThat(second.get(1).getOutputs().get(0).getValue().asNumber()).isEqualTo(6);
+        // only the missing input is forwarded
+        assertThat(delegateBatches).hasSize(2);
+        assertThat(delegateBatches.get(1)).hasSize(1);
+
+        cachingModel.predictAsync(List.of(input(1, 2, 3))).get();
+        assertThat(delegateBatches).hasSize(2);
+        assertThat(cachingModel.getHitCount()).isEqualTo(3);
+        assertThat(cachingModel.getMissCount()).isEqualTo(3);
+        assertThat(cachingModel.getDelegateCallCount()).isEqualTo(2);
+        assertThat(cachingModel.getHitRate()).isEqualTo(0.5);
+        assertThat(cachingModel.size()).isEqualTo(3);
+    }
+
+    @Test
+    void testLeastRecentlyUsedEviction() throws ExecutionException, InterruptedException {
+        AtomicInteger predictedInputs = new AtomicInteger();
+        PredictionProvider model = TestUtils.getSumSkipModel(0);
+        CachingPredictionProvider cachingModel = new CachingPredictionProvider(inputs -> {
+            predictedInputs.addAndGet(inputs.size());
+            return model.predictAsync(inputs);
+        }, 2);
+
+        cachingModel.predictAsync(List.of(input(1), input(2))).get();
+        cachingModel.predictAsync(List.of(input(1))).get();
+        // evicts input(2), the least recently used one
+        cachingModel.predictAsync(List.of(input(3))).get();
+        assertThat(cachingModel.size()).isEqualTo(2);
+        assertThat(predictedInputs.get()).isEqualTo(3);
+
+        cachingModel.predictAsync(List.of(input(1))).get();
+        assertThat(predictedInputs.get()).isEqualTo(3);
+        cachingModel.predictAsync(List.of(input(2))).get();
+        assertThat(predictedInputs.get()).isEqualTo(4);
+
+        cachingModel.invalidateAll();
+        assertThat(cachingModel.size()).isZero();
+    }
+
+    @Test
+    void testWeightBound() throws ExecutionException, InterruptedException {
+        CachingPredictionProvider cachingModel = new CachingPredictionProvider(TestUtils.getSumSkipModel(0), 5,
+                input -> input.getFeatures().size());
+        cachingModel.predictAsync(List.of(input(1, 2, 3), input(1, 2))).get();
+        assertThat(cachingModel.size()).isEqualTo(2);
+        cachingModel.predictAsync(List.of(input(4, 5))).get();
+        assertThat(cachingModel.size()).isEqualTo(2);
+    }
+
+    @Test
+    void testFailuresAreNotCached() throws ExecutionException, InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        PredictionProvider model = TestUtils.getSumSkipModel(0);
+        CachingPredictionProvider cachingModel = new CachingPredictionProvider(inputs -> {
+            if (calls.getAndIncrement() == 0) {
+                return CompletableFuture.failedFuture(new IllegalStateException("unavailable"));
+            }
+            return model.predictAsync(inputs);
+        }, 10);
+
+        assertThatThrownBy(() -> cachingModel.predictAsync(List.of(input(1, 2))).get())
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(cachingModel.size()).isZero();
+        assertThat(cachingModel.predictAsync(List.of(input(1, 2))).get()).hasSize(1);
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    private static PredictionInput input(double... values) {
+        List<Feature> features = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            features.add(FeatureFactory.newNumericalFeature("f" + i, values[i]));
+        }
+        return new PredictionInput(features);
+    }
+}
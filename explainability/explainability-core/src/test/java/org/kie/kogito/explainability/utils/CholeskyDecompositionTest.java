@@ -0,0 +1,63 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.explainability.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class CholeskyDecompositionTest {
+
+    @Test
+    void testSolve() {
+        DenseMatrix a = DenseMatrix.of(new double[][] {
+                { 4., 12., -16. },
+                { 12., 37., -43. },
+                { -16., -43., 98. },
+        });
+        CholeskyDecomposition cholesky = new CholeskyDecomposition().decompose(a);
+        double[] b = a.multiplyInto(new double[] { 1., -2., 0.5 }, new double[3]);
+        assertArrayEquals(new double[] { 1., -2., 0.5 }, cholesky.solve(b), 1e-9);
+        // solving in place is allowed
+        assertArrayEquals(new double[] { 1., -2., 0.5 }, cholesky.solve(b, b), 1e-9);
+    }
+
+    @Test
+    void testOnlyUpperTriangleIsRead() {
+        DenseMatrix a = DenseMatrix.of(new double[][] {
+                { 2., 1. },
+                { 0., 2. },
+        });
+        assertArrayEquals(new double[] { 1., 1. }, new CholeskyDecomposition().decompose(a).solve(new double[] { 3., 3. }),
+                1e-9);
+    }
+
+    @Test
+    void testNotPositiveDefinite() {
+        CholeskyDecomposition cholesky = new CholeskyDecomposition();
+        DenseMatrix singular = DenseMatrix.of(new double[][] {
+                { 1., 2. },
+                { 2., 4. },
+        });
+        DenseMatrix negative = DenseMatrix.of(new double[][] {
+                { -1., 0. },
+                { 0., 1. },
+        });
+        assertThatThrownBy(() -> cholesky.decompose(singular)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> cholesky.decompose(negative)).isInstanceOf(ArithmeticException.class);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.explainability.utils;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.data.Offset.offset;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class DenseMatrixTest {
+
+    private static final double[][] MAT_3X2 = {
+            { 1., 2. },
+            { 3., 4. },
+            { 5., 6. }
+    };
+
+    @Test
+    void testOfAndToArray() {
+        DenseMatrix matrix = DenseMatrix.of(MAT_3X2);
+        assertThat(matrix.getRows()).isEqualTo(3);
+        assertThat(matrix.getCols()).isEqualTo(2);
+        assertThat(matrix.get(2, 1)).isEqualTo(6);
+        assertThat(matrix.getData()).containsExactly(1, 2, 3, 4, 5, 6);
+        assertThat(matrix.toArray()).isDeepEqualTo(MAT_3X2);
+    }
+
+    @Test
+    void testWrongSizes() {
+        assertThatThrownBy(() -> new DenseMatrix(2, 2, new double[3])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DenseMatrix.of(new double[][] { { 1 }, { 1, 2 } }))
+                .isInstanceOf(IllegalArgumentException.class);
+        DenseMatrix matrix = DenseMatrix.of(MAT_3X2);
+        assertThatThrownBy(() -> matrix.multiply(matrix)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> matrix.addInPlace(matrix.transpose())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> matrix.multiplyInto(matrix.transpose(), matrix))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testInPlaceOperations() {
+        DenseMatrix matrix = DenseMatrix.of(MAT_3X2)
+                .scaleInPlace(2)
+                .addInPlace(DenseMatrix.of(MAT_3X2), -1)
+                .addToRowsInPlace(new double[] { 1, -1 }, 1);
+        assertThat(matrix.toArray()).isDeepEqualTo(new double[][] { { 2., 1. }, { 4., 3. }, { 6., 5. } });
+        assertThat(matrix.sumRows()).containsExactly(12, 9);
+        assertThat(matrix.sumCols()).containsExactly(3, 7, 11);
+    }
+
+    // the blocked kernels must give the same results of the naive ones, also when sizes are not multiple of the block
+    @Test
+    void testBlockedMultiplyAndTranspose() {
+        Random random = new Random(0);
+        int n = DenseMatrix.BLOCK_SIZE * 2 + 3;
+        int m = DenseMatrix.BLOCK_SIZE + 7;
+        double[][] a = new double[n][m];
+        double[][] b = new double[m][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < m; j++) {
+                a[i][j] = random.nextGaussian();
+                b[j][i] = random.nextBoolean() ? 0 : random.nextGaussian();
+            }
+        }
+        DenseMatrix product = DenseMatrix.of(a).multiply(DenseMatrix.of(b));
+        DenseMatrix transposed = DenseMatrix.of(a).transpose();
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double expected = 0;
+                for (int k = 0; k < m; k++) {
+                    expected += a[i][k] * b[k][j];
+                }
+                assertThat(product.get(i, j)).isCloseTo(expected, offset(1e-9));
+            }
+            for (int j = 0; j < m; j++) {
+                assertThat(transposed.get(j, i)).isEqualTo(a[i][j]);
+            }
+        }
+
+        // reusing the output buffer overwrites its values
+        DenseMatrix out = new DenseMatrix(n, n).fillInPlace(1);
+        DenseMatrix.of(a).multiplyInto(DenseMatrix.of(b), out);
+        assertArrayEquals(product.getData(), out.getData(), 0);
+    }
+
+    @Test
+    void testSymmetricRankKUpdate() {
+        Random random = new Random(0);
+        int rows = DenseMatrix.BLOCK_SIZE + 11;
+        int cols = DenseMatrix.BLOCK_SIZE + 5;
+        DenseMatrix a = new DenseMatrix(rows, cols);
+        double[] weights = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                a.set(i, j, random.nextBoolean() ? 0 : random.nextGaussian());
+            }
+            weights[i] = random.nextDouble();
+        }
+        DenseMatrix weighted = a.copy();
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                weighted.set(i, j, a.get(i, j) * weights[i]);
+            }
+        }
+        DenseMatrix expected = a.transpose().multiply(weighted);
+
+        DenseMatrix actual = new DenseMatrix(cols, cols)
+                .symmetricRankKUpdateInPlace(a.getData(), rows, cols, weights)
+                .symmetrizeInPlace();
+        assertArrayEquals(expected.getData(), actual.getData(), 1e-9);
+    }
+
+    @Test
+    void testIdentityMultiply() {
+        DenseMatrix matrix = DenseMatrix.of(MAT_3X2);
+        assertThat(DenseMatrix.identity(3).multiply(matrix).toArray()).isDeepEqualTo(MAT_3X2);
+        assertThat(matrix.multiplyInto(new double[] { 1, 1 }, new double[3])).containsExactly(3, 7, 11);
+    }
+}
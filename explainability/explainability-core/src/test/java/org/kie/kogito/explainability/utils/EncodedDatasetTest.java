@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.explainability.utils;
+
+import java.util.List;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EncodedDatasetTest {
+
+    @Test
+    void testEmpty() {
+        EncodedDataset dataset = new EncodedDataset(0, 0);
+        assertThat(dataset.isEmpty()).isTrue();
+        assertThat(dataset.getNoOfSamples()).isZero();
+        assertThat(EncodedDataset.of(List.of()).isEmpty()).isTrue();
+    }
+
+    @Test
+    void testOf() {
+        EncodedDataset dataset = EncodedDataset.of(List.of(Pair.of(new double[] { 1, 2, 3 }, 0.5),
+                Pair.of(new double[] { 4, 5, 6 }, 1d)));
+        assertThat(dataset.getNoOfSamples()).isEqualTo(2);
+        assertThat(dataset.getNoOfFeatures()).isEqualTo(3);
+        assertThat(dataset.get(1, 0)).isEqualTo(4);
+        assertThat(dataset.getSample(0)).containsExactly(1, 2, 3);
+        assertThat(dataset.getTarget(0)).isEqualTo(0.5);
+        assertThat(dataset.getTarget(1)).isEqualTo(1);
+    }
+
+    @Test
+    void testOfWithMismatchingSizes() {
+        List<Pair<double[], Double>> trainingSet = List.of(Pair.of(new double[] { 1, 2, 3 }, 0.5),
+                Pair.of(new double[] { 4, 5 }, 1d));
+        assertThatThrownBy(() -> EncodedDataset.of(trainingSet)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new EncodedDataset(new double[5], new double[2], 3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testRemoveSamples() {
+        int size = 5;
+        EncodedDataset dataset = new EncodedDataset(size, 2);
+        for (int i = 0; i < size; i++) {
+            dataset.set(i, 0, i);
+            dataset.set(i, 1, -i);
+            dataset.setTarget(i, i * 10);
+        }
+        dataset.removeSamples(new boolean[] { true, false, true, false, false });
+        assertThat(dataset.getNoOfSamples()).isEqualTo(3);
+        assertThat(dataset.getSample(0)).containsExactly(1, -1);
+        assertThat(dataset.getSample(1)).containsExactly(3, -3);
+        assertThat(dataset.getSample(2)).containsExactly(4, -4);
+        assertThat(dataset.getTarget(0)).isEqualTo(10);
+        assertThat(dataset.getTarget(2)).isEqualTo(40);
+    }
+}
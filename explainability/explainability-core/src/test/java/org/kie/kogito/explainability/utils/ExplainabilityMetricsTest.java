@@ -15,30 +15,45 @@
  */
 package org.kie.kogito.explainability.utils;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.explainability.Config;
 import org.kie.kogito.explainability.TestUtils;
+import org.kie.kogito.explainability.local.LocalExplainer;
 import org.kie.kogito.explainability.local.lime.LimeConfig;
 import org.kie.kogito.explainability.local.lime.LimeExplainer;
+import org.kie.kogito.explainability.model.DataDistribution;
 import org.kie.kogito.explainability.model.Feature;
 import org.kie.kogito.explainability.model.FeatureFactory;
 import org.kie.kogito.explainability.model.FeatureImportance;
+import org.kie.kogito.explainability.model.Output;
+import org.kie.kogito.explainability.model.PerturbationContext;
 import org.kie.kogito.explainability.model.Prediction;
 import org.kie.kogito.explainability.model.PredictionInput;
+import org.kie.kogito.explainability.model.PredictionInputsDataDistribution;
 import org.kie.kogito.explainability.model.PredictionOutput;
 import org.kie.kogito.explainability.model.PredictionProvider;
 import org.kie.kogito.explainability.model.Saliency;
 import org.kie.kogito.explainability.model.SimplePrediction;
+import org.kie.kogito.explainability.model.Type;
+import org.kie.kogito.explainability.model.Value;
 
 import static java.util.Collections.emptyList;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
@@ -165,4 +180,135 @@ class ExplainabilityMetricsTest {
             Config.INSTANCE.setAsyncTimeUnit(Config.DEFAULT_ASYNC_TIMEUNIT);
         }
     }
+
+    @Test
+    void testStabilityAsyncBoundedConcurrency() throws ExecutionException, InterruptedException, TimeoutException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<FeatureImportance> importances = List.of(
+                new FeatureImportance(FeatureFactory.newNumericalFeature("f-1", 1), 0.5),
+                new FeatureImportance(FeatureFactory.newNumericalFeature("f-2", 2), -0.5));
+        LocalExplainer<Map<String, Saliency>> explainer = (prediction, model, consumer) -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            return supplyAsync(() -> {
+                await().pollDelay(10, TimeUnit.MILLISECONDS).until(() -> true);
+                running.decrementAndGet();
+                return Map.of("o", new Saliency(null, importances));
+            });
+        };
+        Prediction prediction = new SimplePrediction(new PredictionInput(emptyList()), new PredictionOutput(emptyList()));
+
+        LocalSaliencyStability stability = ExplainabilityMetrics.getLocalSaliencyStabilityAsync(
+                TestUtils.getSumSkipModel(0), prediction, explainer, 1, 10, 3)
+                .get(Config.INSTANCE.getAsyncTimeout(), Config.INSTANCE.getAsyncTimeUnit());
+
+        // never more explanations than the limit run at the same time
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(3);
+        assertThat(stability.getDecisions()).containsExactly("o");
+        assertEquals(List.of("f-1"), stability.getMostFrequentPositive("o", 1));
+        assertEquals(1d, stability.getPositiveStabilityScore("o", 1));
+        assertEquals(List.of("f-2"), stability.getMostFrequentNegative("o", 1));
+        assertEquals(1d, stability.getNegativeStabilityScore("o", 1));
+    }
+
+    @Test
+    void testStabilityAsyncFullConcurrency() throws ExecutionException, InterruptedException, TimeoutException {
+        CountDownLatch started = new CountDownLatch(3);
+        List<FeatureImportance> importances = List.of(
+                new FeatureImportance(FeatureFactory.newNumericalFeature("f-1", 1), 0.5));
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        // each explanation waits for as many explanations as the limit to be started, which only happens if the
+        // limit is actually reached
+        LocalExplainer<Map<String, Saliency>> explainer = (prediction, model, consumer) -> {
+            started.countDown();
+            return supplyAsync(() -> {
+                try {
+                    if (!started.await(5, TimeUnit.SECONDS)) {
+                        throw new IllegalStateException("less than 3 explanations were run at the same time");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+                return Map.of("o", new Saliency(null, importances));
+            }, executor);
+        };
+        Prediction prediction = new SimplePrediction(new PredictionInput(emptyList()), new PredictionOutput(emptyList()));
+
+        try {
+            LocalSaliencyStability stability = ExplainabilityMetrics.getLocalSaliencyStabilityAsync(
+                    TestUtils.getSumSkipModel(0), prediction, explainer, 1, 10, 3)
+                    .get(Config.INSTANCE.getAsyncTimeout(), Config.INSTANCE.getAsyncTimeUnit());
+
+            assertEquals(List.of("f-1"), stability.getMostFrequentPositive("o", 1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testPrecisionRecallF1Async() throws ExecutionException, InterruptedException, TimeoutException {
+        int idx = 2;
+        PredictionProvider model = TestUtils.getSumSkipModel(idx);
+        LimeConfig limeConfig = new LimeConfig().withSamples(10)
+                .withPerturbationContext(new PerturbationContext(new Random(0), 1));
+        LimeExplainer limeExplainer = new LimeExplainer(limeConfig);
+        List<PredictionInput> inputs = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            List<Feature> fs = new LinkedList<>();
+            fs.add(TestUtils.getMockedNumericFeature());
+            fs.add(TestUtils.getMockedNumericFeature());
+            fs.add(TestUtils.getMockedNumericFeature());
+            inputs.add(new PredictionInput(fs));
+        }
+        DataDistribution distribution = new PredictionInputsDataDistribution(inputs);
+        String decision = "sum-but" + idx;
+
+        double precision = ExplainabilityMetrics.getLocalSaliencyPrecisionAsync(decision, model, limeExplainer,
+                distribution, 2, 10, 4).get(Config.INSTANCE.getAsyncTimeout(), Config.INSTANCE.getAsyncTimeUnit());
+        assertThat(precision).isEqualTo(1);
+        double recall = ExplainabilityMetrics.getLocalSaliencyRecallAsync(decision, model, limeExplainer,
+                distribution, 2, 10, 4).get(Config.INSTANCE.getAsyncTimeout(), Config.INSTANCE.getAsyncTimeUnit());
+        assertThat(recall).isEqualTo(1);
+        double f1 = ExplainabilityMetrics.getLocalSaliencyF1Async(decision, model, limeExplainer,
+                distribution, 2, 10, 4).get(Config.INSTANCE.getAsyncTimeout(), Config.INSTANCE.getAsyncTimeUnit());
+        assertThat(f1).isEqualTo(1);
+    }
+
+    @Test
+    void testRecallAsyncWithFlippedPrediction() throws ExecutionException, InterruptedException, TimeoutException {
+        // the output only depends on the first feature, its score growing with it
+        PredictionProvider model = inputs -> supplyAsync(() -> inputs.stream()
+                .map(input -> {
+                    double value = input.getFeatures().get(0).getValue().asNumber();
+                    return new PredictionOutput(List.of(new Output("o", Type.NUMBER, new Value(value), value / 10)));
+                })
+                .collect(Collectors.toList()));
+        List<PredictionInput> inputs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            inputs.add(new PredictionInput(List.of(FeatureFactory.newNumericalFeature("f-0", i),
+                    FeatureFactory.newNumericalFeature("f-1", 9 - i))));
+        }
+        DataDistribution distribution = new PredictionInputsDataDistribution(inputs);
+
+        assertThat(ExplainabilityMetrics.getLocalSaliencyRecallAsync("o", model, fixedExplainer(0), distribution, 1, 3, 2)
+                .get(Config.INSTANCE.getAsyncTimeout(), Config.INSTANCE.getAsyncTimeUnit())).isEqualTo(1);
+        // copying the second feature of the top predictions over the bottom ones does not change their outputs
+        assertThat(ExplainabilityMetrics.getLocalSaliencyRecallAsync("o", model, fixedExplainer(1), distribution, 1, 3, 2)
+                .get(Config.INSTANCE.getAsyncTimeout(), Config.INSTANCE.getAsyncTimeUnit())).isZero();
+    }
+
+    /**
+     * Explainer always reporting the feature at the given index as the most important one.
+     */
+    private static LocalExplainer<Map<String, Saliency>> fixedExplainer(int featureIndex) {
+        return (prediction, model, consumer) -> {
+            List<FeatureImportance> importances = new ArrayList<>();
+            List<Feature> features = prediction.getInput().getFeatures();
+            for (int i = 0; i < features.size(); i++) {
+                importances.add(new FeatureImportance(features.get(i), i == featureIndex ? 1 : 0));
+            }
+            return CompletableFuture.completedFuture(Map.of("o", new Saliency(null, importances)));
+        };
+    }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.explainability.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class LUDecompositionTest {
+
+    private static final double[][] NON_SINGULAR = {
+            { 1., 2., 3. },
+            { 10., 5., -3. },
+            { 14., -6.6, 7. },
+    };
+
+    @Test
+    void testSolveAndInverse() {
+        DenseMatrix a = DenseMatrix.of(NON_SINGULAR);
+        LUDecomposition lu = new LUDecomposition(1e-9).decompose(a);
+        double[] c = lu.solve(new double[] { 14., 11., 21.8 });
+        assertArrayEquals(new double[] { 1., 2., 3. }, c, 1e-9);
+
+        DenseMatrix inverse = lu.inverseInto(new DenseMatrix(3, 3));
+        assertArrayEquals(DenseMatrix.identity(3).getData(), a.multiply(inverse).getData(), 1e-9);
+    }
+
+    @Test
+    void testReuse() {
+        LUDecomposition lu = new LUDecomposition(1e-9);
+        lu.decompose(DenseMatrix.of(NON_SINGULAR));
+        // a smaller matrix reuses the same buffers
+        lu.decompose(DenseMatrix.of(new double[][] { { 0., 2. }, { 4., 0. } }));
+        assertArrayEquals(new double[] { 2., 3. }, lu.solve(new double[] { 6., 8. }), 1e-9);
+    }
+
+    @Test
+    void testSingular() {
+        DenseMatrix singular = DenseMatrix.of(new double[][] {
+                { 1., 2., 3. },
+                { 4., 5., 6. },
+                { 7., 8., 9. },
+        });
+        LUDecomposition lu = new LUDecomposition(1e-9);
+        assertThatThrownBy(() -> lu.decompose(singular)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> lu.decompose(new DenseMatrix(2, 3))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
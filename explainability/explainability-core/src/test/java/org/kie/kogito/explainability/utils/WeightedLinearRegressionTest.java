@@ -215,4 +215,101 @@ class WeightedLinearRegressionTest {
         assertThrows(IllegalArgumentException.class,
                 () -> WeightedLinearRegression.fit(x, y, sampleWeights, true, random));
     }
+
+    // === closed form ridge regression ===
+    @Test
+    void testRidgeNoPenaltyIntercept() {
+        double[][] x = {
+                { 1., 10., 3., -4. },
+                { 10., 5., -3., 3.7 },
+                { 14., -6.6, 7., 14. },
+                { -20., 15., 3.3, 1. },
+                { 0., 3., -1., 2.2 },
+                { 17., -3, 0., 7. }
+        };
+        double[] y = { 109., 93.2, 135., 107.4, 40.2, 85. };
+        double[] sampleWeights = { .1, .1, .1, .1, .3, .3 };
+        double[] actualCoefs = { 4., 10., 8., 6. };
+
+        WeightedLinearRegressionResults wlrr =
+                WeightedLinearRegression.fit(toDataset(x, y), sampleWeights, true, 0);
+        assertArrayEquals(actualCoefs, wlrr.getCoefficients(), 1e-6);
+        assertEquals(5., wlrr.getIntercept(), 1e-6);
+        assertEquals(0.0, wlrr.getMSE(), 1e-6);
+        assertEquals(1.0, wlrr.getGof(), 1e-6);
+    }
+
+    @Test
+    void testRidgeMatchesWeightedLinearRegression() {
+        Random rn = new Random(0);
+        int nsamples = 500;
+        int nfeatures = 150; // spans multiple blocks
+        double[][] x = new double[nsamples][nfeatures];
+        double[] y = new double[nsamples];
+        double[] sampleWeights = new double[nsamples];
+        for (int i = 0; i < nsamples; i++) {
+            for (int j = 0; j < nfeatures; j++) {
+                x[i][j] = rn.nextBoolean() ? 1 : 0;
+                y[i] += x[i][j] * (j % 5);
+            }
+            y[i] += rn.nextGaussian();
+            sampleWeights[i] = rn.nextDouble();
+        }
+        WeightedLinearRegressionResults expected = WeightedLinearRegression.fit(x, y, sampleWeights, true, random);
+        WeightedLinearRegressionResults actual = WeightedLinearRegression.fit(toDataset(x, y), sampleWeights, true, 0);
+        assertArrayEquals(expected.getCoefficients(), actual.getCoefficients(), 1e-6);
+        assertEquals(expected.getIntercept(), actual.getIntercept(), 1e-6);
+        assertEquals(expected.getMSE(), actual.getMSE(), 1e-6);
+        assertEquals(expected.getGof(), actual.getGof(), 1e-6);
+    }
+
+    @Test
+    void testRidgePenaltyShrinksCoefficients() {
+        double[][] x = {
+                { 1., 10., 3., -4. },
+                { 10., 5., -3., 3.7 },
+                { 14., -6.6, 7., 14. },
+        };
+        double[] y = { 104., 88.2, 130. };
+        double[] sampleWeights = { .8, .1, .1 };
+
+        // under-specified: the penalty makes the system solvable
+        WeightedLinearRegressionResults small = WeightedLinearRegression.fit(toDataset(x, y), sampleWeights, false, 1e-3);
+        WeightedLinearRegressionResults large = WeightedLinearRegression.fit(toDataset(x, y), sampleWeights, false, 1e3);
+        double smallNorm = 0;
+        double largeNorm = 0;
+        for (int i = 0; i < x[0].length; i++) {
+            smallNorm += Math.pow(small.getCoefficients()[i], 2);
+            largeNorm += Math.pow(large.getCoefficients()[i], 2);
+        }
+        assertTrue(largeNorm < smallNorm);
+        assertThrows(ArithmeticException.class,
+                () -> WeightedLinearRegression.fit(toDataset(x, y), sampleWeights, false, 0));
+    }
+
+    @Test
+    void testRidgeConstantObservations() {
+        double[][] x = {
+                { 1., 0. },
+                { 0., 1. },
+                { 1., 1. },
+        };
+        double[] y = { 1., 1., 1. };
+        double[] sampleWeights = { 1., 1., 1. };
+
+        WeightedLinearRegressionResults wlrr = WeightedLinearRegression.fit(toDataset(x, y), sampleWeights, true, 1);
+        assertTrue(Double.isNaN(wlrr.getGof()));
+        assertEquals(1., wlrr.getIntercept(), 1e-6);
+    }
+
+    private static EncodedDataset toDataset(double[][] x, double[] y) {
+        EncodedDataset dataset = new EncodedDataset(x.length, x[0].length);
+        for (int i = 0; i < x.length; i++) {
+            for (int j = 0; j < x[0].length; j++) {
+                dataset.set(i, j, x[i][j]);
+            }
+            dataset.setTarget(i, y[i]);
+        }
+        return dataset;
+    }
 }
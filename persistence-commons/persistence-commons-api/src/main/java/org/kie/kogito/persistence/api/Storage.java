@@ -15,6 +15,8 @@
  */
 package org.kie.kogito.persistence.api;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.kie.kogito.persistence.api.query.Query;
@@ -62,6 +64,32 @@ public interface Storage<K, V> {
      */
     V put(K key, V value);
 
+    /**
+     * Puts an element with a key, like {@link #put(Object, Object)}, but without returning anything.
+     * Implementations should override this method when they can skip reading the element being replaced.
+     *
+     * @param key The key.
+     * @param value The value.
+     */
+    default void set(K key, V value) {
+        put(key, value);
+    }
+
+    /**
+     * Puts the new version of an element, which differs from the stored one only in the given attributes.
+     * Attributes are dot separated paths, where array items are addressed by index; an attribute missing from the
+     * new version is removed. The element is stored as a whole if the key is not present in the storage.
+     * Implementations should override this method when they can write only the changed attributes, by default the
+     * element is replaced like {@link #set(Object, Object)} does.
+     *
+     * @param key The key.
+     * @param value The new version of the value.
+     * @param attributes The changed attributes, none of them being nested in another one.
+     */
+    default void update(K key, V value, Collection<String> attributes) {
+        set(key, value);
+    }
+
     /**
      * Removes an element by key. If the element is not present in the storage, then `null` is returned.
      *
@@ -70,6 +98,44 @@ public interface Storage<K, V> {
      */
     V remove(K key);
 
+    /**
+     * Gets the elements by keys. Keys not present in the storage are not included in the returned map.
+     * Implementations should override this method to fetch all the elements in a single round trip.
+     *
+     * @param keys The keys.
+     * @return The key-value pairs of the elements found.
+     */
+    default Map<K, V> getAll(Collection<K> keys) {
+        Map<K, V> values = new HashMap<>();
+        for (K key : keys) {
+            V value = get(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Puts all the elements with their keys. Elements with keys already present in the storage are replaced.
+     * Implementations should override this method to write all the elements in a single round trip.
+     *
+     * @param entries The key-value pairs.
+     */
+    default void putAll(Map<K, V> entries) {
+        entries.forEach(this::put);
+    }
+
+    /**
+     * Removes all the elements by keys. Keys not present in the storage are ignored.
+     * Implementations should override this method to remove all the elements in a single round trip.
+     *
+     * @param keys The keys.
+     */
+    default void removeAll(Collection<K> keys) {
+        keys.forEach(this::remove);
+    }
+
     /**
      * Checks whether the storage contains a key.
      *
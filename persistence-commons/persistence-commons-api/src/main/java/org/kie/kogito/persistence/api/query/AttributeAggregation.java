@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.api.query;
+
+public class AttributeAggregation {
+
+    private String attribute;
+
+    private AggregationFunction function;
+
+    protected AttributeAggregation(String attribute, AggregationFunction function) {
+        this.attribute = attribute;
+        this.function = function;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public void setAttribute(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public AggregationFunction getFunction() {
+        return function;
+    }
+
+    public void setFunction(AggregationFunction function) {
+        this.function = function;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AttributeAggregation)) {
+            return false;
+        }
+
+        AttributeAggregation that = (AttributeAggregation) o;
+
+        if (getAttribute() != null ? !getAttribute().equals(that.getAttribute()) : that.getAttribute() != null) {
+            return false;
+        }
+        return getFunction() == that.getFunction();
+    }
+
+    @Override
+    public int hashCode() {
+        int result = getAttribute() != null ? getAttribute().hashCode() : 0;
+        result = 31 * result + (getFunction() != null ? getFunction().hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "AttributeAggregation{" +
+                "attribute='" + attribute + '\'' +
+                ", function=" + function +
+                '}';
+    }
+}
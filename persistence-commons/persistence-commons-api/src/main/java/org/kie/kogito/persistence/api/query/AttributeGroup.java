@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.api.query;
+
+import java.util.List;
+
+/**
+ * A group of elements sharing the same value of the grouping attribute, with the results of the aggregations
+ * computed over them, in the order the aggregations were requested.
+ */
+public class AttributeGroup {
+
+    private Object value;
+
+    private List<Object> aggregates;
+
+    public AttributeGroup(Object value, List<Object> aggregates) {
+        this.value = value;
+        this.aggregates = aggregates;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public void setValue(Object value) {
+        this.value = value;
+    }
+
+    public List<Object> getAggregates() {
+        return aggregates;
+    }
+
+    public void setAggregates(List<Object> aggregates) {
+        this.aggregates = aggregates;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AttributeGroup)) {
+            return false;
+        }
+
+        AttributeGroup that = (AttributeGroup) o;
+
+        if (getValue() != null ? !getValue().equals(that.getValue()) : that.getValue() != null) {
+            return false;
+        }
+        return getAggregates() != null ? getAggregates().equals(that.getAggregates()) : that.getAggregates() == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = getValue() != null ? getValue().hashCode() : 0;
+        result = 31 * result + (getAggregates() != null ? getAggregates().hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "AttributeGroup{" +
+                "value=" + value +
+                ", aggregates=" + aggregates +
+                '}';
+    }
+}
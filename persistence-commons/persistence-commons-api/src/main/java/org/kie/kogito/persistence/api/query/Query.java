@@ -27,5 +27,33 @@ public interface Query<T> {
 
     Query<T> sort(List<AttributeSort> sortBy);
 
+    /**
+     * Restricts the attributes to be loaded to the given top level attributes, the other attributes of the returned
+     * elements may be left unset. Storages that cannot load partial elements ignore the projection.
+     *
+     * @param attributes the attributes to be loaded
+     * @return the query
+     */
+    default Query<T> projection(List<String> attributes) {
+        return this;
+    }
+
     List<T> execute();
+
+    /**
+     * Counts the elements matching the filters, regardless of the limit and offset of the query.
+     *
+     * @return the no. of elements
+     */
+    long count();
+
+    /**
+     * Groups the elements matching the filters by the value of an attribute, and computes the aggregations over
+     * each group. The limit, offset and sort of the query are ignored.
+     *
+     * @param attribute the grouping attribute
+     * @param aggregations the aggregations, counts are returned as {@link Long}
+     * @return the groups
+     */
+    List<AttributeGroup> groupBy(String attribute, List<AttributeAggregation> aggregations);
 }
@@ -15,6 +15,7 @@
  */
 package org.kie.kogito.persistence.api.query;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -27,6 +28,18 @@ public final class QueryFilterFactory {
         return new AttributeSort(attribute, sort);
     }
 
+    public static AttributeAggregation count() {
+        return new AttributeAggregation(null, AggregationFunction.COUNT);
+    }
+
+    public static AttributeAggregation min(String attribute) {
+        return new AttributeAggregation(attribute, AggregationFunction.MIN);
+    }
+
+    public static AttributeAggregation max(String attribute) {
+        return new AttributeAggregation(attribute, AggregationFunction.MAX);
+    }
+
     public static AttributeFilter<String> like(String attribute, String value) {
         return new AttributeFilter<>(attribute, FilterCondition.LIKE, value);
     }
@@ -90,4 +103,31 @@ public final class QueryFilterFactory {
     public static <T> AttributeFilter<AttributeFilter<T>> not(AttributeFilter<T> filter) {
         return new AttributeFilter<>(null, FilterCondition.NOT, filter);
     }
+
+    /**
+     * Creates a keyset pagination filter, matching the elements that follow, in the given sort, an element with the
+     * given values of the sort attributes. The sort has to be total, e.g. by ending with a unique attribute, for the
+     * filter to match the elements of the next pages only.
+     *
+     * @param sortBy the sort of the query
+     * @param values the values of the sort attributes, in the same order
+     * @return the filter
+     */
+    public static AttributeFilter<List<AttributeFilter>> after(List<AttributeSort> sortBy, List<?> values) {
+        if (sortBy.isEmpty() || sortBy.size() != values.size()) {
+            throw new IllegalArgumentException("A value is required for each sort attribute");
+        }
+        List<AttributeFilter<?>> filters = new ArrayList<>(sortBy.size());
+        for (int i = 0; i < sortBy.size(); i++) {
+            List<AttributeFilter<?>> conditions = new ArrayList<>(i + 1);
+            for (int j = 0; j < i; j++) {
+                conditions.add(equalTo(sortBy.get(j).getAttribute(), values.get(j)));
+            }
+            AttributeSort sort = sortBy.get(i);
+            conditions.add(SortDirection.ASC.equals(sort.getSort()) ? greaterThan(sort.getAttribute(), values.get(i))
+                    : lessThan(sort.getAttribute(), values.get(i)));
+            filters.add(conditions.size() == 1 ? conditions.get(0) : and(conditions));
+        }
+        return or(filters);
+    }
 }
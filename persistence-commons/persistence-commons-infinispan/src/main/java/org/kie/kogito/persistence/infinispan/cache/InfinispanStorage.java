@@ -16,8 +16,11 @@
 
 package org.kie.kogito.persistence.infinispan.cache;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.infinispan.client.hotrod.RemoteCache;
 import org.kie.kogito.persistence.api.Storage;
@@ -38,10 +41,20 @@ public class InfinispanStorage<K, V> implements Storage<K, V> {
 
     private RemoteCache<K, V> delegate;
     private String rootType;
+    private Class<V> type;
 
     public InfinispanStorage(RemoteCache<K, V> delegate, String rootType) {
+        this(delegate, rootType, null);
+    }
+
+    /**
+     * @param type the type of the values, if their protobuf fields are named after its properties, so that queries
+     *        can project them
+     */
+    public InfinispanStorage(RemoteCache<K, V> delegate, String rootType, Class<V> type) {
         this.delegate = delegate;
         this.rootType = rootType;
+        this.type = type;
     }
 
     public V get(Object key) {
@@ -70,6 +83,24 @@ public class InfinispanStorage<K, V> implements Storage<K, V> {
         return delegate.put(key, value);
     }
 
+    @Override
+    public Map<K, V> getAll(Collection<K> keys) {
+        return keys.isEmpty() ? new HashMap<>() : delegate.getAll(new HashSet<>(keys));
+    }
+
+    @Override
+    public void putAll(Map<K, V> entries) {
+        if (!entries.isEmpty()) {
+            delegate.putAll(entries);
+        }
+    }
+
+    @Override
+    public void removeAll(Collection<K> keys) {
+        // Hot Rod has no bulk remove, issue all the removals before waiting for any of them
+        CompletableFuture.allOf(keys.stream().map(delegate::removeAsync).toArray(CompletableFuture<?>[]::new)).join();
+    }
+
     @Override
     public Multi<V> objectCreatedListener() {
         LOGGER.debug("Adding new object created listener into Cache: {}", delegate.getName());
@@ -111,6 +142,6 @@ public class InfinispanStorage<K, V> implements Storage<K, V> {
 
     @Override
     public Query<V> query() {
-        return new InfinispanQuery<>(delegate, rootType);
+        return new InfinispanQuery<>(delegate, rootType, type);
     }
 }
@@ -103,7 +103,7 @@ public class InfinispanStorageService implements StorageService {
 
     @Override
     public <T> Storage<String, T> getCache(String name, Class<T> type) {
-        return new InfinispanStorage<>(getOrCreateCache(name), type.getName());
+        return new InfinispanStorage<>(getOrCreateCache(name), type.getName(), type);
     }
 
     @Override
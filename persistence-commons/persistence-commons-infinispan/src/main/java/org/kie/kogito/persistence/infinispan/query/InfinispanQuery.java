@@ -15,13 +15,24 @@
  */
 package org.kie.kogito.persistence.infinispan.query;
 
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.Search;
 import org.infinispan.query.dsl.QueryFactory;
+import org.kie.kogito.persistence.api.query.AttributeAggregation;
 import org.kie.kogito.persistence.api.query.AttributeFilter;
+import org.kie.kogito.persistence.api.query.AttributeGroup;
 import org.kie.kogito.persistence.api.query.AttributeSort;
 import org.kie.kogito.persistence.api.query.Query;
 import org.slf4j.Logger;
@@ -29,34 +40,72 @@ import org.slf4j.LoggerFactory;
 
 import static java.lang.String.format;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 
+/**
+ * Ickle query over a cache of protobuf entities.
+ * When the query has a projection and the type of its elements is known, the projected attributes are selected with
+ * an Ickle {@code select} and set on new elements, so that the server returns only those values. Ickle can only
+ * project scalar fields: if a projected attribute is a collection or an object, or if the protobuf fields are not
+ * named after the properties of the type, whole entities are loaded instead.
+ */
 public class InfinispanQuery<T> implements Query<T> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(InfinispanQuery.class);
     private static final String AND = " and ";
     private static final String OR = " or ";
     private static final String ATTRIBUTE_VALUE = "o.%s = %s";
+    private static final String PARAMETER_PREFIX = "p";
+    // Ickle has no count(*), all the entities are expected to have an id
+    private static final String COUNT = "count(o.id)";
 
     private QueryFactory qf;
     private Integer limit;
     private Integer offset;
     private List<AttributeFilter<?>> filters;
     private List<AttributeSort> sortBy;
+    private List<String> projection;
     private String rootType;
+    private Class<T> type;
 
     public InfinispanQuery(RemoteCache<?, T> delegate, String rootType) {
-        this(Search.getQueryFactory(delegate), rootType);
+        this(delegate, rootType, null);
+    }
+
+    /**
+     * @param type the type of the elements, required to map projected rows back into elements
+     */
+    public InfinispanQuery(RemoteCache<?, T> delegate, String rootType, Class<T> type) {
+        this(Search.getQueryFactory(delegate), rootType, type);
     }
 
     protected InfinispanQuery(QueryFactory qf, String rootType) {
+        this(qf, rootType, null);
+    }
+
+    protected InfinispanQuery(QueryFactory qf, String rootType, Class<T> type) {
         this.qf = qf;
         this.rootType = rootType;
+        this.type = type;
     }
 
     private static Function<Object, Object> getValueForQueryString() {
         return value -> value instanceof String ? "'" + value + "'" : value.toString();
     }
 
+    /**
+     * Binds the value to a new named parameter of the query, so that the query string does not depend on the filter
+     * values and the server can reuse the parsed query. Values of types that cannot be sent as parameters are inlined.
+     */
+    private static String parameter(Object value, Map<String, Object> parameters) {
+        if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+            String name = PARAMETER_PREFIX + parameters.size();
+            parameters.put(name, value);
+            return ":" + name;
+        }
+        return getValueForQueryString().apply(value).toString();
+    }
+
     @Override
     public Query<T> limit(Integer limit) {
         this.limit = limit;
@@ -81,74 +130,206 @@ public class InfinispanQuery<T> implements Query<T> {
         return this;
     }
 
+    @Override
+    public Query<T> projection(List<String> attributes) {
+        this.projection = attributes;
+        return this;
+    }
+
     @Override
     public List<T> execute() {
-        StringBuilder queryString = new StringBuilder("from " + rootType + " o");
-        if (filters != null && !filters.isEmpty()) {
-            queryString.append(" where ");
-            queryString.append(filters.stream().map(filterStringFunction()).collect(joining(AND)));
+        Map<String, Object> parameters = new HashMap<>();
+        Map<String, Method> setters = getProjectionSetters();
+        StringBuilder queryString = new StringBuilder();
+        if (setters != null) {
+            queryString.append(setters.keySet().stream().map(attribute -> "o." + attribute).collect(joining(", ", "select ", " ")));
         }
+        queryString.append("from ").append(rootType).append(" o");
+        appendWhere(queryString, parameters);
         if (sortBy != null && !sortBy.isEmpty()) {
             queryString.append(" order by ");
             queryString.append(sortBy.stream().map(f -> "o." + f.getAttribute() + " " + f.getSort().name()).collect(joining(", ")));
         }
-        LOGGER.debug("Executing Infinispan query: {}", queryString);
-        org.infinispan.query.dsl.Query<T> query = qf.create(queryString.toString());
+        if (setters == null) {
+            return paginate(this.<T> createQuery(queryString.toString(), parameters)).execute().list();
+        }
+        return paginate(this.<Object[]> createQuery(queryString.toString(), parameters)).execute().list().stream()
+                .map(row -> toElement(setters, row))
+                .collect(toList());
+    }
+
+    private <R> org.infinispan.query.dsl.Query<R> paginate(org.infinispan.query.dsl.Query<R> query) {
         if (limit != null) {
             query.maxResults(limit);
         }
         if (offset != null) {
             query.startOffset(offset);
         }
-        return query.execute().list();
+        return query;
+    }
+
+    /**
+     * Gets the setters of the projected attributes, or {@code null} if whole entities must be loaded.
+     */
+    private Map<String, Method> getProjectionSetters() {
+        if (type == null || projection == null || projection.isEmpty()) {
+            return null;
+        }
+        Map<String, Method> setters = new LinkedHashMap<>();
+        for (String attribute : projection) {
+            Method setter = getScalarSetter(attribute);
+            if (setter == null) {
+                LOGGER.debug("Attribute {} of {} cannot be projected, loading whole entities", attribute, rootType);
+                return null;
+            }
+            setters.put(attribute, setter);
+        }
+        return setters;
+    }
+
+    private Method getScalarSetter(String attribute) {
+        String name = "set" + Character.toUpperCase(attribute.charAt(0)) + attribute.substring(1);
+        for (Method method : type.getMethods()) {
+            if (method.getName().equals(name) && method.getParameterCount() == 1 && isScalar(method.getParameterTypes()[0])) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isScalar(Class<?> attributeType) {
+        return attributeType.isPrimitive() || attributeType == String.class || attributeType == Boolean.class
+                || Number.class.isAssignableFrom(attributeType) || attributeType == Date.class || attributeType == ZonedDateTime.class;
+    }
+
+    private T toElement(Map<String, Method> setters, Object[] row) {
+        try {
+            T element = type.getDeclaredConstructor().newInstance();
+            int i = 0;
+            for (Method setter : setters.values()) {
+                Object value = toAttributeValue(row[i++], setter.getParameterTypes()[0]);
+                if (value != null) {
+                    setter.invoke(element, value);
+                }
+            }
+            return element;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to map projected attributes " + setters.keySet() + " to " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Converts a projected value to the type of its attribute: dates are stored as epoch milliseconds in UTC.
+     */
+    private static Object toAttributeValue(Object value, Class<?> attributeType) {
+        if (value == null) {
+            return null;
+        }
+        if (attributeType == ZonedDateTime.class || attributeType == Date.class) {
+            Instant instant = value instanceof Date ? ((Date) value).toInstant() : Instant.ofEpochMilli(((Number) value).longValue());
+            return attributeType == Date.class ? Date.from(instant) : ZonedDateTime.ofInstant(instant, ZoneOffset.UTC);
+        }
+        return value;
+    }
+
+    @Override
+    public long count() {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder queryString = new StringBuilder(format("select %s from %s o", COUNT, rootType));
+        appendWhere(queryString, parameters);
+        org.infinispan.query.dsl.Query<Object[]> query = createQuery(queryString.toString(), parameters);
+        return (Long) query.execute().list().get(0)[0];
+    }
+
+    @Override
+    public List<AttributeGroup> groupBy(String attribute, List<AttributeAggregation> aggregations) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder queryString = new StringBuilder("select o." + attribute);
+        aggregations.forEach(aggregation -> queryString.append(", ").append(getAggregation(aggregation)));
+        queryString.append(" from ").append(rootType).append(" o");
+        appendWhere(queryString, parameters);
+        queryString.append(" group by o.").append(attribute);
+        org.infinispan.query.dsl.Query<Object[]> query = createQuery(queryString.toString(), parameters);
+        return query.execute().list().stream()
+                .map(row -> new AttributeGroup(row[0], Arrays.asList(row).subList(1, row.length)))
+                .collect(toList());
+    }
+
+    private static String getAggregation(AttributeAggregation aggregation) {
+        switch (aggregation.getFunction()) {
+            case COUNT:
+                return COUNT;
+            case MIN:
+                return format("min(o.%s)", aggregation.getAttribute());
+            case MAX:
+                return format("max(o.%s)", aggregation.getAttribute());
+            default:
+                throw new UnsupportedOperationException("Unsupported aggregation function: " + aggregation.getFunction());
+        }
+    }
+
+    private void appendWhere(StringBuilder queryString, Map<String, Object> parameters) {
+        if (filters != null && !filters.isEmpty()) {
+            queryString.append(" where ");
+            queryString.append(filters.stream().map(filterStringFunction(parameters)).collect(joining(AND)));
+        }
+    }
+
+    private <R> org.infinispan.query.dsl.Query<R> createQuery(String queryString, Map<String, Object> parameters) {
+        LOGGER.debug("Executing Infinispan query: {} with parameters: {}", queryString, parameters);
+        org.infinispan.query.dsl.Query<R> query = qf.create(queryString);
+        if (!parameters.isEmpty()) {
+            query.setParameters(parameters);
+        }
+        return query;
     }
 
-    private Function<AttributeFilter<?>, String> filterStringFunction() {
+    private Function<AttributeFilter<?>, String> filterStringFunction(Map<String, Object> parameters) {
         return filter -> {
             switch (filter.getCondition()) {
                 case CONTAINS:
-                    return format(ATTRIBUTE_VALUE, filter.getAttribute(), getValueForQueryString().apply(filter.getValue()));
+                    return format(ATTRIBUTE_VALUE, filter.getAttribute(), parameter(filter.getValue(), parameters));
                 case CONTAINS_ALL:
-                    return (String) ((List) filter.getValue()).stream().map(o -> format(ATTRIBUTE_VALUE, filter.getAttribute(), getValueForQueryString().apply(o))).collect(joining(AND));
+                    return (String) ((List) filter.getValue()).stream().map(o -> format(ATTRIBUTE_VALUE, filter.getAttribute(), parameter(o, parameters))).collect(joining(AND));
                 case CONTAINS_ANY:
-                    return (String) ((List) filter.getValue()).stream().map(o -> format(ATTRIBUTE_VALUE, filter.getAttribute(), getValueForQueryString().apply(o))).collect(joining(OR));
+                    return (String) ((List) filter.getValue()).stream().map(o -> format(ATTRIBUTE_VALUE, filter.getAttribute(), parameter(o, parameters))).collect(joining(OR));
                 case LIKE:
-                    return format("o.%s like %s", filter.getAttribute(), getValueForQueryString().apply(filter.getValue())).replaceAll("\\*", "%");
+                    return format("o.%s like %s", filter.getAttribute(), parameter(filter.getValue().toString().replace("*", "%"), parameters));
                 case EQUAL:
-                    return format(ATTRIBUTE_VALUE, filter.getAttribute(), getValueForQueryString().apply(filter.getValue()));
+                    return format(ATTRIBUTE_VALUE, filter.getAttribute(), parameter(filter.getValue(), parameters));
                 case IN:
-                    return format("o.%s in (%s)", filter.getAttribute(), ((List) filter.getValue()).stream().map(getValueForQueryString()).collect(joining(", ")));
+                    return format("o.%s in (%s)", filter.getAttribute(), ((List<?>) filter.getValue()).stream().map(o -> parameter(o, parameters)).collect(joining(", ")));
                 case IS_NULL:
                     return format("o.%s is null", filter.getAttribute());
                 case NOT_NULL:
                     return format("o.%s is not null", filter.getAttribute());
                 case BETWEEN:
                     List<Object> value = (List<Object>) filter.getValue();
-                    return format("o.%s between %s and %s", filter.getAttribute(), getValueForQueryString().apply(value.get(0)), getValueForQueryString().apply(value.get(1)));
+                    return format("o.%s between %s and %s", filter.getAttribute(), parameter(value.get(0), parameters), parameter(value.get(1), parameters));
                 case GT:
-                    return format("o.%s > %s", filter.getAttribute(), getValueForQueryString().apply(filter.getValue()));
+                    return format("o.%s > %s", filter.getAttribute(), parameter(filter.getValue(), parameters));
                 case GTE:
-                    return format("o.%s >= %s", filter.getAttribute(), getValueForQueryString().apply(filter.getValue()));
+                    return format("o.%s >= %s", filter.getAttribute(), parameter(filter.getValue(), parameters));
                 case LT:
-                    return format("o.%s < %s", filter.getAttribute(), getValueForQueryString().apply(filter.getValue()));
+                    return format("o.%s < %s", filter.getAttribute(), parameter(filter.getValue(), parameters));
                 case LTE:
-                    return format("o.%s <= %s", filter.getAttribute(), getValueForQueryString().apply(filter.getValue()));
+                    return format("o.%s <= %s", filter.getAttribute(), parameter(filter.getValue(), parameters));
                 case OR:
-                    return getRecursiveString(filter, OR);
+                    return getRecursiveString(filter, OR, parameters);
                 case AND:
-                    return getRecursiveString(filter, AND);
+                    return getRecursiveString(filter, AND, parameters);
                 case NOT:
-                    return format("not %s", filterStringFunction().apply((AttributeFilter<?>) filter.getValue()));
+                    return format("not %s", filterStringFunction(parameters).apply((AttributeFilter<?>) filter.getValue()));
                 default:
                     return null;
             }
         };
     }
 
-    private String getRecursiveString(AttributeFilter<?> filter, String joining) {
+    private String getRecursiveString(AttributeFilter<?> filter, String joining, Map<String, Object> parameters) {
         return ((List<AttributeFilter<?>>) filter.getValue())
                 .stream()
-                .map(filterStringFunction())
+                .map(filterStringFunction(parameters))
                 .collect(joining(joining, "(", ")"));
     }
 }
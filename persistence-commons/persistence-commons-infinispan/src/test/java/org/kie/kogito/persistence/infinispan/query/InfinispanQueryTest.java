@@ -15,7 +15,10 @@
  */
 package org.kie.kogito.persistence.infinispan.query;
 
+import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.infinispan.query.dsl.Query;
@@ -28,16 +31,21 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.kie.kogito.persistence.api.query.AttributeFilter;
+import org.kie.kogito.persistence.api.query.AttributeGroup;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.and;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.between;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.contains;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.containsAll;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.containsAny;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.count;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.equalTo;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.greaterThan;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.greaterThanEqual;
@@ -46,6 +54,8 @@ import static org.kie.kogito.persistence.api.query.QueryFilterFactory.isNull;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.lessThan;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.lessThanEqual;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.like;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.max;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.min;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.not;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.notNull;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.or;
@@ -53,6 +63,8 @@ import static org.kie.kogito.persistence.api.query.QueryFilterFactory.orderBy;
 import static org.kie.kogito.persistence.api.query.SortDirection.ASC;
 import static org.kie.kogito.persistence.api.query.SortDirection.DESC;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -74,59 +86,85 @@ class InfinispanQueryTest {
         return Stream.of(
                 Arguments.of(
                         asList(like("name", "test%")),
-                        "from org.kie.kogito.index.model.ProcessInstance o where o.name like 'test%'"),
+                        "from org.kie.kogito.index.model.ProcessInstance o where o.name like :p0",
+                        Map.of("p0", "test%")),
+                Arguments.of(
+                        asList(like("name", "test*")),
+                        "from org.kie.kogito.index.model.ProcessInstance o where o.name like :p0",
+                        Map.of("p0", "test%")),
                 Arguments.of(
                         asList(in("id", asList("8035b580-6ae4-4aa8-9ec0-e18e19809e0b", "a1e139d5-4e77-48c9-84ae-34578e904e5a"))),
-                        "from org.kie.kogito.index.model.ProcessInstance o where o.id in ('8035b580-6ae4-4aa8-9ec0-e18e19809e0b', 'a1e139d5-4e77-48c9-84ae-34578e904e5a')"),
+                        "from org.kie.kogito.index.model.ProcessInstance o where o.id in (:p0, :p1)",
+                        Map.of("p0", "8035b580-6ae4-4aa8-9ec0-e18e19809e0b", "p1", "a1e139d5-4e77-48c9-84ae-34578e904e5a")),
                 Arguments.of(
                         asList(equalTo("id", "8035b580-6ae4-4aa8-9ec0-e18e19809e0b")),
-                        "from org.kie.kogito.index.model.ProcessInstance o where o.id = '8035b580-6ae4-4aa8-9ec0-e18e19809e0b'"),
+                        "from org.kie.kogito.index.model.ProcessInstance o where o.id = :p0",
+                        Map.of("p0", "8035b580-6ae4-4aa8-9ec0-e18e19809e0b")),
+                Arguments.of(
+                        asList(equalTo("name", "'); delete")),
+                        "from org.kie.kogito.index.model.ProcessInstance o where o.name = :p0",
+                        Map.of("p0", "'); delete")),
                 Arguments.of(
                         asList(contains("name", "test")),
-                        "from org.kie.kogito.index.model.ProcessInstance o where o.name = 'test'"),
+                        "from org.kie.kogito.index.model.ProcessInstance o where o.name = :p0",
+                        Map.of("p0", "test")),
                 Arguments.of(
                         asList(containsAll("name", asList("name1", "name2"))),
-                        "from org.kie.kogito.index.model.ProcessInstance o where o.name = 'name1' and o.name = 'name2'"),
+                        "from org.kie.kogito.index.model.ProcessInstance o where o.name = :p0 and o.name = :p1",
+                        Map.of("p0", "name1", "p1", "name2")),
                 Arguments.of(
                         asList(containsAny("name", asList("name1", "name2"))),
-                        "from org.kie.kogito.index.model.ProcessInstance o where o.name = 'name1' or o.name = 'name2'"),
+                        "from org.kie.kogito.index.model.ProcessInstance o where o.name = :p0 or o.name = :p1",
+                        Map.of("p0", "name1", "p1", "name2")),
                 Arguments.of(
                         asList(isNull("name")),
-                        "from org.kie.kogito.index.model.ProcessInstance o where o.name is null"),
+                        "from org.kie.kogito.index.model.ProcessInstance o where o.name is null",
+                        emptyMap()),
                 Arguments.of(
                         asList(notNull("name")),
-                        "from org.kie.kogito.index.model.ProcessInstance o where o.name is not null"),
+                        "from org.kie.kogito.index.model.ProcessInstance o where o.name is not null",
+                        emptyMap()),
                 Arguments.of(
                         asList(between("start", "2019-01-01", "2020-01-01")),
-                        "from org.kie.kogito.index.model.ProcessInstance o where o.start between '2019-01-01' and '2020-01-01'"),
+                        "from org.kie.kogito.index.model.ProcessInstance o where o.start between :p0 and :p1",
+                        Map.of("p0", "2019-01-01", "p1", "2020-01-01")),
                 Arguments.of(
                         asList(greaterThan("priority", 1)),
-                        "from org.kie.kogito.index.model.ProcessInstance o where o.priority > 1"),
+                        "from org.kie.kogito.index.model.ProcessInstance o where o.priority > :p0",
+                        Map.of("p0", 1)),
                 Arguments.of(
                         asList(greaterThanEqual("priority", 1)),
-                        "from org.kie.kogito.index.model.ProcessInstance o where o.priority >= 1"),
+                        "from org.kie.kogito.index.model.ProcessInstance o where o.priority >= :p0",
+                        Map.of("p0", 1)),
                 Arguments.of(
                         asList(lessThan("priority", 1)),
-                        "from org.kie.kogito.index.model.ProcessInstance o where o.priority < 1"),
+                        "from org.kie.kogito.index.model.ProcessInstance o where o.priority < :p0",
+                        Map.of("p0", 1)),
                 Arguments.of(
                         asList(lessThanEqual("priority", 1)),
-                        "from org.kie.kogito.index.model.ProcessInstance o where o.priority <= 1"),
+                        "from org.kie.kogito.index.model.ProcessInstance o where o.priority <= :p0",
+                        Map.of("p0", 1)),
                 Arguments.of(
                         asList(and(asList(lessThanEqual("priority", 1), greaterThan("priority", 1)))),
-                        "from org.kie.kogito.index.model.ProcessInstance o where (o.priority <= 1 and o.priority > 1)"),
+                        "from org.kie.kogito.index.model.ProcessInstance o where (o.priority <= :p0 and o.priority > :p1)",
+                        Map.of("p0", 1, "p1", 1)),
                 Arguments.of(
                         asList(or(asList(lessThanEqual("priority", 1), greaterThan("priority", 1)))),
-                        "from org.kie.kogito.index.model.ProcessInstance o where (o.priority <= 1 or o.priority > 1)"),
+                        "from org.kie.kogito.index.model.ProcessInstance o where (o.priority <= :p0 or o.priority > :p1)",
+                        Map.of("p0", 1, "p1", 1)),
                 Arguments.of(
                         asList(and(asList(notNull("name"), contains("name", "test"))), or(asList(lessThanEqual("priority", 1), greaterThan("priority", 1)))),
-                        "from org.kie.kogito.index.model.ProcessInstance o where (o.name is not null and o.name = 'test') and (o.priority <= 1 or o.priority > 1)"),
+                        "from org.kie.kogito.index.model.ProcessInstance o where (o.name is not null and o.name = :p0) and (o.priority <= :p1 or o.priority > :p2)",
+                        Map.of("p0", "test", "p1", 1, "p2", 1)),
                 Arguments.of(
                         asList(or(asList(isNull("name"), contains("name", "test"))),
                                 and(asList(between("start", "2019-01-01", "2020-01-01"), or(asList(lessThanEqual("priority", 1), greaterThan("priority", 1)))))),
-                        "from org.kie.kogito.index.model.ProcessInstance o where (o.name is null or o.name = 'test') and (o.start between '2019-01-01' and '2020-01-01' and (o.priority <= 1 or o.priority > 1))"),
+                        "from org.kie.kogito.index.model.ProcessInstance o where (o.name is null or o.name = :p0) and (o.start between :p1 and :p2 and (o.priority <= :p3 or o.priority > :p4))",
+                        Map.of("p0", "test", "p1", "2019-01-01", "p2", "2020-01-01", "p3", 1, "p4", 1)),
                 Arguments.of(
                         asList(not(equalTo("priority", 1))),
-                        "from org.kie.kogito.index.model.ProcessInstance o where not o.priority = 1"));
+                        "from org.kie.kogito.index.model.ProcessInstance o where not o.priority = :p0",
+                        Map.of("p0", 1)));
     }
 
     @BeforeEach
@@ -184,13 +222,118 @@ class InfinispanQueryTest {
 
     @ParameterizedTest
     @MethodSource("provideFilters")
-    void assertQueryFilters(List<AttributeFilter<?>> filters, String queryString) {
+    void assertQueryFilters(List<AttributeFilter<?>> filters, String queryString, Map<String, Object> parameters) {
         InfinispanQuery query = new InfinispanQuery(factory, rootType);
         query.filter(filters);
 
         query.execute();
 
         verify(factory).create(queryString);
+        if (parameters.isEmpty()) {
+            verify(mockQuery, never()).setParameters(any());
+        } else {
+            verify(mockQuery).setParameters(parameters);
+        }
         verify(queryResult).list();
     }
+
+    @Test
+    void testCount() {
+        when(queryResult.list()).thenReturn(singletonList(new Object[] { 2L }));
+        InfinispanQuery query = new InfinispanQuery(factory, rootType);
+        query.filter(asList(equalTo("state", 1)));
+        query.limit(10);
+
+        assertThat(query.count()).isEqualTo(2L);
+
+        verify(factory).create("select count(o.id) from org.kie.kogito.index.model.ProcessInstance o where o.state = :p0");
+        verify(mockQuery).setParameters(Map.of("p0", 1));
+        verify(mockQuery, never()).maxResults(anyInt());
+    }
+
+    @Test
+    void testGroupBy() {
+        when(queryResult.list()).thenReturn(asList(new Object[] { "travels", 2L, 10L, 20L }, new Object[] { "hotels", 1L, 5L, 5L }));
+        InfinispanQuery query = new InfinispanQuery(factory, rootType);
+        query.filter(asList(equalTo("state", 1)));
+
+        List<AttributeGroup> groups = query.groupBy("processId", asList(count(), min("start"), max("start")));
+
+        verify(factory).create("select o.processId, count(o.id), min(o.start), max(o.start) from org.kie.kogito.index.model.ProcessInstance o "
+                + "where o.state = :p0 group by o.processId");
+        assertThat(groups).containsExactly(
+                new AttributeGroup("travels", asList(2L, 10L, 20L)),
+                new AttributeGroup("hotels", asList(1L, 5L, 5L)));
+    }
+
+    @Test
+    void testProjection() {
+        ZonedDateTime start = ZonedDateTime.parse("2021-05-01T10:00:00.123Z");
+        when(queryResult.list()).thenReturn(singletonList(new Object[] { "pi1", 1, start.toInstant().toEpochMilli() }));
+        InfinispanQuery<Element> query = new InfinispanQuery<>(factory, rootType, Element.class);
+        query.filter(asList(equalTo("state", 1)));
+        query.sort(asList(orderBy("start", DESC)));
+        query.projection(asList("id", "state", "start"));
+        query.limit(10);
+
+        List<Element> elements = query.execute();
+
+        verify(factory).create("select o.id, o.state, o.start from org.kie.kogito.index.model.ProcessInstance o where o.state = :p0 order by o.start DESC");
+        verify(mockQuery).maxResults(10);
+        assertThat(elements).hasSize(1);
+        assertThat(elements.get(0).getId()).isEqualTo("pi1");
+        assertThat(elements.get(0).getState()).isEqualTo(1);
+        assertThat(elements.get(0).getStart()).isEqualTo(start);
+        assertThat(elements.get(0).getRoles()).isNull();
+    }
+
+    @Test
+    void testProjectionOfCollection() {
+        InfinispanQuery<Element> query = new InfinispanQuery<>(factory, rootType, Element.class);
+        query.projection(asList("id", "roles"));
+
+        query.execute();
+
+        verify(factory).create("from org.kie.kogito.index.model.ProcessInstance o");
+    }
+
+    public static class Element {
+
+        private String id;
+        private Integer state;
+        private ZonedDateTime start;
+        private Set<String> roles;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public Integer getState() {
+            return state;
+        }
+
+        public void setState(Integer state) {
+            this.state = state;
+        }
+
+        public ZonedDateTime getStart() {
+            return start;
+        }
+
+        public void setStart(ZonedDateTime start) {
+            this.start = start;
+        }
+
+        public Set<String> getRoles() {
+            return roles;
+        }
+
+        public void setRoles(Set<String> roles) {
+            this.roles = roles;
+        }
+    }
 }
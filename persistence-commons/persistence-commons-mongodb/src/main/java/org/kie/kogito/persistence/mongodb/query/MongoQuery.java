@@ -16,12 +16,17 @@
 
 package org.kie.kogito.persistence.mongodb.query;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
 
+import org.bson.Document;
 import org.bson.conversions.Bson;
+import org.kie.kogito.persistence.api.query.AggregationFunction;
+import org.kie.kogito.persistence.api.query.AttributeAggregation;
 import org.kie.kogito.persistence.api.query.AttributeFilter;
+import org.kie.kogito.persistence.api.query.AttributeGroup;
 import org.kie.kogito.persistence.api.query.AttributeSort;
 import org.kie.kogito.persistence.api.query.Query;
 import org.kie.kogito.persistence.api.query.SortDirection;
@@ -30,18 +35,29 @@ import org.kie.kogito.persistence.mongodb.model.MongoEntityMapper;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
-
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.BsonField;
+
+import static com.mongodb.client.model.Accumulators.max;
+import static com.mongodb.client.model.Accumulators.min;
+import static com.mongodb.client.model.Accumulators.sum;
+import static com.mongodb.client.model.Aggregates.group;
+import static com.mongodb.client.model.Projections.include;
 import static com.mongodb.client.model.Sorts.ascending;
 import static com.mongodb.client.model.Sorts.descending;
 import static com.mongodb.client.model.Sorts.orderBy;
 import static java.util.stream.Collectors.toList;
+import static org.kie.kogito.persistence.mongodb.model.ModelUtils.MONGO_ID;
 
 public class MongoQuery<V, E> implements Query<V> {
 
+    private static final String AGGREGATE_PREFIX = "aggregate";
+
     Integer limit;
     Integer offset;
     List<AttributeFilter<?>> filters;
     List<AttributeSort> sortBy;
+    List<String> projection;
 
     MongoEntityMapper<V, E> mongoEntityMapper;
 
@@ -76,6 +92,12 @@ public class MongoQuery<V, E> implements Query<V> {
         return this;
     }
 
+    @Override
+    public Query<V> projection(List<String> attributes) {
+        this.projection = attributes;
+        return this;
+    }
+
     @Override
     public List<V> execute() {
         MongoCollection<E> collection = this.mongoCollection;
@@ -84,6 +106,7 @@ public class MongoQuery<V, E> implements Query<V> {
 
         FindIterable<E> find = query.map(collection::find).orElseGet(collection::find);
         find = sort.map(find::sort).orElse(find);
+        find = this.generateProjection().map(find::projection).orElse(find);
         find = Optional.ofNullable(this.offset).map(find::skip).orElse(find);
         find = Optional.ofNullable(this.limit).map(find::limit).orElse(find);
 
@@ -97,6 +120,52 @@ public class MongoQuery<V, E> implements Query<V> {
         return list;
     }
 
+    @Override
+    public long count() {
+        return QueryUtils.generateQuery(this.filters, mongoEntityMapper::convertToMongoAttribute)
+                .map(mongoCollection::countDocuments).orElseGet(mongoCollection::countDocuments);
+    }
+
+    @Override
+    public List<AttributeGroup> groupBy(String attribute, List<AttributeAggregation> aggregations) {
+        List<Bson> pipeline = new ArrayList<>(2);
+        QueryUtils.generateQuery(this.filters, mongoEntityMapper::convertToMongoAttribute).map(Aggregates::match).ifPresent(pipeline::add);
+        List<BsonField> accumulators = new ArrayList<>(aggregations.size());
+        for (int i = 0; i < aggregations.size(); i++) {
+            accumulators.add(generateAccumulator(AGGREGATE_PREFIX + i, aggregations.get(i)));
+        }
+        pipeline.add(group("$" + mongoEntityMapper.convertToMongoAttribute(attribute), accumulators));
+
+        List<AttributeGroup> groups = new LinkedList<>();
+        for (Document document : mongoCollection.aggregate(pipeline, Document.class)) {
+            List<Object> aggregates = new ArrayList<>(aggregations.size());
+            for (int i = 0; i < aggregations.size(); i++) {
+                Object value = document.get(AGGREGATE_PREFIX + i);
+                aggregates.add(AggregationFunction.COUNT.equals(aggregations.get(i).getFunction()) ? ((Number) value).longValue() : value);
+            }
+            groups.add(new AttributeGroup(document.get(MONGO_ID), aggregates));
+        }
+        return groups;
+    }
+
+    private BsonField generateAccumulator(String name, AttributeAggregation aggregation) {
+        switch (aggregation.getFunction()) {
+            case COUNT:
+                return sum(name, 1);
+            case MIN:
+                return min(name, "$" + mongoEntityMapper.convertToMongoAttribute(aggregation.getAttribute()));
+            case MAX:
+                return max(name, "$" + mongoEntityMapper.convertToMongoAttribute(aggregation.getAttribute()));
+            default:
+                throw new UnsupportedOperationException("Unsupported aggregation function: " + aggregation.getFunction());
+        }
+    }
+
+    private Optional<Bson> generateProjection() {
+        return Optional.ofNullable(this.projection).filter(p -> !p.isEmpty())
+                .map(p -> include(p.stream().map(mongoEntityMapper::convertToMongoAttribute).distinct().collect(toList())));
+    }
+
     private Optional<Bson> generateSort() {
         return Optional.ofNullable(this.sortBy).map(sbList -> orderBy(sbList.stream().map(
                 sb -> SortDirection.ASC.equals(sb.getSort()) ? ascending(mongoEntityMapper.convertToMongoAttribute(sb.getAttribute()))
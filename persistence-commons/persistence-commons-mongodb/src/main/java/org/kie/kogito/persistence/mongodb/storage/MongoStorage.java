@@ -16,24 +16,43 @@
 
 package org.kie.kogito.persistence.mongodb.storage;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.regex.Pattern;
 
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWrapper;
+import org.bson.BsonValue;
 import org.bson.Document;
+import org.bson.codecs.Decoder;
+import org.bson.codecs.DecoderContext;
+import org.bson.conversions.Bson;
 import org.kie.kogito.persistence.api.Storage;
 import org.kie.kogito.persistence.api.query.Query;
 import org.kie.kogito.persistence.mongodb.model.MongoEntityMapper;
 import org.kie.kogito.persistence.mongodb.query.MongoQuery;
 
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.FindOneAndReplaceOptions;
+import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Updates;
 
 import io.smallrye.mutiny.Multi;
 
 import static com.mongodb.client.model.Filters.eq;
 import static com.mongodb.client.model.Filters.in;
 import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.kie.kogito.persistence.mongodb.model.ModelUtils.ATTRIBUTE_DELIMITER;
 import static org.kie.kogito.persistence.mongodb.model.ModelUtils.MONGO_ID;
 import static org.kie.kogito.persistence.mongodb.storage.StorageUtils.watchCollectionEntries;
 import static org.kie.kogito.persistence.mongodb.storage.StorageUtils.watchCollectionKeys;
@@ -91,15 +110,98 @@ public class MongoStorage<V, E> implements Storage<String, V> {
 
     @Override
     public V put(String s, V v) {
-        V oldValue = this.get(s);
-        Optional.ofNullable(oldValue).ifPresentOrElse(
-                o -> Optional.ofNullable(v).map(n -> mapper.mapToEntity(s, n)).ifPresent(
-                        e -> this.mongoCollection.replaceOne(
-                                new Document(MONGO_ID, s),
-                                e, new ReplaceOptions().upsert(true))),
-                () -> Optional.ofNullable(v).map(n -> mapper.mapToEntity(s, n)).ifPresent(
-                        e -> this.mongoCollection.insertOne(e)));
-        return Objects.nonNull(v) ? oldValue : null;
+        return Optional.ofNullable(v).map(n -> mapper.mapToEntity(s, n))
+                .map(e -> this.mongoCollection.findOneAndReplace(
+                        new Document(MONGO_ID, s), e,
+                        new FindOneAndReplaceOptions().upsert(true).returnDocument(ReturnDocument.BEFORE)))
+                .map(o -> mapper.mapToModel(o)).orElse(null);
+    }
+
+    @Override
+    public void set(String s, V v) {
+        Optional.ofNullable(v).map(n -> mapper.mapToEntity(s, n)).ifPresent(
+                e -> this.mongoCollection.replaceOne(new Document(MONGO_ID, s), e, new ReplaceOptions().upsert(true)));
+    }
+
+    /**
+     * Sets the changed attributes with a single {@code $set}/{@code $unset} update, so only they are sent and written.
+     * Attribute values are taken from the mapped entity, hence they are stored exactly as a replacement would.
+     */
+    @Override
+    public void update(String s, V v, Collection<String> attributes) {
+        E entity = Optional.ofNullable(v).map(n -> mapper.mapToEntity(s, n)).orElse(null);
+        if (entity == null) {
+            return;
+        }
+        if (attributes.isEmpty()) {
+            if (!containsKey(s)) {
+                this.mongoCollection.replaceOne(new Document(MONGO_ID, s), entity, new ReplaceOptions().upsert(true));
+            }
+            return;
+        }
+        BsonDocument document = BsonDocumentWrapper.asBsonDocument(entity, this.mongoCollection.getCodecRegistry());
+        List<Bson> updates = new ArrayList<>(attributes.size());
+        for (String attribute : attributes) {
+            String name = mapper.convertToMongoAttribute(attribute);
+            BsonValue value = getValue(document, name);
+            updates.add(value == null ? Updates.unset(name) : Updates.set(name, value));
+        }
+        if (this.mongoCollection.updateOne(new Document(MONGO_ID, s), Updates.combine(updates)).getMatchedCount() == 0) {
+            this.mongoCollection.replaceOne(new Document(MONGO_ID, s), entity, new ReplaceOptions().upsert(true));
+        }
+    }
+
+    private static BsonValue getValue(BsonDocument document, String attribute) {
+        BsonValue value = document;
+        for (String name : attribute.split(Pattern.quote(ATTRIBUTE_DELIMITER))) {
+            if (value.isDocument()) {
+                value = value.asDocument().get(name);
+            } else if (value.isArray() && !name.isEmpty() && name.chars().allMatch(Character::isDigit)
+                    && Integer.parseInt(name) < value.asArray().size()) {
+                value = value.asArray().get(Integer.parseInt(name));
+            } else {
+                return null;
+            }
+            if (value == null) {
+                return null;
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public Map<String, V> getAll(Collection<String> keys) {
+        Map<String, V> values = new HashMap<>();
+        if (keys.isEmpty()) {
+            return values;
+        }
+        // Entities do not expose their key, so read the raw documents and decode them once the key is extracted
+        Decoder<E> decoder = this.mongoCollection.getCodecRegistry().get(mapper.getEntityClass());
+        DecoderContext decoderContext = DecoderContext.builder().build();
+        for (BsonDocument document : this.mongoCollection.withDocumentClass(BsonDocument.class).find(in(MONGO_ID, keys))) {
+            values.put(document.getString(MONGO_ID).getValue(),
+                    mapper.mapToModel(decoder.decode(new BsonDocumentReader(document), decoderContext)));
+        }
+        return values;
+    }
+
+    @Override
+    public void putAll(Map<String, V> entries) {
+        List<ReplaceOneModel<E>> replacements = entries.entrySet().stream()
+                .filter(e -> Objects.nonNull(e.getValue()))
+                .map(e -> new ReplaceOneModel<>(eq(MONGO_ID, e.getKey()), mapper.mapToEntity(e.getKey(), e.getValue()),
+                        new ReplaceOptions().upsert(true)))
+                .collect(toList());
+        if (!replacements.isEmpty()) {
+            this.mongoCollection.bulkWrite(replacements, new BulkWriteOptions().ordered(false));
+        }
+    }
+
+    @Override
+    public void removeAll(Collection<String> keys) {
+        if (!keys.isEmpty()) {
+            this.mongoCollection.deleteMany(in(MONGO_ID, keys));
+        }
     }
 
     @Override
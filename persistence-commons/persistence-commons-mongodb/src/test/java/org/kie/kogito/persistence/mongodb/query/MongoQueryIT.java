@@ -16,6 +16,7 @@
 
 package org.kie.kogito.persistence.mongodb.query;
 
+import java.util.Comparator;
 import java.util.List;
 
 import javax.inject.Inject;
@@ -24,6 +25,7 @@ import org.bson.Document;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.kie.kogito.persistence.api.query.AttributeGroup;
 import org.kie.kogito.persistence.api.query.QueryFilterFactory;
 import org.kie.kogito.persistence.mongodb.client.MongoClientManager;
 import org.kie.kogito.persistence.mongodb.mock.MockMongoEntityMapper;
@@ -35,6 +37,10 @@ import io.quarkus.test.common.QuarkusTestResource;
 import io.quarkus.test.junit.QuarkusTest;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.count;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.max;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.min;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.orderBy;
 import static org.kie.kogito.persistence.api.query.SortDirection.ASC;
 import static org.kie.kogito.persistence.mongodb.mock.MockMongoEntityMapper.TEST_ATTRIBUTE;
@@ -79,4 +85,42 @@ class MongoQueryIT {
         assertEquals(1, results.size());
         assertEquals("5", results.get(0));
     }
+
+    @Test
+    void testExecuteWithProjection() {
+        collection.insertOne(new Document(MONGO_ID, "1").append(TEST_ATTRIBUTE, "2"));
+
+        mongoQuery.projection(List.of(MONGO_ID));
+        assertNull(mongoQuery.execute().get(0));
+
+        mongoQuery.projection(List.of(TEST_ATTRIBUTE));
+        assertEquals(List.of("2"), mongoQuery.execute());
+    }
+
+    @Test
+    void testCount() {
+        collection.insertOne(new Document(MONGO_ID, "1").append(TEST_ATTRIBUTE, "2"));
+        collection.insertOne(new Document(MONGO_ID, "2").append(TEST_ATTRIBUTE, "5"));
+        collection.insertOne(new Document(MONGO_ID, "3").append(TEST_ATTRIBUTE, "7"));
+
+        assertEquals(3, mongoQuery.count());
+
+        mongoQuery.limit(1);
+        mongoQuery.filter(List.of(QueryFilterFactory.in(TEST_ATTRIBUTE, List.of("2", "5"))));
+        assertEquals(2, mongoQuery.count());
+    }
+
+    @Test
+    void testGroupBy() {
+        collection.insertOne(new Document(MONGO_ID, "1").append(TEST_ATTRIBUTE, "a").append("value", 1));
+        collection.insertOne(new Document(MONGO_ID, "2").append(TEST_ATTRIBUTE, "a").append("value", 5));
+        collection.insertOne(new Document(MONGO_ID, "3").append(TEST_ATTRIBUTE, "b").append("value", 7));
+        collection.insertOne(new Document(MONGO_ID, "4").append(TEST_ATTRIBUTE, "c").append("value", 3));
+
+        mongoQuery.filter(List.of(QueryFilterFactory.in(TEST_ATTRIBUTE, List.of("a", "b"))));
+        List<AttributeGroup> groups = mongoQuery.groupBy(TEST_ATTRIBUTE, List.of(count(), min("value"), max("value")));
+
+        groups.sort(Comparator.comparing(group -> (String) group.getValue()));
+        assertEquals(List.of(new AttributeGroup("a", List.of(2L, 1, 5)), new AttributeGroup("b", List.of(1L, 7, 7))), groups);
+    }
 }
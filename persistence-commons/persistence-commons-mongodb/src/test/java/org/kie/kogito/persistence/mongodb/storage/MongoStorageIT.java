@@ -16,6 +16,9 @@
 
 package org.kie.kogito.persistence.mongodb.storage;
 
+import java.util.List;
+import java.util.Map;
+
 import javax.inject.Inject;
 
 import org.bson.Document;
@@ -34,6 +37,7 @@ import io.quarkus.test.junit.QuarkusTest;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.kie.kogito.persistence.mongodb.mock.MockMongoEntityMapper.TEST_ATTRIBUTE;
 import static org.kie.kogito.persistence.mongodb.model.ModelUtils.MONGO_ID;
@@ -86,6 +90,39 @@ class MongoStorageIT {
         assertEquals(testValue, document.get(TEST_ATTRIBUTE));
     }
 
+    @Test
+    void testPutReturnsPreviousValue() {
+        String testId = "testPutPrevious";
+        assertNull(storage.put(testId, "value1"));
+        assertEquals("value1", storage.put(testId, "value2"));
+        assertEquals("value2", storage.get(testId));
+        assertEquals(1, collection.countDocuments());
+    }
+
+    @Test
+    void testSet() {
+        String testId = "testSet";
+        storage.set(testId, "value1");
+        storage.set(testId, "value2");
+        assertEquals("value2", storage.get(testId));
+        assertEquals(1, collection.countDocuments());
+    }
+
+    @Test
+    void testUpdate() {
+        String testId = "testUpdate";
+        collection.insertOne(new Document(MONGO_ID, testId).append(TEST_ATTRIBUTE, "value1").append("other", "otherValue"));
+        storage.update(testId, "value2", List.of(TEST_ATTRIBUTE));
+        Document document = collection.find(new Document(MONGO_ID, testId)).first();
+        assertNotNull(document);
+        assertEquals("value2", document.get(TEST_ATTRIBUTE));
+        assertEquals("otherValue", document.get("other"));
+
+        storage.update("testUpdateMissing", "value3", List.of(TEST_ATTRIBUTE));
+        assertEquals("value3", storage.get("testUpdateMissing"));
+        assertEquals(2, collection.countDocuments());
+    }
+
     @Test
     void testClear() {
         String testId = "testClear";
@@ -103,4 +140,18 @@ class MongoStorageIT {
         storage.remove(testId);
         assertEquals(0, collection.countDocuments());
     }
+
+    @Test
+    void testBulkOperations() {
+        collection.insertOne(new Document(MONGO_ID, "testBulk1").append(TEST_ATTRIBUTE, "oldValue"));
+        storage.putAll(Map.of("testBulk1", "value1", "testBulk2", "value2"));
+        assertEquals(2, collection.countDocuments());
+
+        Map<String, String> values = storage.getAll(List.of("testBulk1", "testBulk2", "testBulk3"));
+        assertEquals(Map.of("testBulk1", "value1", "testBulk2", "value2"), values);
+
+        storage.removeAll(List.of("testBulk1", "testBulk3"));
+        assertEquals(1, collection.countDocuments());
+        assertTrue(storage.containsKey("testBulk2"));
+    }
 }
@@ -16,24 +16,39 @@
 
 package org.kie.kogito.persistence.postgresql;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import javax.persistence.EntityManager;
 
 import org.kie.kogito.persistence.api.Storage;
 import org.kie.kogito.persistence.api.query.Query;
 import org.kie.kogito.persistence.postgresql.model.CacheEntity;
 import org.kie.kogito.persistence.postgresql.model.CacheEntityRepository;
 import org.kie.kogito.persistence.postgresql.model.CacheId;
+import org.kie.kogito.persistence.postgresql.query.PostgresQuery;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.smallrye.mutiny.Multi;
 
 import static java.lang.String.format;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
+import static org.kie.kogito.persistence.postgresql.model.ModelUtils.ATTRIBUTE_DELIMITER;
+import static org.kie.kogito.persistence.postgresql.model.ModelUtils.CACHE_TABLE;
+import static org.kie.kogito.persistence.postgresql.model.ModelUtils.JSON_VALUE_COLUMN;
+import static org.kie.kogito.persistence.postgresql.model.ModelUtils.toTextArray;
 
 public class PostgresStorage<V> implements Storage<String, V> {
 
@@ -73,7 +88,7 @@ public class PostgresStorage<V> implements Storage<String, V> {
 
     @Override
     public Query<V> query() {
-        throw new UnsupportedOperationException("Custom query not available in PostgresSQL");
+        return new PostgresQuery<>(cacheName, repository.getEntityManager(), mapper, mapper());
     }
 
     @Override
@@ -86,6 +101,9 @@ public class PostgresStorage<V> implements Storage<String, V> {
             try {
                 if (String.class.equals(type)) {
                     return (V) mapper.treeToValue(entity.getValue().get("value"), type);
+                } else if (type.isInstance(entity.getValue())) {
+                    // Copy the JSON held by the entity, so that changing the returned value does not dirty the entity
+                    return (V) entity.getValue().deepCopy();
                 } else {
                     return (V) mapper.treeToValue(entity.getValue(), type);
                 }
@@ -95,8 +113,7 @@ public class PostgresStorage<V> implements Storage<String, V> {
         };
     }
 
-    @Override
-    public V put(String key, V value) {
+    protected ObjectNode toJson(V value) {
         ObjectNode json;
         if (String.class.equals(type)) {
             json = mapper.createObjectNode();
@@ -104,6 +121,19 @@ public class PostgresStorage<V> implements Storage<String, V> {
         } else {
             json = mapper.valueToTree(value);
         }
+        return json;
+    }
+
+    @Override
+    public Map<String, V> getAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return new HashMap<>();
+        }
+        return repository.stream("name = ?1 and key in ?2", cacheName, keys).collect(toMap(CacheEntity::getKey, mapper()));
+    }
+
+    @Override
+    public V put(String key, V value) {
         CacheId cacheId = new CacheId(cacheName, key);
         Optional<CacheEntity> byId = repository.findByIdOptional(cacheId);
         CacheEntity entity;
@@ -112,11 +142,77 @@ public class PostgresStorage<V> implements Storage<String, V> {
         } else {
             entity = new CacheEntity(cacheName, key);
         }
-        entity.setValue(json);
+        entity.setValue(toJson(value));
         repository.persist(entity);
         return value;
     }
 
+    /**
+     * Reads the stored entries with a single query, then inserts or updates each entry: the statements are sent in
+     * JDBC batches when {@code quarkus.hibernate-orm.jdbc.statement-batch-size} is set.
+     */
+    @Override
+    public void putAll(Map<String, V> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Map<String, CacheEntity> existing = repository.stream("name = ?1 and key in ?2", cacheName, entries.keySet())
+                .collect(toMap(CacheEntity::getKey, identity()));
+        repository.persist(entries.entrySet().stream().map(e -> {
+            CacheEntity entity = existing.computeIfAbsent(e.getKey(), key -> new CacheEntity(cacheName, key));
+            entity.setValue(toJson(e.getValue()));
+            return entity;
+        }).collect(toList()));
+    }
+
+    /**
+     * Sets the changed attributes in the stored JSON with {@code jsonb_set}, and removes the missing ones with
+     * {@code #-}, in a single statement.
+     * The statement bypasses the persistence context, so a copy of the element loaded in the current transaction is
+     * detached rather than left stale.
+     */
+    @Override
+    public void update(String key, V value, Collection<String> attributes) {
+        if (attributes.isEmpty()) {
+            if (!containsKey(key)) {
+                put(key, value);
+            }
+            return;
+        }
+        ObjectNode json = toJson(value);
+        StringBuilder expression = new StringBuilder(JSON_VALUE_COLUMN);
+        List<String> parameters = new ArrayList<>();
+        for (String attribute : attributes) {
+            JsonNode node = json;
+            for (String name : attribute.split(Pattern.quote(ATTRIBUTE_DELIMITER))) {
+                boolean index = node.isArray() && !name.isEmpty() && name.chars().allMatch(Character::isDigit);
+                node = index ? node.path(Integer.parseInt(name)) : node.path(name);
+            }
+            parameters.add(toTextArray(attribute));
+            if (node.isMissingNode()) {
+                expression.insert(0, "(").append(" #- cast(?").append(parameters.size()).append(" as text[]))");
+            } else {
+                parameters.add(node.toString());
+                expression.insert(0, "jsonb_set(").append(", cast(?").append(parameters.size() - 1)
+                        .append(" as text[]), cast(?").append(parameters.size()).append(" as jsonb))");
+            }
+        }
+        EntityManager entityManager = repository.getEntityManager();
+        javax.persistence.Query update = entityManager.createNativeQuery(
+                format("update %s set %s = %s where name = ?%d and key = ?%d", CACHE_TABLE, JSON_VALUE_COLUMN,
+                        expression, parameters.size() + 1, parameters.size() + 2));
+        for (int i = 0; i < parameters.size(); i++) {
+            update.setParameter(i + 1, parameters.get(i));
+        }
+        update.setParameter(parameters.size() + 1, cacheName);
+        update.setParameter(parameters.size() + 2, key);
+        if (update.executeUpdate() == 0) {
+            put(key, value);
+        } else {
+            entityManager.detach(entityManager.getReference(CacheEntity.class, new CacheId(cacheName, key)));
+        }
+    }
+
     @Override
     public V remove(String key) {
         V value = get(key);
@@ -126,6 +222,13 @@ public class PostgresStorage<V> implements Storage<String, V> {
         return value;
     }
 
+    @Override
+    public void removeAll(Collection<String> keys) {
+        if (!keys.isEmpty()) {
+            repository.delete("name = ?1 and key in ?2", cacheName, keys);
+        }
+    }
+
     @Override
     public boolean containsKey(String key) {
         return repository.count("name = ?1 and key = ?2", cacheName, key) == 1;
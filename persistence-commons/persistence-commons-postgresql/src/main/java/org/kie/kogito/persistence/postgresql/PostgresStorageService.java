@@ -21,6 +21,7 @@ import javax.inject.Inject;
 
 import org.kie.kogito.persistence.api.Storage;
 import org.kie.kogito.persistence.api.StorageService;
+import org.kie.kogito.persistence.postgresql.index.IndexManager;
 import org.kie.kogito.persistence.postgresql.model.CacheEntityRepository;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -40,18 +41,24 @@ public class PostgresStorageService implements StorageService {
     @Inject
     ObjectMapper mapper;
 
+    @Inject
+    IndexManager indexManager;
+
     @Override
     public Storage<String, String> getCache(String name) {
+        indexManager.registerCache(name, String.class.getCanonicalName());
         return new PostgresStorage<>(name, repository, mapper, String.class);
     }
 
     @Override
     public <T> Storage<String, T> getCache(String name, Class<T> type) {
+        indexManager.registerCache(name, type.getCanonicalName());
         return new PostgresStorage<>(name, repository, mapper, type);
     }
 
     @Override
     public <T> Storage<String, T> getCache(String name, Class<T> type, String rootType) {
+        indexManager.registerCache(name, rootType);
         return new PostgresStorage<>(name, repository, mapper, type, rootType);
     }
 }
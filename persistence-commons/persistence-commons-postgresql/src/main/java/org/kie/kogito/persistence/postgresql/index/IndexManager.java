@@ -0,0 +1,210 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.postgresql.index;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.sql.DataSource;
+import javax.transaction.Transactional;
+
+import org.kie.kogito.persistence.api.schema.EntityIndexDescriptor;
+import org.kie.kogito.persistence.api.schema.IndexDescriptor;
+import org.kie.kogito.persistence.api.schema.SchemaRegisteredEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static org.kie.kogito.persistence.postgresql.model.ModelUtils.CACHE_TABLE;
+import static org.kie.kogito.persistence.postgresql.model.ModelUtils.JSON_VALUE_COLUMN;
+import static org.kie.kogito.persistence.postgresql.model.ModelUtils.toJsonPath;
+
+/**
+ * Creates the indexes serving the queries on the JSON values of the caches.
+ * The GIN index on the JSON column, serving the containment and JSON path filters of all the caches, is created when
+ * the first cache is used. Each cache whose root type has an entity index descriptor also gets an expression index on
+ * the paths of each index descriptor, for comparisons and sorts, created once the schema is registered and the cache
+ * is used, whichever comes last.
+ */
+@ApplicationScoped
+public class IndexManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IndexManager.class);
+
+    static final String JSON_VALUE_INDEX = CACHE_TABLE + "_json_value_idx";
+
+    Map<String, EntityIndexDescriptor> indexes = new ConcurrentHashMap<>();
+
+    Map<String, String> cacheIndexMapping = new ConcurrentHashMap<>();
+
+    private CompletableFuture<Void> indexCreation = CompletableFuture.completedFuture(null);
+
+    private final AtomicBoolean jsonValueIndexScheduled = new AtomicBoolean();
+
+    @Inject
+    IndexSchemaAcceptor schemaAcceptor;
+
+    @Inject
+    DataSource dataSource;
+
+    public void onSchemaRegisteredEvent(@Observes SchemaRegisteredEvent event) {
+        if (schemaAcceptor.accept(event.getSchemaType())) {
+            indexes.putAll(event.getSchemaDescriptor().getEntityIndexDescriptors());
+            updateIndexes(event.getSchemaDescriptor().getEntityIndexDescriptors().values());
+        }
+    }
+
+    /**
+     * Registers the root type of a cache, creating the indexes of the cache when it is first registered.
+     * Registering a cache again with the same root type does nothing, as it happens each time the cache is used.
+     *
+     * @param cacheName the name of the cache
+     * @param rootType the root type of the values of the cache
+     */
+    public void registerCache(String cacheName, String rootType) {
+        if (jsonValueIndexScheduled.compareAndSet(false, true)) {
+            scheduleIndexes(Map.of(JSON_VALUE_INDEX, String.format("create index concurrently if not exists %s on %s using gin (%s jsonb_path_ops)",
+                    JSON_VALUE_INDEX, CACHE_TABLE, JSON_VALUE_COLUMN)));
+        }
+        String indexType = cacheIndexMapping.put(cacheName, rootType);
+        if (!rootType.equals(indexType)) {
+            updateCache(cacheName, indexes.get(rootType));
+        }
+    }
+
+    void updateIndexes(Collection<EntityIndexDescriptor> entityIndexDescriptorList) {
+        entityIndexDescriptorList.forEach(entityIndexDescriptor -> this.getCachesWithIndex(entityIndexDescriptor.getName())
+                .forEach(cacheName -> this.updateCache(cacheName, entityIndexDescriptor)));
+    }
+
+    void updateCache(String cacheName, EntityIndexDescriptor index) {
+        if (index == null) {
+            return;
+        }
+        Map<String, String> indexesToCreate = new LinkedHashMap<>();
+        createIndexForEntity(indexesToCreate, cacheName, "", index);
+        if (!indexesToCreate.isEmpty()) {
+            scheduleIndexes(indexesToCreate);
+        }
+    }
+
+    /**
+     * Creates the indexes in the background, one cache after the other: building an index concurrently waits for the
+     * transactions writing to the table to end, including the one of the caller.
+     * A failure is logged and does not prevent the creation of the indexes scheduled afterwards.
+     */
+    private synchronized void scheduleIndexes(Map<String, String> indexesToCreate) {
+        indexCreation = indexCreation.thenRunAsync(() -> createIndexes(indexesToCreate))
+                .exceptionally(t -> {
+                    LOGGER.warn("Failed to create the PostgreSQL indexes {}", indexesToCreate.keySet(), t);
+                    return null;
+                });
+    }
+
+    void createIndexForEntity(Map<String, String> indexesToCreate, String cacheName, String parentField, EntityIndexDescriptor entityIndexDescriptor) {
+        String pkg = entityIndexDescriptor.getName().substring(0, entityIndexDescriptor.getName().lastIndexOf(".") + 1);
+
+        entityIndexDescriptor.getIndexDescriptors().stream()
+                .filter(indexDescriptor -> !indexDescriptor.getIndexAttributes().isEmpty())
+                .forEach(indexDescriptor -> createIndex(indexesToCreate, cacheName, indexDescriptor, parentField));
+
+        entityIndexDescriptor.getAttributeDescriptors().stream()
+                .filter(attributeDescriptor -> !attributeDescriptor.isPrimitiveType())
+                .forEach(attributeDescriptor -> {
+                    String fieldName = parentField.isEmpty() ? attributeDescriptor.getName() : (parentField + "." + attributeDescriptor.getName());
+                    if (indexes.containsKey(attributeDescriptor.getTypeName())) {
+                        createIndexForEntity(indexesToCreate, cacheName, fieldName, indexes.get(attributeDescriptor.getTypeName()));
+                    } else if (indexes.containsKey(pkg + attributeDescriptor.getTypeName())) {
+                        createIndexForEntity(indexesToCreate, cacheName, fieldName, indexes.get(pkg + attributeDescriptor.getTypeName()));
+                    }
+                });
+    }
+
+    /**
+     * Adds the statement creating the index, leading with the cache name as all the queries filter by it.
+     * Index names are derived from the cache and the indexed fields, so that they fit into the PostgreSQL identifier
+     * length limit and an index is not created twice.
+     */
+    void createIndex(Map<String, String> indexesToCreate, String cacheName, IndexDescriptor indexDescriptor, String parentField) {
+        List<String> fieldNames = indexDescriptor.getIndexAttributes().stream()
+                .map(attributeName -> parentField.isEmpty() ? attributeName : (parentField + "." + attributeName))
+                .collect(toList());
+        String indexName = CACHE_TABLE + "_" + UUID.nameUUIDFromBytes((cacheName + ":" + String.join(",", fieldNames))
+                .getBytes(StandardCharsets.UTF_8)).toString().replace("-", "");
+        indexesToCreate.put(indexName, String.format("create index concurrently if not exists %s on %s (name, %s)", indexName, CACHE_TABLE,
+                fieldNames.stream().map(fieldName -> "(" + toJsonPath(fieldName) + ")").collect(joining(", "))));
+    }
+
+    List<String> getCachesWithIndex(String index) {
+        return cacheIndexMapping.entrySet().stream().filter(e -> index.equals(e.getValue())).map(Map.Entry::getKey).collect(toList());
+    }
+
+    /**
+     * Creates the indexes that do not exist yet. The indexes are built concurrently, so that the table is not locked
+     * against writes meanwhile, which cannot happen in a transaction: the statements run in auto-commit mode, outside
+     * of any transaction.
+     * The catalog is checked first, as creating an index waits for the running transactions even when it exists.
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    void createIndexes(Map<String, String> indexesToCreate) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement existing = connection.prepareStatement("select count(*) from pg_indexes where tablename = ? and indexname = ?")) {
+            for (Map.Entry<String, String> index : indexesToCreate.entrySet()) {
+                existing.setString(1, CACHE_TABLE);
+                existing.setString(2, index.getKey());
+                try (ResultSet result = existing.executeQuery()) {
+                    if (result.next() && result.getInt(1) > 0) {
+                        continue;
+                    }
+                }
+                LOGGER.debug("Creating PostgreSQL index: {}", index.getValue());
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(index.getValue());
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.warn("Failed to create the PostgreSQL indexes {}", indexesToCreate.keySet(), e);
+        }
+    }
+
+    Map<String, EntityIndexDescriptor> getIndexes() {
+        return indexes;
+    }
+
+    Map<String, String> getCacheIndexMapping() {
+        return cacheIndexMapping;
+    }
+
+    synchronized CompletableFuture<Void> getIndexCreation() {
+        return indexCreation;
+    }
+}
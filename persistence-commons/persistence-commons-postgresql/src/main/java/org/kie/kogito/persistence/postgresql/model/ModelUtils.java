@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.postgresql.model;
+
+import java.util.regex.Pattern;
+
+public class ModelUtils {
+
+    public static final String CACHE_TABLE = "kogito_data_cache";
+
+    public static final String JSON_VALUE_COLUMN = "json_value";
+
+    public static final String ATTRIBUTE_DELIMITER = ".";
+
+    private ModelUtils() {
+    }
+
+    /**
+     * Gets the path of an attribute as a PostgreSQL text array, e.g. <code>{"a","b"}</code> for <code>a.b</code>.
+     *
+     * @param attribute the dot separated attribute
+     * @return the text array
+     */
+    public static String toTextArray(String attribute) {
+        StringBuilder array = new StringBuilder("{");
+        for (String name : attribute.split(Pattern.quote(ATTRIBUTE_DELIMITER))) {
+            if (array.length() > 1) {
+                array.append(',');
+            }
+            array.append('"').append(name.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        }
+        return array.append('}').toString();
+    }
+
+    /**
+     * Gets the SQL/JSON path of an attribute, e.g. <code>$."a"."b"</code> for <code>a.b</code>. Evaluated in lax mode,
+     * the path steps into the arrays met along the way, e.g. it matches the <code>b</code> of every item of an
+     * array <code>a</code>.
+     *
+     * @param attribute the dot separated attribute
+     * @return the SQL/JSON path
+     */
+    public static String toSqlJsonPath(String attribute) {
+        StringBuilder path = new StringBuilder("$");
+        for (String name : attribute.split(Pattern.quote(ATTRIBUTE_DELIMITER))) {
+            path.append(".\"").append(name.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        }
+        return path.toString();
+    }
+
+    /**
+     * Gets the SQL expression extracting an attribute from the JSON value of a cache entry, as a {@code jsonb} value.
+     * The path is inlined rather than bound, so that the expression indexes created on it can serve the queries.
+     * Unlike {@link #toSqlJsonPath(String)}, the path does not step into arrays: an array item is only addressed by
+     * its index.
+     *
+     * @param attribute the dot separated attribute
+     * @return the SQL expression
+     */
+    public static String toJsonPath(String attribute) {
+        return toPath("#>", attribute);
+    }
+
+    /**
+     * Gets the SQL expression extracting an attribute from the JSON value of a cache entry, as a {@code text} value.
+     *
+     * @param attribute the dot separated attribute
+     * @return the SQL expression
+     */
+    public static String toJsonTextPath(String attribute) {
+        return toPath("#>>", attribute);
+    }
+
+    private static String toPath(String operator, String attribute) {
+        return JSON_VALUE_COLUMN + " " + operator + " '" + toTextArray(attribute).replace("'", "''") + "'";
+    }
+}
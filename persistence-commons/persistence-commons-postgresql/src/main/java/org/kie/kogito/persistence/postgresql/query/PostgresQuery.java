@@ -0,0 +1,297 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.postgresql.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import javax.persistence.EntityManager;
+
+import org.kie.kogito.persistence.api.query.AttributeAggregation;
+import org.kie.kogito.persistence.api.query.AttributeFilter;
+import org.kie.kogito.persistence.api.query.AttributeGroup;
+import org.kie.kogito.persistence.api.query.AttributeSort;
+import org.kie.kogito.persistence.api.query.Query;
+import org.kie.kogito.persistence.postgresql.model.CacheEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static org.kie.kogito.persistence.postgresql.model.ModelUtils.ATTRIBUTE_DELIMITER;
+import static org.kie.kogito.persistence.postgresql.model.ModelUtils.CACHE_TABLE;
+import static org.kie.kogito.persistence.postgresql.model.ModelUtils.JSON_VALUE_COLUMN;
+import static org.kie.kogito.persistence.postgresql.model.ModelUtils.toJsonPath;
+import static org.kie.kogito.persistence.postgresql.model.ModelUtils.toJsonTextPath;
+import static org.kie.kogito.persistence.postgresql.model.ModelUtils.toSqlJsonPath;
+
+/**
+ * Query on the JSON values of a cache, evaluated by the database.
+ * Equality and containment filters are translated into {@code @?} SQL/JSON path predicates on the whole value, which
+ * the GIN index of the JSON column serves, and which match the attributes nested in arrays like the other storages
+ * do. Comparisons, like and null filters, and sorts are translated into predicates on the {@code #>} path of the
+ * attribute, which the expression indexes created from the entity index descriptors serve: they only apply to
+ * attributes outside arrays.
+ */
+public class PostgresQuery<T> implements Query<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgresQuery.class);
+    private static final String AND = " and ";
+    private static final String OR = " or ";
+    private static final String JSON_NULL = "'null'";
+
+    private final String cacheName;
+    private final EntityManager entityManager;
+    private final ObjectMapper mapper;
+    private final Function<CacheEntity, T> entityMapper;
+    private Integer limit;
+    private Integer offset;
+    private List<AttributeFilter<?>> filters;
+    private List<AttributeSort> sortBy;
+
+    public PostgresQuery(String cacheName, EntityManager entityManager, ObjectMapper mapper, Function<CacheEntity, T> entityMapper) {
+        this.cacheName = cacheName;
+        this.entityManager = entityManager;
+        this.mapper = mapper;
+        this.entityMapper = entityMapper;
+    }
+
+    @Override
+    public Query<T> limit(Integer limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    @Override
+    public Query<T> offset(Integer offset) {
+        this.offset = offset;
+        return this;
+    }
+
+    @Override
+    public Query<T> filter(List<AttributeFilter<?>> filters) {
+        this.filters = filters;
+        return this;
+    }
+
+    @Override
+    public Query<T> sort(List<AttributeSort> sortBy) {
+        this.sortBy = sortBy;
+        return this;
+    }
+
+    @Override
+    public List<T> execute() {
+        List<Object> parameters = new ArrayList<>();
+        StringBuilder queryString = new StringBuilder("select * from " + CACHE_TABLE);
+        appendWhere(queryString, parameters);
+        if (sortBy != null && !sortBy.isEmpty()) {
+            queryString.append(" order by ");
+            queryString.append(sortBy.stream().map(f -> toJsonPath(f.getAttribute()) + " " + f.getSort().name()).collect(joining(", ")));
+        }
+        javax.persistence.Query query =
+                createQuery(entityManager.createNativeQuery(queryString.toString(), CacheEntity.class), queryString, parameters);
+        if (limit != null) {
+            query.setMaxResults(limit);
+        }
+        if (offset != null) {
+            query.setFirstResult(offset);
+        }
+        return ((List<CacheEntity>) query.getResultList()).stream().map(entityMapper).collect(toList());
+    }
+
+    @Override
+    public long count() {
+        List<Object> parameters = new ArrayList<>();
+        StringBuilder queryString = new StringBuilder("select count(*) from " + CACHE_TABLE);
+        appendWhere(queryString, parameters);
+        return ((Number) createQuery(queryString, parameters).getSingleResult()).longValue();
+    }
+
+    /**
+     * Groups by the JSON value of the attribute, JSON nulls being grouped with missing values.
+     * As {@code jsonb} has no min and max aggregates, they are computed as the first of the sorted non null values.
+     */
+    @Override
+    public List<AttributeGroup> groupBy(String attribute, List<AttributeAggregation> aggregations) {
+        List<Object> parameters = new ArrayList<>();
+        StringBuilder queryString = new StringBuilder(format("select cast(nullif(%s, %s) as text)", toJsonPath(attribute), JSON_NULL));
+        aggregations.forEach(aggregation -> queryString.append(", ").append(getAggregation(aggregation)));
+        queryString.append(" from ").append(CACHE_TABLE);
+        appendWhere(queryString, parameters);
+        queryString.append(" group by 1");
+        List<AttributeGroup> groups = new ArrayList<>();
+        for (Object result : createQuery(queryString, parameters).getResultList()) {
+            Object[] row = result instanceof Object[] ? (Object[]) result : new Object[] { result };
+            List<Object> aggregates = new ArrayList<>(aggregations.size());
+            for (int i = 0; i < aggregations.size(); i++) {
+                Object value = row[i + 1];
+                aggregates.add(value instanceof Number ? (Object) ((Number) value).longValue() : fromJson((String) value));
+            }
+            groups.add(new AttributeGroup(fromJson((String) row[0]), aggregates));
+        }
+        return groups;
+    }
+
+    private static String getAggregation(AttributeAggregation aggregation) {
+        switch (aggregation.getFunction()) {
+            case COUNT:
+                return "count(*)";
+            case MIN:
+                return format("cast((array_agg(%1$s order by %1$s) filter (where %1$s <> %2$s))[1] as text)",
+                        toJsonPath(aggregation.getAttribute()), JSON_NULL);
+            case MAX:
+                return format("cast((array_agg(%1$s order by %1$s desc) filter (where %1$s <> %2$s))[1] as text)",
+                        toJsonPath(aggregation.getAttribute()), JSON_NULL);
+            default:
+                throw new UnsupportedOperationException("Unsupported aggregation function: " + aggregation.getFunction());
+        }
+    }
+
+    private void appendWhere(StringBuilder queryString, List<Object> parameters) {
+        parameters.add(cacheName);
+        queryString.append(" where name = ?1");
+        if (filters != null && !filters.isEmpty()) {
+            queryString.append(AND);
+            queryString.append(filters.stream().map(filterStringFunction(parameters)).collect(joining(AND)));
+        }
+    }
+
+    private javax.persistence.Query createQuery(StringBuilder queryString, List<Object> parameters) {
+        return createQuery(entityManager.createNativeQuery(queryString.toString()), queryString, parameters);
+    }
+
+    private static javax.persistence.Query createQuery(javax.persistence.Query query, StringBuilder queryString, List<Object> parameters) {
+        LOGGER.debug("Executing PostgreSQL query: {} with parameters: {}", queryString, parameters);
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+        return query;
+    }
+
+    private Function<AttributeFilter<?>, String> filterStringFunction(List<Object> parameters) {
+        return filter -> {
+            switch (filter.getCondition()) {
+                case CONTAINS:
+                    return contains(filter.getAttribute(), toJson(filter.getValue()), parameters);
+                case CONTAINS_ALL:
+                    List<?> all = (List<?>) filter.getValue();
+                    return all.isEmpty() ? "true"
+                            : all.stream().map(o -> contains(filter.getAttribute(), toJson(o), parameters)).collect(joining(AND, "(", ")"));
+                case CONTAINS_ANY:
+                    List<?> any = (List<?>) filter.getValue();
+                    return any.isEmpty() ? "false"
+                            : any.stream().map(o -> contains(filter.getAttribute(), toJson(o), parameters)).collect(joining(OR, "(", ")"));
+                case LIKE:
+                    parameters.add(filter.getValue().toString().replace("*", "%"));
+                    return format("%s like ?%d", toJsonTextPath(filter.getAttribute()), parameters.size());
+                case EQUAL:
+                    return contains(filter.getAttribute(), toJson(filter.getValue()), parameters);
+                case IN:
+                    List<?> in = (List<?>) filter.getValue();
+                    return in.isEmpty() ? "false"
+                            : in.stream().map(o -> contains(filter.getAttribute(), toJson(o), parameters)).collect(joining(OR, "(", ")"));
+                case IS_NULL:
+                    return format("(%1$s is null or %1$s = %2$s)", toJsonPath(filter.getAttribute()), JSON_NULL);
+                case NOT_NULL:
+                    return format("(%1$s is not null and %1$s <> %2$s)", toJsonPath(filter.getAttribute()), JSON_NULL);
+                case BETWEEN:
+                    List<?> value = (List<?>) filter.getValue();
+                    return format("(%s%s%s)", compare(filter.getAttribute(), ">=", value.get(0), parameters), AND,
+                            compare(filter.getAttribute(), "<=", value.get(1), parameters));
+                case GT:
+                    return compare(filter.getAttribute(), ">", filter.getValue(), parameters);
+                case GTE:
+                    return compare(filter.getAttribute(), ">=", filter.getValue(), parameters);
+                case LT:
+                    return compare(filter.getAttribute(), "<", filter.getValue(), parameters);
+                case LTE:
+                    return compare(filter.getAttribute(), "<=", filter.getValue(), parameters);
+                case OR:
+                    return getRecursiveString(filter, OR, parameters);
+                case AND:
+                    return getRecursiveString(filter, AND, parameters);
+                case NOT:
+                    return format("not (%s)", filterStringFunction(parameters).apply((AttributeFilter<?>) filter.getValue()));
+                default:
+                    return null;
+            }
+        };
+    }
+
+    private String getRecursiveString(AttributeFilter<?> filter, String joining, List<Object> parameters) {
+        return ((List<AttributeFilter<?>>) filter.getValue())
+                .stream()
+                .map(filterStringFunction(parameters))
+                .collect(joining(joining, "(", ")"));
+    }
+
+    /**
+     * Matches the values whose attribute is, or is an array containing, the given JSON value. Scalar values are
+     * matched with a SQL/JSON path filter; objects and arrays, which have no SQL/JSON path literal, are matched with
+     * a containment document nesting them at the path of the attribute, which does not step into arrays.
+     */
+    private String contains(String attribute, JsonNode value, List<Object> parameters) {
+        if (value.isValueNode()) {
+            parameters.add(format("%s[*] ? (@ == %s)", toSqlJsonPath(attribute), value));
+            return format("%s @? cast(?%d as jsonpath)", JSON_VALUE_COLUMN, parameters.size());
+        }
+        String[] names = attribute.split(Pattern.quote(ATTRIBUTE_DELIMITER));
+        JsonNode document = value;
+        for (int i = names.length - 1; i >= 0; i--) {
+            ObjectNode parent = mapper.createObjectNode();
+            parent.set(names[i], document);
+            document = parent;
+        }
+        parameters.add(document.toString());
+        return format("%s @> cast(?%d as jsonb)", JSON_VALUE_COLUMN, parameters.size());
+    }
+
+    /**
+     * Compares the JSON value of the attribute, restricted to values of the same JSON type: {@code jsonb} orders all
+     * the strings before all the numbers, for instance.
+     */
+    private String compare(String attribute, String operator, Object value, List<Object> parameters) {
+        JsonNode json = toJson(value);
+        parameters.add(json.toString());
+        String comparison = format("%s %s cast(?%d as jsonb)", toJsonPath(attribute), operator, parameters.size());
+        String type = json.isNumber() ? "number" : json.isTextual() ? "string" : json.isBoolean() ? "boolean" : null;
+        return type == null ? comparison : format("(%s%sjsonb_typeof(%s) = '%s')", comparison, AND, toJsonPath(attribute), type);
+    }
+
+    private JsonNode toJson(Object value) {
+        return mapper.valueToTree(value);
+    }
+
+    private Object fromJson(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return mapper.readValue(json, Object.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to parse JSON value " + json, e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+-- Creates the cache table, as Hibernate would generate it: the indexes serving the queries on the JSON values are
+-- created at runtime by the IndexManager.
+
+    create table if not exists kogito_data_cache (
+       key varchar(255) not null,
+        name varchar(255) not null,
+        json_value jsonb,
+        primary key (key, name),
+        constraint UKhbko4uupnclu9e6kipc23xhj9 unique (name, key)
+    );
+
+    create unique index if not exists IDXhbko4uupnclu9e6kipc23xhj9 on kogito_data_cache (name, key);
@@ -16,9 +16,16 @@
 
 package org.kie.kogito.persistence.postgresql;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.persistence.api.Storage;
 import org.kie.kogito.persistence.postgresql.model.CacheEntity;
@@ -167,4 +174,81 @@ class PostgresStorageServiceIT {
         assertThat(entity).isNull();
     }
 
+    @Test
+    @Transactional
+    void testCacheUpdate() {
+        String cacheName = "update";
+        Storage<String, ObjectNode> cache = storageService.getCache(cacheName, ObjectNode.class, "Update");
+        ObjectNode value = mapper.createObjectNode().put("id", "key1").put("removed", "value");
+        value.putObject("metadata").putArray("items").addObject().put("id", "item1");
+        cache.put("key1", value);
+
+        ObjectNode newValue = mapper.createObjectNode().put("id", "key1").put("added", "value");
+        newValue.putObject("metadata").putArray("items").addObject().put("id", "item1").put("state", 1);
+        ((ObjectNode) newValue.get("metadata")).withArray("items").addObject().put("id", "item2");
+        cache.update("key1", newValue, List.of("removed", "added", "metadata.items.0", "metadata.items.1"));
+
+        assertThat(cache.get("key1")).isEqualTo(newValue);
+        assertThat(repository.findById(new CacheId(cacheName, "key1")).getValue()).isEqualTo(newValue);
+
+        cache.update("key2", newValue, List.of("added"));
+        assertThat(cache.get("key2")).isEqualTo(newValue);
+    }
+
+    @Test
+    @Transactional
+    void testCacheUpdateInPlace() {
+        String cacheName = "updateInPlace";
+        Storage<String, ObjectNode> cache = storageService.getCache(cacheName, ObjectNode.class, "Update");
+        cache.put("key1", mapper.createObjectNode().put("id", "key1").put("state", 1).put("name", "value"));
+        repository.flush();
+        repository.getEntityManager().clear();
+
+        ObjectNode value = cache.get("key1");
+        value.put("state", 2);
+        assertThat(repository.getEntityManager().unwrap(Session.class).isDirty()).isFalse();
+
+        cache.update("key1", value, List.of("state"));
+        repository.getEntityManager().clear();
+        assertThat(cache.get("key1")).isEqualTo(value);
+    }
+
+    @Test
+    @Transactional
+    void testCacheBulkOperations() {
+        String cacheName = "bulk";
+        Storage<String, String> cache = storageService.getCache(cacheName);
+        cache.put("key1", "oldValue");
+
+        cache.putAll(Map.of("key1", "value1", "key2", "value2"));
+
+        assertThat(cache.entries()).containsExactlyInAnyOrderEntriesOf(Map.of("key1", "value1", "key2", "value2"));
+        assertThat(cache.getAll(List.of("key1", "key3"))).containsExactlyEntriesOf(Map.of("key1", "value1"));
+
+        cache.removeAll(List.of("key1", "key3"));
+
+        assertThat(cache.containsKey("key1")).isFalse();
+        assertThat(cache.entries()).containsOnlyKeys("key2");
+    }
+
+    @Test
+    @Transactional
+    void testCacheBulkWriteBatched() {
+        Storage<String, String> cache = storageService.getCache("batched");
+        Map<String, String> entries = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            entries.put("key" + i, "value" + i);
+        }
+        Statistics statistics = repository.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        cache.putAll(entries);
+        repository.flush();
+
+        // the stored entries are read by a single query, the new ones are inserted by a single batched statement
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(20);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        assertThat(cache.entries()).containsExactlyInAnyOrderEntriesOf(entries);
+    }
+
 }
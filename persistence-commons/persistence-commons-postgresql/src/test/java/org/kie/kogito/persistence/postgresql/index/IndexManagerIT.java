@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.postgresql.index;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.persistence.api.schema.AttributeDescriptor;
+import org.kie.kogito.persistence.api.schema.EntityIndexDescriptor;
+import org.kie.kogito.persistence.api.schema.IndexDescriptor;
+import org.kie.kogito.persistence.api.schema.SchemaDescriptor;
+import org.kie.kogito.persistence.api.schema.SchemaRegisteredEvent;
+import org.kie.kogito.persistence.api.schema.SchemaType;
+import org.kie.kogito.persistence.postgresql.PostgresStorageService;
+import org.kie.kogito.persistence.postgresql.model.CacheEntityRepository;
+import org.kie.kogito.testcontainers.quarkus.PostgreSqlQuarkusTestResource;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.persistence.postgresql.model.ModelUtils.CACHE_TABLE;
+
+@QuarkusTest
+@QuarkusTestResource(PostgreSqlQuarkusTestResource.class)
+class IndexManagerIT {
+
+    @Inject
+    IndexManager indexManager;
+
+    @Inject
+    PostgresStorageService storageService;
+
+    @Inject
+    CacheEntityRepository repository;
+
+    @Test
+    @Transactional
+    void testIndexes() throws Exception {
+        EntityIndexDescriptor travel = new EntityIndexDescriptor("org.acme.travels.Travel",
+                List.of(new IndexDescriptor("name", List.of("name")), new IndexDescriptor("start", List.of("start", "id"))),
+                List.of(new AttributeDescriptor("name", "string", true), new AttributeDescriptor("hotel", "Hotel", false)));
+        EntityIndexDescriptor hotel = new EntityIndexDescriptor("org.acme.travels.Hotel",
+                List.of(new IndexDescriptor("city", List.of("city"))),
+                List.of(new AttributeDescriptor("city", "string", true)));
+        Map<String, EntityIndexDescriptor> descriptors = Map.of(travel.getName(), travel, hotel.getName(), hotel);
+
+        storageService.getCache("travels", ObjectNode.class, travel.getName());
+        indexManager.onSchemaRegisteredEvent(new SchemaRegisteredEvent(new SchemaDescriptor("travels.proto", "", descriptors, null),
+                new SchemaType("proto")));
+        indexManager.getIndexCreation().get(10, TimeUnit.SECONDS);
+
+        List<String> indexes = getIndexDefinitions();
+        assertThat(indexes).anyMatch(index -> index.contains(CACHE_TABLE + "_json_value_idx") && index.contains("gin (json_value jsonb_path_ops)"));
+        assertThat(indexes).filteredOn(index -> index.contains("#> '{name}'::text[]")).hasSize(1);
+        assertThat(indexes).filteredOn(index -> index.contains("#> '{start}'::text[]") && index.contains("#> '{id}'::text[]")).hasSize(1);
+        assertThat(indexes).filteredOn(index -> index.contains("#> '{hotel,city}'::text[]")).hasSize(1);
+
+        storageService.getCache("otherTravels", ObjectNode.class, travel.getName());
+        indexManager.getIndexCreation().get(10, TimeUnit.SECONDS);
+        assertThat(getIndexDefinitions()).filteredOn(index -> index.contains("#> '{name}'::text[]")).hasSize(2);
+    }
+
+    private List<String> getIndexDefinitions() {
+        return repository.getEntityManager().createNativeQuery("select indexdef from pg_indexes where tablename = ?1")
+                .setParameter(1, CACHE_TABLE).getResultList();
+    }
+}
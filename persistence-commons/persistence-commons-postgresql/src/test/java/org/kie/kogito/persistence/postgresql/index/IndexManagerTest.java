@@ -0,0 +1,70 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.postgresql.index;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kie.kogito.persistence.api.schema.AttributeDescriptor;
+import org.kie.kogito.persistence.api.schema.EntityIndexDescriptor;
+import org.kie.kogito.persistence.api.schema.IndexDescriptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IndexManagerTest {
+
+    @Mock
+    DataSource dataSource;
+
+    @InjectMocks
+    IndexManager indexManager;
+
+    @Test
+    void testIndexCreationContinuesAfterFailure() throws Exception {
+        Connection connection = mock(Connection.class);
+        PreparedStatement existing = mock(PreparedStatement.class);
+        ResultSet result = mock(ResultSet.class);
+        Statement statement = mock(Statement.class);
+        when(dataSource.getConnection()).thenThrow(new IllegalStateException("no connection")).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(existing);
+        when(existing.executeQuery()).thenReturn(result);
+        when(connection.createStatement()).thenReturn(statement);
+
+        // the GIN index fails to be created, then the expression index of the cache is created all the same
+        indexManager.registerCache("travels", "org.acme.travels.Travel");
+        indexManager.updateCache("travels", new EntityIndexDescriptor("org.acme.travels.Travel",
+                List.of(new IndexDescriptor("name", List.of("name"))),
+                List.of(new AttributeDescriptor("name", "string", true))));
+        indexManager.getIndexCreation().get(10, TimeUnit.SECONDS);
+
+        verify(statement).execute(anyString());
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.postgresql.query;
+
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.persistence.api.Storage;
+import org.kie.kogito.persistence.api.query.AttributeFilter;
+import org.kie.kogito.persistence.api.query.AttributeGroup;
+import org.kie.kogito.persistence.postgresql.PostgresStorageService;
+import org.kie.kogito.testcontainers.quarkus.PostgreSqlQuarkusTestResource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.between;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.contains;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.containsAll;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.count;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.equalTo;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.greaterThan;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.in;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.isNull;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.lessThan;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.like;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.max;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.min;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.not;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.notNull;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.or;
+import static org.kie.kogito.persistence.api.query.QueryFilterFactory.orderBy;
+import static org.kie.kogito.persistence.api.query.SortDirection.ASC;
+import static org.kie.kogito.persistence.api.query.SortDirection.DESC;
+
+@QuarkusTest
+@QuarkusTestResource(PostgreSqlQuarkusTestResource.class)
+class PostgresQueryIT {
+
+    @Inject
+    PostgresStorageService storageService;
+
+    @Inject
+    ObjectMapper mapper;
+
+    @Test
+    @Transactional
+    void testFilters() {
+        Storage<String, ObjectNode> cache = createCache("queryFilters");
+
+        assertThat(ids(cache, equalTo("name", "first"))).containsExactlyInAnyOrder("1");
+        assertThat(ids(cache, equalTo("details.priority", 2))).containsExactlyInAnyOrder("2");
+        assertThat(ids(cache, in("name", List.of("first", "third")))).containsExactlyInAnyOrder("1", "3");
+        assertThat(ids(cache, greaterThan("details.priority", 1))).containsExactlyInAnyOrder("2", "3");
+        assertThat(ids(cache, lessThan("details.priority", 3))).containsExactlyInAnyOrder("1", "2");
+        assertThat(ids(cache, between("details.priority", 2, 3))).containsExactlyInAnyOrder("2", "3");
+        assertThat(ids(cache, like("name", "*ir*"))).containsExactlyInAnyOrder("1", "3");
+        assertThat(ids(cache, contains("tags", "b"))).containsExactlyInAnyOrder("1", "2");
+        assertThat(ids(cache, equalTo("metadata.processInstances.state", 20))).containsExactlyInAnyOrder("2");
+        assertThat(ids(cache, in("metadata.processInstances.state", List.of(1, 30)))).containsExactlyInAnyOrder("1", "3");
+        assertThat(ids(cache, containsAll("metadata.processInstances.tags", List.of("a", "b")))).containsExactlyInAnyOrder("1");
+        assertThat(ids(cache, isNull("owner"))).containsExactlyInAnyOrder("2", "3");
+        assertThat(ids(cache, notNull("owner"))).containsExactlyInAnyOrder("1");
+        assertThat(ids(cache, not(equalTo("name", "first")))).containsExactlyInAnyOrder("2", "3");
+        assertThat(ids(cache, or(List.of(equalTo("name", "first"), greaterThan("details.priority", 2)))))
+                .containsExactlyInAnyOrder("1", "3");
+        assertThat(storageService.getCache("otherCache", ObjectNode.class, "Query").query().execute()).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    void testSortAndPagination() {
+        Storage<String, ObjectNode> cache = createCache("querySort");
+
+        List<ObjectNode> values = cache.query().sort(List.of(orderBy("details.priority", DESC))).offset(1).limit(1).execute();
+        assertThat(values.stream().map(v -> v.get("id").asText()).collect(toList())).containsExactly("2");
+
+        values = cache.query().sort(List.of(orderBy("name", ASC))).execute();
+        assertThat(values.stream().map(v -> v.get("id").asText()).collect(toList())).containsExactly("1", "2", "3");
+    }
+
+    @Test
+    @Transactional
+    void testAggregations() {
+        Storage<String, ObjectNode> cache = createCache("queryAggregations");
+
+        assertThat(cache.query().count()).isEqualTo(3);
+        assertThat(cache.query().filter(List.of(greaterThan("details.priority", 1))).count()).isEqualTo(2);
+
+        List<AttributeGroup> groups = cache.query().groupBy("owner", List.of(count(), min("details.priority"), max("details.priority")));
+        assertThat(groups).hasSize(2);
+        AttributeGroup owned = groups.stream().filter(g -> "john".equals(g.getValue())).findFirst().orElseThrow();
+        assertThat(owned.getAggregates()).containsExactly(1L, 1, 1);
+        AttributeGroup notOwned = groups.stream().filter(g -> g.getValue() == null).findFirst().orElseThrow();
+        assertThat(notOwned.getAggregates()).containsExactly(2L, 2, 3);
+    }
+
+    private Storage<String, ObjectNode> createCache(String cacheName) {
+        Storage<String, ObjectNode> cache = storageService.getCache(cacheName, ObjectNode.class, "Query");
+        cache.put("1", value("1", "first", 1, "john", "a", "b"));
+        cache.put("2", value("2", "second", 2, null, "b"));
+        cache.put("3", value("3", "third", 3, null));
+        return cache;
+    }
+
+    private ObjectNode value(String id, String name, int priority, String owner, String... tags) {
+        ObjectNode value = mapper.createObjectNode().put("id", id).put("name", name);
+        if (owner == null) {
+            value.putNull("owner");
+        } else {
+            value.put("owner", owner);
+        }
+        value.putObject("details").put("priority", priority);
+        List.of(tags).forEach(value.putArray("tags")::add);
+        ArrayNode processInstances = value.putObject("metadata").putArray("processInstances");
+        processInstances.addObject().put("state", priority);
+        List.of(tags).forEach(processInstances.addObject().put("state", priority * 10).putArray("tags")::add);
+        return value;
+    }
+
+    private static List<String> ids(Storage<String, ObjectNode> cache, AttributeFilter<?> filter) {
+        return cache.query().filter(List.of(filter)).execute().stream().map(v -> v.get("id").asText()).collect(toList());
+    }
+}
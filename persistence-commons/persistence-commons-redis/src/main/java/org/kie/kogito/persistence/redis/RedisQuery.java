@@ -17,18 +17,27 @@
 package org.kie.kogito.persistence.redis;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.kie.kogito.persistence.api.query.AggregationFunction;
+import org.kie.kogito.persistence.api.query.AttributeAggregation;
 import org.kie.kogito.persistence.api.query.AttributeFilter;
+import org.kie.kogito.persistence.api.query.AttributeGroup;
 import org.kie.kogito.persistence.api.query.AttributeSort;
 import org.kie.kogito.persistence.api.query.Query;
 import org.kie.kogito.persistence.api.query.SortDirection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.redisearch.AggregationResult;
 import io.redisearch.Client;
 import io.redisearch.SearchResult;
+import io.redisearch.aggregation.AggregationBuilder;
+import io.redisearch.aggregation.reducers.Reducer;
+import io.redisearch.aggregation.reducers.Reducers;
 
 import static org.kie.kogito.persistence.redis.Constants.RAW_OBJECT_FIELD;
 
@@ -36,6 +45,8 @@ public class RedisQuery<V> implements Query<V> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RedisQuery.class);
 
+    private static final String AGGREGATE_ALIAS = "aggregate";
+
     Integer limit;
     Integer offset;
     List<AttributeFilter<?>> filters;
@@ -104,6 +115,59 @@ public class RedisQuery<V> implements Query<V> {
         }).collect(Collectors.toList());
     }
 
+    @Override
+    public long count() {
+        io.redisearch.Query query = new io.redisearch.Query(RedisQueryFactory.buildQueryBody(indexName, filters));
+        query.limit(0, 0);
+        RedisQueryFactory.addFilters(query, filters);
+        return redisClient.search(query).totalResults;
+    }
+
+    /**
+     * Groups the elements with FT.AGGREGATE. The attributes have to be indexed, the group values are returned as
+     * strings, the minimums and maximums as doubles.
+     */
+    @Override
+    public List<AttributeGroup> groupBy(String attribute, List<AttributeAggregation> aggregations) {
+        Reducer[] reducers = new Reducer[aggregations.size()];
+        for (int i = 0; i < reducers.length; i++) {
+            reducers[i] = toReducer(aggregations.get(i)).as(AGGREGATE_ALIAS + i);
+        }
+        AggregationBuilder aggregation = new AggregationBuilder(RedisQueryFactory.buildAggregationQueryBody(indexName, filters))
+                .groupBy("@" + attribute, reducers);
+        AggregationResult result = redisClient.aggregate(aggregation);
+
+        List<AttributeGroup> groups = new ArrayList<>(result.getResults().size());
+        for (Map<String, Object> row : result.getResults()) {
+            List<Object> aggregates = new ArrayList<>(reducers.length);
+            for (int i = 0; i < reducers.length; i++) {
+                Object value = row.get(AGGREGATE_ALIAS + i);
+                if (value == null) {
+                    aggregates.add(null);
+                } else if (AggregationFunction.COUNT.equals(aggregations.get(i).getFunction())) {
+                    aggregates.add(Long.valueOf(value.toString()));
+                } else {
+                    aggregates.add(Double.valueOf(value.toString()));
+                }
+            }
+            groups.add(new AttributeGroup(Sanitizer.unsanitize(row.get(attribute)), aggregates));
+        }
+        return groups;
+    }
+
+    private static Reducer toReducer(AttributeAggregation aggregation) {
+        switch (aggregation.getFunction()) {
+            case COUNT:
+                return Reducers.count();
+            case MIN:
+                return Reducers.min("@" + aggregation.getAttribute());
+            case MAX:
+                return Reducers.max("@" + aggregation.getAttribute());
+            default:
+                throw new UnsupportedOperationException("Redis does not support aggregation: " + aggregation.getFunction());
+        }
+    }
+
     private void setQueryLimitAndOffset(io.redisearch.Query query) {
         if (limit != null && offset == null) {
             LOGGER.warn("Limit was specified in Redis query but not the offset. Limit is ignored.");
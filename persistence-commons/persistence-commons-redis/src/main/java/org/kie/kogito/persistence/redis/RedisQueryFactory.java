@@ -44,6 +44,45 @@ public class RedisQueryFactory {
         return String.join(" ", components);
     }
 
+    /**
+     * Builds the query body of an aggregation, where the numeric filters are part of the query string as ranges,
+     * FT.AGGREGATE not supporting the FILTER argument of FT.SEARCH.
+     */
+    static String buildAggregationQueryBody(String indexName, List<AttributeFilter<?>> filters) {
+        List<String> components = new ArrayList<>();
+        components.add(buildQueryBody(indexName, filters));
+        for (AttributeFilter attributeFilter : filters) {
+            switch (attributeFilter.getCondition()) {
+                case EQUAL:
+                case LIKE:
+                    break;
+                case GT:
+                    components.add(numericRange(attributeFilter.getAttribute(), "(" + convertNumeric(attributeFilter.getValue()), "+inf"));
+                    break;
+                case GTE:
+                    components.add(numericRange(attributeFilter.getAttribute(), convertNumeric(attributeFilter.getValue()), "+inf"));
+                    break;
+                case LT:
+                    components.add(numericRange(attributeFilter.getAttribute(), "-inf", "(" + convertNumeric(attributeFilter.getValue())));
+                    break;
+                case LTE:
+                    components.add(numericRange(attributeFilter.getAttribute(), "-inf", convertNumeric(attributeFilter.getValue())));
+                    break;
+                case BETWEEN:
+                    List<?> value = (List<?>) attributeFilter.getValue();
+                    components.add(numericRange(attributeFilter.getAttribute(), convertNumeric(value.get(0)), convertNumeric(value.get(1))));
+                    break;
+                default:
+                    throw new UnsupportedOperationException("Redis does not support query filter: " + attributeFilter.getCondition());
+            }
+        }
+        return String.join(" ", components);
+    }
+
+    private static String numericRange(String attribute, Object min, Object max) {
+        return String.format("@%s:[%s %s]", attribute, min, max);
+    }
+
     static void addFilters(io.redisearch.Query query, List<AttributeFilter<?>> filters) {
         for (AttributeFilter attributeFilter : filters) {
             switch (attributeFilter.getCondition()) {
@@ -16,9 +16,12 @@
 
 package org.kie.kogito.persistence.redis;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import org.kie.kogito.persistence.api.Storage;
 import org.kie.kogito.persistence.api.query.Query;
@@ -30,6 +33,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 
 import io.redisearch.Client;
 import io.redisearch.Document;
+import io.redisearch.client.AddOptions;
 import io.smallrye.mutiny.Multi;
 
 import static org.kie.kogito.persistence.redis.Constants.INDEX_NAME_FIELD;
@@ -73,7 +77,51 @@ public class RedisStorage<V> implements Storage<String, V> {
 
     @Override
     public V get(String key) {
-        Document document = redisClient.getDocument(key);
+        return toValue(redisClient.getDocument(key));
+    }
+
+    @Override
+    public Map<String, V> getAll(Collection<String> keys) {
+        Map<String, V> values = new HashMap<>();
+        if (keys.isEmpty()) {
+            return values;
+        }
+        for (Document document : redisClient.getDocuments(keys.toArray(new String[0]))) {
+            if (document != null) {
+                values.put(document.getId(), toValue(document));
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public V put(String key, V value) {
+        redisClient.addDocument(key, toDocument(value));
+        return value;
+    }
+
+    @Override
+    public void putAll(Map<String, V> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Document[] documents = entries.entrySet().stream()
+                .map(entry -> new Document(entry.getKey(), toDocument(entry.getValue())))
+                .toArray(Document[]::new);
+        // The documents are replaced, as put does, rather than rejected when the key is already present
+        boolean[] added = redisClient.addDocuments(new AddOptions().setReplacementPolicy(AddOptions.ReplacementPolicy.FULL), documents);
+        List<String> failed = new ArrayList<>();
+        for (int i = 0; i < documents.length; i++) {
+            if (!added[i]) {
+                failed.add(documents[i].getId());
+            }
+        }
+        if (!failed.isEmpty()) {
+            throw new RuntimeException(String.format("Could not add the documents with keys %s", failed));
+        }
+    }
+
+    private V toValue(Document document) {
         try {
             return document == null ? null : JsonUtils.getMapper().readValue((String) document.get(RAW_OBJECT_FIELD), type);
         } catch (JsonProcessingException e) {
@@ -82,8 +130,7 @@ public class RedisStorage<V> implements Storage<String, V> {
         }
     }
 
-    @Override
-    public V put(String key, V value) {
+    private Map<String, Object> toDocument(V value) {
         Map<String, Object> document = new HashMap<>();
         List<String> indexedFields = redisIndexManager.getSchema(indexName);
         if (indexedFields.size() > 0) { // Add into the payload only the indexed fields, if there is any
@@ -104,8 +151,7 @@ public class RedisStorage<V> implements Storage<String, V> {
             LOGGER.warn("Could not serialize the object.", e);
             throw new RuntimeException(e);
         }
-        redisClient.addDocument(key, document);
-        return value;
+        return document;
     }
 
     @Override
@@ -115,6 +161,25 @@ public class RedisStorage<V> implements Storage<String, V> {
         return value;
     }
 
+    @Override
+    public void removeAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        String[] ids = keys.toArray(new String[0]);
+        boolean[] deleted = redisClient.deleteDocuments(false, ids);
+        List<String> notDeleted = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (!deleted[i]) {
+                notDeleted.add(ids[i]);
+            }
+        }
+        // A document is not deleted either because it was not present, which is fine, or because the deletion failed
+        if (!notDeleted.isEmpty() && redisClient.getDocuments(notDeleted.toArray(new String[0])).stream().anyMatch(Objects::nonNull)) {
+            throw new RuntimeException(String.format("Could not remove the documents with keys %s", notDeleted));
+        }
+    }
+
     @Override
     public boolean containsKey(String key) {
         return redisClient.getDocument(key) != null;
@@ -27,4 +27,11 @@ public class Sanitizer {
         }
         return o;
     }
+
+    public static Object unsanitize(Object o) {
+        if (o instanceof String) {
+            return ((String) o).replaceAll("\\\\(" + ILLEGAL_CHARS_REGEX + ")", "$1");
+        }
+        return o;
+    }
 }
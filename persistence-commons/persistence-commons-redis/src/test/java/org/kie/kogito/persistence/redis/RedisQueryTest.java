@@ -23,24 +23,30 @@ import java.util.Map;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.persistence.api.query.AttributeFilter;
+import org.kie.kogito.persistence.api.query.AttributeGroup;
 import org.kie.kogito.persistence.api.query.QueryFilterFactory;
 import org.kie.kogito.persistence.api.query.SortDirection;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 
+import io.redisearch.AggregationResult;
 import io.redisearch.Document;
 import io.redisearch.Query;
 import io.redisearch.SearchResult;
+import io.redisearch.aggregation.AggregationBuilder;
 import io.redisearch.client.Client;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.kie.kogito.persistence.api.query.QueryFilterFactory.orderBy;
 import static org.kie.kogito.persistence.redis.Constants.RAW_OBJECT_FIELD;
+import static org.kie.kogito.persistence.redis.Person.AGE_PROPERTY;
 import static org.kie.kogito.persistence.redis.Person.NAME_PROPERTY;
 import static org.kie.kogito.persistence.redis.TestContants.TEST_INDEX_NAME;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class RedisQueryTest {
@@ -80,4 +86,34 @@ public class RedisQueryTest {
         Assertions.assertEquals("pippo", result.get(0).getName());
         Assertions.assertEquals(20, result.get(0).getAge());
     }
+
+    @Test
+    public void countTest() {
+        Client client = Mockito.mock(Client.class);
+        when(client.search(any(Query.class))).thenReturn(new SearchResult(singletonList(3L), false, false, false));
+
+        RedisQuery<Person> redisQuery = new RedisQuery<>(client, TEST_INDEX_NAME, Person.class);
+        redisQuery.filter(singletonList(QueryFilterFactory.equalTo(NAME_PROPERTY, "pippo")));
+
+        Assertions.assertEquals(3L, redisQuery.count());
+    }
+
+    @Test
+    public void groupByTest() {
+        Client client = Mockito.mock(Client.class);
+        AggregationResult aggregationResult = Mockito.mock(AggregationResult.class);
+        when(aggregationResult.getResults()).thenReturn(singletonList(Map.of(NAME_PROPERTY, "pippo\\-pluto", "aggregate0", "2", "aggregate1", "20")));
+        when(client.aggregate(any(AggregationBuilder.class))).thenReturn(aggregationResult);
+
+        RedisQuery<Person> redisQuery = new RedisQuery<>(client, TEST_INDEX_NAME, Person.class);
+        redisQuery.filter(singletonList(QueryFilterFactory.greaterThan(AGE_PROPERTY, 10)));
+        List<AttributeGroup> groups = redisQuery.groupBy(NAME_PROPERTY, asList(QueryFilterFactory.count(), QueryFilterFactory.min(AGE_PROPERTY)));
+
+        Assertions.assertEquals(singletonList(new AttributeGroup("pippo-pluto", asList(2L, 20d))), groups);
+        ArgumentCaptor<AggregationBuilder> aggregation = ArgumentCaptor.forClass(AggregationBuilder.class);
+        verify(client).aggregate(aggregation.capture());
+        List<String> args = aggregation.getValue().getArgs();
+        Assertions.assertTrue(args.get(0).contains(String.format("@%s:[(10.0 +inf]", AGE_PROPERTY)));
+        Assertions.assertTrue(args.containsAll(asList("GROUPBY", "@" + NAME_PROPERTY, "COUNT", "MIN", "@" + AGE_PROPERTY)));
+    }
 }
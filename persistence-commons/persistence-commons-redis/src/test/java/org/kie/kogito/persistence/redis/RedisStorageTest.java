@@ -16,6 +16,9 @@
 
 package org.kie.kogito.persistence.redis;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.Assertions;
@@ -25,7 +28,10 @@ import org.kie.kogito.persistence.redis.index.RedisCreateIndexEvent;
 import org.kie.kogito.persistence.redis.index.RedisIndexManager;
 import org.mockito.Mockito;
 
+import io.redisearch.Client;
+import io.redisearch.Document;
 import io.redisearch.Schema;
+import io.redisearch.client.AddOptions;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.kie.kogito.persistence.redis.Constants.INDEX_NAME_FIELD;
@@ -33,6 +39,8 @@ import static org.kie.kogito.persistence.redis.Constants.RAW_OBJECT_FIELD;
 import static org.kie.kogito.persistence.redis.Person.AGE_PROPERTY;
 import static org.kie.kogito.persistence.redis.Person.NAME_PROPERTY;
 import static org.kie.kogito.persistence.redis.TestContants.TEST_INDEX_NAME;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.when;
 
 public class RedisStorageTest {
@@ -133,6 +141,46 @@ public class RedisStorageTest {
         Assertions.assertNull(redisStorage.get(key));
     }
 
+    @Test
+    public void bulkOperationsTest() {
+        redisStorage.putAll(Map.of("key1", new Person("pippo", 22), "key2", new Person("pluto", 33)));
+
+        Map<String, Person> retrieved = redisStorage.getAll(List.of("key1", "key2", "a_key_that_does_not_exist"));
+        Assertions.assertEquals(2, retrieved.size());
+        Assertions.assertEquals("pippo", retrieved.get("key1").getName());
+        Assertions.assertEquals(33, retrieved.get("key2").getAge());
+        Assertions.assertTrue(redisClientMock.getStorage().get("key1").containsKey(NAME_PROPERTY));
+
+        redisStorage.removeAll(List.of("key1", "a_key_that_does_not_exist"));
+
+        Assertions.assertNull(redisStorage.get("key1"));
+        Assertions.assertNotNull(redisStorage.get("key2"));
+    }
+
+    @Test
+    public void bulkOperationsReplaceTest() {
+        redisStorage.put("key1", new Person("pippo", 22));
+
+        redisStorage.putAll(Map.of("key1", new Person("pluto", 33)));
+
+        Assertions.assertEquals("pluto", redisStorage.get("key1").getName());
+    }
+
+    @Test
+    public void bulkOperationsFailureTest() {
+        Client client = Mockito.mock(Client.class);
+        when(client.addDocuments(any(AddOptions.class), any(Document[].class))).thenReturn(new boolean[] { true, false });
+        when(client.deleteDocuments(anyBoolean(), any(String[].class))).thenReturn(new boolean[] { false, false });
+        when(client.getDocuments(any(String[].class))).thenReturn(Arrays.asList(null, new Document("key2")));
+        RedisStorage<Person> storage = new RedisStorage<>(client, redisIndexManager, TEST_INDEX_NAME, Person.class);
+        Map<String, Person> entries = new LinkedHashMap<>();
+        entries.put("key1", new Person("pippo", 22));
+        entries.put("key2", new Person("pluto", 33));
+
+        assertThrows(RuntimeException.class, () -> storage.putAll(entries));
+        assertThrows(RuntimeException.class, () -> storage.removeAll(List.of("key1", "key2")));
+    }
+
     @Test
     public void nullIndexedValuesTest() {
         String key = "myKey";
@@ -32,6 +32,13 @@ public class SanitizerTest {
         Assertions.assertEquals(expected, sanitized);
     }
 
+    @ParameterizedTest
+    @MethodSource("provideSanitizeTestCases")
+    public void unsanitizeTest(String expected, String input) {
+        String unsanitized = (String) Sanitizer.unsanitize(input);
+        Assertions.assertEquals(expected, unsanitized);
+    }
+
     private static Stream<Arguments> provideSanitizeTestCases() {
         return Stream.of(
                 Arguments.of("Hello_Jacopo*", "Hello_Jacopo*"),